@@ -13,7 +13,6 @@ import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
-import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.error.ArtifactNotFoundException;
 import io.apicurio.registry.storage.error.RuleNotFoundException;
 import io.apicurio.registry.storage.error.VersionNotFoundException;
@@ -21,7 +20,6 @@ import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.types.RuleType;
-import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.SchemaParseException;
@@ -90,7 +88,6 @@ public abstract class AbstractResource {
         try {
             final String type = schemaType == null ? ArtifactType.AVRO : schemaType;
             final List<ArtifactReferenceDto> artifactReferences = parseReferences(schemaReferences, groupId);
-            ArtifactTypeUtilProvider artifactTypeProvider = factory.getArtifactTypeProvider(type);
             ArtifactVersionMetaDataDto amd;
 
             if (cconfig.canonicalHashModeEnabled.get() || normalize) {
@@ -101,16 +98,12 @@ public abstract class AbstractResource {
                         //When comparing using content, sometimes the references might be inlined into the content, try to dereference the existing content and compare as a fallback. See https://github.com/Apicurio/apicurio-registry/issues/3588 for more information.
                         //If using this method there is no matching content either, just re-throw the exception.
                         //This approach only works for schema types with dereference support (for now, only Avro in the ccompat API).
-                        amd = storage.getArtifactVersions(groupId, subject)
-                                .stream().filter(version -> {
-                                    StoredArtifactDto artifactVersion = storage.getArtifactVersion(groupId, subject, version);
-                                    Map<String, ContentHandle> artifactVersionReferences = storage.resolveReferences(artifactVersion.getReferences());
-                                    String dereferencedExistingContentSha = DigestUtils.sha256Hex(artifactTypeProvider.getContentDereferencer().dereference(artifactVersion.getContent(), artifactVersionReferences).content());
-                                    return dereferencedExistingContentSha.equals(DigestUtils.sha256Hex(schema));
-                                })
-                                .findAny()
-                                .map(version -> storage.getArtifactVersionMetaData(groupId, subject, version))
-                                .orElseThrow(() -> ex);
+                        //The storage keeps the hash of the dereferenced content of every Avro version, so this is a single (indexed) lookup.
+                        try {
+                            amd = storage.getArtifactVersionMetaDataByDereferencedHash(groupId, subject, DigestUtils.sha256Hex(schema));
+                        } catch (ArtifactNotFoundException notFound) {
+                            throw ex;
+                        }
                     } else {
                         throw ex;
                     }
@@ -0,0 +1,166 @@
+package io.apicurio.registry.content;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.storage.StorageEvent;
+import io.apicurio.registry.storage.StorageEventType;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.EqualsAndHashCode;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of content derived from immutable content, such as the content of a version with its references
+ * dereferenced or rewritten.  Each derived variant is computed once and served with a strong ETag.
+ * <p>
+ * Variants are keyed by the id of the content they were derived from and by a description of the derivation
+ * (e.g. the references handling mode and the base href of rewritten references).  A dereferenced variant also
+ * depends on the content of the referenced versions, which can be deleted and created again.  The whole cache is
+ * therefore dropped whenever the storage reports that versions were deleted (see
+ * {@link StorageEventType#CONTENT_INVALIDATED}), which also covers the content ids reused by an import after all
+ * the data was deleted.  Variants derived from references that do not all exist are not cached.
+ * <p>
+ * KafkaSQL replicas apply every delete to their own database, so each of them observes all the deletes.  Replicas
+ * sharing a SQL database do not see each other's deletes, so the cache is disabled by default for the SQL storage.
+ *
+ */
+@ApplicationScoped
+public class DerivedContentCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    @Inject
+    Logger log;
+
+    @ConfigProperty(name = "registry.storage.kind")
+    String registryStorageType;
+
+    @ConfigProperty(name = "registry.rest.derived-content-cache.enabled")
+    @Info(category = "cache", description = "Enable caching of dereferenced and rewritten content served by the REST API. Enabled by default, "
+            + "except for the SQL storage: versions deleted by other replicas sharing the database are not observed.", availableSince = "3.0.0")
+    Optional<Boolean> enabled;
+
+    @ConfigProperty(name = "registry.rest.derived-content-cache.max-size-bytes", defaultValue = "67108864")
+    @Info(category = "cache", description = "Maximum total size (in bytes) of the content held by the derived content cache", availableSince = "3.0.0")
+    long maxSizeBytes;
+
+    private Cache<CacheKey, DerivedContent> cache;
+
+    /** Incremented whenever the cache is dropped, so that variants computed meanwhile are not kept */
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((CacheKey key, DerivedContent value) ->
+                        (int) Math.min(ENTRY_OVERHEAD_BYTES + value.getContent().getSizeBytes(), Integer.MAX_VALUE))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        // GitOps storage replaces its data (and reuses content ids) by switching to another database
+        return enabled.orElse(!"sql".equals(registryStorageType)) && !"gitops".equals(registryStorageType);
+    }
+
+    /**
+     * Returns the variant of the given content described by {@code derivation}, computing it with the
+     * given function if it is not cached yet.  Concurrent requests for the same variant compute it only once,
+     * variants that are not {@link DerivedContent#cacheable cacheable} are then dropped.
+     *
+     * @param contentId id of the content the variant is derived from
+     * @param derivation description of how the variant is derived, must determine the result together with the content
+     * @param deriver computes the variant
+     */
+    public DerivedContent get(long contentId, String derivation, Supplier<DerivedContent> deriver) {
+        if (!isEnabled()) {
+            return deriver.get();
+        }
+        CacheKey key = new CacheKey(contentId, derivation);
+        long startGeneration = generation.get();
+        try {
+            DerivedContent derived = cache.get(key, deriver::get);
+            if (!derived.cacheable || generation.get() != startGeneration) {
+                cache.invalidate(key);
+            }
+            return derived;
+        } catch (UncheckedExecutionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    void onStorageEvent(@Observes StorageEvent event) {
+        if (StorageEventType.CONTENT_INVALIDATED.equals(event.getType()) && cache != null) {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateAll() {
+        log.debug("Invalidating the derived content cache");
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Content derived from a stored content, together with its strong entity tag.
+     */
+    public static class DerivedContent {
+
+        private final ContentHandle content;
+        private final String etag;
+        private final boolean cacheable;
+
+        private DerivedContent(ContentHandle content, boolean cacheable) {
+            this.content = content;
+            this.etag = DigestUtils.sha256Hex(content.bytes());
+            this.cacheable = cacheable;
+        }
+
+        public static DerivedContent cacheable(ContentHandle content) {
+            return new DerivedContent(content, true);
+        }
+
+        /**
+         * Returns derived content that must not be cached, e.g. because it was derived from incomplete data.
+         */
+        public static DerivedContent notCacheable(ContentHandle content) {
+            return new DerivedContent(content, false);
+        }
+
+        public ContentHandle getContent() {
+            return content;
+        }
+
+        /**
+         * Returns the (unquoted) strong entity tag of the content, i.e. its SHA-256 hash.
+         */
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    @EqualsAndHashCode
+    private static class CacheKey {
+        private final long contentId;
+        private final String derivation;
+
+        CacheKey(long contentId, String derivation) {
+            this.contentId = contentId;
+            this.derivation = derivation;
+        }
+    }
+}
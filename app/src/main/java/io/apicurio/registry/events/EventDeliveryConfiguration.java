@@ -0,0 +1,63 @@
+package io.apicurio.registry.events;
+
+import io.apicurio.common.apps.config.Info;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+
+/**
+ * Settings shared by the delivery queues of all the event sinks.
+ *
+ */
+@ApplicationScoped
+public class EventDeliveryConfiguration {
+
+    @ConfigProperty(name = "registry.events.queue.capacity", defaultValue = "10000")
+    @Info(category = "events", description = "Maximum number of events waiting to be delivered to each sink, events that do not fit are dead-lettered", availableSince = "3.0.0")
+    int queueCapacity;
+
+    @ConfigProperty(name = "registry.events.retry.max-attempts", defaultValue = "5")
+    @Info(category = "events", description = "Maximum number of attempts to deliver a batch of events to a sink", availableSince = "3.0.0")
+    int retryMaxAttempts;
+
+    @ConfigProperty(name = "registry.events.retry.initial-backoff-ms", defaultValue = "500")
+    @Info(category = "events", description = "Delay (in milliseconds) before the first retry of a failed event delivery, doubled on every further retry", availableSince = "3.0.0")
+    long retryInitialBackoffMs;
+
+    @ConfigProperty(name = "registry.events.retry.max-backoff-ms", defaultValue = "30000")
+    @Info(category = "events", description = "Maximum delay (in milliseconds) between retries of a failed event delivery", availableSince = "3.0.0")
+    long retryMaxBackoffMs;
+
+    @ConfigProperty(name = "registry.events.dead-letter.file")
+    @Info(category = "events", description = "File to which events that could not be delivered are appended (one structured CloudEvent per line)", availableSince = "3.0.0")
+    Optional<String> deadLetterFile;
+
+    @ConfigProperty(name = "registry.events.shutdown-timeout-ms", defaultValue = "5000")
+    @Info(category = "events", description = "Time (in milliseconds) given to the sinks to deliver the queued events on shutdown", availableSince = "3.0.0")
+    long shutdownTimeoutMs;
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public long getRetryInitialBackoffMs() {
+        return retryInitialBackoffMs;
+    }
+
+    public long getRetryMaxBackoffMs() {
+        return retryMaxBackoffMs;
+    }
+
+    public Optional<String> getDeadLetterFile() {
+        return deadLetterFile;
+    }
+
+    public long getShutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+}
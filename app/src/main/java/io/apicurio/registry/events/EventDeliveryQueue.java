@@ -0,0 +1,214 @@
+package io.apicurio.registry.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_EVENTS;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_EVENTS_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_LAG;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_LAG_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_QUEUE_SIZE;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_QUEUE_SIZE_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_TAG_RESULT;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SINK_TAG_SINK;
+
+/**
+ * Bounded queue of the events waiting to be delivered to a single sink (destination), drained by a dedicated thread.
+ * <p>
+ * Adding an event never blocks, so a slow or unavailable destination does not slow down the operation that
+ * triggered the event.  The events are delivered in order, in batches of up to the configured size.  A batch that
+ * fails is retried with an exponential backoff, and dead-lettered (see {@link EventDeliveryQueues#deadLetter})
+ * once the attempts are exhausted.  Events that do not fit in the queue are set aside and dead-lettered by the
+ * delivery thread as well, so that the thread adding them never writes to the dead-letter file.
+ *
+ */
+public class EventDeliveryQueue {
+
+    /**
+     * Delivers a batch of events to the destination.
+     */
+    @FunctionalInterface
+    public interface Deliverer {
+
+        /**
+         * Starts the delivery of the given (non-empty) batch, the returned stage completes when the destination
+         * has acknowledged all the events.
+         */
+        CompletionStage<?> deliver(List<OutboundEvent> batch) throws Exception;
+    }
+
+    private final String name;
+    private final int maxBatchSize;
+    private final Deliverer deliverer;
+    private final EventDeliveryQueues queues;
+    private final EventDeliveryConfiguration config;
+    private final Logger log;
+
+    private final BlockingQueue<OutboundEvent> queue;
+    private final BlockingQueue<OutboundEvent> overflow;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Timer lag;
+
+    EventDeliveryQueue(String name, int maxBatchSize, Deliverer deliverer, EventDeliveryQueues queues,
+                       EventDeliveryConfiguration config, MeterRegistry registry, Logger log) {
+        this.name = name;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.deliverer = deliverer;
+        this.queues = queues;
+        this.config = config;
+        this.log = log;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.overflow = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        Gauge.builder(EVENTS_SINK_QUEUE_SIZE, queue, BlockingQueue::size)
+                .description(EVENTS_SINK_QUEUE_SIZE_DESCRIPTION)
+                .tag(EVENTS_SINK_TAG_SINK, name)
+                .register(registry);
+        delivered = eventsCounter(registry, "delivered");
+        failed = eventsCounter(registry, "failed");
+        dropped = eventsCounter(registry, "dropped");
+        lag = Timer.builder(EVENTS_SINK_LAG)
+                .description(EVENTS_SINK_LAG_DESCRIPTION)
+                .tag(EVENTS_SINK_TAG_SINK, name)
+                .register(registry);
+
+        worker = new Thread(this::run, "registry-events-" + name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private Counter eventsCounter(MeterRegistry registry, String result) {
+        return Counter.builder(EVENTS_SINK_EVENTS)
+                .description(EVENTS_SINK_EVENTS_DESCRIPTION)
+                .tag(EVENTS_SINK_TAG_SINK, name)
+                .tag(EVENTS_SINK_TAG_RESULT, result)
+                .register(registry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Queues the event for delivery, without blocking.
+     */
+    public void add(OutboundEvent event) {
+        if (running && queue.offer(event)) {
+            return;
+        }
+        dropped.increment();
+        if (!running || !overflow.offer(event)) {
+            log.error("Event queue of sink {} is full or closed, event {} of type {} was discarded", name, event.getId(), event.getType());
+        }
+    }
+
+    /**
+     * Stops accepting events and gives the worker the configured time to deliver the queued ones.
+     * Whatever is still queued after that is dead-lettered.
+     */
+    public void close() {
+        running = false;
+        try {
+            worker.join(config.getShutdownTimeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+        }
+        deadLetterOverflow();
+        List<OutboundEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("Dead-lettering {} undelivered event(s) of sink {} on shutdown", remaining.size(), name);
+            dropped.increment(remaining.size());
+            queues.deadLetter(name, remaining);
+        }
+    }
+
+    /**
+     * Dead-letters the events that did not fit in the queue.
+     */
+    private void deadLetterOverflow() {
+        List<OutboundEvent> overflown = new ArrayList<>();
+        overflow.drainTo(overflown);
+        if (!overflown.isEmpty()) {
+            log.warn("Event queue of sink {} was full, dead-lettering {} event(s)", name, overflown.size());
+            queues.deadLetter(name, overflown);
+        }
+    }
+
+    private void run() {
+        List<OutboundEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty() || !overflow.isEmpty()) {
+            try {
+                deadLetterOverflow();
+                OutboundEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                deliverWithRetries(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    failed.increment(batch.size());
+                    queues.deadLetter(name, batch);
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliverWithRetries(List<OutboundEvent> batch) throws InterruptedException {
+        long backoff = config.getRetryInitialBackoffMs();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                deliverer.deliver(batch).toCompletableFuture().get();
+                delivered.increment(batch.size());
+                Instant now = Instant.now();
+                for (OutboundEvent event : batch) {
+                    lag.record(Duration.between(event.getTime(), now));
+                }
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                // Event data that can not be serialized will not get better with retries
+                if (attempt >= config.getRetryMaxAttempts() || cause instanceof JsonProcessingException) {
+                    log.error("Giving up delivering {} event(s) to sink {} after {} attempt(s)", batch.size(), name, attempt, cause);
+                    failed.increment(batch.size());
+                    queues.deadLetter(name, batch);
+                    return;
+                }
+                log.warn("Error delivering {} event(s) to sink {} (attempt {}), retrying in {} ms: {}",
+                        batch.size(), name, attempt, backoff, cause.getMessage());
+                deadLetterOverflow();
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, config.getRetryMaxBackoffMs());
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.apicurio.registry.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Creates the delivery queues of the event sinks and takes care of the events that could not be delivered.
+ *
+ */
+@ApplicationScoped
+public class EventDeliveryQueues {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    EventDeliveryConfiguration config;
+
+    /**
+     * Creates (and starts) a delivery queue.
+     *
+     * @param name name of the sink or destination, used in logs and metrics
+     * @param maxBatchSize maximum number of events passed to the deliverer at once
+     * @param deliverer delivers the events to the destination
+     */
+    public EventDeliveryQueue create(String name, int maxBatchSize, EventDeliveryQueue.Deliverer deliverer) {
+        return new EventDeliveryQueue(name, maxBatchSize, deliverer, this, config, registry, log);
+    }
+
+    /**
+     * Appends the events to the dead-letter file (when configured) as structured CloudEvents, one per line,
+     * with a {@code sink} extension attribute holding the name of the sink that failed to deliver them.
+     * An event that can not be serialized is logged and skipped, the other ones are still written.
+     * <p>
+     * Only called from the delivery threads, the lock keeps the lines of concurrent sinks apart.
+     */
+    synchronized void deadLetter(String sink, List<OutboundEvent> events) {
+        if (config.getDeadLetterFile().isEmpty()) {
+            for (OutboundEvent event : events) {
+                log.error("Event {} of type {} could not be delivered to sink {} and was discarded", event.getId(), event.getType(), sink);
+            }
+            return;
+        }
+        Path file = Path.of(config.getDeadLetterFile().get());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            for (OutboundEvent event : events) {
+                String line;
+                try {
+                    ObjectNode node = event.toStructured();
+                    node.put("sink", sink);
+                    line = OutboundEvent.mapper().writeValueAsString(node);
+                } catch (JsonProcessingException e) {
+                    log.error("Event {} of type {} could not be delivered to sink {} nor serialized, it was discarded",
+                            event.getId(), event.getType(), sink, e);
+                    continue;
+                }
+                writer.write(line);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            log.error("Error writing {} event(s) of sink {} to the dead-letter file {}", events.size(), sink, file, e);
+        }
+    }
+}
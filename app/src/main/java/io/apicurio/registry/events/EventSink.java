@@ -1,14 +1,14 @@
 package io.apicurio.registry.events;
 
-import io.vertx.core.buffer.Buffer;
-import io.vertx.core.eventbus.Message;
-
 public interface EventSink {
 
     String name();
 
     boolean isConfigured();
 
-    void handle(Message<Buffer> message);
+    /**
+     * Queues the event for delivery.  Called on the thread that triggered the event, so must not block.
+     */
+    void handle(OutboundEvent event);
 
 }
@@ -1,39 +1,25 @@
 package io.apicurio.registry.events;
 
-import com.fasterxml.jackson.annotation.JsonInclude.Include;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.apicurio.registry.events.dto.RegistryEventType;
-import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
-import io.vertx.core.eventbus.DeliveryOptions;
-import io.vertx.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class EventsServiceImpl implements EventsService {
 
-    private static final String INTERNAL_EVENTS_ADDRESS = "registry-events";
-
-    private ObjectMapper mapper;
+    private final List<EventSink> configuredSinks = new ArrayList<>();
     private boolean initDone = false;
-    private boolean configuredSinks = false;
 
     @Inject
     Logger log;
 
-    @Inject
-    Vertx vertx;
-
-    @Inject
-    EventBus eventBus;
-
     @Inject
     Instance<EventSink> sinks;
 
@@ -42,8 +28,7 @@ public class EventsServiceImpl implements EventsService {
         for (EventSink sink : sinks) {
             if (sink.isConfigured()) {
                 log.info("Subscribing sink " + sink.name());
-                eventBus.consumer(INTERNAL_EVENTS_ADDRESS, sink::handle);
-                configuredSinks = true;
+                configuredSinks.add(sink);
             }
         }
         initDone = true;
@@ -56,34 +41,19 @@ public class EventsServiceImpl implements EventsService {
 
     @Override
     public boolean isConfigured() {
-        return configuredSinks;
+        return !configuredSinks.isEmpty();
     }
 
     @Override
     public void triggerEvent(RegistryEventType type, Optional<String> artifactId, Object data) {
-        if (configuredSinks && data != null) {
-            Buffer buffer;
-            try {
-                buffer = Buffer.buffer(getMapper().writeValueAsBytes(data));
-            } catch (JsonProcessingException e) {
-                log.error("Error serializing event data", e);
-                return;
+        if (!configuredSinks.isEmpty() && data != null) {
+            // The data is serialized by the sinks, off the calling thread
+            OutboundEvent event = new OutboundEvent(type.cloudEventType(), artifactId.orElse(null), data);
+            log.debug("Firing event {}", event.getType());
+            for (EventSink sink : configuredSinks) {
+                sink.handle(event);
             }
-            DeliveryOptions opts = new DeliveryOptions()
-                    .addHeader("type", type.cloudEventType());
-            if (artifactId.isPresent()) {
-                opts.addHeader("artifactId", artifactId.get());
-            }
-            eventBus.publish(INTERNAL_EVENTS_ADDRESS, buffer, opts);
-        }
-    }
-
-    private synchronized ObjectMapper getMapper() {
-        if (mapper == null) {
-            mapper = new ObjectMapper();
-            mapper.setSerializationInclusion(Include.NON_NULL);
         }
-        return mapper;
     }
 
-}
\ No newline at end of file
+}
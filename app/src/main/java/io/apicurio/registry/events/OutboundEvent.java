@@ -0,0 +1,95 @@
+package io.apicurio.registry.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A registry event on its way to the configured sinks.
+ * <p>
+ * The event data is only serialized when a sink first needs it, i.e. on the sink delivery thread rather than
+ * on the thread that triggered the event.  The serialized form is shared by all the sinks.
+ *
+ */
+public class OutboundEvent {
+
+    public static final String SPEC_VERSION = "1.0";
+    public static final String SOURCE = "apicurio-registry";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().setSerializationInclusion(Include.NON_NULL);
+
+    private final String id;
+    private final String type;
+    private final String artifactId;
+    private final Instant time;
+    private final Object data;
+
+    private volatile byte[] dataBytes;
+
+    public OutboundEvent(String type, String artifactId, Object data) {
+        this.id = UUID.randomUUID().toString();
+        this.type = type;
+        this.artifactId = artifactId;
+        this.time = Instant.now();
+        this.data = data;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the CloudEvents type of the event.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the id of the artifact the event is about, or null.
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the event data serialized as JSON.
+     */
+    public byte[] getDataBytes() throws JsonProcessingException {
+        byte[] bytes = dataBytes;
+        if (bytes == null) {
+            bytes = MAPPER.writeValueAsBytes(data);
+            dataBytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the event in the CloudEvents structured JSON format.
+     */
+    public ObjectNode toStructured() throws JsonProcessingException {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("specversion", SPEC_VERSION);
+        node.put("id", id);
+        node.put("source", SOURCE);
+        node.put("type", type);
+        node.put("time", time.toString());
+        node.put("datacontenttype", "application/json");
+        node.putRawValue("data", new RawValue(new String(getDataBytes(), StandardCharsets.UTF_8)));
+        return node;
+    }
+
+    static ObjectMapper mapper() {
+        return MAPPER;
+    }
+}
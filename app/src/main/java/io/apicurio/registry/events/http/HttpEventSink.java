@@ -1,8 +1,14 @@
 package io.apicurio.registry.events.http;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.events.EventDeliveryQueue;
+import io.apicurio.registry.events.EventDeliveryQueues;
 import io.apicurio.registry.events.EventSink;
-import io.vertx.core.buffer.Buffer;
-import io.vertx.core.eventbus.Message;
+import io.apicurio.registry.events.OutboundEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -12,19 +18,62 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.UUID;
-
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers the events to the configured HTTP endpoints as CloudEvents.
+ * <p>
+ * Each endpoint has its own delivery queue, so a slow endpoint does not delay the others.  A single event is sent
+ * in the binary content mode (attributes as {@code ce-*} headers), several events queued for the same endpoint
+ * are sent together in the structured batch mode when batching is enabled.
+ *
+ */
 @ApplicationScoped
 public class HttpEventSink implements EventSink {
 
+    public static final String CLOUDEVENTS_BATCH_CONTENT_TYPE = "application/cloudevents-batch+json";
+
     private HttpClient httpClient;
 
+    private final List<EventDeliveryQueue> queues = new ArrayList<>();
+
     @Inject
     Logger log;
 
     @Inject
     HttpSinksConfiguration sinksConfiguration;
 
+    @Inject
+    EventDeliveryQueues deliveryQueues;
+
+    @ConfigProperty(name = "registry.events.http.batch.max-size", defaultValue = "1")
+    @Info(category = "events", description = "Maximum number of events sent to an HTTP sink in a single (CloudEvents batch) request, 1 disables batching", availableSince = "3.0.0")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "registry.events.http.timeout-ms", defaultValue = "30000")
+    @Info(category = "events", description = "Timeout (in milliseconds) of the requests sent to the HTTP sinks", availableSince = "3.0.0")
+    long timeoutMs;
+
+    @PostConstruct
+    void init() {
+        if (isConfigured()) {
+            for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
+                queues.add(deliveryQueues.create("http-" + httpSink.getName(), maxBatchSize,
+                        batch -> sendEventsHttp(httpSink, batch)));
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        queues.forEach(EventDeliveryQueue::close);
+    }
+
     @Override
     public String name() {
         return "HTTP Sink";
@@ -36,52 +85,56 @@ public class HttpEventSink implements EventSink {
     }
 
     @Override
-    public void handle(Message<Buffer> message) {
-
-        String type = message.headers().get("type");
-
-        log.info("Firing event " + type);
-
-        for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
-            sendEventHttp(type, httpSink, message.body());
+    public void handle(OutboundEvent event) {
+        for (EventDeliveryQueue queue : queues) {
+            queue.add(event);
         }
-
     }
 
-    private void sendEventHttp(String type, HttpSinkConfiguration httpSink, Buffer data) {
-        try {
-            log.debug("Sending event to sink " + httpSink.getName());
-
-            final HttpRequest eventRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(httpSink.getEndpoint()))
-                    .version(HttpClient.Version.HTTP_1_1)
-                    .header("ce-id", UUID.randomUUID().toString())
-                    .header("ce-specversion", "1.0")
-                    .header("ce-source", "apicurio-registry")
-                    .header("ce-type", type)
-                    .header("content-type", MediaType.APPLICATION_JSON)
-                    .POST(HttpRequest.BodyPublishers.ofByteArray(data.getBytes()))
-                    .build();
+    private CompletableFuture<Void> sendEventsHttp(HttpSinkConfiguration httpSink, List<OutboundEvent> batch) throws JsonProcessingException {
+        log.debug("Sending {} event(s) to sink {}", batch.size(), httpSink.getName());
 
-            final HttpResponse<String> eventResponse = getHttpClient()
-                    .send(eventRequest, HttpResponse.BodyHandlers.ofString());
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(httpSink.getEndpoint()))
+                .timeout(Duration.ofMillis(timeoutMs));
 
-            if (eventResponse.statusCode() != 200) {
-                log.warn("Error sending http event: {}", eventResponse.body());
+        if (batch.size() == 1) {
+            OutboundEvent event = batch.get(0);
+            builder.header("ce-id", event.getId())
+                    .header("ce-specversion", OutboundEvent.SPEC_VERSION)
+                    .header("ce-source", OutboundEvent.SOURCE)
+                    .header("ce-type", event.getType())
+                    .header("ce-time", event.getTime().toString())
+                    .header("content-type", MediaType.APPLICATION_JSON)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(event.getDataBytes()));
+        } else {
+            StringJoiner body = new StringJoiner(",", "[", "]");
+            for (OutboundEvent event : batch) {
+                body.add(event.toStructured().toString());
             }
-
-
-        } catch (Exception e) {
-            log.error("Error sending http event", e);
+            builder.header("content-type", CLOUDEVENTS_BATCH_CONTENT_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8));
         }
+
+        return getHttpClient()
+                .sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString())
+                .thenAccept(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("Sink " + httpSink.getName() + " responded with status "
+                                + response.statusCode() + ": " + response.body());
+                    }
+                });
     }
 
     private synchronized HttpClient getHttpClient() {
         if (httpClient == null) {
+            // Multiplexes the requests to an endpoint over a single connection when it supports HTTP/2,
+            // the client falls back to HTTP/1.1 otherwise
             httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
                     .build();
         }
         return httpClient;
     }
 
-}
\ No newline at end of file
+}
@@ -1,13 +1,15 @@
 package io.apicurio.registry.events.kafka;
 
-import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.header.internals.RecordHeaders;
@@ -15,12 +17,13 @@ import org.apache.kafka.common.serialization.Serdes;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.events.EventDeliveryQueue;
+import io.apicurio.registry.events.EventDeliveryQueues;
 import io.apicurio.registry.events.EventSink;
+import io.apicurio.registry.events.OutboundEvent;
 import io.apicurio.registry.utils.RegistryProperties;
 import io.apicurio.registry.utils.kafka.AsyncProducer;
 import io.apicurio.registry.utils.kafka.ProducerActions;
-import io.vertx.core.buffer.Buffer;
-import io.vertx.core.eventbus.Message;
 
 @ApplicationScoped
 public class KafkaEventSink implements EventSink {
@@ -35,8 +38,12 @@ public class KafkaEventSink implements EventSink {
     )
     Properties producerProperties;
 
+    @Inject
+    EventDeliveryQueues deliveryQueues;
+
     private ProducerActions<String, byte[]> producer;
     private Integer partition;
+    private EventDeliveryQueue queue;
 
     @ConfigProperty(name = "registry.events.kafka.topic")
     @Info(category = "kafka", description = "Events Kafka topic", availableSince = "2.0.0.Final")
@@ -46,9 +53,28 @@ public class KafkaEventSink implements EventSink {
     @Info(category = "kafka", description = "Events Kafka topic partition", availableSince = "2.0.0.Final")
     Optional<Integer> eventsTopicPartition;
 
+    @ConfigProperty(name = "registry.events.kafka.batch.max-size", defaultValue = "500")
+    @Info(category = "kafka", description = "Maximum number of events handed to the Kafka producer before waiting for their acknowledgement", availableSince = "3.0.0")
+    int maxBatchSize;
+
     @PostConstruct
     void init() {
         partition = eventsTopicPartition.orElse(null);
+        if (isConfigured()) {
+            queue = deliveryQueues.create("kafka", maxBatchSize, this::sendEvents);
+        }
+    }
+
+    @PreDestroy
+    void close() throws Exception {
+        if (queue != null) {
+            queue.close();
+        }
+        synchronized (this) {
+            if (producer != null) {
+                producer.close();
+            }
+        }
     }
 
     @Override
@@ -62,36 +88,40 @@ public class KafkaEventSink implements EventSink {
     }
 
     @Override
-    public void handle(Message<Buffer> message) {
-        String type = message.headers().get("type");
-        String artifactId = message.headers().get("artifactId");
-
-        log.info("Firing event " + type);
+    public void handle(OutboundEvent event) {
+        queue.add(event);
+    }
 
-        UUID uuid = UUID.randomUUID();
+    private CompletableFuture<Void> sendEvents(List<OutboundEvent> batch) throws JsonProcessingException {
+        // The producer batches the records itself, wait for the acknowledgement of the whole batch
+        CompletableFuture<?>[] sent = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < sent.length; i++) {
+            sent[i] = getProducer().apply(toRecord(batch.get(i)));
+        }
+        return CompletableFuture.allOf(sent);
+    }
 
+    private ProducerRecord<String, byte[]> toRecord(OutboundEvent event) throws JsonProcessingException {
         Headers headers = new RecordHeaders();
-        headers.add("ce_id", uuid.toString().getBytes());
-        headers.add("ce_specversion", "1.0".getBytes());
-        headers.add("ce_source", "apicurio-registry".getBytes());
-        headers.add("ce_type", type.getBytes());
-        headers.add("ce_time", Instant.now().toString().getBytes());
+        headers.add("ce_id", event.getId().getBytes());
+        headers.add("ce_specversion", OutboundEvent.SPEC_VERSION.getBytes());
+        headers.add("ce_source", OutboundEvent.SOURCE.getBytes());
+        headers.add("ce_type", event.getType().getBytes());
+        headers.add("ce_time", event.getTime().toString().getBytes());
         headers.add("content-type", "application/json".getBytes());
 
         //for artifact related operations message key will be the artifactId which will place all messages for an artifact in the same topic
-        String key = artifactId;
+        String key = event.getArtifactId();
         if (key == null) {
-            key = uuid.toString();
+            key = event.getId();
         }
 
-        getProducer()
-            .apply(new ProducerRecord<String, byte[]>(
-                    eventsTopic.get(),
-                    partition, //partition is optional and can be null
-                    key,
-                    message.body().getBytes(),
-                    headers));
-
+        return new ProducerRecord<String, byte[]>(
+                eventsTopic.get(),
+                partition, //partition is optional and can be null
+                key,
+                event.getDataBytes(),
+                headers);
     }
 
     public synchronized ProducerActions<String, byte[]> getProducer() {
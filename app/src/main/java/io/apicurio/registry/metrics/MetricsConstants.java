@@ -35,4 +35,45 @@ public interface MetricsConstants {
 
     String STORAGE_METHOD_CALL_TAG_METHOD = "method";
     String STORAGE_METHOD_CALL_TAG_SUCCESS = "success";
+
+    // Storage content cache
+
+    String STORAGE_CONTENT_CACHE = STORAGE_PREFIX + "content.cache";
+    String STORAGE_CONTENT_CACHE_HITS = STORAGE_CONTENT_CACHE + ".hits";
+    String STORAGE_CONTENT_CACHE_HITS_DESCRIPTION = "Number of storage content lookups served from the cache";
+    String STORAGE_CONTENT_CACHE_MISSES = STORAGE_CONTENT_CACHE + ".misses";
+    String STORAGE_CONTENT_CACHE_MISSES_DESCRIPTION = "Number of storage content lookups that had to query the storage";
+    String STORAGE_CONTENT_CACHE_EVICTIONS = STORAGE_CONTENT_CACHE + ".evictions";
+    String STORAGE_CONTENT_CACHE_EVICTIONS_DESCRIPTION = "Number of storage content cache entries evicted due to the size limit";
+
+    // Storage content cache tags/labels
+
+    String STORAGE_CONTENT_CACHE_TAG_KIND = "kind";
+
+    // Storage export
+
+    String STORAGE_EXPORT = STORAGE_PREFIX + "export";
+    String STORAGE_EXPORT_DESCRIPTION = "Duration of the exports of the registry data";
+    String STORAGE_EXPORT_ENTITIES = STORAGE_EXPORT + ".entities";
+    String STORAGE_EXPORT_ENTITIES_DESCRIPTION = "Number of entities exported, by entity type";
+
+    // Storage export tags/labels
+
+    String STORAGE_EXPORT_TAG_TYPE = "type";
+
+    // Events
+
+    String EVENTS_PREFIX = "events.";
+    String EVENTS_SINK = EVENTS_PREFIX + "sink";
+    String EVENTS_SINK_EVENTS = EVENTS_SINK + ".events";
+    String EVENTS_SINK_EVENTS_DESCRIPTION = "Number of events handled by an event sink, by outcome";
+    String EVENTS_SINK_QUEUE_SIZE = EVENTS_SINK + ".queue.size";
+    String EVENTS_SINK_QUEUE_SIZE_DESCRIPTION = "Number of events waiting to be delivered by an event sink";
+    String EVENTS_SINK_LAG = EVENTS_SINK + ".lag";
+    String EVENTS_SINK_LAG_DESCRIPTION = "Time between an event being triggered and its delivery by an event sink";
+
+    // Events tags/labels
+
+    String EVENTS_SINK_TAG_SINK = "sink";
+    String EVENTS_SINK_TAG_RESULT = "result";
 }
@@ -23,6 +23,10 @@ public class RestConfig {
     @Info(category = "rest", description = "Enables artifact version deletion", availableSince = "2.4.2-SNAPSHOT")
     Supplier<Boolean> artifactVersionDeletionEnabled;
 
+    @ConfigProperty(name = "registry.rest.export.compression-level", defaultValue = "-1")
+    @Info(category = "rest", description = "Deflate level (-1 to 9) of the entries of the export zip file, 0 stores the entries uncompressed", availableSince = "3.0.0")
+    int exportCompressionLevel;
+
     public int getDownloadMaxSize() { return this.downloadMaxSize; }
 
     public boolean getDownloadSkipSSLValidation() { return this.downloadSkipSSLValidation; }
@@ -31,4 +35,8 @@ public class RestConfig {
         return artifactVersionDeletionEnabled.get();
     }
 
+    public int getExportCompressionLevel() {
+        return this.exportCompressionLevel;
+    }
+
 }
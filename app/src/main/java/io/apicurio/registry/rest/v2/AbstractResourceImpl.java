@@ -11,17 +11,24 @@ import java.util.Map;
 import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import io.apicurio.common.apps.config.Info;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.DerivedContentCache;
+import io.apicurio.registry.content.DerivedContentCache.DerivedContent;
 import io.apicurio.registry.content.dereference.ContentDereferencer;
 import io.apicurio.registry.content.refs.JsonPointerExternalReference;
 import io.apicurio.registry.rest.v2.beans.HandleReferencesType;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
@@ -39,57 +46,123 @@ public abstract class AbstractResourceImpl {
     @Inject
     ArtifactTypeUtilProviderFactory factory;
 
+    @Inject
+    DerivedContentCache derivedContentCache;
+
     @Context
     HttpServletRequest request;
 
+    @Context
+    Request restRequest;
+
     @ConfigProperty(name = "registry.apis.v2.base-href", defaultValue = "_")
     @Info(category = "api", description = "API base href (URI)", availableSince = "2.5.0.Final")
     String apiBaseHref;
 
+    /**
+     * Creates the response serving the content of an artifact version, with its references handled based on
+     * the value of "HandleReferencesType".  Dereferenced and rewritten content is computed once per content
+     * (see {@link DerivedContentCache}) and served with a strong ETag, so that a request with a matching
+     * If-None-Match header gets a 304 (Not Modified) response.
+     * @param referencesType
+     * @param artifactType
+     * @param artifact
+     * @param contentType
+     */
+    protected Response.ResponseBuilder contentResponse(HandleReferencesType referencesType, String artifactType,
+            StoredArtifactDto artifact, MediaType contentType) {
+        ContentHandle content = artifact.getContent();
+        List<ArtifactReferenceDto> references = artifact.getReferences();
+        if (references.isEmpty() || (referencesType != HandleReferencesType.DEREFERENCE
+                && referencesType != HandleReferencesType.REWRITE)) {
+            return Response.ok(content, contentType);
+        }
+
+        URI baseHref = referencesType == HandleReferencesType.REWRITE ? resolveApiBaseHref() : null;
+        if (artifact.getContentId() == null) {
+            return Response.ok(handleContentReferences(referencesType, artifactType, content, references, baseHref), contentType);
+        }
+        // Rewritten references are URLs of this version of the API, under the base href of the request
+        String derivation = referencesType == HandleReferencesType.REWRITE
+                ? "REWRITE:v2:" + baseHref : referencesType.name();
+        DerivedContent derived = derivedContentCache.get(artifact.getContentId(), derivation,
+                () -> deriveContent(referencesType, artifactType, content, references, baseHref));
+
+        EntityTag etag = new EntityTag(derived.getEtag());
+        Response.ResponseBuilder notModified = restRequest.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified;
+        }
+        return Response.ok(derived.getContent(), contentType).tag(etag);
+    }
+
+    /**
+     * Derives the content to serve, see {@link #handleContentReferences}.  Dereferenced content is only cached when
+     * every (transitively) referenced version exists, as a missing one may be created later.
+     */
+    private DerivedContent deriveContent(HandleReferencesType referencesType, String artifactType,
+            ContentHandle content, List<ArtifactReferenceDto> references, URI baseHref) {
+        if (referencesType == HandleReferencesType.DEREFERENCE) {
+            Map<String, ContentHandle> resolvedReferences = storage.resolveReferencesIfComplete(references);
+            if (resolvedReferences == null) {
+                return DerivedContent.notCacheable(dereference(artifactType, content, storage.resolveReferences(references)));
+            }
+            return DerivedContent.cacheable(dereference(artifactType, content, resolvedReferences));
+        }
+        return DerivedContent.cacheable(handleContentReferences(referencesType, artifactType, content, references, baseHref));
+    }
+
     /**
      * Handle the content references based on the value of "HandleReferencesType" - this can either mean
      * we need to fully dereference the content, or we need to rewrite the references, or we do nothing.
      * @param referencesType
-     * @param metaData
-     * @param artifact
+     * @param artifactType
      * @param content
+     * @param references
+     * @param baseHref base href of the REST API, used when rewriting references
      */
-    protected ContentHandle handleContentReferences(HandleReferencesType referencesType, String artifactType, 
-            ContentHandle content, List<ArtifactReferenceDto> references) {
+    private ContentHandle handleContentReferences(HandleReferencesType referencesType, String artifactType,
+            ContentHandle content, List<ArtifactReferenceDto> references, URI baseHref) {
         // Dereference or rewrite references
         if (!references.isEmpty()) {
             if (referencesType == HandleReferencesType.DEREFERENCE) {
-                ArtifactTypeUtilProvider artifactTypeProvider = factory.getArtifactTypeProvider(artifactType);
-                ContentDereferencer contentDereferencer = artifactTypeProvider.getContentDereferencer();
-                Map<String, ContentHandle> resolvedReferences = storage.resolveReferences(references);
-                content = contentDereferencer.dereference(content, resolvedReferences);
+                content = dereference(artifactType, content, storage.resolveReferences(references));
             } else if (referencesType == HandleReferencesType.REWRITE) {
                 ArtifactTypeUtilProvider artifactTypeProvider = factory.getArtifactTypeProvider(artifactType);
                 ContentDereferencer contentDereferencer = artifactTypeProvider.getContentDereferencer();
-                Map<String, String> resolvedReferenceUrls = resolveReferenceUrls(references);
+                Map<String, String> resolvedReferenceUrls = resolveReferenceUrls(references, baseHref);
                 content = contentDereferencer.rewriteReferences(content, resolvedReferenceUrls);
             }
         }
         return content;
     }
 
+    private ContentHandle dereference(String artifactType, ContentHandle content, Map<String, ContentHandle> resolvedReferences) {
+        ArtifactTypeUtilProvider artifactTypeProvider = factory.getArtifactTypeProvider(artifactType);
+        ContentDereferencer contentDereferencer = artifactTypeProvider.getContentDereferencer();
+        return contentDereferencer.dereference(content, resolvedReferences);
+    }
+
     /**
      * Convert the list of references into a list of REST API URLs that point to the content.  This means
      * that we generate a REST API URL from the GAV (groupId, artifactId, version) information found in
      * each reference.
      * @param references
+     * @param baseHref
      */
-    protected Map<String, String> resolveReferenceUrls(List<ArtifactReferenceDto> references) {
+    protected Map<String, String> resolveReferenceUrls(List<ArtifactReferenceDto> references, URI baseHref) {
         Map<String, String> rval = new HashMap<>();
+        if (baseHref == null) {
+            this.log.warn("Failed to determine baseHref for the REST API.");
+            return rval;
+        }
         for (ArtifactReferenceDto reference : references) {
-            String resolvedReferenceUrl = resolveReferenceUrl(reference);
+            String resolvedReferenceUrl = resolveReferenceUrl(reference, baseHref);
             if (reference.getName().contains("#")) {
                 JsonPointerExternalReference jpRef = new JsonPointerExternalReference(reference.getName());
                 resolvedReferenceUrl = resolvedReferenceUrl + jpRef.getComponent();
             }
-            if (resolvedReferenceUrl != null) {
-                rval.put(reference.getName(), resolvedReferenceUrl);
-            }
+            rval.put(reference.getName(), resolvedReferenceUrl);
         }
         return rval;
     }
@@ -98,33 +171,34 @@ public abstract class AbstractResourceImpl {
      * Convert a single artifact reference to a REST API URL.  This means that we generate a REST API URL 
      * from the GAV (groupId, artifactId, version) information found in the reference.
      * @param reference
+     * @param baseHref
      */
-    protected String resolveReferenceUrl(ArtifactReferenceDto reference) {
-        URI baseHref = null;
+    protected String resolveReferenceUrl(ArtifactReferenceDto reference, URI baseHref) {
+        String path = String.format("/apis/registry/v2/groups/%s/artifacts/%s/versions/%s?references=REWRITE",
+                URLEncoder.encode(reference.getGroupId(), StandardCharsets.UTF_8),
+                URLEncoder.encode(reference.getArtifactId(), StandardCharsets.UTF_8),
+                URLEncoder.encode(reference.getVersion(), StandardCharsets.UTF_8));
+        return baseHref.resolve(path).toString();
+    }
+
+    /**
+     * Determines the base href of the REST API, either from the configuration or from the request.
+     * Returns null if it can not be determined.
+     */
+    protected URI resolveApiBaseHref() {
         try {
             if (!"_".equals(apiBaseHref)) {
-                baseHref = new URI(apiBaseHref);
-            } else {
-                baseHref = getApiBaseHrefFromXForwarded(request);
-                if (baseHref == null) {
-                    baseHref = getApiBaseHrefFromRequest(request);
-                }
+                return new URI(apiBaseHref);
+            }
+            URI baseHref = getApiBaseHrefFromXForwarded(request);
+            if (baseHref == null) {
+                baseHref = getApiBaseHrefFromRequest(request);
             }
+            return baseHref;
         } catch (URISyntaxException e) {
             this.log.error("Error trying to determine the baseHref of the REST API.", e);
             return null;
         }
-        
-        if (baseHref == null) {
-            this.log.warn("Failed to determine baseHref for the REST API.");
-            return null;
-        }
-
-        String path = String.format("/apis/registry/v2/groups/%s/artifacts/%s/versions/%s?references=REWRITE",
-                URLEncoder.encode(reference.getGroupId(), StandardCharsets.UTF_8),
-                URLEncoder.encode(reference.getArtifactId(), StandardCharsets.UTF_8),
-                URLEncoder.encode(reference.getVersion(), StandardCharsets.UTF_8));
-        return baseHref.resolve(path).toString();
     }
 
     /**
@@ -107,10 +107,7 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
 
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        contentToReturn = handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());  
-        
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
+        Response.ResponseBuilder builder = contentResponse(references, metaData.getType(), artifact, contentType);
         checkIfDeprecated(metaData::getState, groupId, artifactId, metaData.getVersion(), builder);
         return builder.build();
     }
@@ -497,10 +494,7 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
 
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        contentToReturn = handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());  
-
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
+        Response.ResponseBuilder builder = contentResponse(references, metaData.getType(), artifact, contentType);
         checkIfDeprecated(metaData::getState, groupId, artifactId, version, builder);
         return builder.build();
     }
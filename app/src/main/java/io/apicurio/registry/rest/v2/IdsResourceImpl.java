@@ -70,10 +70,7 @@ public class IdsResourceImpl extends AbstractResourceImpl implements IdsResource
 
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());
-
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
+        Response.ResponseBuilder builder = contentResponse(references, metaData.getType(), artifact, contentType);
         checkIfDeprecated(metaData::getState, metaData.getId(), metaData.getVersion(), builder);
         return builder.build();
     }
@@ -1,5 +1,6 @@
 package io.apicurio.registry.rest.v2.shared;
 
+import io.apicurio.registry.rest.RestConfig;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.utils.impexp.EntityWriter;
@@ -24,6 +25,9 @@ public class DataExporter {
     @Current
     RegistryStorage storage;
 
+    @Inject
+    RestConfig restConfig;
+
     /**
      * Exports all registry data.
      */
@@ -31,7 +35,7 @@ public class DataExporter {
         StreamingOutput stream = os -> {
             try {
                 ZipOutputStream zip = new ZipOutputStream(os, StandardCharsets.UTF_8);
-                EntityWriter writer = new EntityWriter(zip);
+                EntityWriter writer = new EntityWriter(zip, restConfig.getExportCompressionLevel());
                 AtomicInteger errorCounter = new AtomicInteger(0);
                 storage.exportData(entity -> {
                     try {
@@ -108,10 +108,7 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
 
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        contentToReturn = handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());
-
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
+        Response.ResponseBuilder builder = contentResponse(references, metaData.getType(), artifact, contentType);
         checkIfDeprecated(metaData::getState, groupId, artifactId, metaData.getVersion(), builder);
         return builder.build();
     }
@@ -275,7 +272,8 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
 
     @Override
     @Authorized(style = AuthorizedStyle.None, level = AuthorizedLevel.Read)
-    public GroupSearchResults listGroups(BigInteger limit, BigInteger offset, SortOrder order, SortBy orderby) {
+    public GroupSearchResults listGroups(BigInteger limit, BigInteger offset, SortOrder order, SortBy orderby,
+                                         String cursor, CountMode count) {
         if (orderby == null) {
             orderby = SortBy.name;
         }
@@ -289,10 +287,14 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
         final OrderBy oBy = OrderBy.valueOf(orderby.name());
         final OrderDirection oDir = order == null || order == SortOrder.asc ? OrderDirection.asc : OrderDirection.desc;
 
+        final SearchCursor after = V3ApiUtil.decodeCursor(cursor, oBy, oDir, false);
+        final SearchCountMode countMode = V3ApiUtil.toCountMode(count);
+
         Set<SearchFilter> filters = Collections.emptySet();
 
-        GroupSearchResultsDto resultsDto = storage.searchGroups(filters, oBy, oDir, offset.intValue(), limit.intValue());
-        return V3ApiUtil.dtoToSearchResults(resultsDto);
+        GroupSearchResultsDto resultsDto = storage.searchGroups(filters, oBy, oDir, after != null ? 0 : offset.intValue(),
+                limit.intValue(), after, countMode);
+        return V3ApiUtil.dtoToSearchResults(resultsDto, oBy, oDir, countMode);
     }
 
     @Override
@@ -510,10 +512,7 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
 
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        contentToReturn = handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());
-
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
+        Response.ResponseBuilder builder = contentResponse(references, metaData.getType(), artifact, contentType);
         checkIfDeprecated(metaData::getState, groupId, artifactId, versionExpression, builder);
         return builder.build();
     }
@@ -694,7 +693,7 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
     @Override
     @Authorized(style = AuthorizedStyle.GroupOnly, level = AuthorizedLevel.Read)
     public ArtifactSearchResults listArtifactsInGroup(String groupId, BigInteger limit, BigInteger offset,
-                                                      SortOrder order, SortBy orderby) {
+                                                      SortOrder order, SortBy orderby, String cursor, CountMode count) {
         requireParameter("groupId", groupId);
 
         if (orderby == null) {
@@ -713,8 +712,12 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
         Set<SearchFilter> filters = new HashSet<>();
         filters.add(SearchFilter.ofGroup(new GroupId(groupId).getRawGroupIdWithNull()));
 
-        ArtifactSearchResultsDto resultsDto = storage.searchArtifacts(filters, oBy, oDir, offset.intValue(), limit.intValue());
-        return V3ApiUtil.dtoToSearchResults(resultsDto);
+        final SearchCursor after = V3ApiUtil.decodeCursor(cursor, oBy, oDir, true);
+        final SearchCountMode countMode = V3ApiUtil.toCountMode(count);
+
+        ArtifactSearchResultsDto resultsDto = storage.searchArtifacts(filters, oBy, oDir, after != null ? 0 : offset.intValue(),
+                limit.intValue(), after, countMode);
+        return V3ApiUtil.dtoToSearchResults(resultsDto, oBy, oDir, countMode);
     }
 
     /**
@@ -942,7 +945,8 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
 
     @Override
     @Authorized(style = AuthorizedStyle.GroupAndArtifact, level = AuthorizedLevel.Read)
-    public VersionSearchResults listArtifactVersions(String groupId, String artifactId, BigInteger offset, BigInteger limit) {
+    public VersionSearchResults listArtifactVersions(String groupId, String artifactId, BigInteger offset, BigInteger limit,
+                                                     String cursor, CountMode count) {
         requireParameter("groupId", groupId);
         requireParameter("artifactId", artifactId);
 
@@ -953,8 +957,12 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
             limit = BigInteger.valueOf(20);
         }
 
-        VersionSearchResultsDto resultsDto = storage.searchVersions(new GroupId(groupId).getRawGroupIdWithNull(), artifactId, offset.intValue(), limit.intValue());
-        return V3ApiUtil.dtoToSearchResults(resultsDto);
+        final SearchCursor after = V3ApiUtil.decodeCursor(cursor, OrderBy.globalId, OrderDirection.asc, true);
+        final SearchCountMode countMode = V3ApiUtil.toCountMode(count);
+
+        VersionSearchResultsDto resultsDto = storage.searchVersions(new GroupId(groupId).getRawGroupIdWithNull(), artifactId,
+                after != null ? 0 : offset.intValue(), limit.intValue(), after, countMode);
+        return V3ApiUtil.dtoToSearchResults(resultsDto, countMode);
     }
 
 
@@ -9,12 +9,15 @@ import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.model.GroupId;
 import io.apicurio.registry.rest.v3.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v3.beans.CountMode;
 import io.apicurio.registry.rest.v3.beans.SortBy;
 import io.apicurio.registry.rest.v3.beans.SortOrder;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
 import io.apicurio.registry.storage.dto.OrderBy;
 import io.apicurio.registry.storage.dto.OrderDirection;
+import io.apicurio.registry.storage.dto.SearchCountMode;
+import io.apicurio.registry.storage.dto.SearchCursor;
 import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.storage.impl.sql.RegistryStorageContentUtils;
 import io.apicurio.registry.types.Current;
@@ -56,7 +59,7 @@ public class SearchResourceImpl implements SearchResource {
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
     public ArtifactSearchResults searchArtifacts(String name, BigInteger offset, BigInteger limit, SortOrder order,
             SortBy orderby, List<String> labels, List<String> properties, String description, String group,
-            Long globalId, Long contentId)
+            Long globalId, Long contentId, String cursor, CountMode count)
     {
         if (orderby == null) {
             orderby = SortBy.name;
@@ -115,14 +118,18 @@ public class SearchResourceImpl implements SearchResource {
             filters.add(SearchFilter.ofContentId(contentId));
         }
 
-        ArtifactSearchResultsDto results = storage.searchArtifacts(filters, oBy, oDir, offset.intValue(), limit.intValue());
-        return V3ApiUtil.dtoToSearchResults(results);
+        final SearchCursor after = V3ApiUtil.decodeCursor(cursor, oBy, oDir, true);
+        final SearchCountMode countMode = V3ApiUtil.toCountMode(count);
+        ArtifactSearchResultsDto results = storage.searchArtifacts(filters, oBy, oDir, after != null ? 0 : offset.intValue(),
+                limit.intValue(), after, countMode);
+        return V3ApiUtil.dtoToSearchResults(results, oBy, oDir, countMode);
     }
 
 
     @Override
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
-    public ArtifactSearchResults searchArtifactsByContent(Boolean canonical, String artifactType, BigInteger offset, BigInteger limit, SortOrder order, SortBy orderby, InputStream data) {
+    public ArtifactSearchResults searchArtifactsByContent(Boolean canonical, String artifactType, BigInteger offset, BigInteger limit, SortOrder order, SortBy orderby,
+                                                          String cursor, CountMode count, InputStream data) {
 
         if (orderby == null) {
             orderby = SortBy.name;
@@ -157,8 +164,11 @@ public class SearchResourceImpl implements SearchResource {
         } else {
             throw new BadRequestException(CANONICAL_QUERY_PARAM_ERROR_MESSAGE);
         }
-        ArtifactSearchResultsDto results = storage.searchArtifacts(filters, oBy, oDir, offset.intValue(), limit.intValue());
-        return V3ApiUtil.dtoToSearchResults(results);
+        final SearchCursor after = V3ApiUtil.decodeCursor(cursor, oBy, oDir, true);
+        final SearchCountMode countMode = V3ApiUtil.toCountMode(count);
+        ArtifactSearchResultsDto results = storage.searchArtifacts(filters, oBy, oDir, after != null ? 0 : offset.intValue(),
+                limit.intValue(), after, countMode);
+        return V3ApiUtil.dtoToSearchResults(results, oBy, oDir, countMode);
     }
 
     /**
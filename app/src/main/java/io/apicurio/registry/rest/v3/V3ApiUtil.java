@@ -1,9 +1,17 @@
 package io.apicurio.registry.rest.v3;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.apicurio.registry.rest.v3.beans.*;
 import io.apicurio.registry.storage.dto.*;
+import io.apicurio.registry.utils.StringUtil;
+import jakarta.ws.rs.BadRequestException;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Optional;
@@ -11,6 +19,8 @@ import java.util.stream.Collectors;
 
 public final class V3ApiUtil {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private V3ApiUtil() {
     }
 
@@ -208,9 +218,74 @@ public final class V3ApiUtil {
         return sortOrder == SortOrder.desc ? name2.compareToIgnoreCase(name1) : name1.compareToIgnoreCase(name2);
     }
 
-    public static ArtifactSearchResults dtoToSearchResults(ArtifactSearchResultsDto dto) {
+    /**
+     * Converts the count mode query parameter, the count is exact by default.
+     */
+    public static SearchCountMode toCountMode(CountMode count) {
+        return count == null ? SearchCountMode.EXACT : SearchCountMode.valueOf(count.name().toUpperCase());
+    }
+
+    /**
+     * Encodes the position of the last result of a page as an opaque continuation token.  The order of the
+     * search is part of the token, so that it can not be used to continue a search with a different order.
+     *
+     * @return the token, or null when there is no next page
+     */
+    public static String encodeCursor(SearchCursor cursor, OrderBy orderBy, OrderDirection orderDirection) {
+        if (cursor == null) {
+            return null;
+        }
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("o", orderBy.name());
+        node.put("d", orderDirection.name());
+        node.put("k", cursor.getSortKey());
+        node.put("t", cursor.getTieBreaker());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(node.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token produced by {@link #encodeCursor(SearchCursor, OrderBy, OrderDirection)}.
+     *
+     * @param numericTieBreaker whether the tie-breaker is a globalId (artifacts and versions) rather than a groupId
+     * @return the cursor, or null when no token was given
+     * @throws BadRequestException when the token is invalid or was returned by a search with a different order
+     */
+    public static SearchCursor decodeCursor(String token, OrderBy orderBy, OrderDirection orderDirection, boolean numericTieBreaker) {
+        if (StringUtil.isEmpty(token)) {
+            return null;
+        }
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(Base64.getUrlDecoder().decode(token));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+        if (node == null || !node.path("k").isTextual() || !node.path("t").isTextual()) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+        if (!orderBy.name().equals(node.path("o").asText()) || !orderDirection.name().equals(node.path("d").asText())) {
+            throw new BadRequestException("The cursor was returned by a search with a different order, expected order by "
+                    + orderBy.name() + " " + orderDirection.name());
+        }
+        SearchCursor cursor = new SearchCursor(node.path("k").asText(), node.path("t").asText());
+        try {
+            if (orderBy != OrderBy.name) {
+                Long.parseLong(cursor.getSortKey());
+            }
+            if (numericTieBreaker) {
+                Long.parseLong(cursor.getTieBreaker());
+            }
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+        return cursor;
+    }
+
+    public static ArtifactSearchResults dtoToSearchResults(ArtifactSearchResultsDto dto, OrderBy orderBy,
+                                                           OrderDirection orderDirection, SearchCountMode countMode) {
         ArtifactSearchResults results = new ArtifactSearchResults();
-        results.setCount((int) dto.getCount());
+        results.setCount(countMode == SearchCountMode.NONE ? null : (int) dto.getCount());
+        results.setNext(encodeCursor(dto.getNext(), orderBy, orderDirection));
         results.setArtifacts(new ArrayList<>(dto.getArtifacts().size()));
         dto.getArtifacts().forEach(artifact -> {
             SearchedArtifact sa = new SearchedArtifact();
@@ -230,9 +305,11 @@ public final class V3ApiUtil {
         return results;
     }
 
-    public static GroupSearchResults dtoToSearchResults(GroupSearchResultsDto dto) {
+    public static GroupSearchResults dtoToSearchResults(GroupSearchResultsDto dto, OrderBy orderBy,
+                                                        OrderDirection orderDirection, SearchCountMode countMode) {
         GroupSearchResults results = new GroupSearchResults();
-        results.setCount((int) dto.getCount());
+        results.setCount(countMode == SearchCountMode.NONE ? null : (int) dto.getCount());
+        results.setNext(encodeCursor(dto.getNext(), orderBy, orderDirection));
         results.setGroups(new ArrayList<>(dto.getGroups().size()));
         dto.getGroups().forEach(group -> {
             SearchedGroup sg = new SearchedGroup();
@@ -247,9 +324,13 @@ public final class V3ApiUtil {
         return results;
     }
 
-    public static VersionSearchResults dtoToSearchResults(VersionSearchResultsDto dto) {
+    /**
+     * The versions are always listed by ascending globalId.
+     */
+    public static VersionSearchResults dtoToSearchResults(VersionSearchResultsDto dto, SearchCountMode countMode) {
         VersionSearchResults results = new VersionSearchResults();
-        results.setCount((int) dto.getCount());
+        results.setCount(countMode == SearchCountMode.NONE ? null : (int) dto.getCount());
+        results.setNext(encodeCursor(dto.getNext(), OrderBy.globalId, OrderDirection.asc));
         results.setVersions(new ArrayList<>(dto.getVersions().size()));
         dto.getVersions().forEach(version -> {
             SearchedVersion sv = new SearchedVersion();
@@ -54,7 +54,7 @@ public class RulesServiceImpl implements RulesService {
         }
         LazyContentList currentContent = null;
         if (ruleApplicationType == RuleApplicationType.UPDATE) {
-            currentContent = new LazyContentList(storage, storage.getEnabledArtifactContentIds(groupId, artifactId));
+            currentContent = new LazyContentList(storage, storage.getEnabledArtifactContentIdentities(groupId, artifactId));
         } else {
             currentContent = new LazyContentList(storage, Collections.emptyList());
         }
@@ -100,7 +100,7 @@ public class RulesServiceImpl implements RulesService {
             throws RuleViolationException {
         LazyContentList currentContent = null;
         if (ruleApplicationType == RuleApplicationType.UPDATE) {
-            currentContent = new LazyContentList(storage, storage.getEnabledArtifactContentIds(groupId, artifactId));
+            currentContent = new LazyContentList(storage, storage.getEnabledArtifactContentIdentities(groupId, artifactId));
         }
         applyRule(groupId, artifactId, artifactType, currentContent, artifactContent, ruleType, ruleConfiguration,
                 references, resolvedReferences);
@@ -196,6 +196,15 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     List<Long> getEnabledArtifactContentIds(String groupId, String artifactId);
 
+    /**
+     * Get the ids and hashes of the contents of the enabled versions of an artifact, in version order.
+     *
+     * @param groupId
+     * @param artifactId
+     * @return
+     */
+    List<ContentIdentityDto> getEnabledArtifactContentIdentities(String groupId, String artifactId);
+
     /**
      * Updates the artifact value by storing the given value as a new version of the artifact.  Previous value
      * is NOT overwitten.  Returns a map of meta-data generated by the artifactStore layer, such as the generated,
@@ -254,6 +263,20 @@ public interface RegistryStorage extends DynamicConfigStorage {
     ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
                                              int offset, int limit);
 
+    /**
+     * Search artifacts by given criteria, continuing after the given position (keyset pagination).
+     *
+     * @param filters        the set of filters to apply when searching
+     * @param orderBy        the field to order by
+     * @param orderDirection the direction to order the results
+     * @param offset         the number of artifacts to skip (after the cursor, if any)
+     * @param limit          the result size limit
+     * @param after          (optional) position returned as the next cursor by a search with the same criteria
+     * @param countMode      how the total number of artifacts is computed
+     */
+    ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
+                                             int offset, int limit, SearchCursor after, SearchCountMode countMode);
+
     ArtifactMetaDataDto getArtifactMetaData(String groupId, String artifactId)
             throws ArtifactNotFoundException, RegistryStorageException;
 
@@ -283,6 +306,20 @@ public interface RegistryStorage extends DynamicConfigStorage {
     ArtifactVersionMetaDataDto getArtifactVersionMetaData(String groupId, String artifactId, boolean canonical,
                                                           ContentHandle content, List<ArtifactReferenceDto> artifactReferences) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets the metadata of the version whose content, once its references are dereferenced, has the given
+     * (SHA-256) hash.  Only supported for the artifact types whose dereferenced content can be compared
+     * (currently Avro), other artifacts never match.
+     *
+     * @param groupId          (optional)
+     * @param artifactId
+     * @param dereferencedHash
+     * @throws ArtifactNotFoundException
+     * @throws RegistryStorageException
+     */
+    ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash)
+            throws ArtifactNotFoundException, RegistryStorageException;
+
     /**
      * Gets the stored meta-data for an artifact by global ID.  This will include client-editable meta-data such as
      * name and description, but also generated meta-data such as "modifedOn" and "globalId".
@@ -425,6 +462,21 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     VersionSearchResultsDto searchVersions(String groupId, String artifactId, int offset, int limit) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Fetch the versions of the given artifact, continuing after the given position (keyset pagination)
+     *
+     * @param groupId    (optional)
+     * @param artifactId the artifact used to fetch versions
+     * @param offset     the number of versions to skip (after the cursor, if any)
+     * @param limit      the result size limit
+     * @param after      (optional) position returned as the next cursor by a previous call
+     * @param countMode  how the total number of versions is computed
+     * @throws ArtifactNotFoundException
+     * @throws RegistryStorageException
+     */
+    VersionSearchResultsDto searchVersions(String groupId, String artifactId, int offset, int limit, SearchCursor after,
+                                           SearchCountMode countMode) throws ArtifactNotFoundException, RegistryStorageException;
+
     /**
      * Gets the stored artifact content for the artifact version with the given unique global ID.
      *
@@ -731,6 +783,14 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     Map<String, ContentHandle> resolveReferences(List<ArtifactReferenceDto> references);
 
+
+    /**
+     * Same as {@link #resolveReferences(List)}, but only if all the (transitively) referenced versions exist.
+     *
+     * @return the resolved references, or null if some of them could not be resolved
+     */
+    Map<String, ContentHandle> resolveReferencesIfComplete(List<ArtifactReferenceDto> references);
+
     /**
      * @param groupId
      * @param artifactId
@@ -789,6 +849,20 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     GroupSearchResultsDto searchGroups(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, Integer offset, Integer limit);
 
+    /**
+     * Search groups by given criteria, continuing after the given position (keyset pagination).
+     *
+     * @param filters        the set of filters to apply when searching
+     * @param orderBy        the field to order by
+     * @param orderDirection the direction to order the results
+     * @param offset         the number of groups to skip (after the cursor, if any)
+     * @param limit          the result size limit
+     * @param after          (optional) position returned as the next cursor by a search with the same criteria
+     * @param countMode      how the total number of groups is computed
+     */
+    GroupSearchResultsDto searchGroups(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, Integer offset,
+                                       Integer limit, SearchCursor after, SearchCountMode countMode);
+
 
     /**
      * Creates a new comment for an artifact version.
@@ -6,4 +6,10 @@ public enum StorageEventType {
      * This event type MUST be fired only once.
      */
     READY,
+
+    /**
+     * Fired (synchronously) after data was deleted or replaced, so that content derived
+     * from resolved references can no longer be trusted.
+     */
+    CONTENT_INVALIDATED,
 }
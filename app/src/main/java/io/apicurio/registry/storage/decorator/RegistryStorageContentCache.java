@@ -0,0 +1,327 @@
+package io.apicurio.registry.storage.decorator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.StorageEvent;
+import io.apicurio.registry.storage.StorageEventType;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
+import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.EqualsAndHashCode;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE_EVICTIONS;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE_EVICTIONS_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE_HITS;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE_HITS_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE_MISSES;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE_MISSES_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE_TAG_KIND;
+
+/**
+ * Decorator of {@link io.apicurio.registry.storage.RegistryStorage} that caches lookups of immutable content:
+ * content by id or hash, artifact versions by globalId, and resolved references.
+ * <p>
+ * Content rows are write-once, so the only way a cached entry can become stale is through a delete.
+ * The whole cache is dropped whenever the storage reports that versions were deleted or data was imported (see
+ * {@link StorageEventType#CONTENT_INVALIDATED}), which the storage reports again once the transaction completes.
+ * Values loaded while the cache was being dropped are not kept.  Resolved references are only cached when all the
+ * referenced versions exist.
+ * <p>
+ * KafkaSQL replicas apply every delete to their own database, so each of them observes all the deletes.  Replicas
+ * sharing a SQL database do not see each other's deletes, so the cache is disabled by default for the SQL storage.
+ * <p>
+ * The cache is bounded by the (approximate) size of the cached content in bytes rather than by the number of entries.
+ *
+ */
+@ApplicationScoped
+public class RegistryStorageContentCache extends RegistryStorageDecoratorBase implements RegistryStorageDecorator {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    @Inject
+    Logger log;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "registry.storage.kind")
+    String registryStorageType;
+
+    @ConfigProperty(name = "registry.storage.content-cache.enabled")
+    @Info(category = "cache", description = "Enable caching of immutable content lookups in the storage layer. Enabled by default, "
+            + "except for the SQL storage: versions deleted by other replicas sharing the database are not observed.", availableSince = "3.0.0")
+    Optional<Boolean> enabled;
+
+    @ConfigProperty(name = "registry.storage.content-cache.max-size-bytes", defaultValue = "67108864")
+    @Info(category = "cache", description = "Maximum total size (in bytes) of the content held by the storage content cache", availableSince = "3.0.0")
+    long maxSizeBytes;
+
+    private Cache<CacheKey, CachedValue> cache;
+
+    /** Incremented whenever the cache is dropped, so that values loaded meanwhile are not kept */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Map<Kind, Counter> hits = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> misses = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> evictions = new EnumMap<>(Kind.class);
+
+    @PostConstruct
+    void init() {
+        for (Kind kind : Kind.values()) {
+            hits.put(kind, Counter.builder(STORAGE_CONTENT_CACHE_HITS)
+                    .description(STORAGE_CONTENT_CACHE_HITS_DESCRIPTION)
+                    .tag(STORAGE_CONTENT_CACHE_TAG_KIND, kind.tag)
+                    .register(registry));
+            misses.put(kind, Counter.builder(STORAGE_CONTENT_CACHE_MISSES)
+                    .description(STORAGE_CONTENT_CACHE_MISSES_DESCRIPTION)
+                    .tag(STORAGE_CONTENT_CACHE_TAG_KIND, kind.tag)
+                    .register(registry));
+            evictions.put(kind, Counter.builder(STORAGE_CONTENT_CACHE_EVICTIONS)
+                    .description(STORAGE_CONTENT_CACHE_EVICTIONS_DESCRIPTION)
+                    .tag(STORAGE_CONTENT_CACHE_TAG_KIND, kind.tag)
+                    .register(registry));
+        }
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((CacheKey key, CachedValue value) -> value.weight)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+        // GitOps storage replaces its data outside of the decorator chain
+        return enabled.orElse(!"sql".equals(registryStorageType)) && !"gitops".equals(registryStorageType);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#order()
+     */
+    @Override
+    public int order() {
+        return RegistryStorageDecoratorOrderConstants.CONTENT_CACHE_DECORATOR;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactByContentId(long)
+     */
+    @Override
+    public ContentWrapperDto getArtifactByContentId(long contentId) throws ContentNotFoundException, RegistryStorageException {
+        return copyOf(getContent(contentId));
+    }
+
+    /**
+     * Content by hash is cached as a mapping to the content id, so that the content is only cached once.
+     *
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactByContentHash(java.lang.String)
+     */
+    @Override
+    public ContentWrapperDto getArtifactByContentHash(String contentHash) throws ContentNotFoundException, RegistryStorageException {
+        Long contentId = get(Kind.CONTENT_HASH, contentHash, () -> {
+            long id = delegate.contentIdFromHash(contentHash)
+                    .orElseThrow(() -> new ContentNotFoundException(contentHash));
+            return new CachedValue(id, ENTRY_OVERHEAD_BYTES);
+        });
+        return copyOf(getContent(contentId));
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactVersion(long)
+     */
+    @Override
+    public StoredArtifactDto getArtifactVersion(long globalId) throws ArtifactNotFoundException, RegistryStorageException {
+        StoredArtifactDto dto = get(Kind.GLOBAL_ID, globalId, () -> {
+            StoredArtifactDto loaded = delegate.getArtifactVersion(globalId);
+            return new CachedValue(loaded, weigh(loaded.getContent(), loaded.getReferences()));
+        });
+        return StoredArtifactDto.builder()
+                .globalId(dto.getGlobalId())
+                .version(dto.getVersion())
+                .versionOrder(dto.getVersionOrder())
+                .contentId(dto.getContentId())
+                .content(dto.getContent())
+                .references(dto.getReferences())
+                .build();
+    }
+
+    /**
+     * Only complete resolutions are cached, a missing reference may be created later on.
+     *
+     * @see io.apicurio.registry.storage.RegistryStorage#resolveReferences(java.util.List)
+     */
+    @Override
+    public Map<String, ContentHandle> resolveReferences(List<ArtifactReferenceDto> references) {
+        if (references == null || references.isEmpty()) {
+            return delegate.resolveReferences(references);
+        }
+        CacheKey key = new CacheKey(Kind.REFERENCES, new ArrayList<>(references));
+        CachedValue value = cache.getIfPresent(key);
+        if (value != null) {
+            hits.get(Kind.REFERENCES).increment();
+            return new LinkedHashMap<>(resolved(value));
+        }
+        misses.get(Kind.REFERENCES).increment();
+        long startGeneration = generation.get();
+        Map<String, ContentHandle> loaded = delegate.resolveReferencesIfComplete(references);
+        if (loaded == null) {
+            return delegate.resolveReferences(references);
+        }
+        int weight = ENTRY_OVERHEAD_BYTES * references.size();
+        for (ContentHandle content : loaded.values()) {
+            weight += weigh(content, null);
+        }
+        put(key, new CachedValue(loaded, weight), startGeneration);
+        return new LinkedHashMap<>(loaded);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#resolveReferencesIfComplete(java.util.List)
+     */
+    @Override
+    public Map<String, ContentHandle> resolveReferencesIfComplete(List<ArtifactReferenceDto> references) {
+        if (references == null || references.isEmpty()) {
+            return delegate.resolveReferencesIfComplete(references);
+        }
+        CachedValue value = cache.getIfPresent(new CacheKey(Kind.REFERENCES, new ArrayList<>(references)));
+        if (value != null) {
+            hits.get(Kind.REFERENCES).increment();
+            return new LinkedHashMap<>(resolved(value));
+        }
+        // Not counted as a miss, resolveReferences is the one filling the cache
+        return delegate.resolveReferencesIfComplete(references);
+    }
+
+    void onStorageEvent(@Observes StorageEvent event) {
+        if (StorageEventType.CONTENT_INVALIDATED.equals(event.getType()) && cache != null) {
+            invalidateAll();
+        }
+    }
+
+    private ContentWrapperDto getContent(long contentId) {
+        return get(Kind.CONTENT_ID, contentId, () -> {
+            ContentWrapperDto loaded = delegate.getArtifactByContentId(contentId);
+            return new CachedValue(loaded, weigh(loaded.getContent(), loaded.getReferences()));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ContentHandle> resolved(CachedValue value) {
+        return (Map<String, ContentHandle>) value.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Kind kind, Object id, Supplier<CachedValue> loader) {
+        CacheKey key = new CacheKey(kind, id);
+        CachedValue value = cache.getIfPresent(key);
+        if (value != null) {
+            hits.get(kind).increment();
+        } else {
+            misses.get(kind).increment();
+            long startGeneration = generation.get();
+            value = loader.get();
+            put(key, value, startGeneration);
+        }
+        return (T) value.value;
+    }
+
+    /**
+     * Caches the given value, unless the cache was dropped since it started loading (it may be deleted content).
+     */
+    private void put(CacheKey key, CachedValue value, long startGeneration) {
+        if (generation.get() != startGeneration) {
+            return;
+        }
+        cache.put(key, value);
+        // The cache may have been dropped between the check and the put
+        if (generation.get() != startGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    private void invalidateAll() {
+        log.debug("Invalidating the storage content cache");
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void onRemoval(RemovalNotification<CacheKey, CachedValue> notification) {
+        if (notification.wasEvicted()) {
+            evictions.get(notification.getKey().kind).increment();
+        }
+    }
+
+    private static ContentWrapperDto copyOf(ContentWrapperDto dto) {
+        return ContentWrapperDto.builder()
+                .content(dto.getContent())
+                .references(dto.getReferences())
+                .build();
+    }
+
+    private static int weigh(ContentHandle content, List<ArtifactReferenceDto> references) {
+        long weight = ENTRY_OVERHEAD_BYTES + (content != null ? content.getSizeBytes() : 0);
+        if (references != null) {
+            weight += (long) ENTRY_OVERHEAD_BYTES * references.size();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private enum Kind {
+        CONTENT_ID("contentId"),
+        CONTENT_HASH("contentHash"),
+        GLOBAL_ID("globalId"),
+        REFERENCES("references");
+
+        private final String tag;
+
+        Kind(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    @EqualsAndHashCode
+    private static class CacheKey {
+        private final Kind kind;
+        private final Object id;
+
+        CacheKey(Kind kind, Object id) {
+            this.kind = kind;
+            this.id = id;
+        }
+    }
+
+    private static class CachedValue {
+        private final Object value;
+        private final int weight;
+
+        CachedValue(Object value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -8,5 +8,6 @@ public interface RegistryStorageDecoratorOrderConstants {
     int KAFKA_SQL_DECORATOR = 20;
     int LIMITS_ENFORCER_DECORATOR = 30;
     int CONFIG_CACHE_DECORATOR = 40;
+    int CONTENT_CACHE_DECORATOR = 45;
     int EVENT_SOURCED_DECORATOR = 50;
 }
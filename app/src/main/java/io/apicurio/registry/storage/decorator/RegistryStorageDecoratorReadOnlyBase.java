@@ -110,6 +110,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
+                                                    int offset, int limit, SearchCursor after, SearchCountMode countMode) {
+        return delegate.searchArtifacts(filters, orderBy, orderDirection, offset, limit, after, countMode);
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(String groupId, String artifactId)
             throws ArtifactNotFoundException, RegistryStorageException {
@@ -132,6 +139,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.getArtifactVersionMetaDataByDereferencedHash(groupId, artifactId, dereferencedHash);
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(long globalId)
             throws ArtifactNotFoundException, RegistryStorageException {
@@ -175,6 +189,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public VersionSearchResultsDto searchVersions(String groupId, String artifactId, int offset, int limit, SearchCursor after,
+                                                  SearchCountMode countMode) throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.searchVersions(groupId, artifactId, offset, limit, after, countMode);
+    }
+
+
     @Override
     public StoredArtifactDto getArtifactVersion(long globalId)
             throws ArtifactNotFoundException, RegistryStorageException {
@@ -295,6 +316,12 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public Map<String, ContentHandle> resolveReferencesIfComplete(List<ArtifactReferenceDto> references) {
+        return delegate.resolveReferencesIfComplete(references);
+    }
+
+
     @Override
     public boolean isArtifactExists(String groupId, String artifactId) throws RegistryStorageException {
         return delegate.isArtifactExists(groupId, artifactId);
@@ -342,6 +369,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public GroupSearchResultsDto searchGroups(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, Integer offset,
+                                              Integer limit, SearchCursor after, SearchCountMode countMode) {
+        return delegate.searchGroups(filters, orderBy, orderDirection, offset, limit, after, countMode);
+    }
+
+
     @Override
     public List<CommentDto> getArtifactVersionComments(String groupId, String artifactId, String version) {
         return delegate.getArtifactVersionComments(groupId, artifactId, version);
@@ -383,6 +417,12 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
         return delegate.getEnabledArtifactContentIds(groupId, artifactId);
     }
 
+
+    @Override
+    public List<ContentIdentityDto> getEnabledArtifactContentIdentities(String groupId, String artifactId) {
+        return delegate.getEnabledArtifactContentIdentities(groupId, artifactId);
+    }
+
     @Override
     public List<String> getArtifactVersions(String groupId, String artifactId, ArtifactRetrievalBehavior behavior) throws ArtifactNotFoundException, RegistryStorageException {
         return delegate.getArtifactVersions(groupId, artifactId, behavior);
@@ -16,4 +16,9 @@ public class ArtifactSearchResultsDto {
 
     private List<SearchedArtifactDto> artifacts = new ArrayList<>();
     private long count;
+
+    /**
+     * Position of the last result, set when there are more results after it.
+     */
+    private SearchCursor next;
 }
@@ -0,0 +1,22 @@
+package io.apicurio.registry.storage.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.*;
+
+/**
+ * Identifies a stored content without its data: its id, and its hash which (unlike the id) cannot be reused
+ * by a different content.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@RegisterForReflection
+public class ContentIdentityDto {
+
+    private long contentId;
+    private String contentHash;
+}
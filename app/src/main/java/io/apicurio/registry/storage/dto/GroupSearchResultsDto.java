@@ -18,4 +18,9 @@ public class GroupSearchResultsDto {
     private List<SearchedGroupDto> groups = new ArrayList<SearchedGroupDto>();
 
     private Integer count;
+
+    /**
+     * Position of the last result, set when there are more results after it.
+     */
+    private SearchCursor next;
 }
@@ -1,6 +1,7 @@
 package io.apicurio.registry.storage.dto;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.IdentifiedContentList;
 import io.apicurio.registry.storage.RegistryStorage;
 import org.jetbrains.annotations.NotNull;
 
@@ -11,15 +12,18 @@ import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-public class LazyContentList implements List<ContentHandle> {
+public class LazyContentList implements IdentifiedContentList {
 
     private final RegistryStorage storage;
     private final List<Long> contentIds;
+    private final List<String> contentHashes;
 
-    public LazyContentList(RegistryStorage storage, List<Long> contentIds) {
+    public LazyContentList(RegistryStorage storage, List<ContentIdentityDto> contents) {
         this.storage = storage;
-        this.contentIds = contentIds;
+        this.contentIds = contents.stream().map(ContentIdentityDto::getContentId).collect(Collectors.toList());
+        this.contentHashes = contents.stream().map(ContentIdentityDto::getContentHash).collect(Collectors.toList());
     }
 
     @Override
@@ -158,6 +162,15 @@ public class LazyContentList implements List<ContentHandle> {
         }
     }
 
+    public long getContentId(int index) {
+        return contentIds.get(index);
+    }
+
+    @Override
+    public String getContentHash(int index) {
+        return contentHashes.get(index);
+    }
+
     public List<Long> getContentIds() {
         return contentIds;
     }
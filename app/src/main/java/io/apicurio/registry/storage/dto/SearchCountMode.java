@@ -0,0 +1,23 @@
+package io.apicurio.registry.storage.dto;
+
+/**
+ * How the total number of results of a search is computed.
+ */
+public enum SearchCountMode {
+
+    /**
+     * Count all the results.
+     */
+    EXACT,
+
+    /**
+     * Count the results up to a limit, the count is exact below the limit and a lower bound above it.
+     */
+    ESTIMATE,
+
+    /**
+     * Do not count the results, the count of the search results is not set.
+     */
+    NONE
+
+}
@@ -0,0 +1,21 @@
+package io.apicurio.registry.storage.dto;
+
+import lombok.*;
+
+/**
+ * Position in the results of a search, used for keyset (cursor) pagination.  Holds the sort key and the unique
+ * tie-breaker (globalId, or groupId for groups) of the last result of a page, the next page starts right after it.
+ * The values are only meaningful for the same order as the search that produced them.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+public class SearchCursor {
+
+    private String sortKey;
+    private String tieBreaker;
+}
@@ -16,4 +16,9 @@ public class VersionSearchResultsDto {
 
     private long count;
     private List<SearchedVersionDto> versions = new ArrayList<>();
+
+    /**
+     * Position of the last result, set when there are more results after it.
+     */
+    private SearchCursor next;
 }
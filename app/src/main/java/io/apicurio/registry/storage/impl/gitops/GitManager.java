@@ -2,6 +2,7 @@ package io.apicurio.registry.storage.impl.gitops;
 
 
 import io.apicurio.common.apps.config.DynamicConfigPropertyDto;
+import io.apicurio.registry.model.GA;
 import io.apicurio.registry.storage.impl.gitops.model.GitFile;
 import io.apicurio.registry.storage.impl.gitops.model.Type;
 import io.apicurio.registry.storage.impl.gitops.model.v0.Artifact;
@@ -24,11 +25,16 @@ import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.Getter;
+import org.apache.commons.io.FilenameUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
 import org.slf4j.Logger;
 
 import java.io.IOException;
@@ -36,7 +42,9 @@ import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -153,7 +161,16 @@ public class GitManager {
     }
 
 
-    public void run(ProcessingState state, RevCommit updatedCommit) throws GitAPIException, IOException {
+    /**
+     * Loads the data of the updated commit into the storage of the given state.
+     * <p>
+     * If the storage contains the data of a previous (successful) run, given as base, and incremental refresh
+     * is enabled, only the files that changed since the commit of the base are read, and only the artifacts
+     * affected by these changes are reloaded.  Otherwise, all data are deleted and loaded again.
+     *
+     * @param base state of the run that loaded the data currently in the storage, or null if unknown
+     */
+    public void run(ProcessingState state, RevCommit updatedCommit, ProcessingState base) throws GitAPIException, IOException {
 
         if (updatedCommit == null || updatedCommit.equals(previousCommit)) {
             throw new IllegalStateException("Make sure to call method pollUpdates() before calling me.");
@@ -163,43 +180,108 @@ public class GitManager {
 
         state.setUpdatedCommit(updatedCommit);
 
+        Set<String> changedPaths = null;
+        if (base != null && config.isIncremental()) {
+            changedPaths = indexChanges(state, base, updatedCommit);
+        }
+        if (changedPaths == null) {
+            indexAll(state, updatedCommit);
+        }
+
+        if (changedPaths != null && isIncrementalProcessingPossible(state, base)) {
+            log.debug("Processing {} changed files", changedPaths.size());
+            processChanges(state, base, changedPaths);
+        } else {
+            // TODO Delete *all* data
+            state.getStorage().deleteAllUserData();
+            log.debug("Processing {} files", state.getPathIndex().size());
+            process(state);
+        }
+
+        var unprocessed = state.getPathIndex().values().stream()
+                .filter(f -> !f.isProcessed())
+                .map(GitFile::getPath)
+                .collect(Collectors.toList());
+
+        log.debug("The following {} file(s) were not processed: {}", unprocessed.size(), unprocessed);
+    }
+
+
+    private void indexAll(ProcessingState state, RevCommit updatedCommit) throws IOException {
         try (TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
             treeWalk.addTree(updatedCommit.getTree());
             treeWalk.setRecursive(true);
 
             while (treeWalk.next()) {
+                indexFile(state, treeWalk);
+            }
+        }
+    }
+
+
+    /**
+     * Indexes the files of the updated commit, reading only the files that changed since the commit of the base,
+     * and returns the (normalized) paths of the added, modified and deleted files.
+     * Returns null if the changes could not be computed, in which case nothing is indexed.
+     */
+    private Set<String> indexChanges(ProcessingState state, ProcessingState base, RevCommit updatedCommit) throws IOException {
+        List<DiffEntry> diff;
+        try (var formatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            formatter.setRepository(git.getRepository());
+            diff = formatter.scan(base.getUpdatedCommit().getTree(), updatedCommit.getTree());
+        } catch (IOException ex) {
+            log.warn("Could not compute the changes since commit {}, all data will be reloaded: {}",
+                    base.getUpdatedCommit().name(), ex.getMessage());
+            return null;
+        }
+
+        var changedPaths = new HashSet<String>();
+        var updatedPaths = new HashSet<String>();
+        for (DiffEntry entry : diff) {
+            if (entry.getChangeType() != DiffEntry.ChangeType.ADD) {
+                changedPaths.add(FilenameUtils.normalize(entry.getOldPath()));
+            }
+            if (entry.getChangeType() != DiffEntry.ChangeType.DELETE) {
+                changedPaths.add(FilenameUtils.normalize(entry.getNewPath()));
+                updatedPaths.add(entry.getNewPath());
+            }
+        }
 
-                var objectId = treeWalk.getObjectId(0);
+        for (GitFile file : base.getPathIndex().values()) {
+            if (!changedPaths.contains(file.getPath())) {
+                state.index(file.toBuilder().processed(false).build());
+            }
+        }
 
-                try (InputStream data = git.getRepository().getObjectDatabase().open(objectId).openStream()) {
+        if (!updatedPaths.isEmpty()) {
+            try (TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
+                treeWalk.addTree(updatedCommit.getTree());
+                treeWalk.setRecursive(true);
+                treeWalk.setFilter(PathFilterGroup.createFromStrings(updatedPaths));
 
-                    var file = GitFile.create(state, treeWalk.getPathString(), data);
-                    state.index(file);
+                while (treeWalk.next()) {
+                    indexFile(state, treeWalk);
                 }
             }
         }
+        return changedPaths;
+    }
 
-        log.debug("Processing {} files", state.getPathIndex().size());
-        process(state);
 
-        var unprocessed = state.getPathIndex().values().stream()
-                .filter(f -> !f.isProcessed())
-                .map(GitFile::getPath)
-                .collect(Collectors.toList());
+    private void indexFile(ProcessingState state, TreeWalk treeWalk) throws IOException {
+        var objectId = treeWalk.getObjectId(0);
 
-        log.debug("The following {} file(s) were not processed: {}", unprocessed.size(), unprocessed);
+        try (InputStream data = git.getRepository().getObjectDatabase().open(objectId).openStream()) {
+
+            var file = GitFile.create(state, treeWalk.getPathString(), data);
+            state.index(file);
+        }
     }
 
 
     private void process(ProcessingState state) {
 
-        for (GitFile file : state.fromTypeIndex(Type.REGISTRY)) {
-            Registry registry = file.getEntityUnchecked();
-            if (config.getRegistryId().equals(registry.getId())) {
-                state.setCurrentRegistry(registry);
-                file.setProcessed(true);
-            }
-        }
+        processRegistry(state);
 
         if (state.getCurrentRegistry() != null) {
 
@@ -222,6 +304,183 @@ public class GitManager {
     }
 
 
+    private void processRegistry(ProcessingState state) {
+        var registryFile = findRegistryFile(state);
+        if (registryFile != null) {
+            state.setCurrentRegistry(registryFile.getEntityUnchecked());
+            registryFile.setProcessed(true);
+        }
+    }
+
+
+    private GitFile findRegistryFile(ProcessingState state) {
+        GitFile registryFile = null;
+        for (GitFile file : state.fromTypeIndex(Type.REGISTRY)) {
+            Registry registry = file.getEntityUnchecked();
+            if (config.getRegistryId().equals(registry.getId())) {
+                registryFile = file;
+            }
+        }
+        return registryFile;
+    }
+
+
+    /**
+     * The changes can be applied to the data of the base if both commits define this registry in the same file.
+     */
+    private boolean isIncrementalProcessingPossible(ProcessingState state, ProcessingState base) {
+        var registryFile = findRegistryFile(state);
+        var baseRegistryFile = findRegistryFile(base);
+        return registryFile != null && baseRegistryFile != null && registryFile.getPath().equals(baseRegistryFile.getPath());
+    }
+
+
+    /**
+     * Applies the changes to the data loaded from the base.  The artifacts affected by the changes, i.e. defined in
+     * a changed file, or referencing changed content or a changed group, are deleted and imported again.  The
+     * content and groups that are still in use by the other artifacts are kept.
+     */
+    private void processChanges(ProcessingState state, ProcessingState base, Set<String> changedPaths) {
+
+        processRegistry(state);
+        var registryFile = findRegistryFile(state);
+        if (changedPaths.contains(registryFile.getPath())) {
+            try {
+                state.getStorage().deleteGlobalRules();
+            } catch (Exception ex) {
+                state.recordError("Could not delete global rules: %s", ex.getMessage());
+            }
+            processSettings(state);
+            processGlobalRules(state);
+        }
+
+        var changedGroups = new HashSet<String>();
+        changedGroups.addAll(findChangedGroups(base, changedPaths));
+        changedGroups.addAll(findChangedGroups(state, changedPaths));
+
+        var affected = new HashSet<GA>();
+        affected.addAll(findAffectedArtifacts(base, changedPaths, changedGroups));
+        affected.addAll(findAffectedArtifacts(state, changedPaths, changedGroups));
+
+        // Delete the affected artifacts, their content is deleted as well unless still in use
+        var existingGroups = new HashSet<String>();
+        var deleted = new HashSet<GA>();
+        for (GitFile file : base.fromTypeIndex(Type.ARTIFACT)) {
+            Artifact artifact = file.getEntityUnchecked();
+            if (base.isCurrentRegistryId(artifact.getRegistryId())) {
+                existingGroups.add(artifact.getGroupId());
+                var ga = new GA(artifact.getGroupId(), artifact.getId());
+                if (affected.contains(ga) && deleted.add(ga)) {
+                    try {
+                        log.debug("Deleting {}", ga);
+                        state.getStorage().deleteArtifact(artifact.getGroupId(), artifact.getId());
+                    } catch (Exception ex) {
+                        state.recordError("Could not delete artifact '%s': %s", ga, ex.getMessage());
+                    }
+                }
+            }
+        }
+
+        // The unaffected artifacts, with their content, and the existing groups are already imported
+        for (GitFile file : state.fromTypeIndex(Type.GROUP)) {
+            Group group = file.getEntityUnchecked();
+            if (state.isCurrentRegistryId(group.getRegistryId()) && existingGroups.contains(group.getId())) {
+                file.setProcessed(true);
+            }
+        }
+        var referencedGroups = new HashSet<String>();
+        for (GitFile file : state.fromTypeIndex(Type.ARTIFACT)) {
+            Artifact artifact = file.getEntityUnchecked();
+            if (state.isCurrentRegistryId(artifact.getRegistryId())) {
+                referencedGroups.add(artifact.getGroupId());
+                if (!affected.contains(new GA(artifact.getGroupId(), artifact.getId()))) {
+                    markProcessed(state, file, artifact);
+                }
+            }
+        }
+
+        for (GitFile file : state.fromTypeIndex(Type.ARTIFACT)) {
+            Artifact artifact = file.getEntityUnchecked();
+            if (state.isCurrentRegistryId(artifact.getRegistryId())) {
+                if (!file.isProcessed()) {
+                    processArtifact(state, file, artifact);
+                }
+            } else {
+                log.debug("Ignoring {}", artifact);
+            }
+        }
+
+        // Groups are only imported when referenced by an artifact
+        for (String groupId : existingGroups) {
+            if (!referencedGroups.contains(groupId)) {
+                try {
+                    log.debug("Deleting group {}", groupId);
+                    state.getStorage().deleteGroup(groupId);
+                } catch (Exception ex) {
+                    state.recordError("Could not delete group %s: %s", groupId, ex.getMessage());
+                }
+            }
+        }
+    }
+
+
+    private Set<String> findChangedGroups(ProcessingState state, Set<String> changedPaths) {
+        return state.fromTypeIndex(Type.GROUP).stream()
+                .filter(f -> changedPaths.contains(f.getPath()))
+                .map(f -> f.<Group>getEntityUnchecked().getId())
+                .collect(Collectors.toSet());
+    }
+
+
+    private Set<GA> findAffectedArtifacts(ProcessingState state, Set<String> changedPaths, Set<String> changedGroups) {
+        var affected = new HashSet<GA>();
+        for (GitFile file : state.fromTypeIndex(Type.ARTIFACT)) {
+            Artifact artifact = file.getEntityUnchecked();
+            if (state.isCurrentRegistryId(artifact.getRegistryId()) && isAffected(state, file, artifact, changedPaths, changedGroups)) {
+                affected.add(new GA(artifact.getGroupId(), artifact.getId()));
+            }
+        }
+        return affected;
+    }
+
+
+    private boolean isAffected(ProcessingState state, GitFile artifactFile, Artifact artifact, Set<String> changedPaths, Set<String> changedGroups) {
+        if (changedPaths.contains(artifactFile.getPath()) || changedGroups.contains(artifact.getGroupId())) {
+            return true;
+        }
+        for (Version version : artifact.getVersions()) {
+            var contentPath = resolvePathRef(artifactFile, version.getContentFile());
+            if (changedPaths.contains(contentPath)) {
+                return true;
+            }
+            var contentFile = state.getPathIndex().get(contentPath);
+            if (contentFile != null && contentFile.isType(Type.CONTENT)) {
+                Content content = contentFile.getEntityUnchecked();
+                if (changedPaths.contains(resolvePathRef(contentFile, content.getDataFile()))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+
+    private void markProcessed(ProcessingState state, GitFile artifactFile, Artifact artifact) {
+        artifactFile.setProcessed(true);
+        for (Version version : artifact.getVersions()) {
+            var contentFile = findFileByPathRef(state, artifactFile, version.getContentFile());
+            if (contentFile != null && contentFile.isType(Type.CONTENT)) {
+                contentFile.setProcessed(true);
+                Content content = contentFile.getEntityUnchecked();
+                var dataFile = findFileByPathRef(state, contentFile, content.getDataFile());
+                if (dataFile != null) {
+                    dataFile.setProcessed(true);
+                }
+            }
+        }
+    }
+
+
     private void processSettings(ProcessingState state) {
         var settings = state.getCurrentRegistry().getSettings();
         if (settings != null) {
@@ -414,8 +673,12 @@ public class GitManager {
 
 
     private GitFile findFileByPathRef(ProcessingState state, GitFile base, String path) {
-        path = concat(concat(base.getPath(), ".."), path);
-        return state.getPathIndex().get(path);
+        return state.getPathIndex().get(resolvePathRef(base, path));
+    }
+
+
+    private static String resolvePathRef(GitFile base, String path) {
+        return concat(concat(base.getPath(), ".."), path);
     }
 
 
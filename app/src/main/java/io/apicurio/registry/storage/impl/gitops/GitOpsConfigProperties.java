@@ -28,4 +28,10 @@ public class GitOpsConfigProperties {
     @Info(category = "gitops", description = "Name of the branch in the remote git repository containing data to be loaded.", availableSince = "3.0.0")
     @Getter
     String originRepoBranch;
+
+    @ConfigProperty(name = "registry.gitops.refresh.incremental", defaultValue = "false")
+    @Info(category = "gitops", description = "Load only the changes between the commit loaded in the inactive database and the new one, " +
+            "instead of reloading all the data. Falls back to a full reload when the changes can not be applied incrementally.", availableSince = "3.0.0")
+    @Getter
+    boolean incremental;
 }
@@ -8,7 +8,6 @@ import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.metrics.StorageMetricsApply;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.*;
-import io.apicurio.registry.storage.error.RegistryStorageException;
 import io.apicurio.registry.storage.impl.gitops.sql.BlueSqlStorage;
 import io.apicurio.registry.storage.impl.gitops.sql.GreenSqlStorage;
 import io.apicurio.registry.model.BranchId;
@@ -23,13 +22,13 @@ import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -52,18 +51,23 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     @Inject
     GitManager gitManager;
 
+    @Inject
+    GitOpsConfigProperties config;
+
     @ConfigProperty(name = "registry.storage.kind")
     @Info
     String registryStorageType;
 
-    // Fair lock, so we ensure the writer does not wait indefinitely under high throughput.
-    ReentrantReadWriteLock switchLock = new ReentrantReadWriteLock(true);
-
-    RegistryStorage active = null;
-    RegistryStorage inactive = null;
+    // Readers do not lock, they register with the storage they use, see proxy()
+    private volatile ReadTrackedStorage active = null;
+    // Only used by the refresh job
+    private ReadTrackedStorage inactive = null;
 
     private volatile State state = State.READY_TO_WRITE;
 
+    // State of the last successful load into each storage, the base of the next incremental load into it
+    private final Map<RegistryStorage, ProcessingState> loadedStates = new IdentityHashMap<>();
+
     private enum State {
         READY_TO_SWITCH, // Data has been loaded to the inactive storage, but not yet published
         READY_TO_WRITE, // Latest data has been published, and we are ready to write to the inactive storage
@@ -78,8 +82,8 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
         blue.initialize();
 
         try {
-            active = green;
-            inactive = blue;
+            active = new ReadTrackedStorage(green);
+            inactive = new ReadTrackedStorage(blue);
             gitManager.start();
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -89,40 +93,38 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     @Scheduled(concurrentExecution = SKIP, every = "{registry.gitops.refresh.every}")
     void refresh() {
         if (registryStorageType.equals("gitops")) {
-            log.debug("Running GitOps refresh. Active database is {} and state is {}.", active == green ? "green" : "blue", state);
+            log.debug("Running GitOps refresh. Active database is {} and state is {}.", active.getStorage() == green ? "green" : "blue", state);
             switch (state) {
                 case READY_TO_SWITCH: {
-                    try {
-                        if (switchLock.writeLock().tryLock(5, TimeUnit.SECONDS)) {
-                            var previous = active;
-                            try {
-                                active = inactive;
-                                inactive = previous;
-                            } finally {
-                                state = State.READY_TO_WRITE;
-                                switchLock.writeLock().unlock();
-                                log.info("GitOps update published");
-                            }
-                        }
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
+                    // Reads already in progress complete on the previous storage, see proxy()
+                    var previous = active;
+                    active = inactive;
+                    inactive = previous;
+                    state = State.READY_TO_WRITE;
+                    log.info("GitOps update published");
                 }
                 break;
                 case READY_TO_WRITE: {
                     try {
                         var updatedCommit = gitManager.poll();
                         if (!updatedCommit.equals(gitManager.getPreviousCommit())) {
-                            // TODO Delete *all* data
+                            if (!inactive.awaitNoReaders(Duration.ofSeconds(5))) {
+                                log.debug("Reads of the previously active database are still in progress, retrying on the next refresh");
+                                break;
+                            }
+                            var storage = inactive.getStorage();
                             // TODO Improve performance by remembering when the storage is clean
-                            inactive.deleteAllUserData();
-
-                            var processingState = new ProcessingState(inactive);
-                            gitManager.run(processingState, updatedCommit);
+                            var processingState = new ProcessingState(storage);
+                            // The inactive storage is modified even if loading fails, so its state becomes unknown
+                            var base = loadedStates.remove(storage);
+                            gitManager.run(processingState, updatedCommit, base);
 
                             if (processingState.isSuccessful()) {
                                 log.info("GitOps update loaded successfully");
                                 gitManager.updateCurrentCommit(updatedCommit);
+                                if (config.isIncremental()) {
+                                    loadedStates.put(storage, processingState);
+                                }
                                 state = State.READY_TO_SWITCH;
                             } else {
                                 log.error("GitOps update failed to load");
@@ -137,42 +139,36 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
                 }
                 break;
             }
-            log.debug("GitOps refresh finished. Active database is {} and state is {}.", active == green ? "green" : "blue", state);
+            log.debug("GitOps refresh finished. Active database is {} and state is {}.", active.getStorage() == green ? "green" : "blue", state);
         }
     }
 
 
     public <T> T proxy(Function<RegistryStorage, T> operation) {
-        try {
-            if (switchLock.readLock().tryLock(5, TimeUnit.SECONDS)) {
-                try {
-                    return operation.apply(active);
-                } finally {
-                    switchLock.readLock().unlock();
-                }
-            } else {
-                throw new RegistryStorageException("Could not acquire read lock to get the active storage within 5 seconds");
+        ReadTrackedStorage storage;
+        int stripe;
+        while (true) {
+            storage = active;
+            stripe = storage.enter();
+            // Unless switched in the meantime, the storage can not be written to before we exit
+            if (storage == active) {
+                break;
             }
-        } catch (InterruptedException ex) {
-            throw new RegistryStorageException("Could not acquire read lock to get the active storage", ex);
+            storage.exit(stripe);
+        }
+        try {
+            return operation.apply(storage.getStorage());
+        } finally {
+            storage.exit(stripe);
         }
     }
 
 
     public void proxyAction(Consumer<RegistryStorage> action) {
-        try {
-            if (switchLock.readLock().tryLock(5, TimeUnit.SECONDS)) {
-                try {
-                    action.accept(active);
-                } finally {
-                    switchLock.readLock().unlock();
-                }
-            } else {
-                throw new RegistryStorageException("Could not acquire read lock to get the active storage within 5 seconds");
-            }
-        } catch (InterruptedException ex) {
-            throw new RegistryStorageException("Could not acquire read lock to get the active storage", ex);
-        }
+        proxy(storage -> {
+            action.accept(storage);
+            return null;
+        });
     }
 
 
@@ -232,6 +228,11 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
         return proxy(storage -> storage.getEnabledArtifactContentIds(groupId, artifactId));
     }
 
+    @Override
+    public List<ContentIdentityDto> getEnabledArtifactContentIdentities(String groupId, String artifactId) {
+        return proxy(storage -> storage.getEnabledArtifactContentIdentities(groupId, artifactId));
+    }
+
 
     @Override
     public List<Long> getArtifactContentIds(String groupId, String artifactId) {
@@ -251,6 +252,13 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
+                                                    int offset, int limit, SearchCursor after, SearchCountMode countMode) {
+        return proxy(storage -> storage.searchArtifacts(filters, orderBy, orderDirection, offset, limit, after, countMode));
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(String groupId, String artifactId) {
         return proxy(storage -> storage.getArtifactMetaData(groupId, artifactId));
@@ -269,6 +277,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash) {
+        return proxy(storage -> storage.getArtifactVersionMetaDataByDereferencedHash(groupId, artifactId, dereferencedHash));
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(long globalId) {
         return proxy(storage -> storage.getArtifactMetaData(globalId));
@@ -304,6 +318,13 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public VersionSearchResultsDto searchVersions(String groupId, String artifactId, int offset, int limit, SearchCursor after,
+                                                  SearchCountMode countMode) {
+        return proxy(storage -> storage.searchVersions(groupId, artifactId, offset, limit, after, countMode));
+    }
+
+
     @Override
     public StoredArtifactDto getArtifactVersion(long globalId) {
         return proxy(storage -> storage.getArtifactVersion(globalId));
@@ -429,6 +450,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public Map<String, ContentHandle> resolveReferencesIfComplete(List<ArtifactReferenceDto> references) {
+        return proxy(storage -> storage.resolveReferencesIfComplete(references));
+    }
+
+
     @Override
     public Optional<Long> contentIdFromHash(String contentHash) {
         return proxy(storage -> storage.contentIdFromHash(contentHash));
@@ -477,6 +504,13 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public GroupSearchResultsDto searchGroups(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, Integer offset,
+                                              Integer limit, SearchCursor after, SearchCountMode countMode) {
+        return proxy(storage -> storage.searchGroups(filters, orderBy, orderDirection, offset, limit, after, countMode));
+    }
+
+
     @Override
     public List<CommentDto> getArtifactVersionComments(String groupId, String artifactId, String version) {
         return proxy(storage -> storage.getArtifactVersionComments(groupId, artifactId, version));
@@ -0,0 +1,77 @@
+package io.apicurio.registry.storage.impl.gitops;
+
+import io.apicurio.registry.storage.RegistryStorage;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One side (blue or green) of the GitOps storage, with a count of the reads in progress.
+ * <p>
+ * Readers register themselves (see {@link #enter()}) instead of taking a lock, so that the storage can be reused
+ * for writing once it is no longer the active one and the reads that started before the switch have completed.
+ * The count is striped by thread, each stripe on its own cache line, so that readers do not contend with each other.
+ * A reader always leaves the stripe it entered, so a stripe never goes negative and a scan of all stripes that finds
+ * them all at zero proves there is no reader left.
+ *
+ */
+public class ReadTrackedStorage {
+
+    // Longs per stripe, 128 bytes apart to avoid false sharing
+    private static final int PADDING = 16;
+
+    @Getter
+    private final RegistryStorage storage;
+
+    private final AtomicLongArray readers;
+    private final int mask;
+
+    public ReadTrackedStorage(RegistryStorage storage) {
+        this.storage = storage;
+        int stripes = nextPowerOfTwo(2 * Runtime.getRuntime().availableProcessors());
+        this.readers = new AtomicLongArray(stripes * PADDING);
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Registers a reader of the current thread, returns the stripe to pass to {@link #exit(int)}.
+     */
+    public int enter() {
+        int stripe = (int) Thread.currentThread().getId() & mask;
+        readers.incrementAndGet(stripe * PADDING);
+        return stripe;
+    }
+
+    public void exit(int stripe) {
+        readers.decrementAndGet(stripe * PADDING);
+    }
+
+    public boolean hasReaders() {
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            if (readers.get(stripe * PADDING) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits until there are no readers, returns false if there still are some after the timeout.  Only meaningful
+     * once new readers can no longer enter, i.e. when the storage is not the active one.
+     */
+    public boolean awaitNoReaders(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (hasReaders()) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -17,7 +17,7 @@ import java.util.Optional;
 
 import static lombok.AccessLevel.PRIVATE;
 
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor(access = PRIVATE)
 @Getter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
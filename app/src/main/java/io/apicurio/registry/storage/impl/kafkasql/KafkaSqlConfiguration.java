@@ -10,6 +10,9 @@ public interface KafkaSqlConfiguration {
     boolean isTopicAutoCreate();
     Integer pollTimeout();
     Integer responseTimeout();
+    Integer applyDecoderThreads();
+    Integer applyQueueSize();
+    Integer applyBatchSize();
     Properties producerProperties();
     Properties consumerProperties();
     Properties adminProperties();
@@ -1,19 +1,27 @@
 package io.apicurio.registry.storage.impl.kafkasql;
 
-import io.apicurio.registry.types.RegistryException;
+import io.apicurio.registry.utils.ConcurrentUtil;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Coordinates "write" responses across threads in the Kafka-SQL artifactStore implementation.  Basically this is used
  * to communicate between the Kafka consumer thread and the waiting HTTP/API thread, where the HTTP thread is
  * waiting for an operation to be completed by the Kafka consumer thread.
+ * <p>
+ * Each pending operation is represented by a single {@link CompletableFuture}, holding both the signal and the
+ * response, that is completed by the consumer thread when the corresponding journal message has been applied.
+ * Callers compose on it with {@link #responseFor(UUID)}, so no thread is parked per operation, and the response
+ * timeouts of all the pending operations are driven by a single timer thread.
  *
  */
 @ApplicationScoped
@@ -22,73 +30,98 @@ public class KafkaSqlCoordinator {
     @Inject
     KafkaSqlConfiguration configuration;
 
-    private static final Object NULL = new Object();
-    private Map<UUID, CountDownLatch> latches = new ConcurrentHashMap<>();
-    private Map<UUID, Object> returnValues = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Object>> responses = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "KSQL Coordinator Timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void onDestroy() {
+        timer.shutdownNow();
+    }
 
     /**
-     * Creates a UUID for a single operation.
+     * Creates a UUID for a single operation and registers the future that will hold its response.
+     * If no response arrives within the configured response timeout, the response is <code>null</code>
+     * and the operation stops being tracked, whether or not its response was requested.
      */
     public UUID createUUID() {
         UUID uuid = UUID.randomUUID();
-        latches.put(uuid, new CountDownLatch(1));
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        responses.put(uuid, response);
+        timer.schedule(() -> {
+            responses.remove(uuid);
+            response.complete(null);
+        }, configuration.responseTimeout(), TimeUnit.MILLISECONDS);
         return uuid;
     }
 
     /**
-     * Waits for a response to the operation with the given UUID. There is a countdown latch for each operation.  The
-     * caller waiting for the response will wait for the countdown to happen and then proceed.  We also remove
-     * the latch from the Map here since it's not needed anymore.
+     * Returns the future response to the operation with the given UUID.  The future is completed exceptionally
+     * with the exception raised while applying the operation.  We also remove the future from the Map once it
+     * is complete, since it's not needed anymore.
      *
      * @param uuid
-     * @throws InterruptedException
      */
-    public Object waitForResponse(UUID uuid) {
-        try {
-            latches.get(uuid).await(configuration.responseTimeout(), TimeUnit.MILLISECONDS);
-
-            Object rval = returnValues.remove(uuid);
-            if (rval == NULL) {
-                return null;
-            } else if (rval instanceof RegistryException) {
-                throw (RegistryException) rval; // TODO: Any exception
-            }
-            return rval;
-        } catch (InterruptedException e) {
-          throw new RegistryException("[KafkaSqlCoordinator] Thread interrupted waiting for a Kafka Sql response.", e);
-        } finally {
-            latches.remove(uuid);
+    public CompletableFuture<Object> responseFor(UUID uuid) {
+        CompletableFuture<Object> response = responses.get(uuid);
+        if (response == null) {
+            // The operation timed out before its response was requested
+            return CompletableFuture.completedFuture(null);
         }
+        return response.whenComplete((value, error) -> responses.remove(uuid));
     }
 
     /**
-     * Countdown the latch for the given UUID.  This will wake up the thread waiting for the response
+     * Waits for the response to the operation being sent by the given future.  Sending the journal message
+     * and applying it are composed into a single future, that the calling thread waits for once.
+     *
+     * @param sent the future UUID of the operation, see {@link KafkaSqlSubmitter#send}
+     */
+    public Object waitForResponse(CompletableFuture<UUID> sent) {
+        return ConcurrentUtil.get(sent.thenCompose(this::responseFor));
+    }
+
+    /**
+     * Completes the future response for the given UUID.  This will wake up the thread waiting for the response
      * so that it can proceed.
      * @param uuid
      * @param returnValue
      */
     public void notifyResponse(UUID uuid, Object returnValue) {
+        CompletableFuture<Object> response = pendingResponse(uuid);
+        if (response != null) {
+            response.complete(returnValue);
+        }
+    }
+
+    /**
+     * Completes the future response for the given UUID with the exception raised while applying the operation,
+     * which the waiting thread gets as is.
+     * @param uuid
+     * @param error
+     */
+    public void notifyFailure(UUID uuid, Throwable error) {
+        CompletableFuture<Object> response = pendingResponse(uuid);
+        if (response != null) {
+            response.completeExceptionally(error);
+        }
+    }
+
+    private CompletableFuture<Object> pendingResponse(UUID uuid) {
         //we are re-using the topic from a streams based registry instance
         if (uuid == null) {
-            return;
+            return null;
         }
 
-        // If there is no countdown latch, then there is no HTTP thread waiting for
+        // If there is no pending future, then there is no HTTP thread waiting for
         // a response.  This means one of two possible things:
         //  1) We're in a cluster and the HTTP thread is on another node
         //  2) We're starting up and consuming all the old journal entries
-        if (!latches.containsKey(uuid)) {
-            return;
-        }
-
-        // Otherwise, put the return value in the Map and countdown the latch.  The latch
-        // countdown will notify the HTTP thread that the operation is complete and there is
-        // a return value waiting for it.
-        if (returnValue == null) {
-            returnValue = NULL;
-        }
-        returnValues.put(uuid, returnValue);
-        latches.get(uuid).countDown();
+        return responses.get(uuid);
     }
 
 }
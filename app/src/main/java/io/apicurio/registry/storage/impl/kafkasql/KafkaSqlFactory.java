@@ -2,10 +2,8 @@ package io.apicurio.registry.storage.impl.kafkasql;
 
 import io.apicurio.common.apps.config.Info;
 import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
-import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlKeyDeserializer;
 import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlKeySerializer;
 import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlPartitioner;
-import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlValueDeserializer;
 import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlValueSerializer;
 import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
 import io.apicurio.registry.utils.RegistryProperties;
@@ -19,6 +17,7 @@ import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.config.SaslConfigs;
 import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.util.Optional;
@@ -58,6 +57,21 @@ public class KafkaSqlFactory {
     @Info(category = "storage", description = "Kafka sql storage coordinator response timeout")
     Integer responseTimeout;
 
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.apply.decoder-threads", defaultValue = "4")
+    @Info(category = "storage", description = "Kafka sql storage number of threads deserializing journal records before they are applied", availableSince = "3.0.0")
+    Integer applyDecoderThreads;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.apply.queue-size", defaultValue = "1000")
+    @Info(category = "storage", description = "Kafka sql storage maximum number of journal records waiting to be applied", availableSince = "3.0.0")
+    Integer applyQueueSize;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.apply.batch-size", defaultValue = "100")
+    @Info(category = "storage", description = "Kafka sql storage maximum number of journal records applied in a single transaction", availableSince = "3.0.0")
+    Integer applyBatchSize;
+
     @Inject
     @RegistryProperties(
             value = {"registry.kafka.common", "registry.kafkasql.producer"},
@@ -165,6 +179,18 @@ public class KafkaSqlFactory {
                 return responseTimeout;
             }
             @Override
+            public Integer applyDecoderThreads() {
+                return applyDecoderThreads;
+            }
+            @Override
+            public Integer applyQueueSize() {
+                return applyQueueSize;
+            }
+            @Override
+            public Integer applyBatchSize() {
+                return applyBatchSize;
+            }
+            @Override
             public Properties producerProperties() {
                 return producerProperties;
             }
@@ -205,11 +231,12 @@ public class KafkaSqlFactory {
     }
 
     /**
-     * Creates the Kafka consumer.
+     * Creates the Kafka consumer.  Records are consumed as raw bytes, they are deserialized
+     * off the polling thread by the KafkaSQL apply pipeline.
      */
     @ApplicationScoped
     @Produces
-    public KafkaConsumer<MessageKey, MessageValue> createKafkaConsumer() {
+    public KafkaConsumer<byte[], byte[]> createKafkaConsumer() {
         Properties props = (Properties) consumerProperties.clone();
 
         props.putIfAbsent(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -221,9 +248,7 @@ public class KafkaSqlFactory {
         tryToConfigureSecurity(props);
 
         // Create the Kafka Consumer
-        KafkaSqlKeyDeserializer keyDeserializer = new KafkaSqlKeyDeserializer();
-        KafkaSqlValueDeserializer valueDeserializer = new KafkaSqlValueDeserializer();
-        KafkaConsumer<MessageKey, MessageValue> consumer = new KafkaConsumer<>(props, keyDeserializer, valueDeserializer);
+        KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(props, new ByteArrayDeserializer(), new ByteArrayDeserializer());
         return consumer;
     }
 
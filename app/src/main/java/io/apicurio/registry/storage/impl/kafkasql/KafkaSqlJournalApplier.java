@@ -0,0 +1,150 @@
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.storage.impl.kafkasql.keys.BootstrapKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.sql.KafkaSqlSink;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Applies the journal records consumed by the {@link KafkaSqlRegistryStorage}, on its apply thread.
+ * <p>
+ * The records are applied in the order they were polled, whatever the order their decoding completes in, so
+ * the journal order is preserved (many messages depend on earlier ones with a different key, e.g. a version on
+ * its content).  Consecutive records to be processed by the {@link KafkaSqlSink} are applied together, in a
+ * single transaction.  The other records (bootstrap markers, tombstones, undecodable records) are handled in
+ * between, so that e.g. the storage is only ready once the records preceding its bootstrap marker are committed.
+ * <p>
+ * Every record of a batch is either applied or reported as failed to whatever is waiting for it.
+ *
+ */
+class KafkaSqlJournalApplier {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaSqlJournalApplier.class);
+
+    private final KafkaSqlSink kafkaSqlSink;
+    private final String bootstrapId;
+    private final Runnable onBootstrapped;
+
+    /**
+     * @param bootstrapId    id of the bootstrap marker sent by this node on startup
+     * @param onBootstrapped called once the records preceding that marker are applied
+     */
+    KafkaSqlJournalApplier(KafkaSqlSink kafkaSqlSink, String bootstrapId, Runnable onBootstrapped) {
+        this.kafkaSqlSink = kafkaSqlSink;
+        this.bootstrapId = bootstrapId;
+        this.onBootstrapped = onBootstrapped;
+    }
+
+    /**
+     * Applies a batch of journal records, in order, waiting for each one to be decoded.
+     * <p>
+     * If something else than a single record fails while the batch is applied, the records not applied yet
+     * are applied one by one, and a record that still fails is reported as failed, so no record is dropped
+     * without its response.
+     */
+    void apply(List<PendingRecord> batch) {
+        List<ConsumerRecord<MessageKey, MessageValue>> messages = new ArrayList<>(batch.size());
+        // Index of the first record that is neither applied nor in the pending messages
+        int applied = 0;
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRecord pending = batch.get(i);
+                if (pending.isMessage()) {
+                    messages.add(pending.decoded.join());
+                    continue;
+                }
+                kafkaSqlSink.processMessages(messages);
+                messages.clear();
+                applied = i;
+                applyOther(pending);
+                applied = i + 1;
+            }
+            kafkaSqlSink.processMessages(messages);
+        } catch (RuntimeException e) {
+            log.error("Failed to apply a batch of journal records, applying the remaining ones one by one.", e);
+            batch.subList(applied, batch.size()).forEach(this::applyOne);
+        }
+    }
+
+    private void applyOne(PendingRecord pending) {
+        try {
+            if (pending.isMessage()) {
+                kafkaSqlSink.processMessage(pending.decoded.join());
+            } else {
+                applyOther(pending);
+            }
+        } catch (RuntimeException e) {
+            kafkaSqlSink.failMessage(pending.raw, e);
+        }
+    }
+
+    /**
+     * Handles the records that are not processed by the {@link KafkaSqlSink}.
+     */
+    private void applyOther(PendingRecord pending) {
+        ConsumerRecord<MessageKey, MessageValue> record;
+        try {
+            record = pending.decoded.join();
+        } catch (CompletionException e) {
+            kafkaSqlSink.failMessage(pending.raw, e.getCause());
+            return;
+        }
+
+        // If the key is null, we couldn't deserialize the message
+        if (record.key() == null) {
+            log.info("Discarded an unreadable/unrecognized message.");
+            return;
+        }
+
+        // If the key is a Bootstrap key, then we have processed all messages and the storage is bootstrapped
+        if (record.key().getType() == MessageType.Bootstrap) {
+            BootstrapKey bkey = (BootstrapKey) record.key();
+            if (bkey.getBootstrapId().equals(bootstrapId)) {
+                onBootstrapped.run();
+            }
+            return;
+        }
+
+        // If the value is null, then this is a tombstone (or unrecognized) message and should not
+        // be processed.
+        log.info("Discarded a (presumed) tombstone message with key: {}", record.key());
+    }
+
+
+    /**
+     * A journal record as polled, together with its deserialization (in progress on a decoder thread).
+     */
+    static class PendingRecord {
+
+        final ConsumerRecord<byte[], byte[]> raw;
+        final CompletableFuture<ConsumerRecord<MessageKey, MessageValue>> decoded;
+
+        PendingRecord(ConsumerRecord<byte[], byte[]> raw, CompletableFuture<ConsumerRecord<MessageKey, MessageValue>> decoded) {
+            this.raw = raw;
+            this.decoded = decoded;
+        }
+
+        /**
+         * Waits for the record to be decoded.
+         *
+         * @return true if the record is a message to be processed by the {@link KafkaSqlSink}
+         */
+        boolean isMessage() {
+            ConsumerRecord<MessageKey, MessageValue> record;
+            try {
+                record = decoded.join();
+            } catch (CompletionException e) {
+                return false;
+            }
+            return record.key() != null && record.key().getType() != MessageType.Bootstrap && record.value() != null;
+        }
+    }
+}
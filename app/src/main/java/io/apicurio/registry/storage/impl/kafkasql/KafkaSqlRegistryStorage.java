@@ -17,11 +17,15 @@ import io.apicurio.registry.storage.decorator.RegistryStorageDecoratorReadOnlyBa
 import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.*;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
-import io.apicurio.registry.storage.impl.kafkasql.keys.BootstrapKey;
+import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlJournalApplier.PendingRecord;
 import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlKeyDeserializer;
+import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlValueDeserializer;
 import io.apicurio.registry.storage.impl.kafkasql.sql.KafkaSqlSink;
 import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.ContentValue;
 import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import io.apicurio.registry.storage.impl.sql.DereferencedContentHashBackfill;
 import io.apicurio.registry.storage.impl.sql.IdGenerator;
 import io.apicurio.registry.storage.impl.sql.RegistryStorageContentUtils;
 import io.apicurio.registry.storage.impl.sql.SqlRegistryStorage;
@@ -30,7 +34,6 @@ import io.apicurio.registry.storage.importing.DataImporter;
 import io.apicurio.registry.storage.importing.SqlDataImporter;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.RuleType;
-import io.apicurio.registry.utils.ConcurrentUtil;
 import io.apicurio.registry.utils.impexp.*;
 import io.apicurio.registry.utils.kafka.KafkaUtil;
 import io.quarkus.security.identity.SecurityIdentity;
@@ -40,6 +43,7 @@ import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.config.TopicConfig;
@@ -48,7 +52,13 @@ import org.slf4j.Logger;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBehavior.DEFAULT;
@@ -85,11 +95,14 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     RegistryStorageContentUtils utils;
 
     @Inject
-    KafkaConsumer<MessageKey, MessageValue> consumer;
+    KafkaConsumer<byte[], byte[]> consumer;
 
     @Inject
     KafkaSqlSubmitter submitter;
 
+    @Inject
+    KafkaSqlSnapshotManager snapshotManager;
+
     @Inject
     SecurityIdentity securityIdentity;
 
@@ -102,6 +115,10 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     private volatile boolean bootstrapped = false;
     private volatile boolean stopped = true;
 
+    private final KafkaSqlKeyDeserializer keyDeserializer = new KafkaSqlKeyDeserializer();
+    private final KafkaSqlValueDeserializer valueDeserializer = new KafkaSqlValueDeserializer();
+    private ExecutorService decoderExecutor;
+
 
     @Override
     public String storageName() {
@@ -121,9 +138,12 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         sqlStore.initialize();
         setDelegate(sqlStore);
 
+        //Load the latest snapshot, if any, so that only the rest of the journal needs to be consumed.
+        Map<Integer, Long> snapshotOffsets = snapshotManager.restore();
+
         //Once the SQL storage has been initialized, start the Kafka consumer thread.
         log.info("SQL store initialized, starting consumer thread.");
-        startConsumerThread(consumer);
+        startConsumerThread(consumer, snapshotOffsets);
 
     }
 
@@ -143,6 +163,9 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     @PreDestroy
     void onDestroy() {
         stopped = true;
+        if (decoderExecutor != null) {
+            decoderExecutor.shutdownNow();
+        }
     }
 
 
@@ -170,8 +193,15 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
      * Start the KSQL Kafka consumer thread which is responsible for subscribing to the kafka topic,
      * consuming JournalRecord entries found on that topic, and applying those journal entries to
      * the internal data model.
+     * <p>
+     * Consuming is pipelined: the consumer thread only polls, the records are decoded in parallel
+     * by a pool of decoder threads, and a single apply thread applies them to the SQL store, in the
+     * order they were polled, with a {@link KafkaSqlJournalApplier}.  The records waiting in the queue
+     * are applied in batches, each in a single transaction (see {@link KafkaSqlSink#processMessages(List)}).
+     *
+     * @param startOffsets offsets (by partition) to start consuming from when a snapshot was restored
      */
-    private void startConsumerThread(final KafkaConsumer<MessageKey, MessageValue> consumer) {
+    private void startConsumerThread(final KafkaConsumer<byte[], byte[]> consumer, final Map<Integer, Long> startOffsets) {
         log.info("Starting KSQL consumer thread on topic: {}", configuration.topic());
         log.info("Bootstrap servers: {}", configuration.bootstrapServers());
 
@@ -179,59 +209,122 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         submitter.submitBootstrap(bootstrapId);
         final long bootstrapStart = System.currentTimeMillis();
 
+        final BlockingQueue<PendingRecord> applyQueue = new ArrayBlockingQueue<>(configuration.applyQueueSize());
+        final AtomicInteger decoderThreadCount = new AtomicInteger();
+        decoderExecutor = Executors.newFixedThreadPool(configuration.applyDecoderThreads(), r -> {
+            Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("KSQL Journal Decoder Thread " + decoderThreadCount.incrementAndGet());
+            return thread;
+        });
+
         Runnable runner = () -> {
             try (consumer) {
                 log.info("Subscribing to {}", configuration.topic());
 
-                // Subscribe to the journal topic
+                // Subscribe to the journal topic, skipping the records already contained in the restored snapshot
                 Collection<String> topics = Collections.singleton(configuration.topic());
-                consumer.subscribe(topics);
+                consumer.subscribe(topics, new KafkaSqlSnapshotSeeker(consumer, startOffsets));
 
                 // Main consumer loop
                 while (!stopped) {
-                    final ConsumerRecords<MessageKey, MessageValue> records = consumer.poll(Duration.ofMillis(configuration.pollTimeout()));
+                    final ConsumerRecords<byte[], byte[]> records = consumer.poll(Duration.ofMillis(configuration.pollTimeout()));
                     if (records != null && !records.isEmpty()) {
                         log.debug("Consuming {} journal records.", records.count());
-                        records.forEach(record -> {
-
-                            // If the key is null, we couldn't deserialize the message
-                            if (record.key() == null) {
-                                log.info("Discarded an unreadable/unrecognized message.");
-                                return;
-                            }
-
-                            // If the key is a Bootstrap key, then we have processed all messages and can set bootstrapped to 'true'
-                            if (record.key().getType() == MessageType.Bootstrap) {
-                                BootstrapKey bkey = (BootstrapKey) record.key();
-                                if (bkey.getBootstrapId().equals(bootstrapId)) {
-                                    this.bootstrapped = true;
-                                    storageEvent.fireAsync(StorageEvent.builder()
-                                            .type(StorageEventType.READY)
-                                            .build());
-                                    log.info("KafkaSQL storage bootstrapped in {} ms.", System.currentTimeMillis() - bootstrapStart);
+                        for (ConsumerRecord<byte[], byte[]> record : records) {
+                            // Waits when the apply thread falls behind, but not past the storage being stopped
+                            // (the apply thread stops draining the queue at that point)
+                            PendingRecord pending = new PendingRecord(record,
+                                    CompletableFuture.supplyAsync(() -> decodeRecord(record), decoderExecutor));
+                            while (!applyQueue.offer(pending, configuration.pollTimeout(), TimeUnit.MILLISECONDS)) {
+                                if (stopped) {
+                                    return;
                                 }
-                                return;
                             }
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
 
-                            // If the value is null, then this is a tombstone (or unrecognized) message and should not
-                            // be processed.
-                            if (record.value() == null) {
-                                log.info("Discarded a (presumed) tombstone message with key: {}", record.key());
-                                return;
-                            }
+        final KafkaSqlJournalApplier journalApplier = new KafkaSqlJournalApplier(kafkaSqlSink, bootstrapId, () -> {
+            this.bootstrapped = true;
+            storageEvent.fireAsync(StorageEvent.builder()
+                    .type(StorageEventType.READY)
+                    .build());
+            log.info("KafkaSQL storage bootstrapped in {} ms.", System.currentTimeMillis() - bootstrapStart);
+        });
 
-                            // TODO instead of processing the journal record directly on the consumer thread, instead queue them and have *another* thread process the queue
-                            kafkaSqlSink.processMessage(record);
-                        });
+        Runnable applier = () -> {
+            // Offset of the next record to apply, by partition
+            final Map<Integer, Long> appliedOffsets = new HashMap<>(startOffsets);
+            final List<PendingRecord> batch = new ArrayList<>(configuration.applyBatchSize());
+            while (!stopped) {
+                try {
+                    PendingRecord next = applyQueue.poll(configuration.pollTimeout(), TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                        applyQueue.drainTo(batch, configuration.applyBatchSize() - 1);
+                        // Each record is either applied or reported as failed to whatever waits for it
+                        journalApplier.apply(batch);
+                        batch.forEach(pending -> appliedOffsets.put(pending.raw.partition(), pending.raw.offset() + 1));
+                        batch.clear();
+                    }
+                    if (bootstrapped) {
+                        snapshotManager.snapshotIfDue(appliedOffsets);
                     }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.error("Error applying a journal record.", e);
                 }
             }
         };
+
         stopped = false;
         Thread thread = new Thread(runner);
         thread.setDaemon(true);
         thread.setName("KSQL Kafka Consumer Thread");
         thread.start();
+
+        Thread applyThread = new Thread(applier);
+        applyThread.setDaemon(true);
+        applyThread.setName("KSQL Journal Apply Thread");
+        applyThread.start();
+    }
+
+
+    /**
+     * Deserializes the key and value of a raw journal record, and pre-computes what can be computed
+     * without the SQL store.  Runs on the decoder threads.
+     * A key that cannot be deserialized is returned as <code>null</code>.
+     */
+    private ConsumerRecord<MessageKey, MessageValue> decodeRecord(ConsumerRecord<byte[], byte[]> record) {
+        MessageKey key = record.key() == null ? null : keyDeserializer.deserialize(record.topic(), record.key());
+        MessageValue value = key == null ? null : valueDeserializer.deserialize(record.topic(), record.value());
+        if (value instanceof ContentValue) {
+            precomputeContent((ContentValue) value);
+        }
+        return new ConsumerRecord<>(record.topic(), record.partition(), record.offset(), record.timestamp(),
+                record.timestampType(), record.serializedKeySize(), record.serializedValueSize(), key, value,
+                record.headers(), record.leaderEpoch());
+    }
+
+
+    /**
+     * Computes the dereferenced hash of new content, so that it is stored with the content instead of
+     * being computed later by the {@link DereferencedContentHashBackfill} (on every node).  Content with
+     * references is left to the backfill, its referenced versions may not be applied yet.
+     */
+    private void precomputeContent(ContentValue value) {
+        if ((value.getAction() == ActionType.CREATE || value.getAction() == ActionType.IMPORT)
+                && value.getArtifactType() != null && value.getContent() != null
+                && SqlUtil.deserializeReferences(value.getSerializedReferences()).isEmpty()) {
+            value.setDereferencedHash(utils.getDereferencedContentHash(value.getArtifactType(), value.getContent(), Map.of()));
+        }
     }
 
 
@@ -249,9 +342,9 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             long contentId = nextContentId();
             String canonicalContentHash = utils.getCanonicalContentHash(content, artifactType, references, this::resolveReferences);
 
-            CompletableFuture<UUID> future = submitter.submitContent(contentId, contentHash, ActionType.CREATE, canonicalContentHash, content, SqlUtil.serializeReferences(references));
-            UUID uuid = ConcurrentUtil.get(future);
-            coordinator.waitForResponse(uuid);
+            CompletableFuture<UUID> future = submitter.submitContent(contentId, contentHash, ActionType.CREATE, canonicalContentHash, content, SqlUtil.serializeReferences(references),
+                    artifactType);
+            coordinator.waitForResponse(future);
         }
 
         return contentHash;
@@ -315,10 +408,9 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
         long globalId = globalIdGenerator.generate();
 
-        UUID uuid = ConcurrentUtil.get(
+        return (ArtifactMetaDataDto) coordinator.waitForResponse(
                 submitter.submitArtifact(groupId, artifactId, version, ActionType.CREATE,
                         globalId, artifactType, contentHash, createdBy, createdOn, metaData));
-        return (ArtifactMetaDataDto) coordinator.waitForResponse(uuid);
     }
 
 
@@ -328,8 +420,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new ArtifactNotFoundException(groupId, artifactId);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitArtifact(groupId, artifactId, ActionType.DELETE));
-        List<String> versionIds = (List<String>) coordinator.waitForResponse(reqId);
+        List<String> versionIds = (List<String>) coordinator.waitForResponse(submitter.submitArtifact(groupId, artifactId, ActionType.DELETE));
 
         // Add tombstone messages for all version metadata updates
         versionIds.forEach(vid -> {
@@ -348,8 +439,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void deleteArtifacts(String groupId) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitGroup(groupId, ActionType.DELETE, true));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGroup(groupId, ActionType.DELETE, true));
 
         // TODO could possibly add tombstone messages for *all* artifacts that were deleted (version meta-data and artifact rules)
     }
@@ -397,10 +487,9 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
         long globalId = globalIdGenerator.generate();
 
-        UUID reqId = ConcurrentUtil.get(
+        return (ArtifactMetaDataDto) coordinator.waitForResponse(
                 submitter.submitArtifact(groupId, artifactId, version, ActionType.UPDATE,
                         globalId, artifactType, contentHash, createdBy, createdOn, metaData));
-        return (ArtifactMetaDataDto) coordinator.waitForResponse(reqId);
     }
 
 
@@ -409,9 +498,8 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         // Note: the next line will throw ArtifactNotFoundException if the artifact does not exist, so there is no need for an extra check.
         ArtifactMetaDataDto metaDataDto = delegate.getArtifactMetaData(groupId, artifactId);
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitArtifactVersion(groupId, artifactId, metaDataDto.getVersion(),
+        coordinator.waitForResponse(submitter.submitArtifactVersion(groupId, artifactId, metaDataDto.getVersion(),
                 ActionType.UPDATE, metaDataDto.getState(), metaData));
-        coordinator.waitForResponse(reqId);
     }
 
 
@@ -421,8 +509,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         /*ArtifactMetaDataDto metaDataDto = */
         delegate.getArtifactMetaData(groupId, artifactId, DEFAULT);
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitArtifactOwner(groupId, artifactId, ActionType.UPDATE, owner.getOwner()));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitArtifactOwner(groupId, artifactId, ActionType.UPDATE, owner.getOwner()));
     }
 
 
@@ -432,9 +519,8 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new RuleAlreadyExistsException(rule);
         }
 
-        UUID reqId = ConcurrentUtil.get(
+        coordinator.waitForResponse(
                 submitter.submitArtifactRule(groupId, artifactId, rule, ActionType.CREATE, config));
-        coordinator.waitForResponse(reqId);
     }
 
 
@@ -446,9 +532,8 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
         submitter.submitArtifactRule(groupId, artifactId, RuleType.COMPATIBILITY, ActionType.DELETE);
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitArtifactRule(groupId, artifactId, RuleType.VALIDITY, ActionType.DELETE));
         try {
-            coordinator.waitForResponse(reqId);
+            coordinator.waitForResponse(submitter.submitArtifactRule(groupId, artifactId, RuleType.VALIDITY, ActionType.DELETE));
         } catch (RuleNotFoundException e) {
             // Eat this exception - we don't care if the rule didn't exist.
         }
@@ -461,8 +546,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new RuleNotFoundException(rule);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitArtifactRule(groupId, artifactId, rule, ActionType.UPDATE, config));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitArtifactRule(groupId, artifactId, rule, ActionType.UPDATE, config));
     }
 
 
@@ -472,16 +556,14 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new RuleNotFoundException(rule);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitArtifactRule(groupId, artifactId, rule, ActionType.DELETE));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitArtifactRule(groupId, artifactId, rule, ActionType.DELETE));
     }
 
 
     @Override
     public void deleteArtifactVersion(String groupId, String artifactId, String version) {
         withArtifactVersionMetadataValidateState(groupId, artifactId, version, null, value -> {
-            UUID reqId = ConcurrentUtil.get(submitter.submitVersion(groupId, artifactId, version, ActionType.DELETE));
-            coordinator.waitForResponse(reqId);
+            coordinator.waitForResponse(submitter.submitVersion(groupId, artifactId, version, ActionType.DELETE));
 
             // Add a tombstone message for this version's metadata
             submitter.submitArtifactVersionTombstone(groupId, artifactId, version);
@@ -494,9 +576,8 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     @Override
     public void updateArtifactVersionMetaData(String groupId, String artifactId, String version, EditableArtifactMetaDataDto metaData) {
         withArtifactVersionMetadataValidateState(groupId, artifactId, version, ArtifactStateExt.ACTIVE_STATES, value -> {
-            UUID reqId = ConcurrentUtil.get(submitter.submitArtifactVersion(groupId, artifactId,
+            return coordinator.waitForResponse(submitter.submitArtifactVersion(groupId, artifactId,
                     version, ActionType.UPDATE, value.getState(), metaData));
-            return coordinator.waitForResponse(reqId);
         });
     }
 
@@ -504,8 +585,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     @Override
     public void deleteArtifactVersionMetaData(String groupId, String artifactId, String version) {
         withArtifactVersionMetadataValidateState(groupId, artifactId, version, null, value -> {
-            UUID reqId = ConcurrentUtil.get(submitter.submitVersion(groupId, artifactId, version, ActionType.CLEAR));
-            return coordinator.waitForResponse(reqId);
+            return coordinator.waitForResponse(submitter.submitVersion(groupId, artifactId, version, ActionType.CLEAR));
         });
     }
 
@@ -526,8 +606,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void createGlobalRule(RuleType rule, RuleConfigurationDto config) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitGlobalRule(rule, ActionType.CREATE, config));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGlobalRule(rule, ActionType.CREATE, config));
     }
 
 
@@ -536,10 +615,10 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         // TODO This should use "DELETE FROM" instead of being rule specific
 
         getGlobalRules().stream()
-                .map(r -> ConcurrentUtil.get(submitter.submitGlobalRule(r, ActionType.DELETE)))
-                .forEach(reqId -> {
+                .map(r -> submitter.submitGlobalRule(r, ActionType.DELETE))
+                .forEach(sent -> {
                     try {
-                        coordinator.waitForResponse(reqId);
+                        coordinator.waitForResponse(sent);
                     } catch (RuleNotFoundException e) {
                         // Eat this exception - we don't care if the rule didn't exist.
                     }
@@ -553,8 +632,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new RuleNotFoundException(rule);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitGlobalRule(rule, ActionType.UPDATE, config));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGlobalRule(rule, ActionType.UPDATE, config));
     }
 
 
@@ -564,17 +642,15 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new RuleNotFoundException(rule);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitGlobalRule(rule, ActionType.DELETE));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGlobalRule(rule, ActionType.DELETE));
     }
 
 
     private void updateArtifactState(ArtifactState currentState, String groupId, String artifactId, String version, ArtifactState newState, EditableArtifactMetaDataDto metaData) {
         artifactStateEx.applyState(
                 s -> {
-                    UUID reqId = ConcurrentUtil.get(submitter.submitArtifactVersion(groupId, artifactId,
+                    coordinator.waitForResponse(submitter.submitArtifactVersion(groupId, artifactId,
                             version, ActionType.UPDATE, newState, metaData));
-                    coordinator.waitForResponse(reqId);
                 },
                 currentState,
                 newState
@@ -608,22 +684,19 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void createGroup(GroupMetaDataDto group) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitGroup(ActionType.CREATE, group));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGroup(ActionType.CREATE, group));
     }
 
 
     @Override
     public void updateGroupMetaData(GroupMetaDataDto group) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitGroup(ActionType.UPDATE, group));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGroup(ActionType.UPDATE, group));
     }
 
 
     @Override
     public void deleteGroup(String groupId) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitGroup(groupId, ActionType.DELETE, false));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGroup(groupId, ActionType.DELETE, false));
     }
 
 
@@ -651,10 +724,14 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         return sqlStore.getEnabledArtifactContentIds(groupId, artifactId);
     }
 
+    @Override
+    public List<ContentIdentityDto> getEnabledArtifactContentIdentities(String groupId, String artifactId) {
+        return sqlStore.getEnabledArtifactContentIdentities(groupId, artifactId);
+    }
+
     @Override
     public void createRoleMapping(String principalId, String role, String principalName) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitRoleMapping(principalId, ActionType.CREATE, role, principalName));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitRoleMapping(principalId, ActionType.CREATE, role, principalName));
     }
 
 
@@ -664,8 +741,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new RoleMappingNotFoundException(principalId);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitRoleMapping(principalId, ActionType.DELETE));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitRoleMapping(principalId, ActionType.DELETE));
     }
 
 
@@ -675,30 +751,26 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new RoleMappingNotFoundException(principalId, role);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitRoleMapping(principalId, ActionType.UPDATE, role, null));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitRoleMapping(principalId, ActionType.UPDATE, role, null));
     }
 
 
     @Override
     public void deleteAllUserData() {
-        UUID reqId = ConcurrentUtil.get(submitter.submitGlobalAction(ActionType.DELETE_ALL_USER_DATA));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGlobalAction(ActionType.DELETE_ALL_USER_DATA));
     }
 
 
     @Override
     public String createDownload(DownloadContextDto context) {
         String downloadId = UUID.randomUUID().toString();
-        UUID reqId = ConcurrentUtil.get(submitter.submitDownload(downloadId, ActionType.CREATE, context));
-        return (String) coordinator.waitForResponse(reqId);
+        return (String) coordinator.waitForResponse(submitter.submitDownload(downloadId, ActionType.CREATE, context));
     }
 
 
     @Override
     public DownloadContextDto consumeDownload(String downloadId) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitDownload(downloadId, ActionType.DELETE));
-        return (DownloadContextDto) coordinator.waitForResponse(reqId);
+        return (DownloadContextDto) coordinator.waitForResponse(submitter.submitDownload(downloadId, ActionType.DELETE));
     }
 
 
@@ -712,15 +784,13 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void setConfigProperty(DynamicConfigPropertyDto propertyDto) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitConfigProperty(propertyDto.getName(), ActionType.UPDATE, propertyDto.getValue()));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitConfigProperty(propertyDto.getName(), ActionType.UPDATE, propertyDto.getValue()));
     }
 
 
     @Override
     public void deleteConfigProperty(String propertyName) {
-        UUID reqId = ConcurrentUtil.get(submitter.submitConfigProperty(propertyName, ActionType.DELETE));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitConfigProperty(propertyName, ActionType.DELETE));
     }
 
 
@@ -739,8 +809,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new VersionNotFoundException(groupId, artifactId, version);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitComment(groupId, artifactId, version, commentId, ActionType.DELETE));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitComment(groupId, artifactId, version, commentId, ActionType.DELETE));
     }
 
 
@@ -750,9 +819,8 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new VersionNotFoundException(groupId, artifactId, version);
         }
 
-        UUID reqId = ConcurrentUtil.get(submitter.submitComment(groupId, artifactId, version,
+        coordinator.waitForResponse(submitter.submitComment(groupId, artifactId, version,
                 commentId, ActionType.UPDATE, null, null, value));
-        coordinator.waitForResponse(reqId);
     }
 
 
@@ -786,7 +854,8 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void importContent(ContentEntity entity) {
-        submitter.submitContent(entity.contentId, entity.contentHash, ActionType.IMPORT, entity.canonicalHash, ContentHandle.create(entity.contentBytes), entity.serializedReferences);
+        submitter.submitContent(entity.contentId, entity.contentHash, ActionType.IMPORT, entity.canonicalHash, ContentHandle.create(entity.contentBytes), entity.serializedReferences,
+                entity.artifactType);
     }
 
 
@@ -820,15 +889,13 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void resetContentId() {
-        UUID reqId = ConcurrentUtil.get(submitter.submitGlobalId(ActionType.RESET));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitGlobalId(ActionType.RESET));
     }
 
 
     @Override
     public void resetGlobalId() {
-        UUID reqId = ConcurrentUtil.get(submitter.submitContentId(ActionType.RESET));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitContentId(ActionType.RESET));
     }
 
 
@@ -837,10 +904,9 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
                                                       String createdBy, Date createdOn, String value) {
         String commentId = String.valueOf(commentIdGen.generate());
 
-        UUID reqId = ConcurrentUtil.get(
+        coordinator.waitForResponse(
                 submitter.submitComment(groupId, artifactId, version, commentId,
                         ActionType.CREATE, createdBy, createdOn, value));
-        coordinator.waitForResponse(reqId);
 
         return CommentDto.builder()
                 .commentId(commentId)
@@ -853,29 +919,25 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void resetCommentId() {
-        UUID reqId = ConcurrentUtil.get(submitter.submitCommentId(ActionType.RESET));
-        coordinator.waitForResponse(reqId);
+        coordinator.waitForResponse(submitter.submitCommentId(ActionType.RESET));
     }
 
 
     @Override
     public long nextContentId() {
-        UUID uuid = ConcurrentUtil.get(submitter.submitContentId(ActionType.CREATE));
-        return (long) coordinator.waitForResponse(uuid);
+        return (long) coordinator.waitForResponse(submitter.submitContentId(ActionType.CREATE));
     }
 
 
     @Override
     public long nextGlobalId() {
-        UUID uuid = ConcurrentUtil.get(submitter.submitGlobalId(ActionType.CREATE));
-        return (long) coordinator.waitForResponse(uuid);
+        return (long) coordinator.waitForResponse(submitter.submitGlobalId(ActionType.CREATE));
     }
 
 
     @Override
     public long nextCommentId() {
-        UUID uuid = ConcurrentUtil.get(submitter.submitCommentId(ActionType.CREATE));
-        return (long) coordinator.waitForResponse(uuid);
+        return (long) coordinator.waitForResponse(submitter.submitCommentId(ActionType.CREATE));
     }
 
 
@@ -883,11 +945,10 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     public void updateContentCanonicalHash(String newCanonicalHash, long contentId, String contentHash) {
         var contentDto = delegate.getArtifactByContentId(contentId);
 
-        var uuid = ConcurrentUtil.get(submitter.submitContent(
+        coordinator.waitForResponse(submitter.submitContent(
                 contentId, contentHash, ActionType.UPDATE,
-                newCanonicalHash, contentDto.getContent(), SqlUtil.serializeReferences(contentDto.getReferences())
+                newCanonicalHash, contentDto.getContent(), SqlUtil.serializeReferences(contentDto.getReferences()), null
         ));
-        coordinator.waitForResponse(uuid);
     }
 
 
@@ -900,21 +961,18 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
     @Override
     public void createOrUpdateArtifactBranch(GAV gav, BranchId branchId) {
-        var uuid = ConcurrentUtil.get(submitter.submitArtifactBranch(ActionType.CREATE_OR_UPDATE, gav, branchId));
-        coordinator.waitForResponse(uuid);
+        coordinator.waitForResponse(submitter.submitArtifactBranch(ActionType.CREATE_OR_UPDATE, gav, branchId));
     }
 
 
     @Override
     public void createOrReplaceArtifactBranch(GA ga, BranchId branchId, List<VersionId> versions) {
-        var uuid = ConcurrentUtil.get(submitter.submitArtifactBranchCreateOrReplace(ga, branchId, versions));
-        coordinator.waitForResponse(uuid);
+        coordinator.waitForResponse(submitter.submitArtifactBranchCreateOrReplace(ga, branchId, versions));
     }
 
 
     @Override
     public void deleteArtifactBranch(GA ga, BranchId branchId) {
-        var uuid = ConcurrentUtil.get(submitter.submitArtifactBranch(ActionType.DELETE, ga, branchId));
-        coordinator.waitForResponse(uuid);
+        coordinator.waitForResponse(submitter.submitArtifactBranch(ActionType.DELETE, ga, branchId));
     }
 }
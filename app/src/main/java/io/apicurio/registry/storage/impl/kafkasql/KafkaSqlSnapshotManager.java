@@ -0,0 +1,264 @@
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.common.apps.config.DynamicConfigPropertyDto;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.storage.dto.RoleMappingDto;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.storage.impl.sql.SqlRegistryStorage;
+import io.apicurio.registry.utils.IoUtil;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.apicurio.registry.utils.impexp.EntityReader;
+import io.apicurio.registry.utils.impexp.EntityWriter;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Periodically saves the content of the KafkaSQL internal SQL store to a local snapshot file, together
+ * with the journal offsets it corresponds to.  On startup the latest snapshot is loaded and the consumer
+ * only has to replay the journal records written after it, instead of the whole topic.
+ * <p>
+ * The snapshot is a regular registry export (see {@link SqlRegistryStorage#exportData}) preceded by
+ * a metadata entry holding the data that is not part of an export: the offsets, the values of the id
+ * sequences, role mappings and dynamic config properties.  The sequences are saved as they are in the store
+ * (the highest id reserved), not as the last id used, since that is the state the next ids are generated
+ * from on every other node.
+ * <p>
+ * Snapshots are written on a thread of their own, from a single read-only transaction.  The journal
+ * apply thread only waits for that transaction to see its snapshot of the data, and records the
+ * offsets the snapshot corresponds to.
+ */
+@ApplicationScoped
+public class KafkaSqlSnapshotManager {
+
+    private static final String SNAPSHOT_FILE = "kafkasql-snapshot.zip";
+    private static final String METADATA_ENTRY = "kafkasql-snapshot.json";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    static {
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Inject
+    Logger log;
+
+    @Inject
+    KafkaSqlConfiguration configuration;
+
+    @Inject
+    SqlRegistryStorage sqlStore;
+
+    @ConfigProperty(name = "registry.kafkasql.snapshot.location")
+    @Info(category = "storage", description = "Kafka sql storage directory where snapshots of the internal SQL store are kept. Snapshots are disabled when not set.", availableSince = "3.0.0")
+    Optional<String> location;
+
+    @ConfigProperty(name = "registry.kafkasql.snapshot.period-seconds", defaultValue = "300")
+    @Info(category = "storage", description = "Kafka sql storage minimum number of seconds between two snapshots", availableSince = "3.0.0")
+    long periodSeconds;
+
+    private long lastSnapshotTime = System.currentTimeMillis();
+    private volatile Map<Integer, Long> lastSnapshotOffsets = Collections.emptyMap();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "KSQL Snapshot Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> pendingSnapshot = CompletableFuture.completedFuture(null);
+
+    public boolean isEnabled() {
+        return location.isPresent();
+    }
+
+    /**
+     * Loads the latest snapshot (if any) into the empty SQL store.
+     *
+     * @return the journal offsets (by partition) to resume consuming from, or an empty map
+     * if the whole journal needs to be replayed
+     */
+    @ActivateRequestContext
+    public Map<Integer, Long> restore() {
+        if (!isEnabled()) {
+            return Collections.emptyMap();
+        }
+        Path file = snapshotFile();
+        if (!Files.exists(file)) {
+            log.info("No KafkaSQL snapshot found at {}, replaying the journal from the beginning.", file);
+            return Collections.emptyMap();
+        }
+
+        long start = System.currentTimeMillis();
+        try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8)) {
+            ZipEntry entry = zip.getNextEntry();
+            if (entry == null || !METADATA_ENTRY.equals(entry.getName())) {
+                throw new IOException("Snapshot metadata entry not found.");
+            }
+            SnapshotMetadata metadata = mapper.readValue(IoUtil.toBytes(zip, false), SnapshotMetadata.class);
+            if (!configuration.topic().equals(metadata.topic)) {
+                log.warn("Ignoring KafkaSQL snapshot {}, it was taken from topic {}.", file, metadata.topic);
+                return Collections.emptyMap();
+            }
+
+            final EntityReader reader = new EntityReader(zip);
+            sqlStore.importData(new EntityInputStream() {
+                @Override
+                public Entity nextEntity() throws IOException {
+                    return reader.readEntity();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // The zip is closed by the caller
+                }
+            }, true, true);
+            metadata.roleMappings.forEach(mapping -> sqlStore.createRoleMapping(mapping.getPrincipalId(), mapping.getRole(), mapping.getPrincipalName()));
+            metadata.configProperties.forEach(sqlStore::setConfigProperty);
+            sqlStore.setSequenceValues(metadata.sequences);
+
+            lastSnapshotOffsets = metadata.offsets;
+            log.info("KafkaSQL snapshot {} restored in {} ms, resuming from offsets {}.", file,
+                    System.currentTimeMillis() - start, metadata.offsets);
+            return metadata.offsets;
+        } catch (Exception e) {
+            log.warn("Failed to restore KafkaSQL snapshot {}, replaying the journal from the beginning.", file, e);
+            // Do not mix a partially restored snapshot with a full replay
+            sqlStore.deleteAllUserData();
+            sqlStore.setSequenceValues(sqlStore.getSequenceValues().keySet().stream()
+                    .collect(Collectors.toMap(name -> name, name -> 0L)));
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Starts a snapshot if snapshots are enabled, the configured period has elapsed, records were
+     * applied since the previous one and it is done.  Must be called from the journal apply thread,
+     * returns once the snapshot has seen the data, before it is written.
+     *
+     * @param appliedOffsets the offset of the next record to apply, by partition
+     */
+    public void snapshotIfDue(Map<Integer, Long> appliedOffsets) {
+        if (!isEnabled() || appliedOffsets.isEmpty() || appliedOffsets.equals(lastSnapshotOffsets)) {
+            return;
+        }
+        if (System.currentTimeMillis() - lastSnapshotTime < periodSeconds * 1000 || !pendingSnapshot.isDone()) {
+            return;
+        }
+        lastSnapshotTime = System.currentTimeMillis();
+
+        // No record is applied until the snapshot transaction sees the data, so it matches the offsets
+        Map<Integer, Long> offsets = new HashMap<>(appliedOffsets);
+        CompletableFuture<Void> snapshotTaken = new CompletableFuture<>();
+        pendingSnapshot = executor.submit(() -> snapshot(offsets, snapshotTaken));
+        try {
+            snapshotTaken.join();
+        } catch (CompletionException e) {
+            // Logged by the snapshot thread
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void snapshot(Map<Integer, Long> offsets, CompletableFuture<Void> snapshotTaken) {
+        long start = System.currentTimeMillis();
+        Path file = snapshotFile();
+        Path tmp = null;
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), SNAPSHOT_FILE, ".tmp");
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8)) {
+                EntityWriter writer = new EntityWriter(zip);
+                sqlStore.exportSnapshot(entity -> {
+                    try {
+                        writer.writeEntity(entity);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                }, () -> {
+                    SnapshotMetadata metadata = new SnapshotMetadata();
+                    metadata.topic = configuration.topic();
+                    metadata.createdOn = start;
+                    metadata.offsets = offsets;
+                    metadata.sequences = sqlStore.getSequenceValues();
+                    metadata.roleMappings = sqlStore.getRoleMappings();
+                    metadata.configProperties = sqlStore.getConfigProperties();
+                    snapshotTaken.complete(null);
+                    try {
+                        zip.putNextEntry(new ZipEntry(METADATA_ENTRY));
+                        zip.write(mapper.writeValueAsBytes(metadata));
+                        zip.closeEntry();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            lastSnapshotOffsets = offsets;
+            log.info("KafkaSQL snapshot at offsets {} written to {} in {} ms.", offsets, file, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to write KafkaSQL snapshot to {}.", file, e);
+            snapshotTaken.completeExceptionally(e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ex) {
+                    // Nothing we can do
+                }
+            }
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    private Path snapshotFile() {
+        return Paths.get(location.get()).resolve(SNAPSHOT_FILE);
+    }
+
+    @RegisterForReflection
+    public static class SnapshotMetadata {
+
+        public String topic;
+        public long createdOn;
+        public Map<Integer, Long> offsets = Collections.emptyMap();
+        public Map<String, Long> sequences = Collections.emptyMap();
+        public List<RoleMappingDto> roleMappings = Collections.emptyList();
+        public List<DynamicConfigPropertyDto> configProperties = Collections.emptyList();
+    }
+}
@@ -0,0 +1,42 @@
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Seeks the journal partitions to the offsets of the restored snapshot (see {@link KafkaSqlSnapshotManager#restore()})
+ * when they are first assigned to the KafkaSQL consumer, so that the records already contained in the snapshot are
+ * skipped.  Later assignments of the same partitions resume from the consumer position as usual.
+ */
+class KafkaSqlSnapshotSeeker implements ConsumerRebalanceListener {
+
+    private final Consumer<?, ?> consumer;
+    private final Map<Integer, Long> pendingSeeks;
+
+    /**
+     * @param startOffsets offsets (by partition) to start consuming from, may be empty
+     */
+    KafkaSqlSnapshotSeeker(Consumer<?, ?> consumer, Map<Integer, Long> startOffsets) {
+        this.consumer = consumer;
+        this.pendingSeeks = new HashMap<>(startOffsets);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        partitions.forEach(partition -> {
+            Long offset = pendingSeeks.remove(partition.partition());
+            if (offset != null) {
+                consumer.seek(partition, offset);
+            }
+        });
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+    }
+}
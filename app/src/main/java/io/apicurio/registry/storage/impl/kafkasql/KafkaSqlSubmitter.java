@@ -71,9 +71,10 @@ public class KafkaSqlSubmitter {
     /* ******************************************************************************************
      * Content
      * ****************************************************************************************** */
-    public CompletableFuture<UUID> submitContent(long contentId, String contentHash, ActionType action, String canonicalHash, ContentHandle content, String serializedReferences) {
+    public CompletableFuture<UUID> submitContent(long contentId, String contentHash, ActionType action, String canonicalHash, ContentHandle content, String serializedReferences,
+                                                 String artifactType) {
         ContentKey key = ContentKey.create( contentId, contentHash);
-        ContentValue value = ContentValue.create(action, canonicalHash, content, serializedReferences);
+        ContentValue value = ContentValue.create(action, canonicalHash, content, serializedReferences, artifactType);
         return send(key, value);
     }
 
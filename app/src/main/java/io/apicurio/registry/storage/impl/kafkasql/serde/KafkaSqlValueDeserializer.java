@@ -93,9 +93,21 @@ public class KafkaSqlValueDeserializer implements Deserializer<MessageValue> {
                 serializedReferences = new String(bytes, StandardCharsets.UTF_8);
             }
         }
+
+        String artifactType = null;
+        // Same for the artifact type, which is missing in messages written by older versions
+        if (byteBuffer.hasRemaining()) {
+            // Artifact type (length of type + type bytes)
+            int artifactTypeLen = byteBuffer.getInt();
+            if (artifactTypeLen > 0) {
+                byte[] bytes = new byte[artifactTypeLen];
+                byteBuffer.get(bytes);
+                artifactType = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
         ActionType action = ActionType.fromOrd(actionOrdinal);
 
-        return ContentValue.create(action, canonicalHash, contentHandle, serializedReferences);
+        return ContentValue.create(action, canonicalHash, contentHandle, serializedReferences, artifactType);
     }
 
 }
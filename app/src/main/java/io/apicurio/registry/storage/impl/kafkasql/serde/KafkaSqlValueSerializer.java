@@ -78,6 +78,15 @@ public class KafkaSqlValueSerializer implements Serializer<MessageValue> {
                 out.write(ByteBuffer.allocate(4).putInt(0).array());
             }
 
+            //set artifact type bytes and count
+            if (null != contentValue.getArtifactType()) {
+                byte[] bytes = contentValue.getArtifactType().getBytes(StandardCharsets.UTF_8);
+                out.write(ByteBuffer.allocate(4).putInt(bytes.length).array());
+                out.write(ByteBuffer.allocate(bytes.length).put(bytes).array());
+            } else {
+                out.write(ByteBuffer.allocate(4).putInt(0).array());
+            }
+
             return out.toByteArray();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -26,10 +26,14 @@ import io.apicurio.registry.utils.impexp.*;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.inject.Inject;
+import jakarta.transaction.TransactionManager;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
@@ -52,6 +56,9 @@ public class KafkaSqlSink {
     @Inject
     KafkaSqlSubmitter submitter;
 
+    @Inject
+    TransactionManager transactionManager;
+
     /**
      * Called by the {@link KafkaSqlRegistryStorage} main Kafka consumer loop to process a single
      * message in the topic.  Each message represents some attempt to modify the registry data.  So
@@ -73,22 +80,109 @@ public class KafkaSqlSink {
             log.trace("Processed message key: {} value: {} result: {}", record.key().getType().name(), record.value() != null ? record.value().toString() : "", result != null ? result.toString() : "");
             log.debug("Kafka message successfully processed. Notifying listeners of response.");
             coordinator.notifyResponse(requestId, result);
-        } catch (RegistryException e) {
-            log.debug("Registry exception detected: {}", e.getMessage());
-            coordinator.notifyResponse(requestId, e);
         } catch (Throwable e) {
-            log.debug("Unexpected exception detected: {}", e.getMessage());
-            coordinator.notifyResponse(requestId, new RegistryException(e)); // TODO: Any exception (no wrapping)
+            notifyFailure(requestId, e);
+        }
+    }
+
+    /**
+     * Applies the given messages in order, in a single transaction, to save a commit per message.  The responses
+     * are only reported once the transaction is committed.
+     * <p>
+     * A message that fails usually marks the transaction as rollback-only (the SQL store methods it calls are
+     * transactional themselves), and the results of the other messages can not be kept without it.  So when
+     * a message of the batch fails, the transaction is rolled back, the messages preceding it are applied again
+     * (in a new transaction), the failure is reported for the failed message, and the messages following it are
+     * applied as a new batch.  The failed message itself is not applied again, it already failed after the same
+     * preceding messages.  Only when the commit itself fails are the messages applied again one by one, each one
+     * in its own transaction, with {@link #processMessage(ConsumerRecord)}.
+     *
+     * @param records
+     */
+    @ActivateRequestContext
+    public void processMessages(List<ConsumerRecord<MessageKey, MessageValue>> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (records.size() == 1) {
+            processMessage(records.get(0));
+            return;
+        }
+
+        List<Object> results = new ArrayList<>(records.size());
+        try {
+            transactionManager.begin();
+        } catch (Exception e) {
+            log.debug("Failed to start a transaction for a batch of {} Kafka messages, applying them one by one: {}", records.size(), e.getMessage());
+            records.forEach(this::processMessage);
+            return;
+        }
+        for (ConsumerRecord<MessageKey, MessageValue> record : records) {
+            try {
+                results.add(doProcessMessage(record));
+            } catch (Throwable e) {
+                int failed = results.size();
+                log.debug("Failed to apply message {} of a batch of {} Kafka messages: {}", failed, records.size(), e.getMessage());
+                try {
+                    transactionManager.rollback();
+                } catch (Exception rollbackError) {
+                    log.warn("Failed to roll back a batch of Kafka messages.", rollbackError);
+                }
+                processMessages(records.subList(0, failed));
+                notifyFailure(extractUuid(record), e);
+                processMessages(records.subList(failed + 1, records.size()));
+                return;
+            }
+        }
+        try {
+            transactionManager.commit();
+        } catch (Exception e) {
+            log.debug("Failed to commit a batch of {} Kafka messages, applying them one by one: {}", records.size(), e.getMessage());
+            records.forEach(this::processMessage);
+            return;
+        }
+
+        log.debug("Batch of {} Kafka messages successfully processed. Notifying listeners of responses.", records.size());
+        for (int i = 0; i < records.size(); i++) {
+            coordinator.notifyResponse(extractUuid(records.get(i)), results.get(i));
         }
     }
 
+    /**
+     * Called for a journal record that could not be decoded or applied.  The record is not applied, and whatever
+     * is waiting for its response gets the error.
+     *
+     * @param record
+     * @param error
+     */
+    public void failMessage(ConsumerRecord<byte[], byte[]> record, Throwable error) {
+        log.error("Failed to apply the Kafka message at offset {} of partition {}.", record.offset(), record.partition(), error);
+        notifyFailure(extractUuid(record.headers()), error);
+    }
+
+    /**
+     * Reports the failure of a message to any local thread that may be waiting for it (via the coordinator).
+     */
+    private void notifyFailure(UUID requestId, Throwable error) {
+        if (error instanceof RegistryException) {
+            log.debug("Registry exception detected: {}", error.getMessage());
+        } else {
+            log.debug("Unexpected exception detected: {}", error.getMessage());
+        }
+        coordinator.notifyFailure(requestId, error);
+    }
+
     /**
      * Extracts the UUID from the message.  The UUID should be found in a message header.
      *
      * @param record
      */
     private UUID extractUuid(ConsumerRecord<MessageKey, MessageValue> record) {
-        return Optional.ofNullable(record.headers().headers("req"))
+        return extractUuid(record.headers());
+    }
+
+    private UUID extractUuid(Headers headers) {
+        return Optional.ofNullable(headers.headers("req"))
                 .map(Iterable::iterator)
                 .map(it -> {
                     return it.hasNext() ? it.next() : null;
@@ -396,6 +490,7 @@ public class KafkaSqlSink {
                             .canonicalHash(value.getCanonicalHash())
                             .contentBytes(value.getContent().bytes())
                             .serializedReferences(value.getSerializedReferences())
+                            .dereferencedHash(value.getDereferencedHash())
                             .build();
 
                     sqlStore.importContent(entity);
@@ -408,6 +503,7 @@ public class KafkaSqlSink {
                 entity.canonicalHash = value.getCanonicalHash();
                 entity.contentBytes = value.getContent().bytes();
                 entity.serializedReferences = value.getSerializedReferences();
+                entity.dereferencedHash = value.getDereferencedHash();
                 sqlStore.importContent(entity);
                 return null;
             case UPDATE:
@@ -11,19 +11,28 @@ public class ContentValue extends AbstractMessageValue {
     @ToString.Exclude
     private ContentHandle content;
     private String serializedReferences;
+    private String artifactType;
+    /**
+     * Not part of the message, computed by the consumer when the message is decoded.
+     */
+    private String dereferencedHash;
 
     /**
      * Creator method.
      * @param action
      * @param canonicalHash
      * @param content
+     * @param serializedReferences
+     * @param artifactType may be null
      */
-    public static final ContentValue create(ActionType action, String canonicalHash, ContentHandle content, String serializedReferences) {
+    public static final ContentValue create(ActionType action, String canonicalHash, ContentHandle content, String serializedReferences,
+                                            String artifactType) {
         ContentValue value = new ContentValue();
         value.setAction(action);
         value.setCanonicalHash(canonicalHash);
         value.setContent(content);
         value.setSerializedReferences(serializedReferences);
+        value.setArtifactType(artifactType);
         return value;
     }
 
@@ -77,4 +86,32 @@ public class ContentValue extends AbstractMessageValue {
     public void setSerializedReferences(String serializedReferences) {
         this.serializedReferences = serializedReferences;
     }
+
+    /**
+     * @return the type of the artifact the content was created for, may be null
+     */
+    public String getArtifactType() {
+        return artifactType;
+    }
+
+    /**
+     * @param artifactType
+     */
+    public void setArtifactType(String artifactType) {
+        this.artifactType = artifactType;
+    }
+
+    /**
+     * @return the dereferenced content hash, when computed by the consumer
+     */
+    public String getDereferencedHash() {
+        return dereferencedHash;
+    }
+
+    /**
+     * @param dereferencedHash
+     */
+    public void setDereferencedHash(String dereferencedHash) {
+        this.dereferencedHash = dereferencedHash;
+    }
 }
@@ -9,6 +9,7 @@ import io.apicurio.registry.storage.impl.sql.jdb.HandleImpl;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
@@ -66,6 +67,47 @@ public abstract class AbstractHandleFactory implements HandleFactory {
     }
 
 
+    @Override
+    public <R, X extends Exception> R withNewHandle(HandleCallback<R, X> callback) throws X {
+        LocalState enclosing = local.get().remove(dataSourceId);
+        try {
+            return withHandle(callback);
+        } finally {
+            if (enclosing != null) {
+                local.get().put(dataSourceId, enclosing);
+            }
+        }
+    }
+
+
+    @Override
+    public <R, X extends Exception> R withReadTransaction(int isolationLevel, HandleCallback<R, X> callback) throws X {
+        LocalState enclosing = local.get().remove(dataSourceId);
+        try {
+            Connection connection = dataSource.getConnection();
+            try {
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(isolationLevel);
+                // Nested calls reuse the handle instead of getting a connection outside of the transaction
+                get().handle = new HandleImpl(connection);
+                return withHandle(callback);
+            } finally {
+                local.get().remove(dataSourceId);
+                // The pool restores the auto-commit and isolation level of the connection
+                try (connection) {
+                    connection.rollback();
+                }
+            }
+        } catch (SQLException e) {
+            throw new RegistryStorageException(e);
+        } finally {
+            if (enclosing != null) {
+                local.get().put(dataSourceId, enclosing);
+            }
+        }
+    }
+
+
     @Override
     public <R, X extends Exception> R withHandleNoException(HandleCallback<R, X> callback) {
         try {
@@ -15,6 +15,7 @@ import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.storage.impl.sql.jdb.Handle;
 import io.apicurio.registry.storage.impl.sql.jdb.Query;
 import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+import io.apicurio.registry.storage.impl.sql.jdb.Update;
 import io.apicurio.registry.storage.impl.sql.mappers.*;
 import io.apicurio.registry.storage.importing.DataImporter;
 import io.apicurio.registry.storage.importing.SqlDataImporter;
@@ -23,29 +24,50 @@ import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.util.DtoUtil;
 import io.apicurio.registry.utils.IoUtil;
 import io.apicurio.registry.utils.impexp.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.security.identity.SecurityIdentity;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.transaction.HeuristicMixedException;
+import jakarta.transaction.HeuristicRollbackException;
+import jakarta.transaction.InvalidTransactionException;
+import jakarta.transaction.NotSupportedException;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ValidationException;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_EXPORT;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_EXPORT_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_EXPORT_ENTITIES;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_EXPORT_ENTITIES_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_EXPORT_TAG_TYPE;
 import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBehavior.DEFAULT;
 import static io.apicurio.registry.storage.impl.sql.RegistryStorageContentUtils.notEmpty;
 import static io.apicurio.registry.storage.impl.sql.SqlUtil.convert;
 import static io.apicurio.registry.storage.impl.sql.SqlUtil.normalizeGroupId;
 import static io.apicurio.registry.utils.StringUtil.limitStr;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
 
@@ -70,6 +92,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     private static final String CONTENT_ID_SEQUENCE = "contentId";
     private static final String COMMENT_ID_SEQUENCE = "commentId";
 
+    // Keeps the number of bind parameters of a reference lookup well below the limits of the supported databases
+    private static final int MAX_REFERENCES_PER_QUERY = 200;
+
     @Inject
     Logger log;
 
@@ -93,6 +118,12 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Inject
     RegistryStorageContentUtils utils;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    TransactionManager transactionManager;
+
     protected SqlStatements sqlStatements() {
         return sqlStatements;
     }
@@ -101,6 +132,71 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Info(category = "storage", description = "SQL init", availableSince = "2.0.0.Final")
     boolean initDB;
 
+    @ConfigProperty(name = "registry.storage.kind")
+    String registryStorageType;
+
+    @ConfigProperty(name = "registry.sql.sequence.global-id.block-size", defaultValue = "1")
+    @Info(category = "storage", description = "Number of globalIds reserved from the database per round trip. Ignored (always 1) by the KafkaSQL storage", availableSince = "3.0.0")
+    int globalIdBlockSize;
+
+    @ConfigProperty(name = "registry.sql.sequence.content-id.block-size", defaultValue = "1")
+    @Info(category = "storage", description = "Number of contentIds reserved from the database per round trip. Ignored (always 1) by the KafkaSQL storage", availableSince = "3.0.0")
+    int contentIdBlockSize;
+
+    @ConfigProperty(name = "registry.sql.sequence.comment-id.block-size", defaultValue = "1")
+    @Info(category = "storage", description = "Number of commentIds reserved from the database per round trip. Ignored (always 1) by the KafkaSQL storage", availableSince = "3.0.0")
+    int commentIdBlockSize;
+
+    @ConfigProperty(name = "registry.sql.search-index.enabled", defaultValue = "false")
+    @Info(category = "storage", description = "Enable the in-memory index used to narrow down artifact searches by text, labels and properties. "
+            + "Changes made by other replicas sharing the database are picked up by the periodic refresh.", availableSince = "3.0.0")
+    boolean searchIndexEnabled;
+
+    @ConfigProperty(name = "registry.sql.search-index.max-candidates", defaultValue = "5000")
+    @Info(category = "storage", description = "Maximum number of versions the search index passes to the database query, searches matching more versions are evaluated by the database alone", availableSince = "3.0.0")
+    int searchIndexMaxCandidates;
+
+    @ConfigProperty(name = "registry.sql.reference-closure-cache.enabled")
+    @Info(category = "storage", description = "Enable the cache of resolved reference closures. Enabled by default, except for the SQL storage: "
+            + "versions deleted by other replicas sharing the database are not observed.", availableSince = "3.0.0")
+    Optional<Boolean> referenceClosureCacheEnabled;
+
+    @ConfigProperty(name = "registry.sql.reference-closure-cache.max-size-bytes", defaultValue = "33554432")
+    @Info(category = "storage", description = "Maximum total size (in bytes) of the content held by the cache of resolved reference closures", availableSince = "3.0.0")
+    long referenceClosureCacheMaxSizeBytes;
+
+    @ConfigProperty(name = "registry.sql.search.estimated-count-limit", defaultValue = "1000")
+    @Info(category = "storage", description = "Number of results up to which searches asking for an estimated count of their results count them, the count of larger results is this limit", availableSince = "3.0.0")
+    int searchEstimatedCountLimit;
+
+    @ConfigProperty(name = "registry.sql.export.threads", defaultValue = "4")
+    @Info(category = "storage", description = "Number of threads (and database connections) reading the data of an export in parallel", availableSince = "3.0.0")
+    int exportThreads;
+
+    @ConfigProperty(name = "registry.sql.export.fetch-size", defaultValue = "50")
+    @Info(category = "storage", description = "JDBC fetch size of the queries reading the data of an export", availableSince = "3.0.0")
+    int exportFetchSize;
+
+    @ConfigProperty(name = "registry.sql.export.read-ahead", defaultValue = "500")
+    @Info(category = "storage", description = "Number of entities read ahead of the export writer", availableSince = "3.0.0")
+    int exportReadAhead;
+
+    @ConfigProperty(name = "registry.sql.import.bulk.enabled", defaultValue = "false")
+    @Info(category = "storage", description = "Import data with JDBC batches instead of entity by entity, in a single transaction. Requires an empty registry, and any failing row fails (and rolls back) the whole import.", availableSince = "3.0.0")
+    boolean importBulkEnabled;
+
+    @ConfigProperty(name = "registry.sql.import.bulk.batch-size", defaultValue = "500")
+    @Info(category = "storage", description = "Number of rows written per JDBC batch by the bulk import", availableSince = "3.0.0")
+    int importBulkBatchSize;
+
+    @ConfigProperty(name = "registry.sql.import.bulk.threads", defaultValue = "4")
+    @Info(category = "storage", description = "Number of threads canonicalizing the imported content during a bulk import", availableSince = "3.0.0")
+    int importBulkThreads;
+
+    @ConfigProperty(name = "registry.sql.import.bulk.transaction-timeout-seconds", defaultValue = "3600")
+    @Info(category = "storage", description = "Timeout (in seconds) of the transaction of a bulk import", availableSince = "3.0.0")
+    int importBulkTransactionTimeoutSeconds;
+
     @Inject
     Event<SqlStorageEvent> sqlStorageEvent;
 
@@ -111,6 +207,12 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     private volatile Instant isAliveLastCheck = Instant.MIN;
     private volatile boolean isAliveCached = false;
 
+    private final Map<String, PooledIdGenerator> sequenceGenerators = new HashMap<>();
+
+    private VersionSearchIndex searchIndex;
+
+    private ReferenceClosureCache referenceClosures;
+
     /**
      * @param emitStorageReadyEvent The concrete implementation needs to tell AbstractSqlRegistryStorage
      *                              whether it should fire {@see io.apicurio.registry.storage.StorageEvent} in addition to
@@ -122,6 +224,18 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     protected void initialize(HandleFactory handleFactory, boolean emitStorageReadyEvent) {
         this.handles = handleFactory;
 
+        sequenceGenerators.put(GLOBAL_ID_SEQUENCE, createIdGenerator(GLOBAL_ID_SEQUENCE, globalIdBlockSize));
+        sequenceGenerators.put(CONTENT_ID_SEQUENCE, createIdGenerator(CONTENT_ID_SEQUENCE, contentIdBlockSize));
+        sequenceGenerators.put(COMMENT_ID_SEQUENCE, createIdGenerator(COMMENT_ID_SEQUENCE, commentIdBlockSize));
+
+        if (searchIndexEnabled) {
+            searchIndex = new VersionSearchIndex(searchIndexMaxCandidates);
+        }
+        // KafkaSQL replicas apply every delete to their own database, replicas sharing a SQL database do not see each other's
+        if (referenceClosureCacheEnabled.orElse(!"sql".equals(registryStorageType))) {
+            referenceClosures = new ReferenceClosureCache(referenceClosureCacheMaxSizeBytes);
+        }
+
         log.info("SqlRegistryStorage constructed successfully.");
 
         handles.withHandleNoException((handle) -> {
@@ -362,6 +476,21 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    /**
+     * @see RegistryStorage#getEnabledArtifactContentIdentities(String, String)
+     */
+    @Override
+    public List<ContentIdentityDto> getEnabledArtifactContentIdentities(String groupId, String artifactId) {
+        return handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements().selectEnabledArtifactContentIdentities())
+                    .bind(0, normalizeGroupId(groupId))
+                    .bind(1, artifactId)
+                    .map(ContentIdentityDtoMapper.instance)
+                    .list();
+        });
+    }
+
+
     @Override
     @Transactional
     public List<Long> getArtifactContentIds(String groupId, String artifactId) {
@@ -423,7 +552,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      */
     private ArtifactVersionMetaDataDto createArtifactVersionRaw(boolean firstVersion, String groupId, String artifactId, String version,
-                                                                String name, String description, List<String> labels,
+                                                                String artifactType, String name, String description, List<String> labels,
                                                                 Map<String, String> properties, String createdBy, Date createdOn,
                                                                 Long contentId, IdGenerator globalIdGenerator) {
 
@@ -436,6 +565,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
         }
 
         Long globalId = globalIdGenerator.generate();
+        int versionOrder;
 
         // Create a row in the "versions" table
 
@@ -459,15 +589,17 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(9, labelsStr)
                         .bind(10, propertiesStr)
                         .bind(11, contentId)
+                        .bind(12, createdOn)
                         .execute();
 
                 createOrUpdateArtifactBranchRaw(new GAV(groupId, artifactId, finalVersion1), BranchId.LATEST);
 
                 return null;
             });
+            versionOrder = 1;
         } else {
             final String finalVersion2 = version; // Lambda requirement
-            handles.withHandleNoException(handle -> {
+            versionOrder = handles.withHandleNoException(handle -> {
 
                 handle.createUpdate(sqlStatements.insertVersion(false))
                         .bind(0, globalId)
@@ -484,6 +616,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(11, labelsStr)
                         .bind(12, propertiesStr)
                         .bind(13, contentId)
+                        .bind(14, createdOn)
                         .execute();
 
                 // If version is null, update the row we just inserted to set the version to the generated versionOrder
@@ -494,44 +627,74 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                             .execute();
                 }
 
-                var gav = getGAVByGlobalId(globalId);
-                createOrUpdateArtifactBranchRaw(gav, BranchId.LATEST);
+                int generatedVersionOrder = handle.createQuery(sqlStatements.selectVersionOrderByGlobalId())
+                        .bind(0, globalId)
+                        .mapTo(Integer.class)
+                        .one();
 
-                return null;
+                String finalVersion = finalVersion2 == null ? String.valueOf(generatedVersionOrder) : finalVersion2;
+                createOrUpdateArtifactBranchRaw(new GAV(groupId, artifactId, finalVersion), BranchId.LATEST);
+
+                return generatedVersionOrder;
             });
+            if (version == null) {
+                version = String.valueOf(versionOrder);
+            }
         }
 
-        return handles.withHandleNoException(handle -> {
+        handles.withHandleNoException(handle -> {
 
             // Insert labels into the "labels" table
             if (labels != null && !labels.isEmpty()) {
+                Update insertLabels = handle.createUpdate(sqlStatements.insertLabel());
                 labels.forEach(label -> {
-
-                    handle.createUpdate(sqlStatements.insertLabel())
+                    insertLabels
                             .bind(0, globalId)
                             .bind(1, limitStr(label.toLowerCase(), 256))
-                            .execute();
+                            .addBatch();
                 });
+                insertLabels.executeBatch();
             }
 
             // Insert properties into the "properties" table
             if (properties != null && !properties.isEmpty()) {
+                Update insertProperties = handle.createUpdate(sqlStatements.insertProperty());
                 properties.forEach((k, v) -> {
-
-                    handle.createUpdate(sqlStatements.insertProperty())
+                    insertProperties
                             .bind(0, globalId)
                             .bind(1, limitStr(k.toLowerCase(), 256))
                             .bind(2, limitStr(v.toLowerCase(), 1024))
-                            .execute();
+                            .addBatch();
                 });
+                insertProperties.executeBatch();
             }
 
-            return handle.createQuery(sqlStatements.selectArtifactVersionMetaDataByGlobalId())
-                    .bind(0, globalId)
-                    .map(ArtifactVersionMetaDataDtoMapper.instance)
-                    .one();
-
+            return null;
         });
+
+        if (searchIndex != null) {
+            searchIndex.add(new VersionSearchIndex.Entry(globalId, normalizeGroupId(groupId), artifactId,
+                    limitStr(name, 512), limitStr(description, 1024, true), labels, properties));
+        }
+
+        resetUnresolvedDereferencedContentHashes(groupId, artifactId, version);
+
+        // All the values are known at this point, so there is no need to select the row we just inserted.
+        // Labels and properties go through the same conversion as when they are read from the "versions" table.
+        ArtifactVersionMetaDataDto dto = new ArtifactVersionMetaDataDto();
+        dto.setGlobalId(globalId);
+        dto.setContentId(contentId);
+        dto.setState(state);
+        dto.setCreatedBy(createdBy);
+        dto.setCreatedOn(createdOn.getTime());
+        dto.setName(limitStr(name, 512));
+        dto.setDescription(limitStr(description, 1024, true));
+        dto.setVersion(version);
+        dto.setVersionOrder(versionOrder);
+        dto.setType(artifactType);
+        dto.setLabels(SqlUtil.deserializeLabels(labelsStr));
+        dto.setProperties(SqlUtil.deserializeProperties(propertiesStr));
+        return dto;
     }
 
 
@@ -545,14 +708,26 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      */
     private Long getOrCreateContent(String artifactType, ContentHandle content, List<ArtifactReferenceDto> references) {
         if (notEmpty(references)) {
+            Map<String, ContentHandle> resolvedReferences = new LinkedHashMap<>();
+            // The dereferenced content is not known yet when some referenced versions do not exist,
+            // its hash is computed once one of them is created (see DereferencedContentHashBackfill)
+            boolean complete = resolveReferences(resolvedReferences, references);
+            String dereferencedContentHash = null;
+            if (complete) {
+                dereferencedContentHash = utils.getDereferencedContentHash(artifactType, content, resolvedReferences);
+            } else if (utils.isDereferencedContentHashSupported(artifactType)) {
+                dereferencedContentHash = RegistryStorageContentUtils.UNRESOLVED_REFERENCES_CONTENT_HASH;
+            }
             return getOrCreateContentRaw(content,
                     utils.getContentHash(content, references),
-                    utils.getCanonicalContentHash(content, artifactType, references, this::resolveReferences),
+                    utils.getCanonicalContentHash(content, artifactType, references, refs -> resolvedReferences),
+                    dereferencedContentHash,
                     references, SqlUtil.serializeReferences(references));
         } else {
             return getOrCreateContentRaw(content,
                     utils.getContentHash(content, null),
                     utils.getCanonicalContentHash(content, artifactType, null, null),
+                    utils.getDereferencedContentHash(artifactType, content, Map.of()),
                     null, null);
         }
     }
@@ -564,7 +739,8 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      * <p>
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      */
-    private Long getOrCreateContentRaw(ContentHandle content, String contentHash, String canonicalContentHash, List<ArtifactReferenceDto> references, String referencesSerialized) {
+    private Long getOrCreateContentRaw(ContentHandle content, String contentHash, String canonicalContentHash, String dereferencedContentHash,
+                                       List<ArtifactReferenceDto> references, String referencesSerialized) {
         return handles.withHandleNoException(handle -> {
             byte[] contentBytes = content.bytes();
 
@@ -582,6 +758,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(2, contentHash)
                         .bind(3, contentBytes)
                         .bind(4, referencesSerialized)
+                        .bind(5, dereferencedContentHash)
                         .execute();
 
                 contentId = contentIdFromHash(contentHash)
@@ -603,6 +780,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                             .bind(2, contentHash)
                             .bind(3, contentBytes)
                             .bind(4, referencesSerialized)
+                            .bind(5, dereferencedContentHash)
                             .execute();
 
                     contentId = contentIdFromHash(contentHash)
@@ -626,30 +804,64 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      */
     private void insertReferences(Long contentId, List<ArtifactReferenceDto> references) {
         if (references != null && !references.isEmpty()) {
-            references.forEach(reference -> {
-                handles.withHandleNoException(handle -> {
-                    try {
-                        handle.createUpdate(sqlStatements.upsertReference())
-                                .bind(0, contentId)
-                                .bind(1, normalizeGroupId(reference.getGroupId()))
-                                .bind(2, reference.getArtifactId())
-                                .bind(3, reference.getVersion())
-                                .bind(4, reference.getName())
-                                .execute();
-                    } catch (Exception e) {
-                        if (sqlStatements.isPrimaryKeyViolation(e)) {
-                            //Do nothing, the reference already exist, only needed for H2
-                        } else {
-                            throw e;
-                        }
-                    }
-                    return null;
+            // The primary key is (contentId, name), so only the first reference with a given name is stored.
+            Map<String, ArtifactReferenceDto> referencesByName = new LinkedHashMap<>();
+            references.forEach(reference -> referencesByName.putIfAbsent(reference.getName(), reference));
+
+            handles.withHandleNoException(handle -> {
+                Update upsertReferences = handle.createUpdate(sqlStatements.upsertReference());
+                referencesByName.values().forEach(reference -> {
+                    upsertReferences
+                            .bind(0, contentId)
+                            .bind(1, normalizeGroupId(reference.getGroupId()))
+                            .bind(2, reference.getArtifactId())
+                            .bind(3, reference.getVersion())
+                            .bind(4, reference.getName())
+                            .addBatch();
                 });
+                try {
+                    upsertReferences.executeBatch();
+                } catch (Exception e) {
+                    if (sqlStatements.isPrimaryKeyViolation(e)) {
+                        //Some of the references already exist, only needed for H2
+                        insertReferencesIgnoringExisting(contentId, referencesByName.values());
+                    } else {
+                        throw e;
+                    }
+                }
+                return null;
             });
         }
     }
 
 
+    /**
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void insertReferencesIgnoringExisting(Long contentId, Collection<ArtifactReferenceDto> references) {
+        references.forEach(reference -> {
+            handles.withHandleNoException(handle -> {
+                try {
+                    handle.createUpdate(sqlStatements.upsertReference())
+                            .bind(0, contentId)
+                            .bind(1, normalizeGroupId(reference.getGroupId()))
+                            .bind(2, reference.getArtifactId())
+                            .bind(3, reference.getVersion())
+                            .bind(4, reference.getName())
+                            .execute();
+                } catch (Exception e) {
+                    if (sqlStatements.isPrimaryKeyViolation(e)) {
+                        //Do nothing, the reference already exist, only needed for H2
+                    } else {
+                        throw e;
+                    }
+                }
+                return null;
+            });
+        });
+    }
+
+
     @Override
     @Transactional
     public ArtifactMetaDataDto createArtifactWithMetadata(String groupId, String artifactId, String version,
@@ -706,7 +918,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
                 // Then create a row in the content and versions tables (for the content and version meta-data)
                 ArtifactVersionMetaDataDto vmdd = createArtifactVersionRaw(true, groupId, artifactId, version,
-                        metaData.getName(), metaData.getDescription(), metaData.getLabels(), metaData.getProperties(), createdBy, createdOn,
+                        artifactType, metaData.getName(), metaData.getDescription(), metaData.getLabels(), metaData.getProperties(), createdBy, createdOn,
                         contentId, globalIdGenerator);
 
                 // Get the content, so we can return references in the metadata
@@ -784,6 +996,12 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
             deleteAllOrphanedContent();
 
+            resetDereferencedContentHashes(handle.createQuery(sqlStatements.selectContentIdsReferencingArtifact())
+                    .bind(0, normalizeGroupId(groupId))
+                    .bind(1, artifactId)
+                    .mapTo(Long.class)
+                    .list());
+
             return versions;
         });
     }
@@ -830,6 +1048,11 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
             deleteAllOrphanedContent();
 
+            resetDereferencedContentHashes(handle.createQuery(sqlStatements.selectContentIdsReferencingGroup())
+                    .bind(0, normalizeGroupId(groupId))
+                    .mapTo(Long.class)
+                    .list());
+
             return null;
         });
     }
@@ -946,7 +1169,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
                 // Now create the version and return the new version metadata.
                 ArtifactVersionMetaDataDto versionDto = createArtifactVersionRaw(false, groupId, artifactId, version,
-                        name, description, labels, properties, createdBy, createdOn, contentId, globalIdGenerator);
+                        latest.getType(), name, description, labels, properties, createdBy, createdOn, contentId, globalIdGenerator);
                 ArtifactMetaDataDto dto = convert(groupId, artifactId, versionDto);
                 dto.setCreatedOn(latest.getCreatedOn());
                 dto.setCreatedBy(latest.getCreatedBy());
@@ -997,6 +1220,22 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Transactional
     public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
                                                     int offset, int limit) {
+        return searchArtifacts(filters, orderBy, orderDirection, offset, limit, null, SearchCountMode.EXACT);
+    }
+
+
+    @Override
+    @Transactional
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
+                                                    int offset, int limit, SearchCursor after, SearchCountMode countMode) {
+        long[] candidates = searchIndex != null ? searchIndex.findCandidates(filters) : null;
+        if (candidates != null && candidates.length == 0) {
+            ArtifactSearchResultsDto results = new ArtifactSearchResultsDto();
+            results.setArtifacts(new ArrayList<>());
+            results.setCount(0);
+            return results;
+        }
+
         return handles.withHandleNoException(handle -> {
             List<SqlStatementVariableBinder> binders = new LinkedList<>();
 
@@ -1008,17 +1247,17 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             // Formulate the SELECT clause for the artifacts query
             selectTemplate.append("SELECT {{selectColumns}} ")
                     .append("FROM artifacts a ")
-                    .append("JOIN versions v ON v.groupId = a.groupId AND v.artifactId = a.artifactId ")
-                    .append("JOIN artifact_branches ab ON ab.groupId = v.groupId AND ab.artifactId = v.artifactId AND ab.branchId = '")
+                    .append("JOIN branch_tips bt ON bt.groupId = a.groupId AND bt.artifactId = a.artifactId AND bt.branchId = '")
                     .append(BranchId.LATEST.getRawBranchId())
-                    .append("' AND ab.version = v.version ");
+                    .append("' ")
+                    .append("JOIN versions v ON v.groupId = bt.groupId AND v.artifactId = bt.artifactId AND v.version = bt.version ");
 
             if (hasContentFilter(filters)) {
                 selectTemplate.append("JOIN content c ON v.contentId = c.contentId ");
             }
 
             // Formulate the WHERE clause for both queries
-            where.append("WHERE (ab.branchOrder = (SELECT MAX(branchOrder) FROM artifact_branches ab2 WHERE ab2.groupId = ab.groupId AND ab2.artifactId = ab.artifactId AND ab2.branchId = ab.branchId))");
+            where.append("WHERE (1 = 1)");
             for (SearchFilter filter : filters) {
                 where.append(" AND (");
                 switch (filter.getType()) {
@@ -1122,20 +1361,60 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 }
                 where.append(")");
             }
+            // The index returns a superset of the matching versions, the filters above still apply
+            if (candidates != null) {
+                where.append(" AND (").append(sqlStatements.versionGlobalIdIn()).append(")");
+                if ("mssql".equals(sqlStatements.dbType())) {
+                    String candidateList = Arrays.stream(candidates).mapToObj(String::valueOf).collect(joining(","));
+                    binders.add((query, idx) -> query.bind(idx, candidateList));
+                } else {
+                    binders.add((query, idx) -> query.bind(idx, candidates));
+                }
+            }
 
-            // Add order by to artifact query
+            // Add order by to artifact query, the globalId breaks the ties so that the order is stable
+            String sortKey;
             switch (orderBy) {
                 case name:
-                    orderByQuery.append(" ORDER BY coalesce(v.name, a.artifactId)");
+                    sortKey = "coalesce(v.name, a.artifactId)";
                     break;
                 case createdOn:
-                    orderByQuery.append(" ORDER BY v.createdOn");
+                    sortKey = "v.createdOn";
                     break;
                 case globalId:
-                    orderByQuery.append(" ORDER BY v.globalId");
+                    sortKey = "v.globalId";
                     break;
+                default:
+                    throw new IllegalArgumentException("Unsupported order by: " + orderBy);
+            }
+            orderByQuery.append(" ORDER BY ").append(sortKey).append(" ").append(orderDirection.name());
+            if (orderBy != OrderBy.globalId) {
+                orderByQuery.append(", v.globalId ").append(orderDirection.name());
+            }
+
+            // Continue after the cursor (keyset pagination), applies to the artifact query only
+            StringBuilder keyset = new StringBuilder();
+            List<SqlStatementVariableBinder> keysetBinders = new LinkedList<>();
+            if (after != null) {
+                String op = orderDirection == OrderDirection.asc ? ">" : "<";
+                long tieBreaker = Long.parseLong(after.getTieBreaker());
+                if (orderBy == OrderBy.globalId) {
+                    keyset.append(" AND v.globalId ").append(op).append(" ?");
+                } else {
+                    keyset.append(" AND (").append(sortKey).append(" ").append(op).append(" ? OR (")
+                            .append(sortKey).append(" = ? AND v.globalId ").append(op).append(" ?))");
+                    SqlStatementVariableBinder sortKeyBinder;
+                    if (orderBy == OrderBy.createdOn) {
+                        Date createdOn = new Date(Long.parseLong(after.getSortKey()));
+                        sortKeyBinder = (query, idx) -> query.bind(idx, createdOn);
+                    } else {
+                        sortKeyBinder = (query, idx) -> query.bind(idx, after.getSortKey());
+                    }
+                    keysetBinders.add(sortKeyBinder);
+                    keysetBinders.add(sortKeyBinder);
+                }
+                keysetBinders.add((query, idx) -> query.bind(idx, tieBreaker));
             }
-            orderByQuery.append(" ").append(orderDirection.name());
 
             // Add limit and offset to artifact query
             if ("mssql".equals(sqlStatements.dbType())) {
@@ -1144,44 +1423,62 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 limitOffset.append(" LIMIT ? OFFSET ?");
             }
 
-            // Query for the artifacts
+            // Query for the artifacts, one more than requested tells whether there is a next page
             String artifactsQuerySql = new StringBuilder(selectTemplate)
                     .append(where)
+                    .append(keyset)
                     .append(orderByQuery)
                     .append(limitOffset)
                     .toString()
                     .replace("{{selectColumns}}", "a.*, v.globalId, v.version, v.state, v.name, v.description, v.labels, v.properties, v.createdBy AS modifiedBy, v.createdOn AS modifiedOn");
             Query artifactsQuery = handle.createQuery(artifactsQuerySql);
-            String countQuerySql = new StringBuilder(selectTemplate)
-                    .append(where)
-                    .toString()
-                    .replace("{{selectColumns}}", "count(a.artifactId)");
-            Query countQuery = handle.createQuery(countQuerySql);
 
             // Bind all query parameters
             int idx = 0;
             for (SqlStatementVariableBinder binder : binders) {
                 binder.bind(artifactsQuery, idx);
-                binder.bind(countQuery, idx);
+                idx++;
+            }
+            for (SqlStatementVariableBinder binder : keysetBinders) {
+                binder.bind(artifactsQuery, idx);
                 idx++;
             }
             // TODO find a better way to swap arguments
             if ("mssql".equals(sqlStatements.dbType())) {
                 artifactsQuery.bind(idx++, offset);
-                artifactsQuery.bind(idx++, limit);
+                artifactsQuery.bind(idx++, limit + 1);
             } else {
-                artifactsQuery.bind(idx++, limit);
+                artifactsQuery.bind(idx++, limit + 1);
                 artifactsQuery.bind(idx++, offset);
             }
 
-            // Execute artifact query
-            List<SearchedArtifactDto> artifacts = artifactsQuery.map(SearchedArtifactMapper.instance).list();
-            // Execute count query
-            Integer count = countQuery.mapTo(Integer.class).one();
+            // Execute artifact query, keeping the globalId of each result for the cursor
+            List<Pair<SearchedArtifactDto, Long>> rows = artifactsQuery
+                    .map(rs -> Pair.of(SearchedArtifactMapper.instance.map(rs), rs.getLong("globalId")))
+                    .list();
 
             ArtifactSearchResultsDto results = new ArtifactSearchResultsDto();
-            results.setArtifacts(artifacts);
-            results.setCount(count);
+            if (limit > 0 && rows.size() > limit) {
+                rows = rows.subList(0, limit);
+                SearchedArtifactDto last = rows.get(limit - 1).getLeft();
+                long lastGlobalId = rows.get(limit - 1).getRight();
+                String lastSortKey;
+                switch (orderBy) {
+                    case name:
+                        lastSortKey = last.getName() != null ? last.getName() : last.getId();
+                        break;
+                    case createdOn:
+                        lastSortKey = String.valueOf(last.getModifiedOn().getTime());
+                        break;
+                    default:
+                        lastSortKey = String.valueOf(lastGlobalId);
+                        break;
+                }
+                results.setNext(new SearchCursor(lastSortKey, String.valueOf(lastGlobalId)));
+            }
+            results.setArtifacts(rows.stream().map(Pair::getLeft).collect(toList()));
+            results.setCount(countSearchResults(handle, new StringBuilder(selectTemplate).append(where).toString(),
+                    "a.artifactId", binders, countMode));
             return results;
         });
     }
@@ -1266,6 +1563,123 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    /**
+     * Content whose dereferenced hash is not known (e.g. imported content not yet processed by
+     * {@link #backfillDereferencedContentHashes(String, long, int)}, content referencing versions that did not
+     * exist, or whose referenced versions were deleted) is dereferenced on the fly.
+     */
+    @Override
+    @Transactional
+    public ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        Optional<ArtifactVersionMetaDataDto> res = handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectArtifactVersionMetaDataByDereferencedHash())
+                    .bind(0, normalizeGroupId(groupId))
+                    .bind(1, artifactId)
+                    .bind(2, dereferencedHash)
+                    .map(ArtifactVersionMetaDataDtoMapper.instance)
+                    .findFirst();
+        });
+        if (res.isPresent()) {
+            return res.get();
+        }
+
+        String artifactType = getArtifactMetaData(groupId, artifactId, DEFAULT).getType();
+        if (!utils.isDereferencedContentHashSupported(artifactType)) {
+            throw new ArtifactNotFoundException(groupId, artifactId);
+        }
+        List<StoredArtifactDto> pending = handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectArtifactVersionContentWithoutDereferencedHash())
+                    .bind(0, normalizeGroupId(groupId))
+                    .bind(1, artifactId)
+                    .bind(2, RegistryStorageContentUtils.UNRESOLVED_REFERENCES_CONTENT_HASH)
+                    .map(StoredArtifactMapper.instance)
+                    .list();
+        });
+        return pending.stream()
+                .filter(version -> dereferencedHash.equals(utils.getDereferencedContentHash(artifactType,
+                        version.getContent(), resolveReferences(version.getReferences()))))
+                .findFirst()
+                .map(version -> getArtifactVersionMetaData(groupId, artifactId, version.getVersion()))
+                .orElseThrow(() -> new ArtifactNotFoundException(groupId, artifactId));
+    }
+
+
+    /**
+     * Computes the missing dereferenced content hashes of (at most) the given number of content rows used by
+     * artifacts of the given type, in the order of their ids, starting after the given content id.
+     * Rows that can not be dereferenced are marked with {@link RegistryStorageContentUtils#NOT_DEREFERENCEABLE_CONTENT_HASH},
+     * and rows referencing versions that do not exist with {@link RegistryStorageContentUtils#UNRESOLVED_REFERENCES_CONTENT_HASH},
+     * so that they are not processed again.  The latter are reset once a version they reference is created.
+     *
+     * @return the id of the last processed content row, or empty if there were no rows left to process
+     */
+    @Transactional
+    public Optional<Long> backfillDereferencedContentHashes(String artifactType, long afterContentId, int batchSize) {
+        List<Pair<Long, ContentWrapperDto>> rows = handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectContentWithoutDereferencedHash())
+                    .bind(0, afterContentId)
+                    .bind(1, artifactType)
+                    .setMaxRows(batchSize)
+                    .map(rs -> Pair.of(rs.getLong("contentId"), ContentWrapperDto.builder()
+                            .content(ContentHandle.create(rs.getBytes("content")))
+                            .references(SqlUtil.deserializeReferences(rs.getString("artifactreferences")))
+                            .build()))
+                    .list();
+        });
+        for (Pair<Long, ContentWrapperDto> row : rows) {
+            ContentWrapperDto content = row.getValue();
+            Map<String, ContentHandle> resolvedReferences = new LinkedHashMap<>();
+            String dereferencedHash;
+            if (notEmpty(content.getReferences()) && !resolveReferences(resolvedReferences, content.getReferences())) {
+                dereferencedHash = RegistryStorageContentUtils.UNRESOLVED_REFERENCES_CONTENT_HASH;
+            } else {
+                dereferencedHash = utils.getDereferencedContentHash(artifactType, content.getContent(), resolvedReferences);
+            }
+            handles.withHandleNoException(handle -> {
+                return handle.createUpdate(sqlStatements.updateContentDereferencedHash())
+                        .bind(0, dereferencedHash != null ? dereferencedHash : RegistryStorageContentUtils.NOT_DEREFERENCEABLE_CONTENT_HASH)
+                        .bind(1, row.getKey())
+                        .execute();
+            });
+        }
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(rows.size() - 1).getKey());
+    }
+
+
+    /**
+     * Returns the in-memory search index of this storage, or null if it is disabled.
+     */
+    public VersionSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+
+    /**
+     * Returns the searchable values of (at most) the given number of versions, in the order of their globalIds,
+     * starting after the given globalId.  Only the versions created or modified since the given time are returned,
+     * unless it is null.  Used to load the search index.
+     */
+    @Transactional
+    public List<VersionSearchIndex.Entry> getSearchIndexEntries(Date modifiedSince, long afterGlobalId, int batchSize) {
+        return handles.withHandleNoException(handle -> {
+            Query query;
+            if (modifiedSince == null) {
+                query = handle.createQuery(sqlStatements.selectVersionSearchIndexEntries())
+                        .bind(0, afterGlobalId);
+            } else {
+                query = handle.createQuery(sqlStatements.selectVersionSearchIndexEntriesModifiedSince())
+                        .bind(0, modifiedSince)
+                        .bind(1, afterGlobalId);
+            }
+            return query
+                    .setMaxRows(batchSize)
+                    .map(VersionSearchIndexEntryMapper.instance)
+                    .list();
+        });
+    }
+
+
     @Override
     @Transactional
     public ArtifactMetaDataDto getArtifactMetaData(long globalId)
@@ -1484,36 +1898,54 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Override
     @Transactional
     public VersionSearchResultsDto searchVersions(String groupId, String artifactId, int offset, int limit) { // TODO: Rename to differentiate from other search* methods.
+        return searchVersions(groupId, artifactId, offset, limit, null, SearchCountMode.EXACT);
+    }
+
+
+    @Override
+    @Transactional
+    public VersionSearchResultsDto searchVersions(String groupId, String artifactId, int offset, int limit, SearchCursor after,
+                                                  SearchCountMode countMode) {
         log.debug("Searching for versions of artifact {} {}", groupId, artifactId);
         return handles.withHandleNoException(handle -> {
             VersionSearchResultsDto rval = new VersionSearchResultsDto();
 
-            Integer count = handle.createQuery(sqlStatements.selectAllArtifactVersionsCount())
-                    .bind(0, normalizeGroupId(groupId))
-                    .bind(1, artifactId)
-                    .mapTo(Integer.class)
-                    .one();
-            rval.setCount(count);
+            // The versions of a single artifact are cheap to count, an estimate is the exact count
+            if (countMode != SearchCountMode.NONE) {
+                Integer count = handle.createQuery(sqlStatements.selectAllArtifactVersionsCount())
+                        .bind(0, normalizeGroupId(groupId))
+                        .bind(1, artifactId)
+                        .mapTo(Integer.class)
+                        .one();
+                rval.setCount(count);
+            }
 
             if (!isArtifactExists(groupId, artifactId)) {
                 throw new ArtifactNotFoundException(groupId, artifactId);
             }
 
+            // The versions are ordered by globalId, which is also the cursor
             Query query = handle.createQuery(sqlStatements.selectAllArtifactVersions())
                     .bind(0, normalizeGroupId(groupId))
-                    .bind(1, artifactId);
+                    .bind(1, artifactId)
+                    .bind(2, after != null ? Long.parseLong(after.getTieBreaker()) : Long.MIN_VALUE);
             if ("mssql".equals(sqlStatements.dbType())) {
                 query
-                        .bind(2, offset)
-                        .bind(3, limit);
+                        .bind(3, offset)
+                        .bind(4, limit + 1);
             } else {
                 query
-                        .bind(2, limit)
-                        .bind(3, offset);
+                        .bind(3, limit + 1)
+                        .bind(4, offset);
             }
             List<SearchedVersionDto> versions = query
                     .map(SearchedVersionMapper.instance)
                     .list();
+            if (limit > 0 && versions.size() > limit) {
+                versions = new ArrayList<>(versions.subList(0, limit));
+                String lastGlobalId = String.valueOf(versions.get(limit - 1).getGlobalId());
+                rval.setNext(new SearchCursor(lastGlobalId, lastGlobalId));
+            }
             rval.setVersions(versions);
 
             return rval;
@@ -1600,12 +2032,21 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     .bind(2, version)
                     .execute();
 
-            // Delete version in branches
+            // Delete version in branches, the branches it was the tip of get a new tip (if not empty)
+            handle.createUpdate(sqlStatements.deleteVersionInArtifactBranchTips())
+                    .bind(0, normalizeGroupId(groupId))
+                    .bind(1, artifactId)
+                    .bind(2, version)
+                    .execute();
             handle.createUpdate(sqlStatements.deleteVersionInArtifactBranches())
                     .bind(0, normalizeGroupId(groupId))
                     .bind(1, artifactId)
                     .bind(2, version)
                     .execute();
+            handle.createUpdate(sqlStatements.insertMissingArtifactBranchTips())
+                    .bind(0, normalizeGroupId(groupId))
+                    .bind(1, artifactId)
+                    .execute();
 
             // Delete version
             int rows = handle.createUpdate(sqlStatements.deleteVersion())
@@ -1626,6 +2067,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             return null;
         });
         deleteAllOrphanedContent();
+        resetDereferencedContentHashes(getContentIdsReferencingArtifact(groupId, artifactId, version));
     }
 
 
@@ -1666,9 +2108,10 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     .bind(1, limitStr(metaData.getDescription(), 1024, true))
                     .bind(2, SqlUtil.serializeLabels(metaData.getLabels()))
                     .bind(3, SqlUtil.serializeProperties(metaData.getProperties()))
-                    .bind(4, normalizeGroupId(groupId))
-                    .bind(5, artifactId)
-                    .bind(6, version)
+                    .bind(4, new Date())
+                    .bind(5, normalizeGroupId(groupId))
+                    .bind(6, artifactId)
+                    .bind(7, version)
                     .execute();
             if (rowCount == 0) {
                 throw new VersionNotFoundException(groupId, artifactId, version);
@@ -1712,6 +2155,12 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
             return null;
         });
+
+        if (searchIndex != null) {
+            searchIndex.add(new VersionSearchIndex.Entry(globalId, normalizeGroupId(groupId), artifactId,
+                    limitStr(metaData.getName(), 512), limitStr(metaData.getDescription(), 1024, true),
+                    metaData.getLabels(), metaData.getProperties()));
+        }
     }
 
 
@@ -1727,9 +2176,10 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     .bind(1, (String) null)
                     .bind(2, (String) null)
                     .bind(3, (String) null)
-                    .bind(4, normalizeGroupId(groupId))
-                    .bind(5, artifactId)
-                    .bind(6, version)
+                    .bind(4, new Date())
+                    .bind(5, normalizeGroupId(groupId))
+                    .bind(6, artifactId)
+                    .bind(7, version)
                     .execute();
 
             // Delete labels
@@ -2167,11 +2617,60 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
 
     /**
-     * NOTE: Does not export the manifest file TODO
+     * Exports the entities in stages, each stage reading its entity types (and ranges of the larger ones) in
+     * parallel on the export threads, see {@link ParallelEntityExporter}.  Each reader reads in a repeatable-read
+     * transaction of its own.  The handler is only called from the calling thread.
      */
     @Override
-    @Transactional
     public void exportData(Function<Entity, Void> handler) throws RegistryStorageException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (ParallelEntityExporter exporter = new ParallelEntityExporter(exportThreads, exportReadAhead, countExported(handler))) {
+            exportStages(handler, readers -> exporter.run(readers.stream()
+                    .map(this::inReadTransaction)
+                    .collect(toList())));
+            log.info("Exported {} entities in {}", exporter.getExported(), stopExportTimer(sample));
+        }
+    }
+
+    /**
+     * Exports the data as it is at a single point in time: all the entities are read on the calling thread, in
+     * one serializable read-only transaction.
+     *
+     * @param onSnapshot called within the transaction once it sees its snapshot of the data, before any entity is
+     *                   exported.  The storage reads made by the callback see the same data as the export.
+     */
+    public void exportSnapshot(Function<Entity, Void> handler, Runnable onSnapshot) throws RegistryStorageException {
+        handles.withReadTransaction(Connection.TRANSACTION_SERIALIZABLE, handle -> {
+            // The first read of the transaction takes the snapshot
+            handle.createQuery(sqlStatements.selectAllArtifactCount())
+                    .mapTo(Long.class)
+                    .one();
+            onSnapshot.run();
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Function<Entity, Void> countingHandler = countExported(handler);
+            exportStages(handler, readers -> {
+                for (ParallelEntityExporter.EntityReader reader : readers) {
+                    try {
+                        reader.read(countingHandler::apply);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new RegistryStorageException(e);
+                    }
+                }
+            });
+            log.info("Exported a snapshot in {}", stopExportTimer(sample));
+            return null;
+        });
+    }
+
+    /**
+     * Exports the manifest, then each stage of readers with the given runner.  The stages keep the content ahead of
+     * the versions, and the versions ahead of the entities attached to them, so that the importer does not have to
+     * buffer them.
+     */
+    private void exportStages(Function<Entity, Void> handler, Consumer<List<ParallelEntityExporter.EntityReader>> runner) {
         // Export a simple manifest file
         /////////////////////////////////
         ManifestEntity manifest = new ManifestEntity();
@@ -2183,111 +2682,191 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
         manifest.systemVersion = system.getVersion();
         handler.apply(manifest);
 
-        // Export all content
-        /////////////////////////////////
-        handles.withHandle(handle -> {
-            Stream<ContentEntity> stream = handle.createQuery(sqlStatements.exportContent())
-                    .setFetchSize(50)
-                    .map(ContentEntityMapper.instance)
-                    .stream();
-            // Process and then close the stream.
-            try (stream) {
-                stream.forEach(handler::apply);
-            }
-            return null;
-        });
-
-        // Export all groups
+        // Export all content, groups and global rules
         /////////////////////////////////
-        handles.withHandle(handle -> {
-            Stream<GroupEntity> stream = handle.createQuery(sqlStatements.exportGroups())
-                    .setFetchSize(50)
-                    .map(GroupEntityMapper.instance)
-                    .stream();
-            // Process and then close the stream.
-            try (stream) {
-                stream.forEach(handler::apply);
-            }
-            return null;
-        });
+        List<ParallelEntityExporter.EntityReader> readers = new ArrayList<>(exportContentReaders());
+        readers.add(exportReader(sqlStatements.exportGroups(), GroupEntityMapper.instance));
+        readers.add(exportReader(sqlStatements.exportGlobalRules(), GlobalRuleEntityMapper.instance));
+        runner.accept(readers);
 
         // Export all artifact versions
         /////////////////////////////////
-        handles.withHandle(handle -> {
-            Stream<ArtifactVersionEntity> stream = handle.createQuery(sqlStatements.exportArtifactVersions())
-                    .setFetchSize(50)
-                    .map(ArtifactVersionEntityMapper.instance)
-                    .stream();
-            // Process and then close the stream.
-            try (stream) {
-                stream.forEach(handler::apply);
-            }
-            return null;
-        });
+        runner.accept(exportVersionReaders());
 
-        // Export all artifact comments
+        // Export all artifact comments, branches and rules
         /////////////////////////////////
-        handles.withHandle(handle -> {
-            Stream<CommentEntity> stream = handle.createQuery(sqlStatements.exportComments())
-                    .setFetchSize(50)
-                    .map(CommentEntityMapper.instance)
-                    .stream();
-            // Process and then close the stream.
-            try (stream) {
-                stream.forEach(handler::apply);
-            }
+        runner.accept(List.of(
+                exportReader(sqlStatements.exportComments(), CommentEntityMapper.instance),
+                exportReader(sqlStatements.exportArtifactBranches(), ArtifactBranchEntityMapper.instance),
+                exportReader(sqlStatements.exportArtifactRules(), ArtifactRuleEntityMapper.instance)));
+    }
+
+    /**
+     * Wraps the export handler to count the exported entities by type.
+     */
+    private Function<Entity, Void> countExported(Function<Entity, Void> handler) {
+        Map<EntityType, Counter> counters = new EnumMap<>(EntityType.class);
+        return entity -> {
+            handler.apply(entity);
+            counters.computeIfAbsent(entity.getEntityType(), type -> Counter.builder(STORAGE_EXPORT_ENTITIES)
+                    .description(STORAGE_EXPORT_ENTITIES_DESCRIPTION)
+                    .tag(STORAGE_EXPORT_TAG_TYPE, type.name())
+                    .register(meterRegistry)).increment();
             return null;
-        });
+        };
+    }
 
-        // Export all artifact branches
-        /////////////////////////////////
-        handles.withHandle(handle -> {
-            Stream<ArtifactBranchEntity> stream = handle.createQuery(sqlStatements.exportArtifactBranches())
-                    .setFetchSize(50)
-                    .map(ArtifactBranchEntityMapper.instance)
-                    .stream();
-            // Process and then close the stream.
-            try (stream) {
-                stream.forEach(handler::apply);
-            }
+    private Duration stopExportTimer(Timer.Sample sample) {
+        return Duration.ofNanos(sample.stop(Timer.builder(STORAGE_EXPORT)
+                .description(STORAGE_EXPORT_DESCRIPTION)
+                .register(meterRegistry)));
+    }
+
+    /**
+     * Runs the reader in a repeatable-read transaction, so that each of the rows it reads is consistent with the
+     * other ones (e.g. the versions of an artifact).
+     */
+    private ParallelEntityExporter.EntityReader inReadTransaction(ParallelEntityExporter.EntityReader reader) {
+        return sink -> handles.withReadTransaction(Connection.TRANSACTION_REPEATABLE_READ, handle -> {
+            reader.read(sink);
             return null;
         });
+    }
 
-        // Export all artifact rules
-        /////////////////////////////////
-        handles.withHandle(handle -> {
-            Stream<ArtifactRuleEntity> stream = handle.createQuery(sqlStatements.exportArtifactRules())
-                    .setFetchSize(50)
-                    .map(ArtifactRuleEntityMapper.instance)
+    /**
+     * Streams all the rows of the query.
+     */
+    private <T extends Entity> ParallelEntityExporter.EntityReader exportReader(String sql, RowMapper<T> mapper) {
+        return exportReader(handle -> handle.createQuery(sql), mapper);
+    }
+
+    /**
+     * Streams all the rows of the query created by the given function.
+     */
+    private <T extends Entity> ParallelEntityExporter.EntityReader exportReader(Function<Handle, Query> query, RowMapper<T> mapper) {
+        return sink -> handles.withHandle(handle -> {
+            Stream<T> stream = query.apply(handle)
+                    .setFetchSize(exportFetchSize)
+                    .map(mapper)
                     .stream();
             // Process and then close the stream.
             try (stream) {
-                stream.forEach(handler::apply);
+                stream.forEach(sink);
             }
             return null;
         });
+    }
 
-        // Export all global rules
-        /////////////////////////////////
-        handles.withHandle(handle -> {
-            Stream<GlobalRuleEntity> stream = handle.createQuery(sqlStatements.exportGlobalRules())
-                    .setFetchSize(50)
-                    .map(GlobalRuleEntityMapper.instance)
+    /**
+     * Splits the content into one range of contentIds per export thread.
+     */
+    private List<ParallelEntityExporter.EntityReader> exportContentReaders() {
+        long[] bounds = handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectContentIdBounds())
+                    .map(rs -> {
+                        long min = rs.getLong(1);
+                        return rs.wasNull() ? new long[0] : new long[] { min, rs.getLong(2) };
+                    })
+                    .one();
+        });
+        List<ParallelEntityExporter.EntityReader> readers = new ArrayList<>();
+        if (bounds.length == 0) {
+            return readers;
+        }
+        long lowest = bounds[0] - 1;
+        long highest = bounds[1];
+        int ranges = Math.max(1, exportThreads);
+        long rangeSize = Math.max(1, (highest - lowest + ranges - 1) / ranges);
+        for (long rangeStart = lowest; rangeStart < highest; rangeStart += rangeSize) {
+            long first = rangeStart;
+            long last = Math.min(highest, rangeStart + rangeSize);
+            readers.add(exportReader(handle -> handle.createQuery(sqlStatements.exportContent())
+                    .bind(0, first)
+                    .bind(1, last), ContentEntityMapper.instance));
+        }
+        return readers;
+    }
+
+    /**
+     * Splits the versions into one range of artifacts per export thread, so that all the versions of an artifact
+     * are read by the same reader, in the order they were created.  The importer creates the artifact from the
+     * first version it sees.
+     */
+    private List<ParallelEntityExporter.EntityReader> exportVersionReaders() {
+        long artifacts = handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectAllArtifactCount())
+                    .mapTo(Long.class)
+                    .one();
+        });
+        int ranges = Math.max(1, exportThreads);
+        long rangeSize = Math.max(1, (artifacts + ranges - 1) / ranges);
+        // The first range starts before any artifact, the other ones at their first artifact
+        List<String[]> starts = new ArrayList<>();
+        starts.add(new String[] { "", "" });
+        handles.withHandleNoException(handle -> {
+            Stream<String[]> keys = handle.createQuery(sqlStatements.selectArtifactKeys())
+                    .setFetchSize(exportFetchSize)
+                    .map(rs -> new String[] { rs.getString(1), rs.getString(2) })
                     .stream();
-            // Process and then close the stream.
-            try (stream) {
-                stream.forEach(handler::apply);
+            try (keys) {
+                Iterator<String[]> iterator = keys.iterator();
+                for (long i = 0; iterator.hasNext(); i++) {
+                    String[] key = iterator.next();
+                    if (i > 0 && i % rangeSize == 0) {
+                        starts.add(key);
+                    }
+                }
             }
             return null;
         });
+        List<ParallelEntityExporter.EntityReader> readers = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            String[] start = starts.get(i);
+            String[] end = i + 1 < starts.size() ? starts.get(i + 1) : null;
+            readers.add(exportReader(handle -> {
+                if (end == null) {
+                    return handle.createQuery(sqlStatements.exportArtifactVersionsFrom())
+                            .bind(0, start[0])
+                            .bind(1, start[0])
+                            .bind(2, start[1]);
+                }
+                return handle.createQuery(sqlStatements.exportArtifactVersions())
+                        .bind(0, start[0])
+                        .bind(1, start[0])
+                        .bind(2, start[1])
+                        .bind(3, end[0])
+                        .bind(4, end[0])
+                        .bind(5, end[1]);
+            }, ArtifactVersionEntityMapper.instance));
+        }
+        return readers;
     }
 
 
     @Override
     public void importData(EntityInputStream entities, boolean preserveGlobalId, boolean preserveContentId) {
+        if (importBulkEnabled) {
+            DataImporter dataImporter = new SqlBulkDataImporter(log, utils, this, handles, sqlStatements,
+                    preserveGlobalId, preserveContentId, importBulkBatchSize, importBulkThreads);
+            // All or nothing, so that a failed import leaves the registry empty and can be retried
+            try {
+                inNewTransaction(importBulkTransactionTimeoutSeconds, () -> {
+                    dataImporter.importData(entities, () -> {
+                    });
+                    return null;
+                });
+            } finally {
+                invalidateContentCaches();
+            }
+            return;
+        }
         DataImporter dataImporter = new SqlDataImporter(log, utils, this, preserveGlobalId, preserveContentId);
-        dataImporter.importData(entities, () -> {
-        });
+        try {
+            dataImporter.importData(entities, () -> {
+            });
+        } finally {
+            invalidateContentCaches();
+        }
     }
 
 
@@ -2489,6 +3068,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Transactional
     public void deleteAllUserData() {
         log.debug("Deleting all user data");
+        invalidateContentCaches();
 
         deleteGlobalRules();
 
@@ -2507,6 +3087,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             handle.createUpdate(sqlStatements.deleteAllComments())
                     .execute();
 
+            handle.createUpdate(sqlStatements.deleteAllArtifactBranchTips())
+                    .execute();
+
             handle.createUpdate(sqlStatements.deleteAllArtifactBranches())
                     .execute();
 
@@ -2556,6 +3139,18 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public Map<String, ContentHandle> resolveReferencesIfComplete(List<ArtifactReferenceDto> references) {
+        if (references == null || references.isEmpty()) {
+            return Collections.emptyMap();
+        } else {
+            Map<String, ContentHandle> result = new LinkedHashMap<>();
+            return resolveReferences(result, references) ? result : null;
+        }
+    }
+
+
     @Override
     @Transactional
     public boolean isArtifactExists(String groupId, String artifactId) throws RegistryStorageException {
@@ -2637,6 +3232,14 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Override
     @Transactional
     public GroupSearchResultsDto searchGroups(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, Integer offset, Integer limit) {
+        return searchGroups(filters, orderBy, orderDirection, offset, limit, null, SearchCountMode.EXACT);
+    }
+
+
+    @Override
+    @Transactional
+    public GroupSearchResultsDto searchGroups(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, Integer offset,
+                                              Integer limit, SearchCursor after, SearchCountMode countMode) {
 
         return handles.withHandleNoException(handle -> {
             List<SqlStatementVariableBinder> binders = new LinkedList<>();
@@ -2681,7 +3284,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 where.append(")");
             }
 
-            // Add order by to artifact query
+            // Add order by to artifact query, the groupId breaks the ties so that the order is stable
             switch (orderBy) {
                 case name:
                     orderByQuery.append(" ORDER BY g.groupId");
@@ -2693,67 +3296,240 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     break;
             }
             orderByQuery.append(" ").append(orderDirection.name());
+            if (orderBy == OrderBy.createdOn) {
+                orderByQuery.append(", g.groupId ").append(orderDirection.name());
+            }
+
+            // Continue after the cursor (keyset pagination), applies to the group query only
+            StringBuilder keyset = new StringBuilder();
+            List<SqlStatementVariableBinder> keysetBinders = new LinkedList<>();
+            if (after != null) {
+                String op = orderDirection == OrderDirection.asc ? ">" : "<";
+                if (orderBy == OrderBy.createdOn) {
+                    keyset.append(" AND (g.createdOn ").append(op).append(" ? OR (g.createdOn = ? AND g.groupId ")
+                            .append(op).append(" ?))");
+                    Date createdOn = new Date(Long.parseLong(after.getSortKey()));
+                    keysetBinders.add((query, idx) -> query.bind(idx, createdOn));
+                    keysetBinders.add((query, idx) -> query.bind(idx, createdOn));
+                } else {
+                    keyset.append(" AND g.groupId ").append(op).append(" ?");
+                }
+                keysetBinders.add((query, idx) -> query.bind(idx, after.getTieBreaker()));
+            }
 
             // Add limit and offset to artifact query
             limitOffset.append(" LIMIT ? OFFSET ?");
 
-            // Query for the group
+            // Query for the group, one more than requested tells whether there is a next page
             String groupsQuerySql = new StringBuilder(selectTemplate)
                     .append(where)
+                    .append(keyset)
                     .append(orderByQuery)
                     .append(limitOffset)
                     .toString()
                     .replace("{{selectColumns}}", "*");
             Query groupsQuery = handle.createQuery(groupsQuerySql);
-            // Query for the total row count
-            String countQuerySql = new StringBuilder(selectTemplate)
-                    .append(where)
-                    .toString()
-                    .replace("{{selectColumns}}", "count(g.groupId)");
-            Query countQuery = handle.createQuery(countQuerySql);
 
             // Bind all query parameters
             int idx = 0;
             for (SqlStatementVariableBinder binder : binders) {
                 binder.bind(groupsQuery, idx);
-                binder.bind(countQuery, idx);
                 idx++;
             }
-            groupsQuery.bind(idx++, limit);
+            for (SqlStatementVariableBinder binder : keysetBinders) {
+                binder.bind(groupsQuery, idx);
+                idx++;
+            }
+            groupsQuery.bind(idx++, limit + 1);
             groupsQuery.bind(idx++, offset);
 
             // Execute artifact query
             List<SearchedGroupDto> groups = groupsQuery.map(SearchedGroupMapper.instance).list();
-            // Execute count query
-            Integer count = countQuery.mapTo(Integer.class).one();
 
             GroupSearchResultsDto results = new GroupSearchResultsDto();
+            if (limit > 0 && groups.size() > limit) {
+                groups = new ArrayList<>(groups.subList(0, limit));
+                SearchedGroupDto last = groups.get(limit - 1);
+                String lastSortKey = orderBy == OrderBy.createdOn ? String.valueOf(last.getCreatedOn().getTime()) : last.getId();
+                results.setNext(new SearchCursor(lastSortKey, last.getId()));
+            }
             results.setGroups(groups);
-            results.setCount(count);
+            results.setCount(countSearchResults(handle, new StringBuilder(selectTemplate).append(where).toString(),
+                    "g.groupId", binders, countMode));
             return results;
         });
     }
 
 
+    /**
+     * Counts the results of a search, as requested by the count mode.  An estimated count selects (the given
+     * column of) at most the configured number of results and counts them.
+     *
+     * @param selectTemplate the search query without the order and limit, with a {{selectColumns}} placeholder
+     */
+    private int countSearchResults(Handle handle, String selectTemplate, String column,
+                                    List<SqlStatementVariableBinder> binders, SearchCountMode countMode) {
+        if (countMode == SearchCountMode.NONE) {
+            return 0;
+        }
+        boolean estimate = countMode == SearchCountMode.ESTIMATE;
+        Query countQuery = handle.createQuery(selectTemplate.replace("{{selectColumns}}", estimate ? column : "count(" + column + ")"));
+        int idx = 0;
+        for (SqlStatementVariableBinder binder : binders) {
+            binder.bind(countQuery, idx);
+            idx++;
+        }
+        if (estimate) {
+            return countQuery.setMaxRows(searchEstimatedCountLimit).mapTo(String.class).list().size();
+        }
+        return countQuery.mapTo(Integer.class).one();
+    }
+
+
     /**
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      */
-    private void resolveReferences(Map<String, ContentHandle> resolvedReferences, List<ArtifactReferenceDto> references) {
+    private boolean resolveReferences(Map<String, ContentHandle> resolvedReferences, List<ArtifactReferenceDto> references) {
+        if (referenceClosures != null) {
+            Map<String, ContentHandle> cached = referenceClosures.get(references);
+            if (cached != null) {
+                resolvedReferences.putAll(cached);
+                return true;
+            }
+        }
+        long generation = referenceClosures != null ? referenceClosures.generation() : 0;
+        Map<List<String>, ContentWrapperDto> referencedContent = fetchReferencedContent(references);
+        boolean complete = resolveReferences(resolvedReferences, references, referencedContent, new HashSet<>());
+        // A missing version may be created later on, incomplete closures are not cached
+        if (referenceClosures != null && complete) {
+            referenceClosures.put(references, resolvedReferences, generation);
+        }
+        return complete;
+    }
+
+
+    /**
+     * Drops the cached reference closures, and fires a {@link StorageEventType#CONTENT_INVALIDATED} event for the
+     * caches of content derived from stored content, as versions were deleted or content ids may be reused.  This
+     * is done again once the transaction completes, as concurrent readers still see the deleted versions until then.
+     * KafkaSQL replicas apply the deletes to their own database, so this happens on every replica.
+     */
+    private void invalidateContentCaches() {
+        doInvalidateContentCaches();
+        try {
+            Transaction transaction = transactionManager.getTransaction();
+            if (transaction != null) {
+                transaction.registerSynchronization(new Synchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        doInvalidateContentCaches();
+                    }
+                });
+            }
+        } catch (RollbackException e) {
+            // Marked for rollback, nothing was deleted
+        } catch (SystemException e) {
+            throw new RegistryStorageException(e);
+        }
+    }
+
+
+    private void doInvalidateContentCaches() {
+        if (referenceClosures != null) {
+            referenceClosures.invalidateAll();
+        }
+        storageEvent.fire(StorageEvent.builder()
+                .type(StorageEventType.CONTENT_INVALIDATED)
+                .build());
+    }
+
+
+    /**
+     * Resolves the references depth first (so that the dependencies of a reference come before it),
+     * using content that was already fetched from the DB.
+     *
+     * @return false if some of the referenced versions do not exist
+     */
+    private boolean resolveReferences(Map<String, ContentHandle> resolvedReferences, List<ArtifactReferenceDto> references,
+                                      Map<List<String>, ContentWrapperDto> referencedContent, Set<String> inProgress) {
+        boolean complete = true;
         if (references != null && !references.isEmpty()) {
             for (ArtifactReferenceDto reference : references) {
                 if (reference.getArtifactId() == null || reference.getName() == null || reference.getVersion() == null) {
                     throw new IllegalStateException("Invalid reference: " + reference);
                 } else {
-                    if (!resolvedReferences.containsKey(reference.getName())) {
-                        //TODO improve exception handling
-                        try {
-                            final ArtifactVersionMetaDataDto referencedArtifactMetaData = getArtifactVersionMetaData(reference.getGroupId(), reference.getArtifactId(), reference.getVersion());
-                            final ContentWrapperDto referencedContent = getArtifactByContentId(referencedArtifactMetaData.getContentId());
-                            resolveReferences(resolvedReferences, referencedContent.getReferences());
-                            resolvedReferences.put(reference.getName(), referencedContent.getContent());
-                        } catch (VersionNotFoundException ex) {
-                            // Ignored
+                    if (!resolvedReferences.containsKey(reference.getName()) && inProgress.add(reference.getName())) {
+                        // Versions that do not exist are ignored
+                        ContentWrapperDto content = referencedContent.get(referenceKey(reference));
+                        if (content != null) {
+                            complete &= resolveReferences(resolvedReferences, content.getReferences(), referencedContent, inProgress);
+                            resolvedReferences.put(reference.getName(), content.getContent());
+                        } else {
+                            complete = false;
                         }
+                        inProgress.remove(reference.getName());
+                    }
+                }
+            }
+        }
+        return complete;
+    }
+
+
+    /**
+     * Fetches the content of all the versions transitively referenced by the given references, one level of
+     * the reference graph at a time, so that the number of queries depends on the depth of the graph rather
+     * than on its size.  A recursive CTE is not used, because H2 does not deduplicate the rows of a recursive
+     * UNION (so cycles never terminate), and SQL Server only supports UNION ALL.
+     *
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private Map<List<String>, ContentWrapperDto> fetchReferencedContent(List<ArtifactReferenceDto> references) {
+        Map<List<String>, ContentWrapperDto> referencedContent = new HashMap<>();
+        Set<List<String>> visited = new HashSet<>();
+        List<List<String>> level = new ArrayList<>();
+        addUnvisitedReferences(references, visited, level);
+        while (!level.isEmpty()) {
+            List<List<String>> nextLevel = new ArrayList<>();
+            for (int from = 0; from < level.size(); from += MAX_REFERENCES_PER_QUERY) {
+                List<List<String>> batch = level.subList(from, Math.min(from + MAX_REFERENCES_PER_QUERY, level.size()));
+                handles.withHandleNoException(handle -> {
+                    Query query = handle.createQuery(sqlStatements.selectReferencedContent(batch.size()));
+                    int idx = 0;
+                    for (List<String> key : batch) {
+                        query.bind(idx++, key.get(0)).bind(idx++, key.get(1)).bind(idx++, key.get(2));
+                    }
+                    query.map(rs -> Map.entry(
+                            List.of(rs.getString("groupId"), rs.getString("artifactId"), rs.getString("version")),
+                            ContentWrapperDto.builder()
+                                    .content(ContentHandle.create(rs.getBytes("content")))
+                                    .references(SqlUtil.deserializeReferences(rs.getString("artifactreferences")))
+                                    .build()))
+                            .list()
+                            .forEach(row -> {
+                                referencedContent.put(row.getKey(), row.getValue());
+                                addUnvisitedReferences(row.getValue().getReferences(), visited, nextLevel);
+                            });
+                    return null;
+                });
+            }
+            level = nextLevel;
+        }
+        return referencedContent;
+    }
+
+
+    private static void addUnvisitedReferences(List<ArtifactReferenceDto> references, Set<List<String>> visited, List<List<String>> level) {
+        if (references != null) {
+            for (ArtifactReferenceDto reference : references) {
+                if (reference.getArtifactId() != null && reference.getVersion() != null) {
+                    List<String> key = referenceKey(reference);
+                    if (visited.add(key)) {
+                        level.add(key);
                     }
                 }
             }
@@ -2761,11 +3537,18 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    private static List<String> referenceKey(ArtifactReferenceDto reference) {
+        return List.of(normalizeGroupId(reference.getGroupId()), reference.getArtifactId(), reference.getVersion());
+    }
+
+
     /**
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      */
     private void deleteAllOrphanedContent() {
         log.debug("Deleting all orphaned content");
+        // Every delete of versions ends here
+        invalidateContentCaches();
         handles.withHandleNoException(handle -> {
 
             // Delete orphaned references
@@ -2781,6 +3564,57 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    /**
+     * Clears the dereferenced hash of the content that could not be dereferenced because it references the given
+     * version, which has just been created, so that it is computed again.
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void resetUnresolvedDereferencedContentHashes(String groupId, String artifactId, String version) {
+        resetDereferencedContentHashes(handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectContentIdsByDereferencedHashReferencingArtifactBy())
+                    .bind(0, RegistryStorageContentUtils.UNRESOLVED_REFERENCES_CONTENT_HASH)
+                    .bind(1, normalizeGroupId(groupId))
+                    .bind(2, artifactId)
+                    .bind(3, version)
+                    .mapTo(Long.class)
+                    .list();
+        }));
+    }
+
+
+    /**
+     * Clears the dereferenced hash of the given content, and of the content referencing (directly or not) a version
+     * of it, as the referenced content is part of their dereferenced content.  Their hashes are computed again by
+     * {@link DereferencedContentHashBackfill}.
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void resetDereferencedContentHashes(List<Long> contentIds) {
+        if (contentIds.isEmpty()) {
+            return;
+        }
+        handles.withHandleNoException(handle -> {
+            Set<Long> visited = new LinkedHashSet<>(contentIds);
+            Deque<Long> pending = new ArrayDeque<>(visited);
+            while (!pending.isEmpty()) {
+                handle.createQuery(sqlStatements.selectContentIdsReferencingContent())
+                        .bind(0, pending.poll())
+                        .mapTo(Long.class)
+                        .list()
+                        .stream()
+                        .filter(visited::add)
+                        .forEach(pending::add);
+            }
+
+            Update resetHashes = handle.createUpdate(sqlStatements.resetContentDereferencedHash());
+            visited.forEach(contentId -> resetHashes.bind(0, contentId).addBatch());
+            resetHashes.executeBatch();
+            return null;
+        });
+    }
+
+
     @Override
     @Transactional
     public void resetGlobalId() {
@@ -2834,21 +3668,68 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 log.info("Resetting {} sequence", sequenceName);
                 long id = maxId.get();
 
-                if ("postgresql".equals(sqlStatements.dbType())) {
-                    handle.createUpdate(sqlStatements.resetSequenceValue())
-                            .bind(0, sequenceName)
-                            .bind(1, id)
-                            .bind(2, id)
-                            .execute();
-                } else {
-                    handle.createUpdate(sqlStatements.resetSequenceValue())
-                            .bind(0, sequenceName)
-                            .bind(1, id)
-                            .execute();
-                }
+                updateSequenceValue(handle, sequenceName, id);
 
                 log.info("Successfully reset {} to {}", sequenceName, id);
             }
+            // Ids still pooled in memory may now collide with imported ones
+            sequenceGenerators.get(sequenceName).reset();
+            return null;
+        });
+    }
+
+
+    private void updateSequenceValue(Handle handle, String sequenceName, long value) {
+        if ("postgresql".equals(sqlStatements.dbType())) {
+            handle.createUpdate(sqlStatements.resetSequenceValue())
+                    .bind(0, sequenceName)
+                    .bind(1, value)
+                    .bind(2, value)
+                    .execute();
+        } else {
+            handle.createUpdate(sqlStatements.resetSequenceValue())
+                    .bind(0, sequenceName)
+                    .bind(1, value)
+                    .execute();
+        }
+    }
+
+
+    /**
+     * Returns the value of each of the id sequences (globalId, contentId and commentId), i.e. the highest id
+     * reserved, whether it has been handed out or not.  Used to capture the state of the storage together with
+     * an export, so that it can be restored with {@link #setSequenceValues(Map)}.
+     */
+    @Transactional
+    public Map<String, Long> getSequenceValues() {
+        return handles.withHandleNoException(handle -> {
+            Map<String, Long> values = new HashMap<>();
+            for (String sequenceName : sequenceGenerators.keySet()) {
+                values.put(sequenceName, handle.createQuery(sqlStatements.selectCurrentSequenceValue())
+                        .bind(0, sequenceName)
+                        .mapTo(Long.class)
+                        .findOne()
+                        .orElse(0L));
+            }
+            return values;
+        });
+    }
+
+
+    /**
+     * Sets the id sequences to exactly the given values, unlike the reset methods which never move
+     * a sequence backwards.  Ids pooled in memory are dropped.
+     */
+    @Transactional
+    public void setSequenceValues(Map<String, Long> values) {
+        handles.withHandleNoException(handle -> {
+            values.forEach((sequenceName, value) -> {
+                PooledIdGenerator generator = sequenceGenerators.get(sequenceName);
+                if (generator != null) {
+                    updateSequenceValue(handle, sequenceName, value);
+                    generator.reset();
+                }
+            });
             return null;
         });
     }
@@ -2907,6 +3788,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(10, SqlUtil.serializeLabels(entity.labels))
                         .bind(11, SqlUtil.serializeProperties(entity.properties))
                         .bind(12, entity.contentId)
+                        .bind(13, new Date())
                         .execute();
 
                 // Insert labels into the "labels" table
@@ -2930,6 +3812,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     });
                 }
 
+                if (searchIndex != null) {
+                    searchIndex.add(new VersionSearchIndex.Entry(entity.globalId, normalizeGroupId(entity.groupId),
+                            entity.artifactId, entity.name, entity.description, entity.labels, entity.properties));
+                }
+
+                resetUnresolvedDereferencedContentHashes(entity.groupId, entity.artifactId, entity.version);
+
             } else {
                 throw new VersionAlreadyExistsException(entity.globalId);
             }
@@ -2953,6 +3842,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(2, entity.contentHash)
                         .bind(3, entity.contentBytes)
                         .bind(4, entity.serializedReferences)
+                        .bind(5, entity.dereferencedHash)
                         .execute();
 
                 insertReferences(entity.contentId, SqlUtil.deserializeReferences(entity.serializedReferences));
@@ -3045,32 +3935,104 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Override
     @Transactional
     public long nextContentId() {
-        return nextSequenceValue(CONTENT_ID_SEQUENCE);
+        return sequenceGenerators.get(CONTENT_ID_SEQUENCE).generate();
     }
 
 
     @Override
     @Transactional
     public long nextGlobalId() {
-        return nextSequenceValue(GLOBAL_ID_SEQUENCE);
+        return sequenceGenerators.get(GLOBAL_ID_SEQUENCE).generate();
     }
 
 
     @Override
     @Transactional
     public long nextCommentId() {
-        return nextSequenceValue(COMMENT_ID_SEQUENCE);
+        return sequenceGenerators.get(COMMENT_ID_SEQUENCE).generate();
+    }
+
+
+    /**
+     * Single ids are taken from the sequence in the caller's transaction, so that a rollback releases them
+     * together with the rows using them.  Blocks of ids are kept in memory after the transaction, so they are
+     * reserved in a transaction of their own, committed before any id of the block is used.
+     * <p>
+     * KafkaSQL nodes each generate the ids of the journal records in their own store, so the ids only match
+     * across nodes if the whole state of the generator is in the store.  Blocks kept in memory are lost by a
+     * node restored from a snapshot, and move the sequence ahead of the ids actually used, which a reset then
+     * depends on.  The KafkaSQL storage therefore always takes single ids.
+     */
+    private PooledIdGenerator createIdGenerator(String sequenceName, int blockSize) {
+        if (blockSize > 1 && "kafkasql".equals(registryStorageType)) {
+            log.warn("Ignoring the block size of the {} sequence, the KafkaSQL storage does not support pooled ids.", sequenceName);
+            blockSize = 1;
+        }
+        if (blockSize == 1) {
+            return new PooledIdGenerator(blockSize, increment -> nextSequenceValue(sequenceName, increment));
+        }
+        return new PooledIdGenerator(blockSize, increment -> inNewTransaction(
+                () -> handles.withNewHandle(handle -> nextSequenceValue(sequenceName, increment))));
+    }
+
+
+    /**
+     * Runs the given action in a new transaction, committed before returning, suspending the caller's
+     * transaction (if any) in the meantime.
+     */
+    private <T> T inNewTransaction(Supplier<T> action) {
+        return inNewTransaction(0, action);
+    }
+
+
+    /**
+     * Runs the given action in a new transaction with the given timeout (0 for the default one), see
+     * {@link #inNewTransaction(Supplier)}.
+     */
+    private <T> T inNewTransaction(int timeoutSeconds, Supplier<T> action) {
+        try {
+            Transaction enclosing = transactionManager.suspend();
+            try {
+                transactionManager.setTransactionTimeout(timeoutSeconds);
+                try {
+                    transactionManager.begin();
+                } finally {
+                    // Back to the default timeout for the next transactions of the thread
+                    transactionManager.setTransactionTimeout(0);
+                }
+                T result;
+                try {
+                    result = action.get();
+                } catch (RuntimeException ex) {
+                    transactionManager.rollback();
+                    throw ex;
+                }
+                transactionManager.commit();
+                return result;
+            } finally {
+                if (enclosing != null) {
+                    transactionManager.resume(enclosing);
+                }
+            }
+        } catch (SystemException | NotSupportedException | RollbackException | HeuristicMixedException
+                 | HeuristicRollbackException | InvalidTransactionException ex) {
+            throw new RegistryStorageException(ex);
+        }
     }
 
 
     /**
+     * Increments the sequence by the given amount and returns its new value.
+     * The ids between the previous and the returned value are reserved for the caller.
+     * <p>
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      */
-    private long nextSequenceValue(String sequenceName) {
+    private long nextSequenceValue(String sequenceName, long increment) {
         return handles.withHandleNoException(handle -> {
             if (Set.of("mssql", "postgresql").contains(sqlStatements.dbType())) {
                 return handle.createQuery(sqlStatements.getNextSequenceValue())
                         .bind(0, sequenceName)
+                        .bind(1, increment)
                         .mapTo(Long.class)
                         .one(); // TODO Handle non-existing sequence (see resetSequence)
             } else {
@@ -3088,7 +4050,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
                     if (seqExists.isPresent()) {
                         //
-                        Long newValue = seqExists.get() + 1;
+                        Long newValue = seqExists.get() + increment;
                         handle.createUpdate(sqlStatements.resetSequenceValue())
                                 .bind(0, sequenceName)
                                 .bind(1, newValue)
@@ -3097,9 +4059,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     } else {
                         handle.createUpdate(sqlStatements.insertSequenceValue())
                                 .bind(0, sequenceName)
-                                .bind(1, 1)
+                                .bind(1, increment)
                                 .execute();
-                        return 1L;
+                        return increment;
                     }
                 }
             }
@@ -3337,10 +4299,26 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 }
                 throw ex;
             }
+            updateArtifactBranchTipRaw(handle, gav, branchId);
         });
     }
 
 
+    /**
+     * Replaces the tip of the branch with its version that has the highest branch order.  A single upsert, so that
+     * concurrent transactions appending to the same branch can neither both insert the tip nor observe it missing.
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void updateArtifactBranchTipRaw(Handle handle, GA ga, BranchId branchId) {
+        handle.createUpdate(sqlStatements.upsertArtifactBranchTip())
+                .bind(0, ga.getRawGroupId())
+                .bind(1, ga.getRawArtifactId())
+                .bind(2, branchId.getRawBranchId())
+                .execute();
+    }
+
+
     @Override
     @Transactional
     public void createOrReplaceArtifactBranch(GA ga, BranchId branchId, List<VersionId> versions) {
@@ -3419,25 +4397,15 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
-    /**
-     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
-     */
-    private GAV getGAVByGlobalId(long globalId) {
-        return handles.withHandle(handle -> {
-            return handle.createQuery(sqlStatements.selectGAVByGlobalId())
-                    .bind(0, globalId)
-                    .map(GAVMapper.instance)
-                    .findOne()
-                    .orElseThrow(() -> new VersionNotFoundException(globalId));
-        });
-    }
-
-
     /**
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      */
     private void deleteAllArtifactBranchesInArtifact(GA ga) {
         handles.withHandleNoException(handle -> {
+            handle.createUpdate(sqlStatements.deleteAllArtifactBranchTipsInArtifact())
+                    .bind(0, ga.getRawGroupId())
+                    .bind(1, ga.getRawArtifactId())
+                    .execute();
             handle.createUpdate(sqlStatements.deleteAllArtifactBranchesInArtifact())
                     .bind(0, ga.getRawGroupId())
                     .bind(1, ga.getRawArtifactId())
@@ -3451,6 +4419,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      */
     private void deleteAllArtifactBranchesInGroup(GroupId groupId) {
         handles.withHandleNoException(handle -> {
+            handle.createUpdate(sqlStatements.deleteAllArtifactBranchTipsInGroup())
+                    .bind(0, groupId.getRawGroupId())
+                    .execute();
             handle.createUpdate(sqlStatements.deleteAllArtifactBranchesInGroup())
                     .bind(0, groupId.getRawGroupId())
                     .execute();
@@ -3467,6 +4438,12 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
         handles.withHandleNoException(handle -> {
 
+            handle.createUpdate(sqlStatements.deleteArtifactBranchTip())
+                    .bind(0, ga.getRawGroupId())
+                    .bind(1, ga.getRawArtifactId())
+                    .bind(2, branchId.getRawBranchId())
+                    .execute();
+
             var affected = handle.createUpdate(sqlStatements.deleteArtifactBranch())
                     .bind(0, ga.getRawGroupId())
                     .bind(1, ga.getRawArtifactId())
@@ -3524,6 +4501,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 }
                 throw ex;
             }
+            updateArtifactBranchTipRaw(handle, gav, branchId);
         });
     }
 
@@ -124,6 +124,14 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "UPDATE versions SET version = versionOrder WHERE globalId = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectVersionOrderByGlobalId()
+     */
+    @Override
+    public String selectVersionOrderByGlobalId() {
+        return "SELECT versionOrder FROM versions WHERE globalId = ?";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertVersion(boolean)
      */
@@ -132,10 +140,10 @@ public abstract class CommonSqlStatements implements SqlStatements {
         // TODO: Use COALESCE to unify into a single query.
         String query;
         if (firstVersion) {
-            query = "INSERT INTO versions (globalId, groupId, artifactId, version, versionOrder, state, name, description, createdBy, createdOn, labels, properties, contentId) VALUES (?, ?, ?, ?, 1, ?, ?, ?, ?, ?, ?, ?, ?)";
+            query = "INSERT INTO versions (globalId, groupId, artifactId, version, versionOrder, state, name, description, createdBy, createdOn, labels, properties, contentId, modifiedOn) VALUES (?, ?, ?, ?, 1, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         } else {
             // NOTE: Duplicated value of versionOrder is prevented by UQ_versions_2 constraint.
-            query = "INSERT INTO versions (globalId, groupId, artifactId, version, versionOrder, state, name, description, createdBy, createdOn, labels, properties, contentId) VALUES (?, ?, ?, ?, (SELECT MAX(versionOrder) + 1 FROM versions WHERE groupId = ? AND artifactId = ?), ?, ?, ?, ?, ?, ?, ?, ?)";
+            query = "INSERT INTO versions (globalId, groupId, artifactId, version, versionOrder, state, name, description, createdBy, createdOn, labels, properties, contentId, modifiedOn) VALUES (?, ?, ?, ?, (SELECT MAX(versionOrder) + 1 FROM versions WHERE groupId = ? AND artifactId = ?), ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         }
         return query;
     }
@@ -207,6 +215,28 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE v.groupId = ? AND v.artifactId = ? AND c.canonicalHash = ? ORDER BY v.globalId DESC";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionMetaDataByDereferencedHash()
+     */
+    @Override
+    public String selectArtifactVersionMetaDataByDereferencedHash() {
+        return "SELECT v.*, a.type FROM versions v "
+                + "JOIN content c ON v.contentId = c.contentId "
+                + "JOIN artifacts a ON v.groupId = a.groupId AND v.artifactId = a.artifactId "
+                + "WHERE v.groupId = ? AND v.artifactId = ? AND c.dereferencedHash = ? ORDER BY v.globalId DESC";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionContentWithoutDereferencedHash()
+     */
+    @Override
+    public String selectArtifactVersionContentWithoutDereferencedHash() {
+        return "SELECT v.globalId, v.version, v.versionOrder, v.contentId, c.content, c.artifactreferences FROM versions v "
+                + "JOIN content c ON v.contentId = c.contentId "
+                + "WHERE v.groupId = ? AND v.artifactId = ? AND (c.dereferencedHash IS NULL OR c.dereferencedHash = ?) "
+                + "ORDER BY v.globalId DESC";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionContentByGlobalId()
      */
@@ -236,6 +266,14 @@ public abstract class CommonSqlStatements implements SqlStatements {
     }
 
 
+    @Override
+    public String selectEnabledArtifactContentIdentities() {
+        return "SELECT v.contentId, c.contentHash FROM versions v "
+                + "JOIN content c ON c.contentId = v.contentId "
+                + "WHERE v.groupId = ? AND v.artifactId = ? AND v.state != 'DISABLED' ORDER BY v.versionOrder";
+    }
+
+
     @Override
     public String selectArtifactMetaData() {
         return "SELECT a.*, v.contentId, v.globalId, v.version, v.versionOrder, v.state, v.name, v.description, v.labels, v.properties, v.createdBy AS modifiedBy, v.createdOn AS modifiedOn "
@@ -324,7 +362,7 @@ public abstract class CommonSqlStatements implements SqlStatements {
      */
     @Override
     public String updateArtifactVersionMetaData() {
-        return "UPDATE versions SET name = ?, description = ?, labels = ?, properties = ? WHERE groupId = ? AND artifactId = ? AND version = ?";
+        return "UPDATE versions SET name = ?, description = ?, labels = ?, properties = ?, modifiedOn = ? WHERE groupId = ? AND artifactId = ? AND version = ?";
     }
 
     /**
@@ -505,7 +543,7 @@ public abstract class CommonSqlStatements implements SqlStatements {
     public String selectAllArtifactVersions() {
         return "SELECT v.*, a.type FROM versions v "
                 + "JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
-                + "WHERE a.groupId = ? AND a.artifactId = ? "
+                + "WHERE a.groupId = ? AND a.artifactId = ? AND v.globalId > ? "
                 + "ORDER BY v.globalId ASC LIMIT ? OFFSET ?";
     }
 
@@ -617,6 +655,68 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "UPDATE content SET canonicalHash = ? WHERE contentId = ? AND contentHash = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentWithoutDereferencedHash()
+     */
+    @Override
+    public String selectContentWithoutDereferencedHash() {
+        return "SELECT c.contentId, c.content, c.artifactreferences FROM content c "
+                + "WHERE c.contentId > ? AND c.dereferencedHash IS NULL AND EXISTS ("
+                + "SELECT 1 FROM versions v JOIN artifacts a ON v.groupId = a.groupId AND v.artifactId = a.artifactId "
+                + "WHERE v.contentId = c.contentId AND a.type = ?) "
+                + "ORDER BY c.contentId ASC";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateContentDereferencedHash()
+     */
+    @Override
+    public String updateContentDereferencedHash() {
+        return "UPDATE content SET dereferencedHash = ? WHERE contentId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#resetContentDereferencedHash()
+     */
+    @Override
+    public String resetContentDereferencedHash() {
+        return "UPDATE content SET dereferencedHash = NULL WHERE contentId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentIdsReferencingContent()
+     */
+    @Override
+    public String selectContentIdsReferencingContent() {
+        return "SELECT ar.contentId FROM versions v "
+                + "JOIN artifactreferences ar ON ar.groupId = v.groupId AND ar.artifactId = v.artifactId AND ar.version = v.version "
+                + "WHERE v.contentId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectVersionSearchIndexEntries()
+     */
+    @Override
+    public String selectVersionSearchIndexEntries() {
+        return "SELECT v.globalId, v.groupId, v.artifactId, v.name, v.description, v.labels, v.properties FROM versions v WHERE v.globalId > ? ORDER BY v.globalId ASC";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectVersionSearchIndexEntriesModifiedSince()
+     */
+    @Override
+    public String selectVersionSearchIndexEntriesModifiedSince() {
+        return "SELECT v.globalId, v.groupId, v.artifactId, v.name, v.description, v.labels, v.properties FROM versions v WHERE v.modifiedOn >= ? AND v.globalId > ? ORDER BY v.globalId ASC";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#versionGlobalIdIn()
+     */
+    @Override
+    public String versionGlobalIdIn() {
+        return "v.globalId = ANY(?)";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertGroup()
      */
@@ -682,7 +782,22 @@ public abstract class CommonSqlStatements implements SqlStatements {
     public String exportArtifactVersions() {
         return "SELECT v.*, a.type " +
                 "FROM versions v " +
-                "JOIN artifacts a ON  v.groupId = a.groupId AND v.artifactId = a.artifactId ";
+                "JOIN artifacts a ON  v.groupId = a.groupId AND v.artifactId = a.artifactId " +
+                "WHERE (v.groupId > ? OR (v.groupId = ? AND v.artifactId >= ?)) " +
+                "AND (v.groupId < ? OR (v.groupId = ? AND v.artifactId < ?)) " +
+                "ORDER BY v.groupId ASC, v.artifactId ASC, v.versionOrder ASC";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#exportArtifactVersionsFrom()
+     */
+    @Override
+    public String exportArtifactVersionsFrom() {
+        return "SELECT v.*, a.type " +
+                "FROM versions v " +
+                "JOIN artifacts a ON  v.groupId = a.groupId AND v.artifactId = a.artifactId " +
+                "WHERE v.groupId > ? OR (v.groupId = ? AND v.artifactId >= ?) " +
+                "ORDER BY v.groupId ASC, v.artifactId ASC, v.versionOrder ASC";
     }
 
     /**
@@ -698,7 +813,9 @@ public abstract class CommonSqlStatements implements SqlStatements {
      */
     @Override
     public String exportContent() {
-        return "SELECT c.contentId, c.canonicalHash, c.contentHash, c.content, c.artifactreferences FROM content c ";
+        return "SELECT c.contentId, c.canonicalHash, c.contentHash, c.content, c.artifactreferences FROM content c " +
+                "WHERE c.contentId > ? AND c.contentId <= ? " +
+                "ORDER BY c.contentId ASC";
     }
 
     /**
@@ -723,6 +840,22 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "SELECT * FROM artifact_branches ab";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentIdBounds()
+     */
+    @Override
+    public String selectContentIdBounds() {
+        return "SELECT MIN(contentId), MAX(contentId) FROM content ";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactKeys()
+     */
+    @Override
+    public String selectArtifactKeys() {
+        return "SELECT a.groupId, a.artifactId FROM artifacts a ORDER BY a.groupId ASC, a.artifactId ASC";
+    }
+
 
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#importArtifactRule()
@@ -737,8 +870,8 @@ public abstract class CommonSqlStatements implements SqlStatements {
      */
     @Override
     public String importArtifactVersion() {
-        return "INSERT INTO versions (globalId, groupId, artifactId, version, versionOrder, state, name, description, createdBy, createdOn, labels, properties, contentId) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        return "INSERT INTO versions (globalId, groupId, artifactId, version, versionOrder, state, name, description, createdBy, createdOn, labels, properties, contentId, modifiedOn) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     }
 
     /**
@@ -746,7 +879,7 @@ public abstract class CommonSqlStatements implements SqlStatements {
      */
     @Override
     public String importContent() {
-        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences) VALUES (?, ?, ?, ?, ?)";
+        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash) VALUES (?, ?, ?, ?, ?, ?)";
     }
 
     /**
@@ -965,6 +1098,35 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "SELECT contentId FROM artifactreferences WHERE groupId=? AND artifactId=? AND version=?";
     }
 
+    @Override
+    public String selectContentIdsReferencingArtifact() {
+        return "SELECT contentId FROM artifactreferences WHERE groupId=? AND artifactId=?";
+    }
+
+    @Override
+    public String selectContentIdsReferencingGroup() {
+        return "SELECT contentId FROM artifactreferences WHERE groupId=?";
+    }
+
+    @Override
+    public String selectContentIdsByDereferencedHashReferencingArtifactBy() {
+        return "SELECT ar.contentId FROM content c JOIN artifactreferences ar ON ar.contentId = c.contentId "
+                + "WHERE c.dereferencedHash = ? AND ar.groupId = ? AND ar.artifactId = ? AND ar.version = ?";
+    }
+
+    @Override
+    public String selectReferencedContent(int referenceCount) {
+        StringBuilder builder = new StringBuilder("SELECT v.groupId, v.artifactId, v.version, c.content, c.artifactreferences FROM versions v "
+                + "JOIN content c ON v.contentId = c.contentId WHERE ");
+        for (int i = 0; i < referenceCount; i++) {
+            if (i > 0) {
+                builder.append(" OR ");
+            }
+            builder.append("(v.groupId = ? AND v.artifactId = ? AND v.version = ?)");
+        }
+        return builder.toString();
+    }
+
     @Override
     public String selectGlobalIdsReferencingArtifactBy() {
         return "SELECT DISTINCT v.globalId FROM versions v JOIN artifactreferences ar ON v.contentId=ar.contentId WHERE ar.groupId=? AND ar.artifactId=? AND ar.version=?";
@@ -1050,9 +1212,8 @@ public abstract class CommonSqlStatements implements SqlStatements {
 
     @Override
     public String selectArtifactBranchTip() {
-        return "SELECT ab.groupId, ab.artifactId, ab.version FROM artifact_branches ab " +
-                "WHERE ab.groupId = ? AND ab.artifactId = ? AND ab.branchId = ? " +
-                "ORDER BY ab.branchOrder DESC LIMIT 1";
+        return "SELECT bt.groupId, bt.artifactId, bt.version FROM branch_tips bt " +
+                "WHERE bt.groupId = ? AND bt.artifactId = ? AND bt.branchId = ?";
     }
 
 
@@ -1112,4 +1273,60 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "INSERT INTO artifact_branches (groupId, artifactId, branchId, branchOrder, version) " +
                 "VALUES(?, ?, ?, ?, ?)";
     }
+
+
+    @Override
+    public String deleteArtifactBranchTip() {
+        return "DELETE FROM branch_tips " +
+                "WHERE groupId = ? AND artifactId = ? AND branchId = ?";
+    }
+
+
+    @Override
+    public String deleteVersionInArtifactBranchTips() {
+        return "DELETE FROM branch_tips " +
+                "WHERE groupId = ? AND artifactId = ? AND version = ?";
+    }
+
+
+    @Override
+    public String deleteAllArtifactBranchTipsInArtifact() {
+        return "DELETE FROM branch_tips " +
+                "WHERE groupId = ? AND artifactId = ?";
+    }
+
+
+    @Override
+    public String deleteAllArtifactBranchTipsInGroup() {
+        return "DELETE FROM branch_tips " +
+                "WHERE groupId = ?";
+    }
+
+
+    @Override
+    public String deleteAllArtifactBranchTips() {
+        return "DELETE FROM branch_tips";
+    }
+
+
+    @Override
+    public String insertMissingArtifactBranchTips() {
+        return "INSERT INTO branch_tips (groupId, artifactId, branchId, branchOrder, version) " +
+                "SELECT ab.groupId, ab.artifactId, ab.branchId, ab.branchOrder, ab.version FROM artifact_branches ab " +
+                "WHERE ab.groupId = ? AND ab.artifactId = ? " +
+                "AND ab.branchOrder = (SELECT MAX(ab2.branchOrder) FROM artifact_branches ab2 WHERE ab2.groupId = ab.groupId AND ab2.artifactId = ab.artifactId AND ab2.branchId = ab.branchId) " +
+                "AND NOT EXISTS (SELECT 1 FROM branch_tips bt WHERE bt.groupId = ab.groupId AND bt.artifactId = ab.artifactId AND bt.branchId = ab.branchId)";
+    }
+
+
+    @Override
+    public String upsertArtifactBranchTip() {
+        return "MERGE INTO branch_tips bt USING (" +
+                "SELECT ab.groupId, ab.artifactId, ab.branchId, ab.branchOrder, ab.version FROM artifact_branches ab " +
+                "WHERE ab.groupId = ? AND ab.artifactId = ? AND ab.branchId = ? " +
+                "AND ab.branchOrder = (SELECT MAX(ab2.branchOrder) FROM artifact_branches ab2 WHERE ab2.groupId = ab.groupId AND ab2.artifactId = ab.artifactId AND ab2.branchId = ab.branchId)) s " +
+                "ON (bt.groupId = s.groupId AND bt.artifactId = s.artifactId AND bt.branchId = s.branchId) " +
+                "WHEN MATCHED AND bt.branchOrder <= s.branchOrder THEN UPDATE SET branchOrder = s.branchOrder, version = s.version " +
+                "WHEN NOT MATCHED THEN INSERT (groupId, artifactId, branchId, branchOrder, version) VALUES (s.groupId, s.artifactId, s.branchId, s.branchOrder, s.version)";
+    }
 }
@@ -0,0 +1,69 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.common.apps.config.Info;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.util.Optional;
+
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+/**
+ * Periodically computes the dereferenced content hash of the content rows that do not have one yet,
+ * e.g. content created by an older version of the registry or imported from an export.
+ * New content gets its hash when it is created, so once the existing rows have been processed
+ * a run only has to check that there is nothing left to do.  Content that can not be dereferenced is marked
+ * as such (see {@link RegistryStorageContentUtils#NOT_DEREFERENCEABLE_CONTENT_HASH}) so it is only processed once.
+ * So is content referencing versions that do not exist (see {@link RegistryStorageContentUtils#UNRESOLVED_REFERENCES_CONTENT_HASH}),
+ * until one of them is created.  The hash of content is also cleared when a version it references is deleted.
+ * <p>
+ * The same storage is used by the SQL and KafkaSQL storage kinds (KafkaSQL nodes each fill in their own copy).
+ *
+ */
+@ApplicationScoped
+public class DereferencedContentHashBackfill {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    SqlRegistryStorage storage;
+
+    @Inject
+    RegistryStorageContentUtils utils;
+
+    @ConfigProperty(name = "registry.sql.dereferenced-hash.backfill.batch-size", defaultValue = "100")
+    @Info(category = "storage", description = "Number of content rows processed per transaction when computing missing dereferenced content hashes", availableSince = "3.0.0")
+    int batchSize;
+
+    @Scheduled(delay = 1, concurrentExecution = SKIP, every = "{registry.sql.dereferenced-hash.backfill.every}")
+    void run() {
+        try {
+            if (storage.isReady()) {
+                for (String artifactType : utils.getDereferencedContentHashArtifactTypes()) {
+                    backfill(artifactType);
+                }
+            } else {
+                log.debug("Skipping dereferenced content hash backfill job because the storage is not ready.");
+            }
+        } catch (Exception ex) {
+            log.error("Exception thrown when running dereferenced content hash backfill job", ex);
+        }
+    }
+
+    private void backfill(String artifactType) {
+        long cursor = 0;
+        int batches = 0;
+        Optional<Long> last;
+        while ((last = storage.backfillDereferencedContentHashes(artifactType, cursor, batchSize)).isPresent()) {
+            cursor = last.get();
+            batches++;
+        }
+        if (batches > 0) {
+            log.debug("Processed {} batch(es) of {} content missing a dereferenced content hash.", batches, artifactType);
+        }
+    }
+}
@@ -16,5 +16,22 @@ public interface HandleFactory {
 
     <R, X extends Exception> R withHandleNoException(HandleCallback<R, X> callback);
 
+    /**
+     * Execute an operation using a new database handle, even if called within the callback of another one.
+     * <p>
+     * The calls nested in the operation use the new handle, the enclosing handle is used again once the operation
+     * returns.  Combined with a new transaction, this allows to commit independently of the enclosing transaction.
+     */
+    <R, X extends Exception> R withNewHandle(HandleCallback<R, X> callback) throws X;
+
+    /**
+     * Execute a read-only operation in a database transaction of its own, with the given isolation level
+     * (see {@link java.sql.Connection#setTransactionIsolation(int)}).
+     * <p>
+     * The calls nested in the operation use the same handle, so that all of them read within the transaction,
+     * which is rolled back once the operation returns.  Must not be called within a transaction context.
+     */
+    <R, X extends Exception> R withReadTransaction(int isolationLevel, HandleCallback<R, X> callback) throws X;
+
     <X extends Exception> void withHandleNoException(HandleAction<X> callback);
 }
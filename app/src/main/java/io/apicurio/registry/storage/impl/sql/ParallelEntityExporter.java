@@ -0,0 +1,141 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.apicurio.registry.utils.impexp.EntityType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads the entities of an export on a pool of threads and hands them, one at a time, to the export handler on
+ * the calling thread.
+ * <p>
+ * Each reader typically streams one entity type (or one range of it) with its own connection.  The
+ * readers are decoupled from the handler (which serializes and compresses the entities) by a bounded queue, so
+ * a slow handler throttles the readers rather than piling up entities in memory.
+ *
+ */
+public class ParallelEntityExporter implements AutoCloseable {
+
+    /**
+     * Reads a set of entities, passing them to the sink.
+     */
+    @FunctionalInterface
+    public interface EntityReader {
+
+        void read(Consumer<Entity> sink) throws Exception;
+    }
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final ExecutorService executor;
+    private final BlockingQueue<Entity> queue;
+    private final Function<Entity, Void> handler;
+    private final Map<EntityType, Long> exported = new EnumMap<>(EntityType.class);
+
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor.
+     * @param threads number of readers running at the same time
+     * @param queueCapacity number of entities read ahead of the handler
+     * @param handler the export handler
+     */
+    public ParallelEntityExporter(int threads, int queueCapacity, Function<Entity, Void> handler) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "registry-export-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.handler = handler;
+    }
+
+    /**
+     * Runs the readers and passes the entities they read to the handler, returns when all of them are done.
+     * The entities of different readers are interleaved in no particular order.
+     */
+    public void run(List<EntityReader> readers) throws RegistryStorageException {
+        List<Future<?>> futures = new ArrayList<>(readers.size());
+        for (EntityReader reader : readers) {
+            futures.add(executor.submit(() -> {
+                try {
+                    reader.read(this::put);
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                    cancelled = true;
+                }
+            }));
+        }
+        try {
+            while (failure.get() == null) {
+                Entity entity = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (entity != null) {
+                    handler.apply(entity);
+                    exported.merge(entity.getEntityType(), 1L, Long::sum);
+                } else if (futures.stream().allMatch(Future::isDone) && queue.isEmpty()) {
+                    // Readers only finish after their last entity is queued, so the queue is now drained for good
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+            throw new RegistryStorageException("Export interrupted", e);
+        } catch (RuntimeException e) {
+            cancelled = true;
+            throw e;
+        }
+        if (failure.get() != null) {
+            throw new RegistryStorageException(failure.get());
+        }
+    }
+
+    /**
+     * Returns the number of entities handled so far, by type.
+     */
+    public Map<EntityType, Long> getExported() {
+        return exported;
+    }
+
+    private void put(Entity entity) {
+        try {
+            while (!cancelled) {
+                if (queue.offer(entity, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new CancellationException();
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Stops a reader once the export has been cancelled.
+     */
+    private static class CancellationException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
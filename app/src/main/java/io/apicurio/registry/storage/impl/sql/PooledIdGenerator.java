@@ -0,0 +1,119 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * An {@link IdGenerator} that reserves blocks of ids from a database sequence and hands them
+ * out from memory (hi/lo allocation).
+ * <p>
+ * The block allocator is given the number of ids to reserve and must return the new (highest)
+ * value of the sequence, so the ids <code>[hi - blockSize + 1, hi]</code> belong to this generator.
+ * Ids are dispensed without locking, by a compare-and-set on the next id of the current block.
+ * Only the thread that finds the current block exhausted takes the lock and goes to the database
+ * to reserve the next one.  {@link #reset()} closes the current block, so that no id of the dropped
+ * block is handed out once it returns.
+ * <p>
+ * A block outlives the transaction that reserves it, so the allocator must commit the new value of the
+ * sequence on its own, otherwise a rollback would let the same ids be reserved again.
+ * Ids reserved but not handed out are lost when the application stops, so sequences may have gaps.
+ * When several registry nodes share the database, ids are unique but no longer monotonic across nodes.
+ * With a block size of 1 every call goes straight to the allocator, which is the original behavior.
+ */
+public class PooledIdGenerator implements IdGenerator {
+
+    private static final Block EMPTY = new Block(1, 0);
+
+    private final int blockSize;
+    private final LongUnaryOperator blockAllocator;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(EMPTY);
+
+    /**
+     * @param blockSize      number of ids to reserve per round trip to the database
+     * @param blockAllocator increments the sequence by the given amount and returns its new value
+     */
+    public PooledIdGenerator(int blockSize, LongUnaryOperator blockAllocator) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1, was: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.blockAllocator = blockAllocator;
+    }
+
+    @Override
+    public Long generate() {
+        if (blockSize == 1) {
+            return blockAllocator.applyAsLong(1);
+        }
+        while (true) {
+            Block block = current.get();
+            long id = block.next();
+            if (id != -1) {
+                return id;
+            }
+            id = refill(block);
+            if (id != -1) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Drops the ids remaining in the current block, e.g. after the sequence has been reset.
+     * Waits for a block being reserved, which is dropped as well.
+     */
+    public synchronized void reset() {
+        current.getAndSet(EMPTY).close();
+    }
+
+    /**
+     * Reserves a new block, unless another thread already did while we were waiting.
+     *
+     * @return the first id of the new block, or -1 if another thread replaced the exhausted block
+     */
+    private synchronized long refill(Block exhausted) {
+        if (current.get() != exhausted) {
+            return -1;
+        }
+        long hi = blockAllocator.applyAsLong(blockSize);
+        long first = hi - blockSize + 1;
+        // The first id is taken before the block is published, so it is not lost to a reset
+        current.set(new Block(first + 1, hi));
+        return first;
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long max;
+
+        Block(long first, long max) {
+            this.next = new AtomicLong(first);
+            this.max = max;
+        }
+
+        /**
+         * @return the next id of this block, or -1 when the block is exhausted (or closed)
+         */
+        long next() {
+            while (true) {
+                long id = next.get();
+                if (id > max) {
+                    return -1;
+                }
+                if (next.compareAndSet(id, id + 1)) {
+                    return id;
+                }
+            }
+        }
+
+        /**
+         * Exhausts the block, ids taken before this call are still valid.
+         */
+        void close() {
+            next.set(Long.MAX_VALUE);
+        }
+    }
+}
@@ -49,7 +49,7 @@ public class PostgreSQLSqlStatements extends CommonSqlStatements {
      */
     @Override
     public String upsertContent() {
-        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences) VALUES (?, ?, ?, ?, ?) ON CONFLICT (contentHash) DO NOTHING";
+        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash) VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (contentHash) DO NOTHING";
     }
 
     /**
@@ -57,7 +57,7 @@ public class PostgreSQLSqlStatements extends CommonSqlStatements {
      */
     @Override
     public String getNextSequenceValue() {
-        return "INSERT INTO sequences (name, value) VALUES (?, 1) ON CONFLICT (name) DO UPDATE SET value = sequences.value + 1 RETURNING value";
+        return "INSERT INTO sequences (name, value) VALUES (?, ?) ON CONFLICT (name) DO UPDATE SET value = sequences.value + EXCLUDED.value RETURNING value";
     }
 
     /**
@@ -75,4 +75,17 @@ public class PostgreSQLSqlStatements extends CommonSqlStatements {
     public String upsertReference() {
         return "INSERT INTO artifactreferences (contentId, groupId, artifactId, version, name) VALUES (?, ?, ?, ?, ?) ON CONFLICT (contentId, name) DO NOTHING";
     }
+
+    /**
+     * @see SqlStatements#upsertArtifactBranchTip()
+     */
+    @Override
+    public String upsertArtifactBranchTip() {
+        return "INSERT INTO branch_tips (groupId, artifactId, branchId, branchOrder, version) " +
+                "SELECT ab.groupId, ab.artifactId, ab.branchId, ab.branchOrder, ab.version FROM artifact_branches ab " +
+                "WHERE ab.groupId = ? AND ab.artifactId = ? AND ab.branchId = ? " +
+                "AND ab.branchOrder = (SELECT MAX(ab2.branchOrder) FROM artifact_branches ab2 WHERE ab2.groupId = ab.groupId AND ab2.artifactId = ab.artifactId AND ab2.branchId = ab.branchId) " +
+                "ON CONFLICT (groupId, artifactId, branchId) DO UPDATE SET branchOrder = EXCLUDED.branchOrder, version = EXCLUDED.version " +
+                "WHERE branch_tips.branchOrder <= EXCLUDED.branchOrder";
+    }
 }
\ No newline at end of file
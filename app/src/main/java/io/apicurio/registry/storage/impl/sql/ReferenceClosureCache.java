@@ -0,0 +1,85 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of resolved reference closures (the content of all the versions transitively referenced by a content).
+ * <p>
+ * The references of a content never change, so a closure is keyed by the reference list of the content, which
+ * serves every content having the same references, and the callers only holding references.  Only complete
+ * closures are cached: a version created later can not change them, only a delete can.  Every delete clears the
+ * cache, and a closure read while a delete was in progress is not cached (see {@link #generation()}).
+ * <p>
+ * The cache is bounded by the (approximate) size of the cached content in bytes rather than by the number of entries.
+ *
+ */
+public class ReferenceClosureCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final Cache<List<ArtifactReferenceDto>, Map<String, ContentHandle>> closures;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param maxSizeBytes maximum total size of the cached content
+     */
+    public ReferenceClosureCache(long maxSizeBytes) {
+        this.closures = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher(ReferenceClosureCache::weigh)
+                .build();
+    }
+
+    /**
+     * Returns the number of invalidations so far.  Must be read before the closure is resolved, and passed to
+     * {@link #put(List, Map, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Returns a copy of the cached closure of the given references, or null.
+     */
+    public Map<String, ContentHandle> get(List<ArtifactReferenceDto> references) {
+        Map<String, ContentHandle> closure = closures.getIfPresent(references);
+        return closure != null ? new LinkedHashMap<>(closure) : null;
+    }
+
+    /**
+     * Caches the complete closure of the given references, unless the cache was invalidated since the given
+     * generation was read (the closure may contain deleted versions).
+     */
+    public void put(List<ArtifactReferenceDto> references, Map<String, ContentHandle> closure, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        List<ArtifactReferenceDto> key = List.copyOf(references);
+        closures.put(key, new LinkedHashMap<>(closure));
+        // An invalidation may have happened between the check and the put
+        if (this.generation.get() != generation) {
+            closures.invalidate(key);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        closures.invalidateAll();
+    }
+
+    private static int weigh(List<ArtifactReferenceDto> references, Map<String, ContentHandle> closure) {
+        long weight = (long) ENTRY_OVERHEAD_BYTES * references.size();
+        for (ContentHandle content : closure.values()) {
+            weight += ENTRY_OVERHEAD_BYTES + content.getSizeBytes();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
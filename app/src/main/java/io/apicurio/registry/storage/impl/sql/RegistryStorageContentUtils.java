@@ -3,6 +3,7 @@ package io.apicurio.registry.storage.impl.sql;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
+import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.RegistryException;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
 import io.apicurio.registry.util.ArtifactTypeUtil;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -26,6 +28,20 @@ import java.util.function.Function;
 @ApplicationScoped
 public class RegistryStorageContentUtils {
 
+    private static final Set<String> DEREFERENCED_CONTENT_HASH_ARTIFACT_TYPES = Set.of(ArtifactType.AVRO);
+
+    /**
+     * Dereferenced content hash recorded for content that can not be dereferenced, so that it is not processed
+     * again.  Never matches an actual (hex) hash.
+     */
+    public static final String NOT_DEREFERENCEABLE_CONTENT_HASH = "-";
+
+    /**
+     * Dereferenced content hash recorded for content referencing versions that do not exist, so that it is not
+     * processed again until one of them is created.  Never matches an actual (hex) hash.
+     */
+    public static final String UNRESOLVED_REFERENCES_CONTENT_HASH = "?";
+
     @Inject
     ArtifactTypeUtilProviderFactory factory;
 
@@ -87,6 +103,40 @@ public class RegistryStorageContentUtils {
     }
 
 
+    /**
+     * Returns the artifact types for which the storage maintains the hash of the dereferenced content.
+     * It is used to look up versions by content that has its references inlined, which is only done for Avro.
+     */
+    public Set<String> getDereferencedContentHashArtifactTypes() {
+        return DEREFERENCED_CONTENT_HASH_ARTIFACT_TYPES;
+    }
+
+
+    public boolean isDereferencedContentHashSupported(String artifactType) {
+        return DEREFERENCED_CONTENT_HASH_ARTIFACT_TYPES.contains(artifactType);
+    }
+
+
+    /**
+     * Returns the hash of the given content with its references dereferenced,
+     * or null if the artifact type is not supported or the content could not be dereferenced.
+     */
+    public String getDereferencedContentHash(String artifactType, ContentHandle content, Map<String, ContentHandle> resolvedReferences) {
+        if (!isDereferencedContentHashSupported(artifactType)) {
+            return null;
+        }
+        try {
+            ContentHandle dereferenced = factory.getArtifactTypeProvider(artifactType)
+                    .getContentDereferencer()
+                    .dereference(content, resolvedReferences);
+            return DigestUtils.sha256Hex(dereferenced.content());
+        } catch (Exception ex) {
+            log.debug("Failed to dereference content: {}", content.content());
+            return null;
+        }
+    }
+
+
     /**
      * @param references may be null
      */
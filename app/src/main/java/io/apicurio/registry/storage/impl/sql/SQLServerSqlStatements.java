@@ -45,6 +45,14 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
         return "SELECT count(*) AS count FROM information_schema.tables WHERE table_name = 'artifacts'";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#versionGlobalIdIn()
+     */
+    @Override
+    public String versionGlobalIdIn() {
+        return "v.globalId IN (SELECT CAST(value AS BIGINT) FROM STRING_SPLIT(?, ','))";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#upsertContent()
      */
@@ -52,11 +60,11 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
     public String upsertContent() {
         return String.join(" ",
                 "MERGE INTO content AS target",
-                "USING (VALUES (?, ?, ?, ?, ?)) AS source (contentId, canonicalHash, contentHash, content, artifactreferences)",
+                "USING (VALUES (?, ?, ?, ?, ?, ?)) AS source (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash)",
                 "ON (target.contentHash = source.contentHash)",
                 "WHEN NOT MATCHED THEN",
-                    "INSERT (contentId, canonicalHash, contentHash, content, artifactreferences)",
-                    "VALUES (source.contentId, source.canonicalHash, source.contentHash, source.content, source.artifactreferences);");
+                    "INSERT (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash)",
+                    "VALUES (source.contentId, source.canonicalHash, source.contentHash, source.content, source.artifactreferences, source.dereferencedHash);");
     }
 
     /**
@@ -66,13 +74,13 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
     public String getNextSequenceValue() {
         return String.join(" ",
                 "MERGE INTO sequences AS target",
-                "USING (VALUES  (?)) AS source (name)",
+                "USING (VALUES (?, ?)) AS source (name, value)",
                 "ON (target.name = source.name)",
                 "WHEN MATCHED THEN",
-                    "UPDATE SET value = target.value + 1",
+                    "UPDATE SET value = target.value + source.value",
                 "WHEN NOT MATCHED THEN",
                     "INSERT (name, value)",
-                    "VALUES (source.name, 1)",
+                    "VALUES (source.name, source.value)",
                 "OUTPUT INSERTED.value;");
     }
 
@@ -127,7 +135,7 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
     public String selectAllArtifactVersions() {
         return "SELECT v.*, a.type FROM versions v "
                 + "JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
-                + "WHERE a.groupId = ? AND a.artifactId = ? "
+                + "WHERE a.groupId = ? AND a.artifactId = ? AND v.globalId > ? "
                 + "ORDER BY v.globalId ASC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
     }
 
@@ -142,14 +150,6 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
     }
 
 
-    @Override
-    public String selectArtifactBranchTip() {
-        return "SELECT ab.groupId, ab.artifactId, ab.version FROM artifact_branches ab " +
-                "WHERE ab.groupId = ? AND ab.artifactId = ? AND ab.branchId = ? " +
-                "ORDER BY ab.branchOrder DESC OFFSET 0 ROWS FETCH NEXT 1 ROWS ONLY";
-    }
-
-
     @Override
     public String selectArtifactBranchTipNotDisabled() {
         return "SELECT ab.groupId, ab.artifactId, ab.version FROM artifact_branches ab " +
@@ -157,4 +157,19 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
                 "WHERE ab.groupId = ? AND ab.artifactId = ? AND ab.branchId = ? AND v.state != 'DISABLED' " +
                 "ORDER BY ab.branchOrder DESC OFFSET 0 ROWS FETCH NEXT 1 ROWS ONLY";
     }
+
+    /**
+     * @see SqlStatements#upsertArtifactBranchTip()
+     */
+    @Override
+    public String upsertArtifactBranchTip() {
+        // HOLDLOCK makes the MERGE atomic, concurrent transactions could otherwise both insert the missing tip
+        return "MERGE INTO branch_tips WITH (HOLDLOCK) AS bt USING (" +
+                "SELECT ab.groupId, ab.artifactId, ab.branchId, ab.branchOrder, ab.version FROM artifact_branches ab " +
+                "WHERE ab.groupId = ? AND ab.artifactId = ? AND ab.branchId = ? " +
+                "AND ab.branchOrder = (SELECT MAX(ab2.branchOrder) FROM artifact_branches ab2 WHERE ab2.groupId = ab.groupId AND ab2.artifactId = ab.artifactId AND ab2.branchId = ab.branchId)) AS s " +
+                "ON (bt.groupId = s.groupId AND bt.artifactId = s.artifactId AND bt.branchId = s.branchId) " +
+                "WHEN MATCHED AND bt.branchOrder <= s.branchOrder THEN UPDATE SET branchOrder = s.branchOrder, version = s.version " +
+                "WHEN NOT MATCHED THEN INSERT (groupId, artifactId, branchId, branchOrder, version) VALUES (s.groupId, s.artifactId, s.branchId, s.branchOrder, s.version);";
+    }
 }
@@ -0,0 +1,555 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.model.GA;
+import io.apicurio.registry.model.GAV;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.storage.impl.sql.jdb.Handle;
+import io.apicurio.registry.storage.impl.sql.jdb.Update;
+import io.apicurio.registry.storage.importing.AbstractDataImporter;
+import io.apicurio.registry.types.RegistryException;
+import io.apicurio.registry.utils.impexp.*;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.apicurio.registry.storage.impl.sql.SqlUtil.normalizeGroupId;
+
+/**
+ * Imports data into an empty SQL storage, writing the rows of every table in JDBC batches instead of one entity
+ * (and one round trip per row) at a time.
+ * <p>
+ * The content is hashed and canonicalized on a pool of threads while the import stream is read.  Versions wait
+ * (in memory) for their content, and the comments, branches and artifact rules are written in a final pass,
+ * once all the versions are known.  Content that references other artifacts and lacks a canonical hash (only the
+ * case in very old exports) is canonicalized in that final pass too, since its references can only be resolved
+ * once the referenced versions are imported.
+ * <p>
+ * Unlike {@link io.apicurio.registry.storage.importing.SqlDataImporter}, a failing row fails the whole import.  The
+ * caller runs the import in a single transaction, so that a failed import can be retried on the still empty
+ * registry: all the reads of the importer that need to see the imported rows are made on the calling thread.
+ *
+ */
+public class SqlBulkDataImporter extends AbstractDataImporter {
+
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private final RegistryStorageContentUtils utils;
+    private final AbstractSqlRegistryStorage storage;
+    private final HandleFactory handles;
+    private final SqlStatements sqlStatements;
+    private final boolean preserveGlobalId;
+    private final boolean preserveContentId;
+    private final int batchSize;
+    private final int threads;
+
+    private ExecutorService executor;
+
+    // ID remapping
+    private final Map<Long, Long> globalIdMapping = new HashMap<>();
+    private final Map<Long, Long> contentIdMapping = new HashMap<>();
+
+    // Rows waiting for the next batch, written in this order
+    private final List<ContentEntity> pendingContent = new ArrayList<>();
+    private final List<CompletableFuture<Void>> pendingCanonicalization = new ArrayList<>();
+    private final List<ArtifactVersionEntity> pendingArtifacts = new ArrayList<>();
+    private final List<ArtifactVersionEntity> pendingVersions = new ArrayList<>();
+    private final List<GroupEntity> pendingGroups = new ArrayList<>();
+    private final List<GlobalRuleEntity> pendingGlobalRules = new ArrayList<>();
+
+    // Versions whose content has not been imported yet, by (old) contentId
+    private final Map<Long, List<ArtifactVersionEntity>> waitingForContent = new HashMap<>();
+
+    // Written in the final pass
+    private final List<CommentEntity> comments = new ArrayList<>();
+    private final List<ArtifactBranchEntity> branches = new ArrayList<>();
+    private final List<ArtifactRuleEntity> artifactRules = new ArrayList<>();
+    private final List<ContentEntity> contentToCanonicalize = new ArrayList<>();
+
+    private final Set<GA> artifactsDone = new HashSet<>();
+    private final Set<GAV> gavDone = new HashSet<>();
+
+    private final Map<EntityType, Long> imported = new EnumMap<>(EntityType.class);
+    private Instant lastProgress = Instant.now();
+
+    public SqlBulkDataImporter(Logger logger, RegistryStorageContentUtils utils, AbstractSqlRegistryStorage storage,
+                               HandleFactory handles, SqlStatements sqlStatements, boolean preserveGlobalId,
+                               boolean preserveContentId, int batchSize, int threads) {
+        super(logger);
+        this.utils = utils;
+        this.storage = storage;
+        this.handles = handles;
+        this.sqlStatements = sqlStatements;
+        this.preserveGlobalId = preserveGlobalId;
+        this.preserveContentId = preserveContentId;
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = Math.max(1, threads);
+    }
+
+
+    @Override
+    protected void importArtifactRule(ArtifactRuleEntity entity) {
+        artifactRules.add(entity);
+    }
+
+
+    @Override
+    protected void importArtifactVersion(ArtifactVersionEntity entity) {
+        if (!contentIdMapping.containsKey(entity.contentId)) {
+            waitingForContent.computeIfAbsent(entity.contentId, k -> new ArrayList<>()).add(entity);
+            return;
+        }
+        entity.contentId = contentIdMapping.get(entity.contentId);
+
+        var oldGlobalId = entity.globalId;
+        if (!preserveGlobalId) {
+            entity.globalId = storage.nextGlobalId();
+        }
+        globalIdMapping.put(oldGlobalId, entity.globalId);
+        gavDone.add(new GAV(entity.groupId, entity.artifactId, entity.version));
+        if (artifactsDone.add(new GA(entity.groupId, entity.artifactId))) {
+            pendingArtifacts.add(entity);
+        }
+        pendingVersions.add(entity);
+        flushIfFull();
+    }
+
+
+    @Override
+    protected void importComment(CommentEntity entity) {
+        comments.add(entity);
+    }
+
+
+    @Override
+    protected void importContent(ContentEntity entity) {
+        var oldContentId = entity.contentId;
+        if (!preserveContentId) {
+            entity.contentId = storage.nextContentId();
+        }
+        contentIdMapping.put(oldContentId, entity.contentId);
+
+        // We do not need canonicalHash if we have artifactType
+        if (entity.canonicalHash == null && entity.artifactType != null) {
+            if (SqlUtil.deserializeReferences(entity.serializedReferences).isEmpty()) {
+                pendingCanonicalization.add(CompletableFuture.runAsync(() -> {
+                    ContentHandle canonicalContent = utils.canonicalizeContent(entity.artifactType,
+                            ContentHandle.create(entity.contentBytes), Map.of());
+                    entity.canonicalHash = DigestUtils.sha256Hex(canonicalContent.bytes());
+                }, executor));
+            } else {
+                // Fixed up in the final pass, when the references can be resolved
+                entity.canonicalHash = entity.contentHash;
+                contentToCanonicalize.add(entity);
+            }
+        }
+        pendingContent.add(entity);
+
+        List<ArtifactVersionEntity> versions = waitingForContent.remove(oldContentId);
+        if (versions != null) {
+            versions.forEach(this::importArtifactVersion);
+        }
+        flushIfFull();
+    }
+
+
+    @Override
+    protected void importGlobalRule(GlobalRuleEntity entity) {
+        pendingGlobalRules.add(entity);
+    }
+
+
+    @Override
+    protected void importGroup(GroupEntity entity) {
+        pendingGroups.add(entity);
+        flushIfFull();
+    }
+
+
+    @Override
+    protected void importArtifactBranch(ArtifactBranchEntity entity) {
+        branches.add(entity);
+    }
+
+
+    @Override
+    public void importData(EntityInputStream entities, Runnable postImportAction) {
+        if (storage.countArtifacts() > 0) {
+            throw new RegistryStorageException("Bulk import requires an empty registry.");
+        }
+        Instant start = Instant.now();
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "registry-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Entity entity = null;
+            while ((entity = entities.nextEntity()) != null) {
+                importEntity(entity);
+            }
+            flush();
+            waitingForContent.values().stream().flatMap(List::stream).forEach(version ->
+                    log.warn("Content {} of artifact version {} not found, skipping its import", version.contentId, version));
+
+            handles.withHandleNoException(handle -> {
+                writeComments(handle);
+                writeBranches(handle);
+                writeArtifactRules(handle);
+                return null;
+            });
+            canonicalizeReferencingContent();
+
+            postImportAction.run();
+
+            // Make sure the sequences are set high enough
+            storage.resetContentId();
+            storage.resetGlobalId();
+            storage.resetCommentId();
+
+            log.info("Bulk import of {} finished in {}", imported, Duration.between(start, Instant.now()));
+        } catch (IOException ex) {
+            throw new RegistryException("Could not read next entity to import", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private void flushIfFull() {
+        if (pendingContent.size() + pendingVersions.size() + pendingGroups.size() >= batchSize) {
+            flush();
+        }
+    }
+
+
+    /**
+     * Writes the pending rows, parents before children.
+     */
+    private void flush() {
+        pendingCanonicalization.forEach(CompletableFuture::join);
+        pendingCanonicalization.clear();
+        handles.withHandleNoException(handle -> {
+            writeContent(handle);
+            writeGroups(handle);
+            writeGlobalRules(handle);
+            writeVersions(handle);
+            return null;
+        });
+        if (Duration.between(lastProgress, Instant.now()).compareTo(PROGRESS_INTERVAL) >= 0) {
+            lastProgress = Instant.now();
+            log.info("Bulk import progress: {}, {} version(s) waiting for their content", imported,
+                    waitingForContent.values().stream().mapToInt(List::size).sum());
+        }
+    }
+
+
+    private void writeContent(Handle handle) {
+        if (pendingContent.isEmpty()) {
+            return;
+        }
+        Update insertContent = handle.createUpdate(sqlStatements.importContent());
+        Update insertReferences = handle.createUpdate(sqlStatements.upsertReference());
+        boolean hasReferences = false;
+        for (ContentEntity entity : pendingContent) {
+            insertContent
+                    .bind(0, entity.contentId)
+                    .bind(1, entity.canonicalHash)
+                    .bind(2, entity.contentHash)
+                    .bind(3, entity.contentBytes)
+                    .bind(4, entity.serializedReferences)
+                    .bind(5, entity.dereferencedHash)
+                    .addBatch();
+
+            // The primary key is (contentId, name), so only the first reference with a given name is stored.
+            Map<String, ArtifactReferenceDto> referencesByName = new LinkedHashMap<>();
+            SqlUtil.deserializeReferences(entity.serializedReferences)
+                    .forEach(reference -> referencesByName.putIfAbsent(reference.getName(), reference));
+            for (ArtifactReferenceDto reference : referencesByName.values()) {
+                insertReferences
+                        .bind(0, entity.contentId)
+                        .bind(1, normalizeGroupId(reference.getGroupId()))
+                        .bind(2, reference.getArtifactId())
+                        .bind(3, reference.getVersion())
+                        .bind(4, reference.getName())
+                        .addBatch();
+                hasReferences = true;
+            }
+        }
+        insertContent.executeBatch();
+        if (hasReferences) {
+            insertReferences.executeBatch();
+        }
+        count(EntityType.Content, pendingContent.size());
+        pendingContent.clear();
+    }
+
+
+    private void writeGroups(Handle handle) {
+        if (pendingGroups.isEmpty()) {
+            return;
+        }
+        Update insertGroup = handle.createUpdate(sqlStatements.importGroup());
+        for (GroupEntity entity : pendingGroups) {
+            insertGroup
+                    .bind(0, normalizeGroupId(entity.groupId))
+                    .bind(1, entity.description)
+                    .bind(2, entity.artifactsType)
+                    .bind(3, entity.createdBy)
+                    .bind(4, new Date(entity.createdOn))
+                    .bind(5, entity.modifiedBy)
+                    .bind(6, new Date(entity.modifiedOn))
+                    .bind(7, SqlUtil.serializeProperties(entity.properties))
+                    .addBatch();
+        }
+        insertGroup.executeBatch();
+        count(EntityType.Group, pendingGroups.size());
+        pendingGroups.clear();
+    }
+
+
+    private void writeGlobalRules(Handle handle) {
+        if (pendingGlobalRules.isEmpty()) {
+            return;
+        }
+        Update insertRule = handle.createUpdate(sqlStatements.importGlobalRule());
+        for (GlobalRuleEntity entity : pendingGlobalRules) {
+            insertRule
+                    .bind(0, entity.ruleType.name())
+                    .bind(1, entity.configuration)
+                    .addBatch();
+        }
+        insertRule.executeBatch();
+        count(EntityType.GlobalRule, pendingGlobalRules.size());
+        pendingGlobalRules.clear();
+    }
+
+
+    private void writeVersions(Handle handle) {
+        if (!pendingArtifacts.isEmpty()) {
+            Update insertArtifact = handle.createUpdate(sqlStatements.insertArtifact());
+            for (ArtifactVersionEntity entity : pendingArtifacts) {
+                insertArtifact
+                        .bind(0, normalizeGroupId(entity.groupId))
+                        .bind(1, entity.artifactId)
+                        .bind(2, entity.artifactType)
+                        .bind(3, entity.createdBy)
+                        .bind(4, new Date(entity.createdOn))
+                        .addBatch();
+            }
+            insertArtifact.executeBatch();
+            pendingArtifacts.clear();
+        }
+        if (pendingVersions.isEmpty()) {
+            return;
+        }
+        Update insertVersion = handle.createUpdate(sqlStatements.importArtifactVersion());
+        Update insertLabel = handle.createUpdate(sqlStatements.insertLabel());
+        Update insertProperty = handle.createUpdate(sqlStatements.insertProperty());
+        boolean hasLabels = false;
+        boolean hasProperties = false;
+        VersionSearchIndex searchIndex = storage.getSearchIndex();
+        Date importedOn = new Date();
+        for (ArtifactVersionEntity entity : pendingVersions) {
+            insertVersion
+                    .bind(0, entity.globalId)
+                    .bind(1, normalizeGroupId(entity.groupId))
+                    .bind(2, entity.artifactId)
+                    .bind(3, entity.version)
+                    .bind(4, entity.versionOrder)
+                    .bind(5, entity.state)
+                    .bind(6, entity.name)
+                    .bind(7, entity.description)
+                    .bind(8, entity.createdBy)
+                    .bind(9, new Date(entity.createdOn))
+                    .bind(10, SqlUtil.serializeLabels(entity.labels))
+                    .bind(11, SqlUtil.serializeProperties(entity.properties))
+                    .bind(12, entity.contentId)
+                    .bind(13, importedOn)
+                    .addBatch();
+            if (entity.labels != null) {
+                for (String label : entity.labels) {
+                    insertLabel
+                            .bind(0, entity.globalId)
+                            .bind(1, label.toLowerCase())
+                            .addBatch();
+                    hasLabels = true;
+                }
+            }
+            if (entity.properties != null) {
+                for (Map.Entry<String, String> property : entity.properties.entrySet()) {
+                    insertProperty
+                            .bind(0, entity.globalId)
+                            .bind(1, property.getKey().toLowerCase())
+                            .bind(2, property.getValue().toLowerCase())
+                            .addBatch();
+                    hasProperties = true;
+                }
+            }
+        }
+        insertVersion.executeBatch();
+        if (hasLabels) {
+            insertLabel.executeBatch();
+        }
+        if (hasProperties) {
+            insertProperty.executeBatch();
+        }
+        if (searchIndex != null) {
+            for (ArtifactVersionEntity entity : pendingVersions) {
+                searchIndex.add(new VersionSearchIndex.Entry(entity.globalId, normalizeGroupId(entity.groupId),
+                        entity.artifactId, entity.name, entity.description, entity.labels, entity.properties));
+            }
+        }
+        count(EntityType.ArtifactVersion, pendingVersions.size());
+        pendingVersions.clear();
+    }
+
+
+    private void writeComments(Handle handle) {
+        Update insertComment = handle.createUpdate(sqlStatements.insertComment());
+        int size = 0;
+        for (CommentEntity entity : comments) {
+            Long globalId = globalIdMapping.get(entity.globalId);
+            if (globalId == null) {
+                log.warn("Version of comment {} not found, skipping its import", entity);
+                continue;
+            }
+            insertComment
+                    .bind(0, entity.commentId)
+                    .bind(1, globalId)
+                    .bind(2, entity.createdBy)
+                    .bind(3, new Date(entity.createdOn))
+                    .bind(4, entity.value)
+                    .addBatch();
+            if (++size % batchSize == 0) {
+                insertComment.executeBatch();
+            }
+        }
+        if (size % batchSize != 0) {
+            insertComment.executeBatch();
+        }
+        count(EntityType.Comment, size);
+        comments.clear();
+    }
+
+
+    private void writeBranches(Handle handle) {
+        Update insertBranch = handle.createUpdate(sqlStatements.importArtifactBranch());
+        Set<GA> artifacts = new LinkedHashSet<>();
+        int size = 0;
+        for (ArtifactBranchEntity entity : branches) {
+            if (!gavDone.contains(entity.toGAV())) {
+                log.warn("Version of artifact branch {} not found, skipping its import", entity);
+                continue;
+            }
+            insertBranch
+                    .bind(0, normalizeGroupId(entity.groupId))
+                    .bind(1, entity.artifactId)
+                    .bind(2, entity.branchId)
+                    .bind(3, entity.branchOrder)
+                    .bind(4, entity.version)
+                    .addBatch();
+            artifacts.add(new GA(entity.groupId, entity.artifactId));
+            if (++size % batchSize == 0) {
+                insertBranch.executeBatch();
+            }
+        }
+        if (size % batchSize != 0) {
+            insertBranch.executeBatch();
+        }
+        count(EntityType.ArtifactBranch, size);
+        branches.clear();
+
+        // The branch tips are computed once all the branches of the artifacts are there
+        Update insertTips = handle.createUpdate(sqlStatements.insertMissingArtifactBranchTips());
+        size = 0;
+        for (GA ga : artifacts) {
+            insertTips
+                    .bind(0, ga.getRawGroupId())
+                    .bind(1, ga.getRawArtifactId())
+                    .addBatch();
+            if (++size % batchSize == 0) {
+                insertTips.executeBatch();
+            }
+        }
+        if (size % batchSize != 0) {
+            insertTips.executeBatch();
+        }
+    }
+
+
+    private void writeArtifactRules(Handle handle) {
+        Update insertRule = handle.createUpdate(sqlStatements.importArtifactRule());
+        int size = 0;
+        for (ArtifactRuleEntity entity : artifactRules) {
+            if (!artifactsDone.contains(new GA(entity.groupId, entity.artifactId))) {
+                log.warn("Artifact of artifact rule {} not found, skipping its import", entity);
+                continue;
+            }
+            insertRule
+                    .bind(0, normalizeGroupId(entity.groupId))
+                    .bind(1, entity.artifactId)
+                    .bind(2, entity.type.name())
+                    .bind(3, entity.configuration)
+                    .addBatch();
+            size++;
+        }
+        if (size > 0) {
+            insertRule.executeBatch();
+        }
+        count(EntityType.ArtifactRule, size);
+        artifactRules.clear();
+    }
+
+
+    /**
+     * Sets the canonical hash of the imported content that references other artifacts, now that all the
+     * references can be resolved.
+     */
+    private void canonicalizeReferencingContent() {
+        if (contentToCanonicalize.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(contentToCanonicalize.size());
+        for (ContentEntity entity : contentToCanonicalize) {
+            // Resolved within the import transaction, which the import threads are not part of
+            Map<String, ContentHandle> resolvedReferences =
+                    storage.resolveReferences(SqlUtil.deserializeReferences(entity.serializedReferences));
+            futures.add(CompletableFuture.runAsync(() -> {
+                ContentHandle canonicalContent = utils.canonicalizeContent(entity.artifactType,
+                        ContentHandle.create(entity.contentBytes), resolvedReferences);
+                entity.canonicalHash = DigestUtils.sha256Hex(canonicalContent.bytes());
+            }, executor));
+        }
+        futures.forEach(CompletableFuture::join);
+        handles.withHandleNoException(handle -> {
+            Update updateHash = handle.createUpdate(sqlStatements.updateContentCanonicalHash());
+            for (ContentEntity entity : contentToCanonicalize) {
+                updateHash
+                        .bind(0, entity.canonicalHash)
+                        .bind(1, entity.contentId)
+                        .bind(2, entity.contentHash)
+                        .addBatch();
+            }
+            updateHash.executeBatch();
+            return null;
+        });
+        contentToCanonicalize.clear();
+    }
+
+
+    private void count(EntityType type, int size) {
+        imported.merge(type, (long) size, Long::sum);
+    }
+}
@@ -93,6 +93,11 @@ public interface SqlStatements {
      */
     public String autoUpdateVersionForGlobalId();
 
+    /**
+     * A statement used to select the 'versionOrder' column of the 'versions' table by globalId.
+     */
+    public String selectVersionOrderByGlobalId();
+
     /**
      * A statement used to insert a row in the versions table.
      */
@@ -118,6 +123,17 @@ public interface SqlStatements {
      */
     public String selectArtifactVersionMetaDataByCanonicalHash();
 
+    /**
+     * A statement used to select a single row in the versions by artifactId and dereferenced content hash.
+     */
+    public String selectArtifactVersionMetaDataByDereferencedHash();
+
+    /**
+     * A statement used to select the versions of an artifact (and their content) whose dereferenced content hash
+     * has not been computed yet, or could not be because of unresolved references.
+     */
+    public String selectArtifactVersionContentWithoutDereferencedHash();
+
     /**
      * A statement to select the content of an artifact version from the versions table by globalId.
      */
@@ -168,6 +184,11 @@ public interface SqlStatements {
      */
     public String selectArtifactContentIds();
 
+    /**
+     * A statement to select the content ids and content hashes of an artifact for all enabled versions.
+     */
+    public String selectEnabledArtifactContentIdentities();
+
     /**
      * A statement to "upsert" a row in the "content" table.
      */
@@ -178,6 +199,45 @@ public interface SqlStatements {
      */
     public String updateContentCanonicalHash();
 
+    /**
+     * A statement to select the rows of the "content" table, after a given contentId, that are used by artifacts
+     * of a given type and whose dereferencedHash value has not been computed yet.
+     */
+    public String selectContentWithoutDereferencedHash();
+
+    /**
+     * A statement to update the dereferencedHash value in a row in the "content" table
+     */
+    public String updateContentDereferencedHash();
+
+    /**
+     * A statement to clear the dereferencedHash value of a row in the "content" table
+     */
+    public String resetContentDereferencedHash();
+
+    /**
+     * A statement to select ids of content referencing a version whose content has a given id
+     */
+    public String selectContentIdsReferencingContent();
+
+    /**
+     * A statement to select the searchable values of the versions with a globalId greater than a given one,
+     * used to build the in-memory search index.
+     */
+    public String selectVersionSearchIndexEntries();
+
+    /**
+     * A statement to select the searchable values of the versions created or modified since a given time, with a
+     * globalId greater than a given one, used to keep the in-memory search index up to date.
+     */
+    public String selectVersionSearchIndexEntriesModifiedSince();
+
+    /**
+     * A search condition restricting the versions (aliased "v") to the globalIds bound to its single parameter,
+     * as an array, or as a comma separated string when the database does not support array parameters.
+     */
+    public String versionGlobalIdIn();
+
 
     /**
      * A statement to get a single artifact (latest version) meta-data by artifactId.
@@ -372,6 +432,29 @@ public interface SqlStatements {
      */
     public String selectContentIdsReferencingArtifactBy();
 
+    /**
+     * A statement to select ids of content referencing any version of an artifact
+     */
+    public String selectContentIdsReferencingArtifact();
+
+    /**
+     * A statement to select ids of content referencing any version of the artifacts in a group
+     */
+    public String selectContentIdsReferencingGroup();
+
+    /**
+     * A statement to select ids of content with a given dereferencedHash value referencing a version
+     */
+    public String selectContentIdsByDereferencedHashReferencingArtifactBy();
+
+    /**
+     * A statement to select the coordinates and content of the artifact versions matching any of the given
+     * number of (groupId, artifactId, version) triples, used to resolve references in bulk.
+     *
+     * @param referenceCount the number of (groupId, artifactId, version) triples to bind
+     */
+    public String selectReferencedContent(int referenceCount);
+
     /**
      * A statement to select global ids of artifact versions with content referencing an artifact
      */
@@ -461,6 +544,9 @@ public interface SqlStatements {
      * The next few statements support globalId and contentId management.
      */
 
+    /**
+     * A statement that increments a sequence (by name) by the given amount and returns its new value.
+     */
     public String getNextSequenceValue();
 
     public String selectCurrentSequenceValue();
@@ -473,6 +559,9 @@ public interface SqlStatements {
      * The next few statements support exporting data from the DB.
      */
 
+    /**
+     * The content with a contentId in the range (?, ?], ordered by contentId.
+     */
     public String exportContent();
 
     public String exportGlobalRules();
@@ -483,10 +572,31 @@ public interface SqlStatements {
 
     public String exportComments();
 
+    /**
+     * The versions of the artifacts with a (groupId, artifactId) in the range [(?, ?), (?, ?)), ordered by
+     * artifact and then by versionOrder.
+     */
     public String exportArtifactVersions();
 
+    /**
+     * The versions of the artifacts with a (groupId, artifactId) of at least (?, ?), ordered by artifact and
+     * then by versionOrder.
+     */
+    public String exportArtifactVersionsFrom();
+
     String exportArtifactBranches();
 
+    /**
+     * The lowest and highest contentId, used to split the export of the content into ranges.
+     */
+    public String selectContentIdBounds();
+
+    /**
+     * The (groupId, artifactId) of all the artifacts, in the order of {@link #exportArtifactVersions()}, used to
+     * split the export of the versions into ranges of artifacts.
+     */
+    public String selectArtifactKeys();
+
     /*
      * The next few statements support importing data into the DB.
      */
@@ -609,4 +719,22 @@ public interface SqlStatements {
     String deleteAllArtifactBranches();
 
     String selectVersionsWithoutArtifactBranch();
+
+    String deleteArtifactBranchTip();
+
+    String deleteVersionInArtifactBranchTips();
+
+    String deleteAllArtifactBranchTipsInArtifact();
+
+    String deleteAllArtifactBranchTipsInGroup();
+
+    String deleteAllArtifactBranchTips();
+
+    String insertMissingArtifactBranchTips();
+
+    /**
+     * A statement to set the tip of a branch to its version with the highest branch order, inserting the tip if
+     * missing, in a single statement.  An existing tip is never replaced by a lower branch order.
+     */
+    String upsertArtifactBranchTip();
 }
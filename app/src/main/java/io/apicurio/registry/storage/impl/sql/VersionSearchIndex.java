@@ -0,0 +1,441 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.storage.dto.SearchFilter;
+import io.apicurio.registry.utils.StringUtil;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index of the searchable fields of the artifact versions, used to narrow down artifact
+ * searches to a set of candidate globalIds before the database is queried.
+ * <p>
+ * The text fields (group, artifact id, name and description) are indexed by the trigrams of their distinct
+ * (case-folded) values, which answers the substring filters that the database evaluates with {@code LIKE '%x%'}.
+ * Labels and properties are indexed by exact (case-folded) value.
+ * <p>
+ * The index only ever returns a superset of the matching versions: the search query still applies all the
+ * filters, restricted to the candidates.  Entries are therefore never removed, an update of a version just adds
+ * its new values, and deleted versions are only dropped by the next rebuild.  When the index can not narrow down
+ * a filter (e.g. the value contains {@code LIKE} wildcards, or matches too many versions) it returns {@code null}
+ * and the search falls back to the database alone.
+ *
+ */
+public class VersionSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final int GROUP_ID = 0;
+    private static final int ARTIFACT_ID = 1;
+    private static final int NAME = 2;
+    private static final int DESCRIPTION = 3;
+    private static final int FIELDS = 4;
+
+    private static final int[] NAME_FIELDS = {NAME, ARTIFACT_ID};
+    private static final int[] DESCRIPTION_FIELDS = {DESCRIPTION};
+    private static final int[] ALL_FIELDS = {GROUP_ID, ARTIFACT_ID, NAME, DESCRIPTION};
+
+    // Labels and properties are truncated to these lengths when stored in their own tables
+    private static final int MAX_LABEL_LENGTH = 256;
+    private static final int MAX_PROPERTY_KEY_LENGTH = 256;
+    private static final int MAX_PROPERTY_VALUE_LENGTH = 1024;
+
+    private final int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Data data;
+    private List<Entry> pending;
+
+    /**
+     * @param maxCandidates maximum number of candidates returned for a search, above which the search is not
+     *                      restricted (the database has to evaluate the filters anyway)
+     */
+    public VersionSearchIndex(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Returns true once the index has been built and can be used to answer searches.
+     */
+    public boolean isBuilt() {
+        lock.readLock().lock();
+        try {
+            return data != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest globalId added to the index, or 0.
+     */
+    public long getMaxGlobalId() {
+        lock.readLock().lock();
+        try {
+            return data == null ? 0 : data.maxGlobalId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the content of the index with the entries provided by the loader.  Entries added while the
+     * loader runs are applied to the new content as well.
+     *
+     * @param loader provides all the entries of the storage
+     */
+    public void rebuild(Consumer<Consumer<Entry>> loader) {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Data rebuilt = new Data();
+        boolean loaded = false;
+        try {
+            loader.accept(rebuilt::add);
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pending.forEach(rebuilt::add);
+                    data = rebuilt;
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds (the current values of) a version to the index.
+     */
+    public void add(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (data != null) {
+                data.add(entry);
+            }
+            if (pending != null) {
+                pending.add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the sorted globalIds of the versions that may match all the given filters, or null if the index
+     * can not narrow down the search.
+     */
+    public long[] findCandidates(Set<SearchFilter> filters) {
+        lock.readLock().lock();
+        try {
+            if (data == null) {
+                return null;
+            }
+            Set<Long> candidates = null;
+            for (SearchFilter filter : filters) {
+                Set<Long> matches = findCandidates(filter);
+                if (matches == null) {
+                    continue;
+                }
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.retainAll(matches);
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+            }
+            if (candidates == null) {
+                return null;
+            }
+            long[] result = candidates.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> findCandidates(SearchFilter filter) {
+        switch (filter.getType()) {
+            case description:
+                return data.findText(filter.getStringValue(), DESCRIPTION_FIELDS, new HashSet<>(), maxCandidates);
+            case name:
+                return data.findText(filter.getStringValue(), NAME_FIELDS, new HashSet<>(), maxCandidates);
+            case everything: {
+                Set<Long> result = data.findText(filter.getStringValue(), ALL_FIELDS, new HashSet<>(), maxCandidates);
+                if (result == null) {
+                    return null;
+                }
+                String key = key(filter.getStringValue().toLowerCase());
+                if (!data.addAll(result, data.labels.get(key), maxCandidates)
+                        || !data.addAll(result, data.propertyKeys.get(key), maxCandidates)) {
+                    return null;
+                }
+                return result;
+            }
+            case labels: {
+                Set<Long> result = new HashSet<>();
+                return data.addAll(result, data.labels.get(key(filter.getStringValue().toLowerCase())), maxCandidates) ? result : null;
+            }
+            case properties: {
+                Pair<String, String> property = filter.getPropertyFilterValue();
+                String key = key(property.getKey().toLowerCase());
+                Postings postings = property.getValue() == null ? data.propertyKeys.get(key)
+                        : data.propertyValues.get(propertyValueKey(key, key(property.getValue().toLowerCase())));
+                Set<Long> result = new HashSet<>();
+                return data.addAll(result, postings, maxCandidates) ? result : null;
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Folds the case of each character independently, so that the folded form of a substring is always a
+     * substring of the folded form of the whole value.
+     */
+    private static String fold(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Normalizes a label or property value for an exact lookup.  Trailing spaces are dropped because some
+     * databases ignore them when comparing strings.
+     */
+    private static String key(String value) {
+        return fold(value).stripTrailing();
+    }
+
+    private static String propertyValueKey(String key, String value) {
+        return key + '\u0000' + value;
+    }
+
+    private static boolean isLikeSafe(String value) {
+        return value.indexOf('%') < 0 && value.indexOf('_') < 0 && value.indexOf('[') < 0 && value.indexOf('\\') < 0;
+    }
+
+    /**
+     * The searchable values of a version.
+     */
+    public static class Entry {
+
+        private final long globalId;
+        private final String[] text = new String[FIELDS];
+        private final Collection<String> labels;
+        private final Map<String, String> properties;
+
+        public Entry(long globalId, String groupId, String artifactId, String name, String description,
+                     Collection<String> labels, Map<String, String> properties) {
+            this.globalId = globalId;
+            this.text[GROUP_ID] = groupId;
+            this.text[ARTIFACT_ID] = artifactId;
+            this.text[NAME] = name;
+            this.text[DESCRIPTION] = description;
+            this.labels = labels;
+            this.properties = properties;
+        }
+
+        public long getGlobalId() {
+            return globalId;
+        }
+    }
+
+    private static class Data {
+
+        // Distinct folded values of the text fields, and for each of them the versions having it, per field
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> valueIds = new HashMap<>();
+        private final List<Postings[]> valuePostings = new ArrayList<>();
+        // Trigram -> ids of the values containing it
+        private final Map<String, Postings> trigrams = new HashMap<>();
+
+        private final Map<String, Postings> labels = new HashMap<>();
+        private final Map<String, Postings> propertyKeys = new HashMap<>();
+        private final Map<String, Postings> propertyValues = new HashMap<>();
+
+        private long maxGlobalId;
+
+        void add(Entry entry) {
+            long globalId = entry.globalId;
+            maxGlobalId = Math.max(maxGlobalId, globalId);
+            for (int field = 0; field < FIELDS; field++) {
+                if (entry.text[field] != null) {
+                    addText(fold(entry.text[field]), field, globalId);
+                }
+            }
+            if (entry.labels != null) {
+                for (String label : entry.labels) {
+                    String lower = label.toLowerCase();
+                    addPosting(labels, key(lower), globalId);
+                    addPosting(labels, key(StringUtil.limitStr(lower, MAX_LABEL_LENGTH)), globalId);
+                }
+            }
+            if (entry.properties != null) {
+                entry.properties.forEach((k, v) -> {
+                    String lowerKey = k.toLowerCase();
+                    String lowerValue = v == null ? "" : v.toLowerCase();
+                    for (String key : new HashSet<>(List.of(key(lowerKey), key(StringUtil.limitStr(lowerKey, MAX_PROPERTY_KEY_LENGTH))))) {
+                        addPosting(propertyKeys, key, globalId);
+                        addPosting(propertyValues, propertyValueKey(key, key(lowerValue)), globalId);
+                        addPosting(propertyValues, propertyValueKey(key,
+                                key(StringUtil.limitStr(lowerValue, MAX_PROPERTY_VALUE_LENGTH))), globalId);
+                    }
+                });
+            }
+        }
+
+        private void addText(String value, int field, long globalId) {
+            Integer valueId = valueIds.get(value);
+            if (valueId == null) {
+                valueId = values.size();
+                values.add(value);
+                valueIds.put(value, valueId);
+                valuePostings.add(new Postings[FIELDS]);
+                for (int i = 0; i + GRAM <= value.length(); i++) {
+                    addPosting(trigrams, value.substring(i, i + GRAM), valueId);
+                }
+            }
+            Postings[] postings = valuePostings.get(valueId);
+            if (postings[field] == null) {
+                postings[field] = new Postings();
+            }
+            postings[field].add(globalId);
+        }
+
+        private static void addPosting(Map<String, Postings> index, String key, long id) {
+            index.computeIfAbsent(key, k -> new Postings()).add(id);
+        }
+
+        /**
+         * Adds the versions whose given fields contain the given string to the result.
+         * Returns null if the string can not be looked up or if there are too many matching versions.
+         */
+        Set<Long> findText(String search, int[] fields, Set<Long> result, int maxCandidates) {
+            if (search == null || search.isEmpty() || !isLikeSafe(search)) {
+                return null;
+            }
+            String folded = fold(search);
+            if (folded.length() < GRAM) {
+                for (int valueId = 0; valueId < values.size(); valueId++) {
+                    if (!addMatches(folded, valueId, fields, result, maxCandidates)) {
+                        return null;
+                    }
+                }
+                return result;
+            }
+            // The values containing the string contain all of its trigrams, start with the rarest one
+            List<Postings> postings = new ArrayList<>();
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                Postings p = trigrams.get(folded.substring(i, i + GRAM));
+                if (p == null) {
+                    return result;
+                }
+                postings.add(p);
+            }
+            postings.sort((p1, p2) -> Integer.compare(p1.size(), p2.size()));
+            Postings rarest = postings.get(0);
+            for (int i = 0; i < rarest.size(); i++) {
+                int valueId = (int) rarest.get(i);
+                boolean inAll = true;
+                for (int j = 1; j < postings.size() && inAll; j++) {
+                    inAll = postings.get(j).contains(valueId);
+                }
+                if (inAll && !addMatches(folded, valueId, fields, result, maxCandidates)) {
+                    return null;
+                }
+            }
+            return result;
+        }
+
+        private boolean addMatches(String folded, int valueId, int[] fields, Set<Long> result, int maxCandidates) {
+            if (!values.get(valueId).contains(folded)) {
+                return true;
+            }
+            Postings[] postings = valuePostings.get(valueId);
+            for (int field : fields) {
+                if (!addAll(result, postings[field], maxCandidates)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean addAll(Set<Long> result, Postings postings, int maxCandidates) {
+            if (postings == null) {
+                return true;
+            }
+            for (int i = 0; i < postings.size(); i++) {
+                result.add(postings.get(i));
+                if (result.size() > maxCandidates) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Sorted set of ids, stored compactly.  Ids are usually added in increasing order.
+     */
+    private static class Postings {
+
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            int idx = Arrays.binarySearch(ids, 0, size, id);
+            if (idx >= 0) {
+                return;
+            }
+            int insertAt = -idx - 1;
+            append(0);
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - 1 - insertAt);
+            ids[insertAt] = id;
+        }
+
+        private void append(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        long get(int i) {
+            return ids[i];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.common.apps.config.Info;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+/**
+ * Builds the in-memory search index of the SQL storage (see {@link VersionSearchIndex}) and keeps it up to date.
+ * <p>
+ * Versions created or updated through this registry instance are added to the index right away.  Each run picks
+ * up the versions created, imported or whose metadata was updated since the previous one (e.g. by another replica
+ * sharing the database), using the modification time of the versions.  Since globalIds are not allocated in commit
+ * order (replicas reserve blocks of ids, and transactions commit out of order), these are selected by time rather
+ * than by globalId, going back a configurable overlap before the start of the previous run, to cover the clock skew
+ * between the replicas and the transactions still running at that time.  Versions already in the index are simply
+ * added again.  The index is also rebuilt from scratch periodically, which drops deleted versions and the old
+ * values of updated ones.  Until the first build completes, searches are evaluated by the database alone.
+ *
+ */
+@ApplicationScoped
+public class VersionSearchIndexRefresh {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    SqlRegistryStorage storage;
+
+    @ConfigProperty(name = "registry.sql.search-index.batch-size", defaultValue = "10000")
+    @Info(category = "storage", description = "Number of versions loaded per query when building the search index", availableSince = "3.0.0")
+    int batchSize;
+
+    @ConfigProperty(name = "registry.sql.search-index.rebuild.interval-seconds", defaultValue = "3600")
+    @Info(category = "storage", description = "Interval (in seconds) between two full rebuilds of the search index", availableSince = "3.0.0")
+    long rebuildIntervalSeconds;
+
+    @ConfigProperty(name = "registry.sql.search-index.refresh.overlap-seconds", defaultValue = "300")
+    @Info(category = "storage", description = "How far (in seconds) before the previous refresh of the search index the next one looks for new or modified versions, must exceed the clock skew between the replicas plus the duration of the longest transaction", availableSince = "3.0.0")
+    long overlapSeconds;
+
+    private Instant lastRebuild = Instant.MIN;
+    private Instant lastRefresh;
+
+    @Scheduled(delay = 1, concurrentExecution = SKIP, every = "{registry.sql.search-index.refresh.every}")
+    void run() {
+        try {
+            VersionSearchIndex index = storage.getSearchIndex();
+            if (index == null) {
+                return;
+            }
+            if (!storage.isReady()) {
+                log.debug("Skipping search index refresh job because the storage is not ready.");
+                return;
+            }
+            Instant now = Instant.now();
+            if (!index.isBuilt() || Duration.between(lastRebuild, now).getSeconds() >= rebuildIntervalSeconds) {
+                log.info("Building the search index.");
+                index.rebuild(sink -> load(null, sink));
+                lastRebuild = now;
+                log.info("Search index built in {} ms.", Duration.between(now, Instant.now()).toMillis());
+            } else {
+                load(Date.from(lastRefresh.minusSeconds(overlapSeconds)), index::add);
+            }
+            lastRefresh = now;
+        } catch (Exception ex) {
+            log.error("Exception thrown when running search index refresh job", ex);
+        }
+    }
+
+    private void load(Date modifiedSince, Consumer<VersionSearchIndex.Entry> sink) {
+        long cursor = Long.MIN_VALUE;
+        List<VersionSearchIndex.Entry> entries;
+        while (!(entries = storage.getSearchIndexEntries(modifiedSince, cursor, batchSize)).isEmpty()) {
+            entries.forEach(sink);
+            cursor = entries.get(entries.size() - 1).getGlobalId();
+        }
+    }
+}
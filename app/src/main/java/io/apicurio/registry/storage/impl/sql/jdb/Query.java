@@ -4,6 +4,8 @@ public interface Query extends Sql<Query> {
 
     public Query setFetchSize(int size);
 
+    public Query setMaxRows(int max);
+
     public <T> MappedQuery<T> map(RowMapper<T> mapper);
 
     public <T> MappedQuery<T> mapTo(Class<T> someClass);
@@ -11,6 +11,7 @@ import io.apicurio.registry.storage.impl.sql.mappers.StringMapper;
 public class QueryImpl extends SqlImpl<Query> implements Query {
 
     private int fetchSize = -1;
+    private int maxRows = -1;
 
     /**
      * Constructor.
@@ -30,6 +31,15 @@ public class QueryImpl extends SqlImpl<Query> implements Query {
         return this;
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Query#setMaxRows(int)
+     */
+    @Override
+    public Query setMaxRows(int max) {
+        this.maxRows = max;
+        return this;
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.jdb.Query#map(io.apicurio.registry.storage.impl.sql.jdb.RowMapper)
      */
@@ -41,6 +51,9 @@ public class QueryImpl extends SqlImpl<Query> implements Query {
             if (this.fetchSize != -1) {
                 statement.setFetchSize(fetchSize);
             }
+            if (this.maxRows != -1) {
+                statement.setMaxRows(maxRows);
+            }
             return new MappedQueryImpl<T>(statement, mapper);
         } catch (SQLException e) {
             throw new RuntimeSqlException(e);
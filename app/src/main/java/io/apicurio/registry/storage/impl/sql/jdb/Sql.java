@@ -16,5 +16,7 @@ public interface Sql<Q> {
 
     public Q bind(int position, byte[] value);
 
+    public Q bind(int position, long[] value);
+
 
 }
@@ -77,6 +77,15 @@ public abstract class SqlImpl<Q> implements Sql<Q> {
         return (Q) this;
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Sql#bind(int, long[])
+     */
+    @Override
+    public Q bind(int position, long[] value) {
+        this.parameters.add(new SqlParam(position, value, SqlParamType.LONG_ARRAY));
+        return (Q) this;
+    }
+
     protected void bindParametersTo(PreparedStatement statement) {
         this.parameters.forEach(param -> {
             param.bindTo(statement);
@@ -4,6 +4,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.Date;
 
 public class SqlParam {
@@ -67,6 +68,14 @@ public class SqlParam {
                 case STRING:
                     statement.setString(position, (String) value);
                     break;
+                case LONG_ARRAY:
+                    if (value == null) {
+                        statement.setNull(position, Types.ARRAY);
+                    } else {
+                        Long[] elements = Arrays.stream((long[]) value).boxed().toArray(Long[]::new);
+                        statement.setArray(position, statement.getConnection().createArrayOf("BIGINT", elements));
+                    }
+                    break;
                 default:
                     throw new RuntimeSqlException("bindTo not supported for SqlParamType: " + type);
             }
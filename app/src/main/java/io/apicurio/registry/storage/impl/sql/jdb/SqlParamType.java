@@ -2,6 +2,6 @@ package io.apicurio.registry.storage.impl.sql.jdb;
 
 public enum SqlParamType {
 
-    STRING, INTEGER, LONG, DATE, BYTES, ENUM
+    STRING, INTEGER, LONG, DATE, BYTES, ENUM, LONG_ARRAY
 
 }
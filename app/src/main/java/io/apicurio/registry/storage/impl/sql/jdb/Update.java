@@ -6,4 +6,16 @@ public interface Update extends Sql<Update> {
 
     public void executeNoUpdate();
 
+    /**
+     * Adds the currently bound parameters as a new set of parameters for a batch execution,
+     * and clears them so that the next set can be bound.
+     */
+    public Update addBatch();
+
+    /**
+     * Executes the statement once for every set of parameters added by {@link #addBatch()}, in a single round trip.
+     * Returns the update counts, in the order the parameter sets were added.
+     */
+    public int[] executeBatch();
+
 }
@@ -3,9 +3,13 @@ package io.apicurio.registry.storage.impl.sql.jdb;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class UpdateImpl extends SqlImpl<Update> implements Update {
 
+    private final List<List<SqlParam>> batch = new ArrayList<>();
+
     /**
      * Constructor.
      * @param connection
@@ -41,4 +45,35 @@ public class UpdateImpl extends SqlImpl<Update> implements Update {
         }
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Update#addBatch()
+     */
+    @Override
+    public Update addBatch() {
+        batch.add(new ArrayList<>(parameters));
+        parameters.clear();
+        return this;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Update#executeBatch()
+     */
+    @Override
+    public int[] executeBatch() {
+        if (batch.isEmpty()) {
+            return new int[0];
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (List<SqlParam> params : batch) {
+                params.forEach(param -> param.bindTo(statement));
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        } finally {
+            batch.clear();
+        }
+    }
+
 }
@@ -0,0 +1,30 @@
+package io.apicurio.registry.storage.impl.sql.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import io.apicurio.registry.storage.dto.ContentIdentityDto;
+import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+
+public class ContentIdentityDtoMapper implements RowMapper<ContentIdentityDto> {
+
+    public static final ContentIdentityDtoMapper instance = new ContentIdentityDtoMapper();
+
+    /**
+     * Constructor.
+     */
+    private ContentIdentityDtoMapper() {
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.RowMapper#map(java.sql.ResultSet)
+     */
+    @Override
+    public ContentIdentityDto map(ResultSet rs) throws SQLException {
+        ContentIdentityDto dto = new ContentIdentityDto();
+        dto.setContentId(rs.getLong("contentId"));
+        dto.setContentHash(rs.getString("contentHash"));
+        return dto;
+    }
+
+}
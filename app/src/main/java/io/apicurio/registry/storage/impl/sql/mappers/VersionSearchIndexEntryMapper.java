@@ -0,0 +1,35 @@
+package io.apicurio.registry.storage.impl.sql.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import io.apicurio.registry.storage.impl.sql.SqlUtil;
+import io.apicurio.registry.storage.impl.sql.VersionSearchIndex;
+import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+
+public class VersionSearchIndexEntryMapper implements RowMapper<VersionSearchIndex.Entry> {
+
+    public static final VersionSearchIndexEntryMapper instance = new VersionSearchIndexEntryMapper();
+
+    /**
+     * Constructor.
+     */
+    private VersionSearchIndexEntryMapper() {
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.RowMapper#map(java.sql.ResultSet)
+     */
+    @Override
+    public VersionSearchIndex.Entry map(ResultSet rs) throws SQLException {
+        return new VersionSearchIndex.Entry(
+                rs.getLong("globalId"),
+                rs.getString("groupId"),
+                rs.getString("artifactId"),
+                rs.getString("name"),
+                rs.getString("description"),
+                SqlUtil.deserializeLabels(rs.getString("labels")),
+                SqlUtil.deserializeProperties(rs.getString("properties")));
+    }
+
+}
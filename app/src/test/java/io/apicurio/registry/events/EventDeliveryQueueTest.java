@@ -0,0 +1,194 @@
+package io.apicurio.registry.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+class EventDeliveryQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path deadLetterFile;
+    private EventDeliveryConfiguration config;
+    private EventDeliveryQueues queues;
+    private final List<String> deadLetteringThreads = new CopyOnWriteArrayList<>();
+    private final List<EventDeliveryQueue> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        deadLetterFile = tempDir.resolve("dead-letter.jsonl");
+        config = new EventDeliveryConfiguration();
+        config.queueCapacity = 100;
+        config.retryMaxAttempts = 3;
+        config.retryInitialBackoffMs = 1;
+        config.retryMaxBackoffMs = 5;
+        config.deadLetterFile = Optional.of(deadLetterFile.toString());
+        config.shutdownTimeoutMs = 5000;
+
+        queues = new EventDeliveryQueues() {
+            @Override
+            synchronized void deadLetter(String sink, List<OutboundEvent> events) {
+                deadLetteringThreads.add(Thread.currentThread().getName());
+                super.deadLetter(sink, events);
+            }
+        };
+        queues.log = LoggerFactory.getLogger(EventDeliveryQueues.class);
+        queues.registry = new SimpleMeterRegistry();
+        queues.config = config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(EventDeliveryQueue::close);
+    }
+
+    private EventDeliveryQueue create(int maxBatchSize, EventDeliveryQueue.Deliverer deliverer) {
+        EventDeliveryQueue queue = queues.create("test", maxBatchSize, deliverer);
+        created.add(queue);
+        return queue;
+    }
+
+    private static OutboundEvent event(String artifactId) {
+        return new OutboundEvent("io.apicurio.registry.test", artifactId, Map.of("artifactId", artifactId));
+    }
+
+    private List<JsonNode> deadLettered() throws Exception {
+        if (!Files.exists(deadLetterFile)) {
+            return List.of();
+        }
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : Files.readAllLines(deadLetterFile, StandardCharsets.UTF_8)) {
+            events.add(OutboundEvent.mapper().readTree(line));
+        }
+        return events;
+    }
+
+    @Test
+    void testFailedDeliveryIsRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<List<OutboundEvent>> delivered = new CompletableFuture<>();
+        EventDeliveryQueue queue = create(1, batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Unavailable"));
+            }
+            delivered.complete(List.copyOf(batch));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        OutboundEvent event = event("a1");
+        queue.add(event);
+
+        Assertions.assertEquals(List.of(event), delivered.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(3, attempts.get());
+        queue.close();
+        Assertions.assertTrue(deadLettered().isEmpty());
+    }
+
+    @Test
+    void testQueuedEventsAreDeliveredInBatches() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        EventDeliveryQueue queue = create(3, batch -> {
+            batches.add(batch.stream().map(OutboundEvent::getArtifactId).collect(Collectors.toList()));
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        queue.add(event("a1"));
+        Assertions.assertTrue(firstBatchStarted.await(10, TimeUnit.SECONDS));
+        // Queued while the first batch is being delivered
+        for (int i = 2; i <= 6; i++) {
+            queue.add(event("a" + i));
+        }
+        releaseFirstBatch.countDown();
+        queue.close();
+
+        Assertions.assertEquals(List.of(List.of("a1"), List.of("a2", "a3", "a4"), List.of("a5", "a6")), batches);
+        Assertions.assertTrue(deadLettered().isEmpty());
+    }
+
+    @Test
+    void testUndeliverableBatchIsDeadLettered() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        EventDeliveryQueue queue = create(2, batch -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("Unavailable"));
+        });
+
+        OutboundEvent event = event("a1");
+        queue.add(event);
+        queue.close();
+
+        Assertions.assertEquals(3, attempts.get());
+        List<JsonNode> deadLettered = deadLettered();
+        Assertions.assertEquals(1, deadLettered.size());
+        Assertions.assertEquals(event.getId(), deadLettered.get(0).get("id").asText());
+        Assertions.assertEquals("test", deadLettered.get(0).get("sink").asText());
+        Assertions.assertEquals("a1", deadLettered.get(0).get("data").get("artifactId").asText());
+    }
+
+    @Test
+    void testOverflowIsDeadLetteredByTheDeliveryThread() throws Exception {
+        config.queueCapacity = 1;
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        EventDeliveryQueue queue = create(1, batch -> {
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await();
+            batch.forEach(event -> delivered.add(event.getArtifactId()));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        queue.add(event("a1"));
+        Assertions.assertTrue(firstBatchStarted.await(10, TimeUnit.SECONDS));
+        queue.add(event("a2"));
+        // Does not fit in the queue, nor blocks
+        OutboundEvent overflown = event("a3");
+        queue.add(overflown);
+        Assertions.assertTrue(deadLetteringThreads.isEmpty());
+
+        releaseFirstBatch.countDown();
+        queue.close();
+
+        Assertions.assertEquals(List.of("a1", "a2"), delivered);
+        Assertions.assertEquals(List.of("registry-events-test"), deadLetteringThreads);
+        List<JsonNode> deadLettered = deadLettered();
+        Assertions.assertEquals(1, deadLettered.size());
+        Assertions.assertEquals(overflown.getId(), deadLettered.get(0).get("id").asText());
+    }
+
+    @Test
+    void testUnserializableEventDoesNotPreventDeadLetteringTheOthers() throws Exception {
+        OutboundEvent unserializable = new OutboundEvent("io.apicurio.registry.test", "a1", new Object());
+        OutboundEvent serializable = event("a2");
+
+        queues.deadLetter("test", List.of(unserializable, serializable));
+
+        List<JsonNode> deadLettered = deadLettered();
+        Assertions.assertEquals(1, deadLettered.size());
+        Assertions.assertEquals(serializable.getId(), deadLettered.get(0).get("id").asText());
+    }
+}
@@ -0,0 +1,81 @@
+package io.apicurio.registry.noprofile.maven;
+
+import io.apicurio.registry.maven.RegisterArtifact;
+import io.apicurio.registry.rest.client.models.ArtifactMetaData;
+import io.apicurio.registry.rest.client.models.ArtifactReference;
+import io.apicurio.registry.rest.v3.beans.IfExists;
+import io.apicurio.registry.types.ArtifactType;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Runs the tests with parallel registration, and checks that a schema found by several artifacts is registered once.
+ */
+@QuarkusTest
+public class RegistryMojoWithAutoReferencesParallelTest extends RegistryMojoWithAutoReferencesTest {
+
+    private static final String TRADE_KEY = "com.kubetrade.schema.trade.TradeKey";
+    private static final String EXCHANGE = "com.kubetrade.schema.common.Exchange";
+
+    @BeforeEach
+    public void registerInParallel() {
+        this.registerMojo.setParallel(true);
+        this.registerMojo.setParallelThreads(4);
+    }
+
+    @Override
+    protected String groupId(String name) {
+        return name + "Parallel";
+    }
+
+    @Test
+    public void autoRegisterAvroWithSharedAutoRefs() throws Exception {
+        String groupId = groupId("autoRegisterAvroWithSharedAutoRefs");
+
+        // Both trades reference TradeKey, which references Exchange
+        registerMojo.setArtifacts(List.of(
+                autoRefsArtifact(groupId, "tradeRaw", "TradeRaw.avsc"),
+                autoRefsArtifact(groupId, "tradeRawArray", "TradeRawArray.avsc")));
+        // Registering any of them twice would fail, as the artifact already exists
+        registerMojo.execute();
+
+        Assertions.assertEquals(4, clientV3.groups().byGroupId(groupId).artifacts().get().getCount());
+        for (String artifactId : List.of("tradeRaw", "tradeRawArray", TRADE_KEY, EXCHANGE)) {
+            Assertions.assertEquals(1, clientV3.groups().byGroupId(groupId).artifacts().byArtifactId(artifactId).versions().get().getCount());
+        }
+        assertReference(groupId, "tradeRaw", TRADE_KEY);
+        assertReference(groupId, "tradeRawArray", TRADE_KEY);
+        assertReference(groupId, TRADE_KEY, EXCHANGE);
+    }
+
+    private RegisterArtifact autoRefsArtifact(String groupId, String artifactId, String fileName) {
+        RegisterArtifact artifact = new RegisterArtifact();
+        artifact.setGroupId(groupId);
+        artifact.setArtifactId(artifactId);
+        artifact.setType(ArtifactType.AVRO);
+        artifact.setFile(new File(getClass().getResource(fileName).getFile()));
+        artifact.setAutoRefs(true);
+        artifact.setIfExists(IfExists.FAIL);
+        return artifact;
+    }
+
+    /**
+     * Checks that the latest version of the given artifact only references the latest version of the given type.
+     */
+    private void assertReference(String groupId, String artifactId, String referencedType) {
+        ArtifactMetaData artifact = clientV3.groups().byGroupId(groupId).artifacts().byArtifactId(artifactId).meta().get();
+        ArtifactMetaData referenced = clientV3.groups().byGroupId(groupId).artifacts().byArtifactId(referencedType).meta().get();
+
+        List<ArtifactReference> references = clientV3.ids().globalIds().byGlobalId(artifact.getGlobalId()).references().get();
+        Assertions.assertEquals(1, references.size());
+        Assertions.assertEquals(referencedType, references.get(0).getName());
+        Assertions.assertEquals(groupId, references.get(0).getGroupId());
+        Assertions.assertEquals(referencedType, references.get(0).getArtifactId());
+        Assertions.assertEquals(referenced.getVersion(), references.get(0).getVersion());
+    }
+}
@@ -45,9 +45,13 @@ public class RegistryMojoWithAutoReferencesTest extends RegistryMojoTestBase {
         this.downloadMojo.setRegistryUrl(TestUtils.getRegistryV3ApiUrl(testPort));
     }
 
+    protected String groupId(String name) {
+        return name;
+    }
+
     @Test
     public void autoRegisterAvroWithReferences() throws Exception {
-        String groupId = "autoRegisterAvroWithReferences";
+        String groupId = groupId("autoRegisterAvroWithReferences");
         String artifactId = "tradeRaw";
 
         File tradeRawFile = new File(getClass().getResource("TradeRawArray.avsc").getFile());
@@ -81,7 +85,7 @@ public class RegistryMojoWithAutoReferencesTest extends RegistryMojoTestBase {
     @Test
     public void autoRegisterProtoWithReferences() throws Exception {
         //Preparation
-        String groupId = "autoRegisterProtoWithReferences";
+        String groupId = groupId("autoRegisterProtoWithReferences");
         String artifactId = "tableNotification";
 
         File tableNotificationFile = new File(getClass().getResource("table_notification.proto").getFile());
@@ -117,7 +121,7 @@ public class RegistryMojoWithAutoReferencesTest extends RegistryMojoTestBase {
     @Test
     public void autoRegisterJsonSchemaWithReferences() throws Exception {
         //Preparation
-        String groupId = "autoRegisterJsonSchemaWithReferences";
+        String groupId = groupId("autoRegisterJsonSchemaWithReferences");
         String artifactId = "citizen";
 
         File citizenFile = new File(getClass().getResource("citizen.json").getFile());
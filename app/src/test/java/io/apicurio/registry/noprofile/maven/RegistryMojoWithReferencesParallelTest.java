@@ -0,0 +1,129 @@
+package io.apicurio.registry.noprofile.maven;
+
+import io.apicurio.registry.maven.RegisterArtifact;
+import io.apicurio.registry.maven.RegisterArtifactReference;
+import io.apicurio.registry.rest.client.models.ArtifactMetaData;
+import io.apicurio.registry.rest.client.models.ArtifactReference;
+import io.apicurio.registry.rest.v3.beans.IfExists;
+import io.apicurio.registry.types.ArtifactType;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs the tests with parallel registration, and checks that a schema shared by several artifacts is registered once.
+ */
+@QuarkusTest
+public class RegistryMojoWithReferencesParallelTest extends RegistryMojoWithReferencesTest {
+
+    @BeforeEach
+    public void registerInParallel() {
+        this.registerMojo.setParallel(true);
+        this.registerMojo.setParallelThreads(4);
+    }
+
+    @Override
+    protected String groupId(String name) {
+        return name + "Parallel";
+    }
+
+    @Test
+    public void testSharedReferencesAreRegisteredOnce() throws Exception {
+        String groupId = groupId("SharedReferencesRegistryMojoTest");
+
+        // tradeKey is referenced by both trades, and registered on its own as well
+        RegisterArtifact tradeKey = artifact(new RegisterArtifact(), groupId, "tradeKey", "TradeKey.avsc", null);
+        tradeKey.setReferences(Collections.singletonList(exchangeReference(groupId, null)));
+        registerMojo.setArtifacts(List.of(
+                trade(groupId, "tradeRaw", "TradeRaw.avsc", null),
+                trade(groupId, "tradeRawArray", "TradeRawArray.avsc", null),
+                tradeKey));
+        // Registering any of them twice would fail, as the artifact already exists
+        registerMojo.execute();
+
+        Assertions.assertEquals(4, clientV3.groups().byGroupId(groupId).artifacts().get().getCount());
+        for (String artifactId : List.of("tradeRaw", "tradeRawArray", "tradeKey", "exchange")) {
+            Assertions.assertEquals(1, countVersions(groupId, artifactId));
+        }
+        assertReference(groupId, "tradeRaw", "tradeKey");
+        assertReference(groupId, "tradeRawArray", "tradeKey");
+        assertReference(groupId, "tradeKey", "exchange");
+    }
+
+    @Test
+    public void testUnchangedArtifactsAreOnlyRegisteredAgainIfRequired() throws Exception {
+        String groupId = groupId("UnchangedReferencesRegistryMojoTest");
+
+        registerMojo.setArtifacts(List.of(
+                trade(groupId, "tradeRaw", "TradeRaw.avsc", IfExists.RETURN_OR_UPDATE),
+                trade(groupId, "tradeRawArray", "TradeRawArray.avsc", IfExists.RETURN_OR_UPDATE)));
+        registerMojo.execute();
+        registerMojo.execute();
+
+        for (String artifactId : List.of("tradeRaw", "tradeRawArray", "tradeKey", "exchange")) {
+            Assertions.assertEquals(1, countVersions(groupId, artifactId));
+        }
+
+        // The registry is asked to add a version whatever its content
+        registerMojo.setArtifacts(List.of(
+                trade(groupId, "tradeRaw", "TradeRaw.avsc", IfExists.UPDATE),
+                trade(groupId, "tradeRawArray", "TradeRawArray.avsc", IfExists.RETURN_OR_UPDATE)));
+        registerMojo.execute();
+
+        Assertions.assertEquals(2, countVersions(groupId, "tradeRaw"));
+        for (String artifactId : List.of("tradeRawArray", "tradeKey", "exchange")) {
+            Assertions.assertEquals(1, countVersions(groupId, artifactId));
+        }
+        assertReference(groupId, "tradeRaw", "tradeKey");
+    }
+
+    private <T extends RegisterArtifact> T artifact(T artifact, String groupId, String artifactId, String fileName, IfExists ifExists) {
+        artifact.setGroupId(groupId);
+        artifact.setArtifactId(artifactId);
+        artifact.setType(ArtifactType.AVRO);
+        artifact.setFile(new File(getClass().getResource(fileName).getFile()));
+        artifact.setIfExists(ifExists);
+        return artifact;
+    }
+
+    private RegisterArtifactReference exchangeReference(String groupId, IfExists ifExists) {
+        RegisterArtifactReference exchange = artifact(new RegisterArtifactReference(), groupId, "exchange", "Exchange.avsc", ifExists);
+        exchange.setName("exchange");
+        return exchange;
+    }
+
+    private RegisterArtifact trade(String groupId, String artifactId, String fileName, IfExists ifExists) {
+        // Each trade has its own, equal, references
+        RegisterArtifactReference tradeKey = artifact(new RegisterArtifactReference(), groupId, "tradeKey", "TradeKey.avsc", ifExists);
+        tradeKey.setName("tradeKey");
+        tradeKey.setReferences(Collections.singletonList(exchangeReference(groupId, ifExists)));
+
+        RegisterArtifact trade = artifact(new RegisterArtifact(), groupId, artifactId, fileName, ifExists);
+        trade.setReferences(Collections.singletonList(tradeKey));
+        return trade;
+    }
+
+    private int countVersions(String groupId, String artifactId) {
+        return clientV3.groups().byGroupId(groupId).artifacts().byArtifactId(artifactId).versions().get().getCount();
+    }
+
+    /**
+     * Checks that the latest version of the given artifact only references the latest version of the other one.
+     */
+    private void assertReference(String groupId, String artifactId, String referencedArtifactId) {
+        ArtifactMetaData artifact = clientV3.groups().byGroupId(groupId).artifacts().byArtifactId(artifactId).meta().get();
+        ArtifactMetaData referenced = clientV3.groups().byGroupId(groupId).artifacts().byArtifactId(referencedArtifactId).meta().get();
+
+        List<ArtifactReference> references = clientV3.ids().globalIds().byGlobalId(artifact.getGlobalId()).references().get();
+        Assertions.assertEquals(1, references.size());
+        Assertions.assertEquals(referencedArtifactId, references.get(0).getName());
+        Assertions.assertEquals(groupId, references.get(0).getGroupId());
+        Assertions.assertEquals(referencedArtifactId, references.get(0).getArtifactId());
+        Assertions.assertEquals(referenced.getVersion(), references.get(0).getVersion());
+    }
+}
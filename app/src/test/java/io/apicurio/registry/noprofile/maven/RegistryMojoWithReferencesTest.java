@@ -32,10 +32,14 @@ public class RegistryMojoWithReferencesTest extends RegistryMojoTestBase {
         this.downloadMojo.setRegistryUrl(TestUtils.getRegistryV3ApiUrl(testPort));
     }
 
+    protected String groupId(String name) {
+        return name;
+    }
+
     @Test
     public void testMojosWithReferences() throws IOException, MojoFailureException, MojoExecutionException {
 
-        String groupId = "RegisterWithReferencesRegistryMojoTest";
+        String groupId = groupId("RegisterWithReferencesRegistryMojoTest");
 
         File exchangeFile = new File(getClass().getResource("Exchange.avsc").getFile());
         File tradeKeyFile = new File(getClass().getResource("TradeKey.avsc").getFile());
@@ -2992,6 +2992,99 @@ public class GroupsResourceTest extends AbstractResourceTestBase {
                 .body("paths.widgets.get.responses.200.content.json.schema.items.$ref", equalTo("#/components/schemas/Widget"));
     }
 
+    @Test
+    public void testDereferencedContentETag() throws Exception {
+        String referencedTypesContent = resourceToString("referenced-types.json");
+        String withExternalRefContent = resourceToString("openapi-with-external-ref.json");
+
+        createArtifact(GROUP, "testDereferencedContentETag/ReferencedTypes", ArtifactType.OPENAPI, referencedTypesContent);
+        List<ArtifactReference> refs = Collections.singletonList(
+                ArtifactReference.builder()
+                        .name("./referenced-types.json#/components/schemas/Widget")
+                        .groupId(GROUP)
+                        .artifactId("testDereferencedContentETag/ReferencedTypes")
+                        .version("1")
+                        .build());
+        createArtifactWithReferences(GROUP, "testDereferencedContentETag/WithExternalRef", ArtifactType.OPENAPI, withExternalRefContent, refs);
+
+        // The dereferenced content is served with a strong ETag
+        String etag = given()
+                .when()
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", "testDereferencedContentETag/WithExternalRef")
+                .queryParam("references", "DEREFERENCE")
+                .get("/registry/v3/groups/{groupId}/artifacts/{artifactId}/versions/1")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(startsWith("W/")))
+                .body("paths.widgets.get.responses.200.content.json.schema.items.$ref", equalTo("#/components/schemas/Widget"))
+                .extract().header("ETag");
+        assertNotNull(etag);
+
+        // Which can be used to avoid downloading it again
+        given()
+                .when()
+                .header("If-None-Match", etag)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", "testDereferencedContentETag/WithExternalRef")
+                .queryParam("references", "DEREFERENCE")
+                .get("/registry/v3/groups/{groupId}/artifacts/{artifactId}/versions/1")
+                .then()
+                .statusCode(304);
+
+        // Other variants of the content have their own ETag
+        given()
+                .when()
+                .header("If-None-Match", etag)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", "testDereferencedContentETag/WithExternalRef")
+                .queryParam("references", "REWRITE")
+                .get("/registry/v3/groups/{groupId}/artifacts/{artifactId}/versions/1")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(etag)))
+                .body("paths.widgets.get.responses.200.content.json.schema.items.$ref", endsWith("?references=REWRITE#/components/schemas/Widget"));
+    }
+
+    @Test
+    public void testDereferencedContentWithMissingReferenceIsNotCached() throws Exception {
+        String referencedTypesContent = resourceToString("referenced-types.json");
+        String withExternalRefContent = resourceToString("openapi-with-external-ref.json");
+
+        // The referenced artifact does not exist yet
+        List<ArtifactReference> refs = Collections.singletonList(
+                ArtifactReference.builder()
+                        .name("./referenced-types.json#/components/schemas/Widget")
+                        .groupId(GROUP)
+                        .artifactId("testDereferencedContentWithMissingReference/ReferencedTypes")
+                        .version("1")
+                        .build());
+        createArtifactWithReferences(GROUP, "testDereferencedContentWithMissingReference/WithExternalRef", ArtifactType.OPENAPI, withExternalRefContent, refs);
+
+        String incompleteEtag = given()
+                .when()
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", "testDereferencedContentWithMissingReference/WithExternalRef")
+                .queryParam("references", "DEREFERENCE")
+                .get("/registry/v3/groups/{groupId}/artifacts/{artifactId}/versions/1")
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        // Once the reference exists, the content is dereferenced with it
+        createArtifact(GROUP, "testDereferencedContentWithMissingReference/ReferencedTypes", ArtifactType.OPENAPI, referencedTypesContent);
+        given()
+                .when()
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", "testDereferencedContentWithMissingReference/WithExternalRef")
+                .queryParam("references", "DEREFERENCE")
+                .get("/registry/v3/groups/{groupId}/artifacts/{artifactId}/versions/1")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(incompleteEtag)))
+                .body("paths.widgets.get.responses.200.content.json.schema.items.$ref", equalTo("#/components/schemas/Widget"));
+    }
+
 
     @Test
     public void testBranches() throws Exception {
@@ -172,6 +172,48 @@ public class AvroSerdeTest extends AbstractResourceTestBase {
         }
     }
 
+    @Test
+    public void testAvroReusedDecoder() throws Exception {
+        Schema schema = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"myrecord5\",\"namespace\":\"test-group-avro\",\"fields\":[{\"name\":\"bar\",\"type\":\"string\"}]}");
+        try (AvroKafkaSerializer<GenericData.Record> serializer = new AvroKafkaSerializer<GenericData.Record>(restClient);
+             Deserializer<GenericData.Record> deserializer = new AvroKafkaDeserializer<>(restClient)) {
+
+            Map<String, Object> config = new HashMap<>();
+            config.put(SerdeConfig.ARTIFACT_RESOLVER_STRATEGY, RecordIdStrategy.class);
+            config.put(SerdeConfig.AUTO_REGISTER_ARTIFACT, "true");
+            config.put(SerdeConfig.ENABLE_HEADERS, "false");
+            serializer.configure(config, false);
+
+            deserializer.configure(new HashMap<>(), false);
+
+            String topic = generateArtifactId();
+            // A long value followed by shorter ones, all decoded by the same (reused) decoder
+            List<String> values = List.of("a".repeat(1024), "short", "", "somebar");
+            List<byte[]> serialized = new ArrayList<>();
+            for (String value : values) {
+                GenericData.Record record = new GenericData.Record(schema);
+                record.put("bar", value);
+                serialized.add(serializer.serialize(topic, record));
+            }
+
+            waitForSchema(globalId -> {
+                try {
+                    return restClient.ids().globalIds().byGlobalId(globalId).get().readAllBytes().length > 0;
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }, serialized.get(0));
+
+            for (int i = 0; i < values.size(); i++) {
+                GenericData.Record ir = deserializer.deserialize(topic, serialized.get(i));
+                Assertions.assertEquals(values.get(i), ir.get("bar").toString());
+            }
+            // A record is decoded correctly again after a failed one
+            Assertions.assertThrows(RuntimeException.class, () -> deserializer.deserialize(topic, Arrays.copyOf(serialized.get(0), 10)));
+            Assertions.assertEquals("short", deserializer.deserialize(topic, serialized.get(1)).get("bar").toString());
+        }
+    }
+
     @Test
     public void testAvroJSON() throws Exception {
         Schema schema = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"myrecord3\",\"fields\":[{\"name\":\"bar\",\"type\":\"string\"}]}");
@@ -27,6 +27,7 @@ import io.apicurio.registry.support.Citizen;
 import io.apicurio.registry.support.CitizenIdentifier;
 import io.apicurio.registry.support.City;
 import io.apicurio.registry.support.Person;
+import io.apicurio.registry.support.Payment;
 import io.apicurio.registry.support.Qualification;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.utils.IoUtil;
@@ -45,6 +46,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -210,6 +212,47 @@ public class JsonSchemaSerdeTest extends AbstractResourceTestBase {
 
     }
 
+    @Test
+    public void testJsonSchemaSerdeKeepsDecimalPrecision() throws Exception {
+        String jsonSchema = "{\"$schema\": \"http://json-schema.org/draft-07/schema#\", \"title\": \"Payment\", \"type\": \"object\", " +
+                "\"properties\": {\"id\": {\"type\": \"string\"}, \"amount\": {\"type\": \"number\", \"minimum\": 0}}, " +
+                "\"required\": [\"id\", \"amount\"]}";
+
+        String groupId = TestUtils.generateGroupId();
+        String artifactId = generateArtifactId();
+
+        createArtifact(groupId, artifactId, ArtifactType.JSON, jsonSchema);
+
+        // More digits than a double holds, and a trailing zero
+        BigDecimal amount = new BigDecimal("12345678901234567890.123456780");
+        Payment payment = new Payment("p-1", amount);
+
+        try (JsonSchemaKafkaSerializer<Payment> serializer = new JsonSchemaKafkaSerializer<>(restClient, true);
+             Deserializer<Payment> deserializer = new JsonSchemaKafkaDeserializer<>(restClient, true)) {
+
+            Map<String, Object> config = new HashMap<>();
+            config.put(SerdeConfig.EXPLICIT_ARTIFACT_GROUP_ID, groupId);
+            config.put(SerdeConfig.ARTIFACT_RESOLVER_STRATEGY, SimpleTopicIdStrategy.class.getName());
+            serializer.configure(config, false);
+
+            deserializer.configure(Collections.emptyMap(), false);
+
+            Headers headers = new RecordHeaders();
+            byte[] bytes = serializer.serialize(artifactId, headers, payment);
+
+            payment = deserializer.deserialize(artifactId, headers, bytes);
+
+            Assertions.assertEquals("p-1", payment.getId());
+            Assertions.assertEquals(amount, payment.getAmount());
+
+            // Still validated
+            payment.setAmount(amount.negate());
+            serializer.setValidationEnabled(false);
+            byte[] invalidBytes = serializer.serialize(artifactId, headers, payment);
+            Assertions.assertThrows(Exception.class, () -> deserializer.deserialize(artifactId, headers, invalidBytes));
+        }
+    }
+
     @Test
     public void testJsonSchemaSerdeMagicByte() throws Exception {
 
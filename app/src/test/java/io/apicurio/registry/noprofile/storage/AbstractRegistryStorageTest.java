@@ -16,12 +16,15 @@ import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.utils.impexp.EntityType;
 import io.apicurio.registry.utils.tests.TestUtils;
 import jakarta.inject.Inject;
+import org.apache.avro.Schema;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBehavior.DEFAULT;
 import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBehavior.SKIP_DISABLED_LATEST;
@@ -384,6 +387,171 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         Assertions.assertEquals("DESC", vmd.getDescription());
     }
 
+    @Test
+    public void testCreateArtifactVersionWithManyLabelsAndProperties() throws Exception {
+        String artifactId = "testCreateArtifactVersionWithManyLabelsAndProperties-1";
+        storage().createArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT), null);
+
+        List<String> labels = new ArrayList<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (int idx = 0; idx < 30; idx++) {
+            labels.add("Label-" + idx);
+            properties.put("Key-" + idx, "Value-" + idx);
+        }
+        EditableArtifactMetaDataDto metaData = new EditableArtifactMetaDataDto("NAME", "DESC", labels, properties);
+        ArtifactMetaDataDto dtov2 = storage().updateArtifactWithMetadata(GROUP_ID, artifactId, null, ArtifactType.OPENAPI,
+                ContentHandle.create(OPENAPI_CONTENT_V2), metaData, null);
+        Assertions.assertEquals("2", dtov2.getVersion());
+        Assertions.assertEquals(2, dtov2.getVersionOrder());
+        Assertions.assertEquals(ArtifactType.OPENAPI, dtov2.getType());
+
+        // The returned meta-data must be the same as the stored one
+        ArtifactVersionMetaDataDto vmd = storage().getArtifactVersionMetaData(GROUP_ID, artifactId, "2");
+        Assertions.assertEquals(vmd.getGlobalId(), dtov2.getGlobalId());
+        Assertions.assertEquals(vmd.getContentId(), dtov2.getContentId());
+        Assertions.assertEquals(vmd.getVersionOrder(), dtov2.getVersionOrder());
+        Assertions.assertEquals(vmd.getType(), dtov2.getType());
+        Assertions.assertEquals(vmd.getLabels(), dtov2.getLabels());
+        Assertions.assertEquals(vmd.getProperties(), dtov2.getProperties());
+
+        // Every label and property must be searchable
+        Set<SearchFilter> filters = Set.of(SearchFilter.ofLabel("label-29"), SearchFilter.ofProperty("key-29", "value-29"));
+        ArtifactSearchResultsDto results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 10);
+        Assertions.assertEquals(1, results.getCount());
+        Assertions.assertEquals(artifactId, results.getArtifacts().get(0).getId());
+    }
+
+    @Test
+    public void testResolveReferences() throws Exception {
+        String prefix = "testResolveReferences-";
+        storage().createArtifact(GROUP_ID, prefix + "leaf", null, ArtifactType.JSON, ContentHandle.create("{\"name\": \"leaf\"}"), null);
+        storage().createArtifact(GROUP_ID, prefix + "left", null, ArtifactType.JSON, ContentHandle.create("{\"name\": \"left\"}"),
+                List.of(reference(prefix + "leaf", "leaf")));
+        storage().createArtifact(GROUP_ID, prefix + "right", null, ArtifactType.JSON, ContentHandle.create("{\"name\": \"right\"}"),
+                List.of(reference(prefix + "leaf", "leaf")));
+        // A cycle, the first version references a version that does not exist yet
+        storage().createArtifact(GROUP_ID, prefix + "cycle-a", null, ArtifactType.JSON, ContentHandle.create("{\"name\": \"cycle-a\"}"),
+                List.of(reference(prefix + "cycle-b", "cycle-b")));
+        storage().createArtifact(GROUP_ID, prefix + "cycle-b", null, ArtifactType.JSON, ContentHandle.create("{\"name\": \"cycle-b\"}"),
+                List.of(reference(prefix + "cycle-a", "cycle-a")));
+
+        Map<String, ContentHandle> resolved = storage().resolveReferences(List.of(
+                reference(prefix + "left", "left"),
+                reference(prefix + "right", "right"),
+                reference(prefix + "missing", "missing"),
+                reference(prefix + "cycle-a", "cycle-a")));
+
+        // Dependencies come before the references that need them, missing versions are ignored
+        Assertions.assertEquals(List.of("leaf", "left", "right", "cycle-b", "cycle-a"), new ArrayList<>(resolved.keySet()));
+        Assertions.assertEquals("{\"name\": \"leaf\"}", resolved.get("leaf").content());
+        Assertions.assertEquals("{\"name\": \"cycle-b\"}", resolved.get("cycle-b").content());
+    }
+
+    @Test
+    public void testResolveReferencesAfterDelete() throws Exception {
+        String prefix = "testResolveReferencesAfterDelete-";
+        storage().createArtifact(GROUP_ID, prefix + "leaf", null, ArtifactType.JSON, ContentHandle.create("{\"name\": \"leaf\"}"), null);
+        storage().createArtifact(GROUP_ID, prefix + "node", null, ArtifactType.JSON, ContentHandle.create("{\"name\": \"node\"}"),
+                List.of(reference(prefix + "leaf", "leaf")));
+        List<ArtifactReferenceDto> references = List.of(reference(prefix + "node", "node"));
+
+        Assertions.assertEquals(List.of("leaf", "node"), new ArrayList<>(storage().resolveReferences(references).keySet()));
+        Assertions.assertEquals(List.of("leaf", "node"), new ArrayList<>(storage().resolveReferences(references).keySet()));
+
+        // A resolved (and possibly cached) closure does not outlive the versions it contains
+        storage().deleteArtifact(GROUP_ID, prefix + "leaf");
+        Assertions.assertEquals(List.of("node"), new ArrayList<>(storage().resolveReferences(references).keySet()));
+        Assertions.assertNull(storage().resolveReferencesIfComplete(references));
+    }
+
+    private static ArtifactReferenceDto reference(String artifactId, String name) {
+        return ArtifactReferenceDto.builder().groupId(GROUP_ID).artifactId(artifactId).version("1").name(name).build();
+    }
+
+    @Test
+    public void testGetArtifactVersionMetaDataByDereferencedHash() throws Exception {
+        String prefix = "testGetArtifactVersionMetaDataByDereferencedHash-";
+        String inner = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"}]}";
+        String outer = "{\"type\":\"record\",\"name\":\"Outer\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"inner\",\"type\":\"com.example.Inner\"}]}";
+        storage().createArtifact(GROUP_ID, prefix + "inner", null, ArtifactType.AVRO, ContentHandle.create(inner), null);
+        storage().createArtifact(GROUP_ID, prefix + "outer", null, ArtifactType.AVRO, ContentHandle.create("{\"type\":\"string\"}"), null);
+        ArtifactMetaDataDto dto = storage().updateArtifact(GROUP_ID, prefix + "outer", null, ArtifactType.AVRO, ContentHandle.create(outer),
+                List.of(reference(prefix + "inner", "com.example.Inner")));
+
+        // The same schema, with the referenced type inlined
+        Schema.Parser parser = new Schema.Parser();
+        parser.parse(inner);
+        String inlined = parser.parse(outer).toString();
+
+        ArtifactVersionMetaDataDto found = storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID, prefix + "outer",
+                DigestUtils.sha256Hex(inlined));
+        Assertions.assertEquals(dto.getGlobalId(), found.getGlobalId());
+        Assertions.assertEquals("2", found.getVersion());
+
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID,
+                prefix + "outer", DigestUtils.sha256Hex(inner)));
+    }
+
+    @Test
+    public void testDereferencedHashFollowsReferencedVersions() throws Exception {
+        String prefix = "testDereferencedHashFollowsReferencedVersions-";
+        String innerV1 = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"}]}";
+        String innerV2 = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"b\",\"type\":\"string\"}]}";
+        String outer = "{\"type\":\"record\",\"name\":\"Outer\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"inner\",\"type\":\"com.example.Inner\"}]}";
+
+        // The referenced version does not exist yet when the version is created
+        ArtifactMetaDataDto dto = storage().createArtifact(GROUP_ID, prefix + "outer", null, ArtifactType.AVRO, ContentHandle.create(outer),
+                List.of(reference(prefix + "inner", "com.example.Inner")));
+        storage().createArtifact(GROUP_ID, prefix + "inner", null, ArtifactType.AVRO, ContentHandle.create(innerV1), null);
+        Assertions.assertEquals(dto.getGlobalId(), storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID, prefix + "outer",
+                DigestUtils.sha256Hex(inline(innerV1, outer))).getGlobalId());
+
+        // The referenced version is deleted and created again with another content
+        storage().deleteArtifact(GROUP_ID, prefix + "inner");
+        storage().createArtifact(GROUP_ID, prefix + "inner", null, ArtifactType.AVRO, ContentHandle.create(innerV2), null);
+        Assertions.assertEquals(dto.getGlobalId(), storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID, prefix + "outer",
+                DigestUtils.sha256Hex(inline(innerV2, outer))).getGlobalId());
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID,
+                prefix + "outer", DigestUtils.sha256Hex(inline(innerV1, outer))));
+    }
+
+    @Test
+    public void testDereferencedHashFollowsTransitivelyReferencedVersions() throws Exception {
+        String prefix = "testDereferencedHashFollowsTransitivelyReferencedVersions-";
+        String innerV1 = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"}]}";
+        String innerV2 = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"b\",\"type\":\"string\"}]}";
+        String middle = "{\"type\":\"record\",\"name\":\"Middle\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"inner\",\"type\":\"com.example.Inner\"}]}";
+        String outer = "{\"type\":\"record\",\"name\":\"Outer\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"middle\",\"type\":\"com.example.Middle\"}]}";
+
+        storage().createArtifact(GROUP_ID, prefix + "inner", null, ArtifactType.AVRO, ContentHandle.create(innerV1), null);
+        storage().createArtifact(GROUP_ID, prefix + "middle", null, ArtifactType.AVRO, ContentHandle.create(middle),
+                List.of(reference(prefix + "inner", "com.example.Inner")));
+        ArtifactMetaDataDto dto = storage().createArtifact(GROUP_ID, prefix + "outer", null, ArtifactType.AVRO, ContentHandle.create(outer),
+                List.of(reference(prefix + "middle", "com.example.Middle")));
+        Assertions.assertEquals(dto.getGlobalId(), storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID, prefix + "outer",
+                DigestUtils.sha256Hex(inline(innerV1, middle, outer))).getGlobalId());
+
+        // The version referenced by the referenced version is deleted and created again with another content
+        storage().deleteArtifact(GROUP_ID, prefix + "inner");
+        storage().createArtifact(GROUP_ID, prefix + "inner", null, ArtifactType.AVRO, ContentHandle.create(innerV2), null);
+        Assertions.assertEquals(dto.getGlobalId(), storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID, prefix + "outer",
+                DigestUtils.sha256Hex(inline(innerV2, middle, outer))).getGlobalId());
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID,
+                prefix + "outer", DigestUtils.sha256Hex(inline(innerV1, middle, outer))));
+    }
+
+    /**
+     * Parses the given schemas in order, and returns the last one with the types it references inlined.
+     */
+    private static String inline(String... schemas) {
+        Schema.Parser parser = new Schema.Parser();
+        Schema schema = null;
+        for (String s : schemas) {
+            schema = parser.parse(s);
+        }
+        return schema.toString();
+    }
+
     @Test
     public void testGetArtifactMetaDataByGlobalId() throws Exception {
         String artifactId = "testGetArtifactMetaDataByGlobalId-1";
@@ -914,6 +1082,55 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         System.out.println("Search time: " + (end - start) + "ms");
     }
 
+    @Test
+    public void testSearchArtifactsWithCursor() throws Exception {
+        String artifactIdPrefix = "testCursorSearch-";
+        for (int idx = 1; idx <= 25; idx++) {
+            String idxs = (idx < 10 ? "0" : "") + idx;
+            String artifactId = artifactIdPrefix + idxs;
+            ContentHandle content = ContentHandle.create(OPENAPI_CONTENT);
+            // Pairs of artifacts share the same name, the globalId breaks the ties
+            EditableArtifactMetaDataDto metaData = new EditableArtifactMetaDataDto(
+                    artifactIdPrefix + (idx / 2) + "-name", null, null, null);
+            storage().createArtifactWithMetadata(GROUP_ID, artifactId, null, ArtifactType.OPENAPI, content, metaData, null);
+        }
+
+        Set<SearchFilter> filters = Collections.singleton(SearchFilter.ofName(artifactIdPrefix));
+        for (OrderBy orderBy : OrderBy.values()) {
+            for (OrderDirection orderDirection : OrderDirection.values()) {
+                List<String> expected = storage().searchArtifacts(filters, orderBy, orderDirection, 0, 100).getArtifacts().stream()
+                        .map(SearchedArtifactDto::getId)
+                        .collect(Collectors.toList());
+                Assertions.assertEquals(25, expected.size());
+
+                List<String> paged = new ArrayList<>();
+                SearchCursor cursor = null;
+                int pages = 0;
+                do {
+                    ArtifactSearchResultsDto results = storage().searchArtifacts(filters, orderBy, orderDirection, 0, 10,
+                            cursor, SearchCountMode.NONE);
+                    results.getArtifacts().forEach(artifact -> paged.add(artifact.getId()));
+                    cursor = results.getNext();
+                    pages++;
+                } while (cursor != null);
+                Assertions.assertEquals(3, pages);
+                Assertions.assertEquals(expected, paged);
+            }
+        }
+
+        ArtifactSearchResultsDto results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 10,
+                null, SearchCountMode.EXACT);
+        Assertions.assertEquals(25, results.getCount());
+        Assertions.assertNotNull(results.getNext());
+
+        results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 10, null, SearchCountMode.ESTIMATE);
+        Assertions.assertEquals(25, results.getCount());
+
+        results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 100, null, SearchCountMode.EXACT);
+        Assertions.assertEquals(25, results.getArtifacts().size());
+        Assertions.assertNull(results.getNext());
+    }
+
     @Test
     public void testSearchVersions() throws Exception {
         String artifactId = "testSearchVersions-1";
@@ -944,6 +1161,17 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
             Assertions.assertNotNull(results);
             Assertions.assertEquals(50, results.getCount());
             Assertions.assertEquals(50, results.getVersions().size());
+            Assertions.assertNull(results.getNext());
+
+            List<Long> paged = new ArrayList<>();
+            SearchCursor cursor = null;
+            do {
+                results = storage().searchVersions(GROUP_ID, artifactId, 0, 20, cursor, SearchCountMode.NONE);
+                results.getVersions().forEach(version -> paged.add(version.getGlobalId()));
+                cursor = results.getNext();
+            } while (cursor != null);
+            Assertions.assertEquals(50, paged.size());
+            Assertions.assertEquals(paged.stream().sorted().distinct().collect(Collectors.toList()), paged);
         });
     }
 
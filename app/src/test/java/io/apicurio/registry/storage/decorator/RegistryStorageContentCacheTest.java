@@ -0,0 +1,83 @@
+package io.apicurio.registry.storage.decorator;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
+import io.apicurio.registry.storage.util.ContentCacheTestProfile;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.Current;
+import io.apicurio.registry.utils.tests.TestUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(ContentCacheTestProfile.class)
+public class RegistryStorageContentCacheTest extends AbstractResourceTestBase {
+
+    private static final String GROUP_ID = RegistryStorageContentCacheTest.class.getSimpleName();
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    @Test
+    public void testCachedContentIsEvictedOnVersionDelete() throws Exception {
+        String artifactId = TestUtils.generateArtifactId();
+        storage.createArtifact(GROUP_ID, artifactId, null, ArtifactType.JSON, ContentHandle.create("{\"v\":1}"), null);
+        ArtifactMetaDataDto v2 = storage.updateArtifact(GROUP_ID, artifactId, null, ArtifactType.JSON, ContentHandle.create("{\"v\":2}"), null);
+
+        // Read twice, the second read is served from the cache
+        for (int i = 0; i < 2; i++) {
+            StoredArtifactDto stored = storage.getArtifactVersion(v2.getGlobalId());
+            assertEquals("{\"v\":2}", stored.getContent().content());
+            assertEquals("{\"v\":2}", storage.getArtifactByContentId(v2.getContentId()).getContent().content());
+        }
+
+        storage.deleteArtifactVersion(GROUP_ID, artifactId, v2.getVersion());
+
+        assertThrows(ArtifactNotFoundException.class, () -> storage.getArtifactVersion(v2.getGlobalId()));
+        assertThrows(ContentNotFoundException.class, () -> storage.getArtifactByContentId(v2.getContentId()));
+    }
+
+    @Test
+    public void testCachedContentIsEvictedOnArtifactDelete() throws Exception {
+        String artifactId = TestUtils.generateArtifactId();
+        ArtifactMetaDataDto v1 = storage.createArtifact(GROUP_ID, artifactId, null, ArtifactType.JSON, ContentHandle.create("{\"a\":1}"), null);
+
+        assertEquals("{\"a\":1}", storage.getArtifactVersion(v1.getGlobalId()).getContent().content());
+        assertEquals("{\"a\":1}", storage.getArtifactByContentId(v1.getContentId()).getContent().content());
+
+        storage.deleteArtifact(GROUP_ID, artifactId);
+
+        assertThrows(ArtifactNotFoundException.class, () -> storage.getArtifactVersion(v1.getGlobalId()));
+        assertThrows(ContentNotFoundException.class, () -> storage.getArtifactByContentId(v1.getContentId()));
+    }
+
+    @Test
+    public void testIncompleteReferenceResolutionIsNotCached() throws Exception {
+        String artifactId = TestUtils.generateArtifactId();
+        List<ArtifactReferenceDto> references = List.of(new ArtifactReferenceDto(GROUP_ID, artifactId, "1", "ref.json"));
+
+        // The referenced version does not exist yet
+        assertTrue(storage.resolveReferences(references).isEmpty());
+
+        storage.createArtifact(GROUP_ID, artifactId, "1", ArtifactType.JSON, ContentHandle.create("{\"r\":1}"), null);
+
+        Map<String, ContentHandle> resolved = storage.resolveReferences(references);
+        assertEquals("{\"r\":1}", resolved.get("ref.json").content());
+    }
+}
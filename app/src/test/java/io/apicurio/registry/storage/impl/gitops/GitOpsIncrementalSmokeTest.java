@@ -0,0 +1,75 @@
+package io.apicurio.registry.storage.impl.gitops;
+
+import io.apicurio.registry.storage.util.GitopsIncrementalTestProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Runs the smoke test with incremental refresh, the last update is applied to the data loaded by the first one.
+ */
+@QuarkusTest
+@TestProfile(GitopsIncrementalTestProfile.class)
+class GitOpsIncrementalSmokeTest extends GitOpsSmokeTest {
+
+    @Test
+    void incrementalTest() throws Exception {
+        var testRepository = GitTestRepositoryManager.getTestRepository();
+
+        // Loaded into one database
+        testRepository.load("git/incremental01");
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> withContext(() -> storage.getArtifactIds(10)), equalTo(Set.of("petstore", "person", "address")));
+
+        var petstoreCreatedOn = storage.getArtifactVersionMetaData("foo", "petstore", "1").getCreatedOn();
+        var addressCreatedOn = storage.getArtifactVersionMetaData("bar", "address", "1").getCreatedOn();
+        var personCreatedOn = storage.getArtifactVersionMetaData("bar", "person", "1").getCreatedOn();
+
+        // Loaded into the other database, adds a version of person
+        testRepository.load("git/incremental02");
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> withContext(() -> storage.getArtifactVersions("bar", "person")), equalTo(List.of("1", "2")));
+
+        // Applied to the data of the first load, adds another version of person
+        testRepository.load("git/incremental03");
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> withContext(() -> storage.getArtifactVersions("bar", "person")), equalTo(List.of("1", "2", "3")));
+
+        assertEquals(Set.of("petstore", "person", "address"), storage.getArtifactIds(10));
+        assertEquals(Set.of("foo", "bar"), Set.copyOf(storage.getGroupIds(10)));
+
+        // The changed artifact is imported again, from the last commit
+        var version = storage.getArtifactVersion("bar", "person", "3");
+        assertEquals(5, version.getGlobalId());
+        assertEquals(45, version.getContentId());
+        var content = loadFile("git/incremental03/content/Person-3.json");
+        assertEquals(MAPPER.readTree(content.bytes()), MAPPER.readTree(version.getContent().bytes()));
+        assertEquals(44, storage.getArtifactVersion("bar", "person", "2").getContentId());
+        assertEquals(42, storage.getArtifactVersion("bar", "person", "1").getContentId());
+        assertNotEquals(personCreatedOn, storage.getArtifactVersionMetaData("bar", "person", "1").getCreatedOn());
+
+        // The other artifacts are kept as loaded from the first commit, a full reload would have imported them again
+        assertEquals(petstoreCreatedOn, storage.getArtifactVersionMetaData("foo", "petstore", "1").getCreatedOn());
+        assertEquals(addressCreatedOn, storage.getArtifactVersionMetaData("bar", "address", "1").getCreatedOn());
+        version = storage.getArtifactVersion("bar", "address", "1");
+        assertEquals(3, version.getGlobalId());
+        assertEquals(43, version.getContentId());
+        content = loadFile("git/incremental01/content/Address.json");
+        assertEquals(MAPPER.readTree(content.bytes()), MAPPER.readTree(version.getContent().bytes()));
+        assertEquals(1, storage.getArtifactVersion("foo", "petstore", "1").getContentId());
+
+        // Leaves the storage empty for the smoke test
+        testRepository.load("git/empty");
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> withContext(() -> storage.getArtifactIds(10)), equalTo(Set.of()));
+    }
+}
@@ -29,7 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @TestProfile(GitopsTestProfile.class)
 class GitOpsSmokeTest {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    static final ObjectMapper MAPPER = new ObjectMapper();
 
     @Inject
     @Current
@@ -99,7 +99,7 @@ class GitOpsSmokeTest {
     }
 
 
-    private ContentHandle loadFile(String path) {
+    ContentHandle loadFile(String path) {
         try {
             var fullPath = Path.of(requireNonNull(Thread.currentThread().getContextClassLoader().getResource(path)).toURI());
             return ContentHandle.create(FileUtils.readFileToByteArray(fullPath.toFile()));
@@ -0,0 +1,62 @@
+package io.apicurio.registry.storage.impl.gitops;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadTrackedStorageTest {
+
+    @Test
+    void testTracksReaders() throws Exception {
+        var storage = new ReadTrackedStorage(null);
+        assertFalse(storage.hasReaders());
+
+        int stripe1 = storage.enter();
+        int stripe2 = storage.enter();
+        assertTrue(storage.hasReaders());
+
+        storage.exit(stripe1);
+        assertTrue(storage.hasReaders());
+        assertFalse(storage.awaitNoReaders(Duration.ofMillis(50)));
+
+        storage.exit(stripe2);
+        assertFalse(storage.hasReaders());
+        assertTrue(storage.awaitNoReaders(Duration.ZERO));
+    }
+
+    @Test
+    void testWaitsForReadersOfOtherThreads() throws Exception {
+        var storage = new ReadTrackedStorage(null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var entered = new CountDownLatch(8);
+            var release = new CountDownLatch(1);
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    int stripe = storage.enter();
+                    try {
+                        entered.countDown();
+                        release.await();
+                    } finally {
+                        storage.exit(stripe);
+                    }
+                    return null;
+                });
+            }
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            assertFalse(storage.awaitNoReaders(Duration.ofMillis(50)));
+
+            release.countDown();
+            assertTrue(storage.awaitNoReaders(Duration.ofSeconds(5)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.storage.error.RuleNotFoundException;
+import io.apicurio.registry.types.RuleType;
+
+class KafkaSqlCoordinatorTest {
+
+    private static final int RESPONSE_TIMEOUT = 200;
+
+    private KafkaSqlCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new KafkaSqlCoordinator();
+        coordinator.configuration = new TestConfiguration();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.onDestroy();
+    }
+
+    @Test
+    void testResponseIsReturned() {
+        UUID uuid = coordinator.createUUID();
+        CompletableFuture<UUID> sent = new CompletableFuture<>();
+
+        // The response may arrive before the message is acknowledged as sent
+        coordinator.notifyResponse(uuid, 42L);
+        sent.complete(uuid);
+
+        Assertions.assertEquals(42L, coordinator.waitForResponse(sent));
+    }
+
+    @Test
+    void testFailureIsThrownAsIs() {
+        UUID uuid = coordinator.createUUID();
+        IllegalStateException error = new IllegalStateException("Unexpected");
+        coordinator.notifyFailure(uuid, error);
+
+        Assertions.assertSame(error, Assertions.assertThrows(IllegalStateException.class,
+                () -> coordinator.waitForResponse(CompletableFuture.completedFuture(uuid))));
+
+        UUID other = coordinator.createUUID();
+        coordinator.notifyFailure(other, new RuleNotFoundException(RuleType.VALIDITY));
+        Assertions.assertThrows(RuleNotFoundException.class,
+                () -> coordinator.waitForResponse(CompletableFuture.completedFuture(other)));
+    }
+
+    @Test
+    void testSendFailureIsThrown() {
+        coordinator.createUUID();
+        CompletableFuture<UUID> sent = CompletableFuture.failedFuture(new IllegalStateException("Not sent"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> coordinator.waitForResponse(sent));
+    }
+
+    @Test
+    void testMissingResponseTimesOut() {
+        UUID uuid = coordinator.createUUID();
+
+        long start = System.currentTimeMillis();
+        Assertions.assertNull(coordinator.waitForResponse(CompletableFuture.completedFuture(uuid)));
+        Assertions.assertTrue(System.currentTimeMillis() - start >= RESPONSE_TIMEOUT - 50);
+
+        // A late response is ignored
+        coordinator.notifyResponse(uuid, 42L);
+        Assertions.assertNull(coordinator.responseFor(uuid).join());
+    }
+
+    private static class TestConfiguration implements KafkaSqlConfiguration {
+
+        @Override
+        public String bootstrapServers() {
+            return null;
+        }
+
+        @Override
+        public String topic() {
+            return null;
+        }
+
+        @Override
+        public Properties topicProperties() {
+            return null;
+        }
+
+        @Override
+        public boolean isTopicAutoCreate() {
+            return false;
+        }
+
+        @Override
+        public Integer pollTimeout() {
+            return null;
+        }
+
+        @Override
+        public Integer responseTimeout() {
+            return RESPONSE_TIMEOUT;
+        }
+
+        @Override
+        public Integer applyDecoderThreads() {
+            return null;
+        }
+
+        @Override
+        public Integer applyQueueSize() {
+            return null;
+        }
+
+        @Override
+        public Integer applyBatchSize() {
+            return null;
+        }
+
+        @Override
+        public Properties producerProperties() {
+            return null;
+        }
+
+        @Override
+        public Properties consumerProperties() {
+            return null;
+        }
+
+        @Override
+        public Properties adminProperties() {
+            return null;
+        }
+    }
+}
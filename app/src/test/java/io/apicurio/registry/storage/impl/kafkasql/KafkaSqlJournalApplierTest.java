@@ -0,0 +1,165 @@
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlJournalApplier.PendingRecord;
+import io.apicurio.registry.storage.impl.kafkasql.keys.BootstrapKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.GlobalRuleKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.sql.KafkaSqlSink;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.GlobalRuleValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import io.apicurio.registry.types.RuleType;
+
+class KafkaSqlJournalApplierTest {
+
+    private static final String BOOTSTRAP_ID = "this-node";
+
+    /**
+     * What the applier did, in order, by record offset.
+     */
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    void testRecordsAreAppliedInPollOrder() throws Exception {
+        List<PendingRecord> batch = new ArrayList<>();
+        List<CompletableFuture<ConsumerRecord<MessageKey, MessageValue>>> decodings = new ArrayList<>();
+        for (int offset = 0; offset < 6; offset++) {
+            CompletableFuture<ConsumerRecord<MessageKey, MessageValue>> decoding = new CompletableFuture<>();
+            decodings.add(decoding);
+            batch.add(new PendingRecord(raw(offset), decoding));
+        }
+
+        // The records of the same key are decoded in the reverse order
+        ExecutorService decoder = Executors.newSingleThreadExecutor();
+        try {
+            decoder.execute(() -> {
+                for (int offset = decodings.size() - 1; offset >= 0; offset--) {
+                    decodings.get(offset).complete(message(offset));
+                }
+            });
+            applier().apply(batch);
+        } finally {
+            decoder.shutdown();
+            decoder.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        Assertions.assertEquals(List.of("batch [0, 1, 2, 3, 4, 5]"), events);
+    }
+
+    @Test
+    void testBootstrapMarkerIsHandledAfterThePrecedingMessages() {
+        applier().apply(List.of(
+                decoded(message(0)),
+                decoded(message(1)),
+                decoded(record(2, BootstrapKey.create("other-node"), null)),
+                decoded(message(3)),
+                decoded(record(4, BootstrapKey.create(BOOTSTRAP_ID), null)),
+                decoded(message(5))));
+
+        Assertions.assertEquals(List.of("batch [0, 1]", "batch [3]", "bootstrapped", "batch [5]"), events);
+    }
+
+    @Test
+    void testUndecodableRecordsAreReportedAndSkipped() {
+        applier().apply(List.of(
+                decoded(message(0)),
+                new PendingRecord(raw(1), CompletableFuture.failedFuture(new IllegalArgumentException("Bad record"))),
+                decoded(message(2)),
+                // The key could not be deserialized
+                decoded(record(3, null, null)),
+                // A tombstone
+                decoded(record(4, GlobalRuleKey.create(RuleType.VALIDITY), null)),
+                decoded(message(5))));
+
+        Assertions.assertEquals(List.of("batch [0]", "failed 1", "batch [2]", "batch [5]"), events);
+    }
+
+    @Test
+    void testFailedBatchIsAppliedOneByOne() {
+        KafkaSqlSink sink = new RecordingSink() {
+            @Override
+            public void processMessages(List<ConsumerRecord<MessageKey, MessageValue>> records) {
+                if (records.size() > 1) {
+                    throw new IllegalStateException("Connection lost");
+                }
+                super.processMessages(records);
+            }
+
+            @Override
+            public void processMessage(ConsumerRecord<MessageKey, MessageValue> record) {
+                if (record.offset() == 3) {
+                    throw new IllegalStateException("Connection lost");
+                }
+                super.processMessage(record);
+            }
+        };
+
+        new KafkaSqlJournalApplier(sink, BOOTSTRAP_ID, () -> events.add("bootstrapped")).apply(List.of(
+                decoded(message(0)),
+                decoded(message(1)),
+                decoded(record(2, BootstrapKey.create(BOOTSTRAP_ID), null)),
+                decoded(message(3)),
+                decoded(message(4))));
+
+        // No record is dropped without being applied or reported as failed
+        Assertions.assertEquals(List.of("message 0", "message 1", "bootstrapped", "failed 3", "message 4"), events);
+    }
+
+    private KafkaSqlJournalApplier applier() {
+        return new KafkaSqlJournalApplier(new RecordingSink(), BOOTSTRAP_ID, () -> events.add("bootstrapped"));
+    }
+
+    private static PendingRecord decoded(ConsumerRecord<MessageKey, MessageValue> record) {
+        return new PendingRecord(raw((int) record.offset()), CompletableFuture.completedFuture(record));
+    }
+
+    private static ConsumerRecord<byte[], byte[]> raw(int offset) {
+        return new ConsumerRecord<>("journal", 0, offset, new byte[0], new byte[0]);
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> message(int offset) {
+        return record(offset, GlobalRuleKey.create(RuleType.VALIDITY),
+                GlobalRuleValue.create(ActionType.UPDATE, new RuleConfigurationDto("FULL")));
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> record(int offset, MessageKey key, MessageValue value) {
+        return new ConsumerRecord<>("journal", 0, offset, 0, TimestampType.CREATE_TIME, 0, 0, key, value,
+                new RecordHeaders(), Optional.empty());
+    }
+
+    private class RecordingSink extends KafkaSqlSink {
+
+        @Override
+        public void processMessages(List<ConsumerRecord<MessageKey, MessageValue>> records) {
+            if (!records.isEmpty()) {
+                events.add("batch " + records.stream().map(ConsumerRecord::offset).collect(Collectors.toList()));
+            }
+        }
+
+        @Override
+        public void processMessage(ConsumerRecord<MessageKey, MessageValue> record) {
+            events.add("message " + record.offset());
+        }
+
+        @Override
+        public void failMessage(ConsumerRecord<byte[], byte[]> record, Throwable error) {
+            events.add("failed " + record.offset());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
+import io.apicurio.registry.storage.impl.sql.SqlRegistryStorage;
+import io.apicurio.registry.storage.util.KafkasqlSnapshotTestProfile;
+import io.apicurio.registry.types.ArtifactType;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+
+/**
+ * Takes a snapshot of the SQL store, then restarts from it the way a KafkaSQL node does: the store is emptied,
+ * the snapshot is restored and the journal is consumed from the snapshot offsets.
+ */
+@QuarkusTest
+@TestProfile(KafkasqlSnapshotTestProfile.class)
+public class KafkaSqlSnapshotManagerTest {
+
+    private static final String GROUP_ID = "KafkaSqlSnapshotManagerTest";
+    private static final String TOPIC = "kafkasql-journal";
+    private static final int JOURNAL_SIZE = 6;
+    private static final int SNAPSHOT_OFFSET = 4;
+
+    @Inject
+    KafkaSqlSnapshotManager snapshotManager;
+
+    @Inject
+    SqlRegistryStorage sqlStore;
+
+    @ConfigProperty(name = "registry.kafkasql.snapshot.location")
+    String location;
+
+    @Test
+    void testRestartReplaysOnlyTheRecordsAfterTheSnapshot() throws Exception {
+        Path snapshotFile = Paths.get(location).resolve("kafkasql-snapshot.zip");
+
+        // Apply the first records of the journal, then take a snapshot
+        List<Long> snapshotGlobalIds = new ArrayList<>();
+        for (int offset = 0; offset < SNAPSHOT_OFFSET; offset++) {
+            snapshotGlobalIds.add(apply(offset).getGlobalId());
+        }
+        snapshotManager.snapshotIfDue(Map.of(0, (long) SNAPSHOT_OFFSET));
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!Files.exists(snapshotFile) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        Assertions.assertTrue(Files.exists(snapshotFile));
+
+        // Records applied after the snapshot are not part of it
+        for (int offset = SNAPSHOT_OFFSET; offset < JOURNAL_SIZE; offset++) {
+            apply(offset);
+        }
+
+        // Restart: the store of a new node is empty
+        sqlStore.deleteAllUserData();
+        sqlStore.setSequenceValues(sqlStore.getSequenceValues().keySet().stream()
+                .collect(Collectors.toMap(name -> name, name -> 0L)));
+
+        Map<Integer, Long> offsets = snapshotManager.restore();
+        Assertions.assertEquals(Map.of(0, (long) SNAPSHOT_OFFSET), offsets);
+        for (int offset = 0; offset < JOURNAL_SIZE; offset++) {
+            Assertions.assertEquals(offset < SNAPSHOT_OFFSET, sqlStore.isArtifactExists(GROUP_ID, artifactId(offset)));
+        }
+
+        // Consume the journal from the snapshot offsets
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        List<Long> replayed = new ArrayList<>();
+        List<Long> replayedGlobalIds = new ArrayList<>();
+        try (MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST)) {
+            consumer.subscribe(List.of(TOPIC), new KafkaSqlSnapshotSeeker(consumer, offsets));
+            consumer.rebalance(List.of(partition));
+            consumer.updateBeginningOffsets(Map.of(partition, 0L));
+            for (int offset = 0; offset < JOURNAL_SIZE; offset++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, offset, new byte[0], new byte[0]));
+            }
+            for (ConsumerRecord<byte[], byte[]> record : consumer.poll(Duration.ZERO)) {
+                replayed.add(record.offset());
+                replayedGlobalIds.add(apply((int) record.offset()).getGlobalId());
+            }
+        }
+
+        Assertions.assertEquals(List.of(4L, 5L), replayed);
+        for (int offset = 0; offset < JOURNAL_SIZE; offset++) {
+            Assertions.assertTrue(sqlStore.isArtifactExists(GROUP_ID, artifactId(offset)));
+        }
+
+        // The ids generated after the restart follow the ones in the snapshot
+        long lastSnapshotGlobalId = snapshotGlobalIds.stream().mapToLong(Long::longValue).max().orElseThrow();
+        replayedGlobalIds.forEach(globalId -> Assertions.assertTrue(globalId > lastSnapshotGlobalId,
+                "globalId " + globalId + " was generated again after the restart"));
+        Assertions.assertTrue(replayedGlobalIds.get(1) > replayedGlobalIds.get(0));
+    }
+
+    /**
+     * Applies the journal record at the given offset to the SQL store.
+     */
+    private ArtifactMetaDataDto apply(int offset) {
+        ContentHandle content = ContentHandle.create("{\"title\": \"" + artifactId(offset) + "\"}");
+        return sqlStore.createArtifact(GROUP_ID, artifactId(offset), null, ArtifactType.JSON, content, null);
+    }
+
+    private static String artifactId(int offset) {
+        return "artifact-" + offset;
+    }
+}
@@ -0,0 +1,189 @@
+package io.apicurio.registry.storage.impl.kafkasql.sql;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.storage.error.RuleAlreadyExistsException;
+import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlCoordinator;
+import io.apicurio.registry.storage.impl.kafkasql.keys.GlobalRuleKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.GlobalRuleValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import io.apicurio.registry.storage.impl.sql.SqlRegistryStorage;
+import io.apicurio.registry.types.RuleType;
+import jakarta.transaction.Status;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+
+class KafkaSqlSinkTest {
+
+    private static final String FAIL = "fail";
+
+    /**
+     * Rule configurations applied to the store, in order, including the ones rolled back.
+     */
+    private final List<String> applied = new ArrayList<>();
+    private final List<String> transactions = new ArrayList<>();
+    private final Map<UUID, Object> responses = new HashMap<>();
+    private final List<UUID> requestIds = new ArrayList<>();
+
+    private KafkaSqlSink sink;
+
+    @BeforeEach
+    void setUp() {
+        sink = new KafkaSqlSink();
+        sink.log = LoggerFactory.getLogger(KafkaSqlSinkTest.class);
+        sink.sqlStore = new SqlRegistryStorage() {
+            @Override
+            public void createGlobalRule(RuleType rule, RuleConfigurationDto config) {
+                applied.add(config.getConfiguration());
+                if (FAIL.equals(config.getConfiguration())) {
+                    throw new RuleAlreadyExistsException(rule);
+                }
+            }
+        };
+        sink.coordinator = new KafkaSqlCoordinator() {
+            @Override
+            public void notifyResponse(UUID uuid, Object returnValue) {
+                responses.put(uuid, returnValue);
+            }
+
+            @Override
+            public void notifyFailure(UUID uuid, Throwable error) {
+                responses.put(uuid, error);
+            }
+        };
+        sink.transactionManager = new RecordingTransactionManager();
+    }
+
+    @Test
+    void testBatchIsAppliedInOneTransaction() {
+        sink.processMessages(messages("a", "b", "c"));
+
+        Assertions.assertEquals(List.of("a", "b", "c"), applied);
+        Assertions.assertEquals(List.of("begin", "commit"), transactions);
+        Assertions.assertEquals(3, responses.size());
+        requestIds.forEach(id -> Assertions.assertNull(responses.get(id)));
+    }
+
+    @Test
+    void testFailedMessageDoesNotFailTheRestOfTheBatch() {
+        sink.processMessages(messages("a", "b", FAIL, "c", "d"));
+
+        // Only the messages preceding the failed one are applied again, the failed one is not
+        Assertions.assertEquals(List.of("a", "b", FAIL, "a", "b", "c", "d"), applied);
+        Assertions.assertEquals(List.of("begin", "rollback", "begin", "commit", "begin", "commit"), transactions);
+
+        Assertions.assertEquals(5, responses.size());
+        Assertions.assertNull(responses.get(requestIds.get(0)));
+        Assertions.assertNull(responses.get(requestIds.get(1)));
+        Assertions.assertTrue(responses.get(requestIds.get(2)) instanceof RuleAlreadyExistsException);
+        Assertions.assertNull(responses.get(requestIds.get(3)));
+        Assertions.assertNull(responses.get(requestIds.get(4)));
+    }
+
+    @Test
+    void testSeveralFailedMessagesInABatch() {
+        sink.processMessages(messages(FAIL, "a", FAIL, FAIL, "b"));
+
+        Assertions.assertEquals(List.of(FAIL, "a", FAIL, "a", FAIL, "b"), applied);
+        Assertions.assertEquals(5, responses.size());
+        Assertions.assertTrue(responses.get(requestIds.get(0)) instanceof RuleAlreadyExistsException);
+        Assertions.assertNull(responses.get(requestIds.get(1)));
+        Assertions.assertTrue(responses.get(requestIds.get(2)) instanceof RuleAlreadyExistsException);
+        Assertions.assertTrue(responses.get(requestIds.get(3)) instanceof RuleAlreadyExistsException);
+        Assertions.assertNull(responses.get(requestIds.get(4)));
+    }
+
+    @Test
+    void testFailedCommitAppliesTheMessagesOneByOne() {
+        sink.transactionManager = new RecordingTransactionManager() {
+            @Override
+            public void commit() {
+                transactions.add("commit");
+                throw new IllegalStateException("Commit failed");
+            }
+        };
+
+        sink.processMessages(messages("a", "b"));
+
+        Assertions.assertEquals(List.of("a", "b", "a", "b"), applied);
+        Assertions.assertEquals(2, responses.size());
+    }
+
+    private List<ConsumerRecord<MessageKey, MessageValue>> messages(String... configurations) {
+        List<ConsumerRecord<MessageKey, MessageValue>> records = new ArrayList<>();
+        for (String configuration : configurations) {
+            UUID requestId = UUID.randomUUID();
+            requestIds.add(requestId);
+            RecordHeaders headers = new RecordHeaders();
+            headers.add(new RecordHeader("req", requestId.toString().getBytes(StandardCharsets.UTF_8)));
+            records.add(new ConsumerRecord<>("journal", 0, records.size(), 0, TimestampType.CREATE_TIME, 0, 0,
+                    GlobalRuleKey.create(RuleType.VALIDITY),
+                    GlobalRuleValue.create(ActionType.CREATE, new RuleConfigurationDto(configuration)),
+                    headers, Optional.empty()));
+        }
+        return records;
+    }
+
+    private class RecordingTransactionManager implements TransactionManager {
+
+        @Override
+        public void begin() {
+            transactions.add("begin");
+        }
+
+        @Override
+        public void commit() {
+            transactions.add("commit");
+        }
+
+        @Override
+        public void rollback() {
+            transactions.add("rollback");
+        }
+
+        @Override
+        public int getStatus() {
+            return Status.STATUS_NO_TRANSACTION;
+        }
+
+        @Override
+        public Transaction getTransaction() {
+            return null;
+        }
+
+        @Override
+        public void resume(Transaction tobj) {
+        }
+
+        @Override
+        public void setRollbackOnly() {
+        }
+
+        @Override
+        public void setTransactionTimeout(int seconds) {
+        }
+
+        @Override
+        public Transaction suspend() {
+            return null;
+        }
+    }
+}
@@ -88,9 +88,11 @@ public class ReadOnlyRegistryStorageTest {
                 entry("getArtifactVersionComments3", new State(false, s -> s.getArtifactVersionComments(null, null, null))),
                 entry("getArtifactVersionMetaData3", new State(false, s -> s.getArtifactVersionMetaData(null, null, null))),
                 entry("getArtifactVersionMetaData5", new State(false, s -> s.getArtifactVersionMetaData(null, null, false, null, null))),
+                entry("getArtifactVersionMetaDataByDereferencedHash3", new State(false, s -> s.getArtifactVersionMetaDataByDereferencedHash(null, null, null))),
                 entry("getArtifactVersions2", new State(false, s -> s.getArtifactVersions(null, null))),
                 entry("getArtifactVersions3", new State(false, s -> s.getArtifactVersions(null, null, RegistryStorage.ArtifactRetrievalBehavior.DEFAULT))),
                 entry("getEnabledArtifactContentIds2", new State(false, s -> s.getEnabledArtifactContentIds(null, null))),
+                entry("getEnabledArtifactContentIdentities2", new State(false, s -> s.getEnabledArtifactContentIdentities(null, null))),
                 entry("getArtifactVersionsByContentId1", new State(false, s -> s.getArtifactVersionsByContentId(0))),
                 entry("getConfigProperties0", new State(false, DynamicConfigStorage::getConfigProperties)),
                 entry("getConfigProperty1", new State(false, s -> s.getConfigProperty(null))),
@@ -132,9 +134,13 @@ public class ReadOnlyRegistryStorageTest {
                 entry("resetContentId0", new State(true, RegistryStorage::resetContentId)),
                 entry("resetGlobalId0", new State(true, RegistryStorage::resetGlobalId)),
                 entry("resolveReferences1", new State(false, s -> s.resolveReferences(null))),
+                entry("resolveReferencesIfComplete1", new State(false, s -> s.resolveReferencesIfComplete(null))),
                 entry("searchArtifacts5", new State(false, s -> s.searchArtifacts(null, null, null, 0, 0))),
+                entry("searchArtifacts7", new State(false, s -> s.searchArtifacts(null, null, null, 0, 0, null, null))),
                 entry("searchGroups5", new State(false, s -> s.searchGroups(null, null, null, null, null))),
+                entry("searchGroups7", new State(false, s -> s.searchGroups(null, null, null, null, null, null, null))),
                 entry("searchVersions4", new State(false, s -> s.searchVersions(null, null, 0, 0))),
+                entry("searchVersions6", new State(false, s -> s.searchVersions(null, null, 0, 0, null, null))),
                 entry("setConfigProperty1", new State(true, s -> {
                     var dto = new DynamicConfigPropertyDto();
                     dto.setName("test");
@@ -1,11 +1,22 @@
 package io.apicurio.registry.storage.impl.sql;
 
+import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.Current;
 import jakarta.inject.Inject;
 
 import io.apicurio.registry.noprofile.storage.AbstractRegistryStorageTest;
 import io.quarkus.test.junit.QuarkusTest;
+import org.apache.avro.Schema;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
 
 @QuarkusTest
 public class DefaultRegistryStorageTest extends AbstractRegistryStorageTest {
@@ -22,4 +33,38 @@ public class DefaultRegistryStorageTest extends AbstractRegistryStorageTest {
         return storage;
     }
 
+    @Inject
+    SqlRegistryStorage sqlStorage;
+
+    @Test
+    public void testBackfillSkipsContentWithUnresolvedReferences() throws Exception {
+        String groupId = "DefaultRegistryStorageTest";
+        String prefix = "testBackfillSkipsContentWithUnresolvedReferences-";
+        String inner = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"}]}";
+        String outer = "{\"type\":\"record\",\"name\":\"Outer\",\"namespace\":\"com.example\",\"fields\":[{\"name\":\"inner\",\"type\":\"com.example.Inner\"}]}";
+
+        // The referenced version does not exist yet
+        ArtifactMetaDataDto dto = storage.createArtifact(groupId, prefix + "outer", null, ArtifactType.AVRO, ContentHandle.create(outer),
+                List.of(ArtifactReferenceDto.builder().groupId(groupId).artifactId(prefix + "inner").version("1").name("com.example.Inner").build()));
+        backfill();
+        Assertions.assertEquals(Optional.empty(), sqlStorage.backfillDereferencedContentHashes(ArtifactType.AVRO, 0, Integer.MAX_VALUE));
+
+        // Creating the referenced version makes the content processed again
+        storage.createArtifact(groupId, prefix + "inner", null, ArtifactType.AVRO, ContentHandle.create(inner), null);
+        backfill();
+        Schema.Parser parser = new Schema.Parser();
+        parser.parse(inner);
+        Assertions.assertEquals(dto.getGlobalId(), storage.getArtifactVersionMetaDataByDereferencedHash(groupId, prefix + "outer",
+                DigestUtils.sha256Hex(parser.parse(outer).toString())).getGlobalId());
+        Assertions.assertEquals(Optional.empty(), sqlStorage.backfillDereferencedContentHashes(ArtifactType.AVRO, 0, Integer.MAX_VALUE));
+    }
+
+    private void backfill() {
+        long cursor = 0;
+        Optional<Long> last;
+        while ((last = sqlStorage.backfillDereferencedContentHashes(ArtifactType.AVRO, cursor, 100)).isPresent()) {
+            cursor = last.get();
+        }
+    }
+
 }
\ No newline at end of file
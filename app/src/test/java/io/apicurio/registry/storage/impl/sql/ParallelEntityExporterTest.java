@@ -0,0 +1,141 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.apicurio.registry.utils.impexp.EntityType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ParallelEntityExporterTest {
+
+    private static ParallelEntityExporter.EntityReader versions(String artifactId, int count) {
+        return sink -> {
+            for (int i = 1; i <= count; i++) {
+                ArtifactVersionEntity entity = new ArtifactVersionEntity();
+                entity.artifactId = artifactId;
+                entity.versionOrder = i;
+                sink.accept(entity);
+            }
+        };
+    }
+
+    private static ParallelEntityExporter.EntityReader content(int count) {
+        return sink -> {
+            for (int i = 1; i <= count; i++) {
+                ContentEntity entity = new ContentEntity();
+                entity.contentId = i;
+                sink.accept(entity);
+            }
+        };
+    }
+
+    @Test
+    void testEntitiesOfEachReaderAreHandledInOrderOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        List<Entity> handled = new ArrayList<>();
+        try (ParallelEntityExporter exporter = new ParallelEntityExporter(3, 2, entity -> {
+            Assertions.assertSame(caller, Thread.currentThread());
+            handled.add(entity);
+            return null;
+        })) {
+            exporter.run(List.of(versions("a", 50), versions("b", 50), content(20)));
+            exporter.run(List.of(versions("c", 5)));
+
+            Assertions.assertEquals(Map.of(EntityType.ArtifactVersion, 105L, EntityType.Content, 20L), exporter.getExported());
+        }
+
+        Assertions.assertEquals(125, handled.size());
+        for (String artifactId : List.of("a", "b", "c")) {
+            List<Integer> versionOrders = new ArrayList<>();
+            for (Entity entity : handled) {
+                if (entity instanceof ArtifactVersionEntity && artifactId.equals(((ArtifactVersionEntity) entity).artifactId)) {
+                    versionOrders.add(((ArtifactVersionEntity) entity).versionOrder);
+                }
+            }
+            for (int i = 0; i < versionOrders.size(); i++) {
+                Assertions.assertEquals(i + 1, versionOrders.get(i));
+            }
+        }
+        // The stages run one after the other
+        for (int i = 120; i < 125; i++) {
+            Assertions.assertEquals("c", ((ArtifactVersionEntity) handled.get(i)).artifactId);
+        }
+    }
+
+    @Test
+    void testSlowHandlerThrottlesTheReaders() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger readWhileHandling = new AtomicInteger();
+        CountDownLatch firstHandled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ParallelEntityExporter.EntityReader reader = sink -> {
+            for (int i = 0; i < 100; i++) {
+                sink.accept(new ContentEntity());
+                read.incrementAndGet();
+            }
+        };
+        try (ParallelEntityExporter exporter = new ParallelEntityExporter(1, 5, entity -> {
+            firstHandled.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return null;
+        })) {
+            Thread releaser = new Thread(() -> {
+                try {
+                    firstHandled.await(10, TimeUnit.SECONDS);
+                    // Give the reader time to fill the queue
+                    Thread.sleep(200);
+                    readWhileHandling.set(read.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    release.countDown();
+                }
+            });
+            releaser.start();
+            exporter.run(List.of(reader));
+            releaser.join();
+
+            // One entity is being handled, the queue holds the next ones
+            Assertions.assertEquals(6, readWhileHandling.get());
+            Assertions.assertEquals(100, read.get());
+        }
+    }
+
+    @Test
+    void testFailingReaderFailsTheExportAndStopsTheOtherReaders() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        ParallelEntityExporter.EntityReader endless = sink -> {
+            try {
+                while (true) {
+                    sink.accept(new ContentEntity());
+                }
+            } finally {
+                stopped.countDown();
+            }
+        };
+        ParallelEntityExporter.EntityReader failing = sink -> {
+            sink.accept(new ContentEntity());
+            throw new IllegalStateException("Read failed");
+        };
+
+        try (ParallelEntityExporter exporter = new ParallelEntityExporter(2, 10, entity -> null)) {
+            RegistryStorageException e = Assertions.assertThrows(RegistryStorageException.class,
+                    () -> exporter.run(List.of(endless, failing)));
+            Assertions.assertEquals("Read failed", e.getCause().getMessage());
+            Assertions.assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PooledIdGeneratorTest {
+
+    @Test
+    void testIdsAreReservedInBlocks() {
+        AtomicLong sequence = new AtomicLong();
+        AtomicInteger allocations = new AtomicInteger();
+        PooledIdGenerator generator = new PooledIdGenerator(10, increment -> {
+            allocations.incrementAndGet();
+            return sequence.addAndGet(increment);
+        });
+
+        for (long expected = 1; expected <= 25; expected++) {
+            Assertions.assertEquals(expected, generator.generate());
+        }
+        Assertions.assertEquals(3, allocations.get());
+        Assertions.assertEquals(30, sequence.get());
+    }
+
+    @Test
+    void testBlockSizeOfOneDelegatesEveryCall() {
+        AtomicLong sequence = new AtomicLong();
+        PooledIdGenerator generator = new PooledIdGenerator(1, sequence::addAndGet);
+
+        Assertions.assertEquals(1L, generator.generate());
+        Assertions.assertEquals(2L, generator.generate());
+        Assertions.assertEquals(2, sequence.get());
+    }
+
+    @Test
+    void testResetDropsRemainingIds() {
+        AtomicLong sequence = new AtomicLong();
+        PooledIdGenerator generator = new PooledIdGenerator(10, sequence::addAndGet);
+
+        Assertions.assertEquals(1L, generator.generate());
+        // Simulate an import that moved the sequence forward
+        sequence.set(100);
+        generator.reset();
+        Assertions.assertEquals(101L, generator.generate());
+    }
+
+    @Test
+    void testResetWaitsForIdsBeingHandedOut() throws Exception {
+        AtomicLong sequence = new AtomicLong();
+        CountDownLatch allocating = new CountDownLatch(1);
+        CountDownLatch allocate = new CountDownLatch(1);
+        PooledIdGenerator generator = new PooledIdGenerator(10, increment -> {
+            allocating.countDown();
+            try {
+                allocate.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return sequence.addAndGet(increment);
+        });
+
+        CompletableFuture<Long> generated = CompletableFuture.supplyAsync(generator::generate);
+        Assertions.assertTrue(allocating.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> reset = CompletableFuture.runAsync(generator::reset);
+
+        Thread.sleep(100);
+        Assertions.assertFalse(reset.isDone());
+
+        allocate.countDown();
+        Assertions.assertEquals(1L, generated.get(10, TimeUnit.SECONDS));
+        reset.get(10, TimeUnit.SECONDS);
+        // The block reserved before the reset is dropped
+        Assertions.assertEquals(11L, generator.generate());
+    }
+
+    @Test
+    void testConcurrentIdsAreUnique() throws Exception {
+        AtomicLong sequence = new AtomicLong();
+        PooledIdGenerator generator = new PooledIdGenerator(7, sequence::addAndGet);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(generator.generate());
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(8000, ids.size());
+    }
+
+    @Test
+    void testInvalidBlockSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PooledIdGenerator(0, increment -> increment));
+    }
+}
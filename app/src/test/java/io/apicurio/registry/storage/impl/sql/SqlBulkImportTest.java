@@ -0,0 +1,154 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
+import io.apicurio.registry.storage.dto.CommentDto;
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.storage.util.SqlBulkImportTestProfile;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.Current;
+import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.apicurio.registry.utils.impexp.EntityType;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(SqlBulkImportTestProfile.class)
+public class SqlBulkImportTest extends AbstractResourceTestBase {
+
+    private static final String GROUP_ID = SqlBulkImportTest.class.getSimpleName();
+    private static final int ARTIFACTS = 3;
+
+    private static final String OPENAPI_CONTENT_TEMPLATE = "{" +
+            "    \"openapi\": \"3.0.2\"," +
+            "    \"info\": {" +
+            "        \"title\": \"ARTIFACT\"," +
+            "        \"version\": \"VERSION\"" +
+            "    }" +
+            "}";
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    private static ContentHandle content(String artifactId, String version) {
+        return ContentHandle.create(OPENAPI_CONTENT_TEMPLATE.replace("ARTIFACT", artifactId).replace("VERSION", version));
+    }
+
+    /**
+     * Creates a few artifacts with two versions, a comment and a rule, and returns their export.
+     */
+    private List<Entity> createAndExport() {
+        storage.deleteAllUserData();
+        for (int i = 1; i <= ARTIFACTS; i++) {
+            String artifactId = "artifact-" + i;
+            storage.createArtifact(GROUP_ID, artifactId, "1", ArtifactType.OPENAPI, content(artifactId, "1"), null);
+            storage.updateArtifact(GROUP_ID, artifactId, "2", ArtifactType.OPENAPI, content(artifactId, "2"), null);
+            storage.createArtifactVersionComment(GROUP_ID, artifactId, "2", "Comment " + i);
+            storage.createArtifactRule(GROUP_ID, artifactId, RuleType.VALIDITY, new RuleConfigurationDto("FULL"));
+        }
+        return export();
+    }
+
+    private List<Entity> export() {
+        List<Entity> entities = new ArrayList<>();
+        storage.exportData(entity -> {
+            entities.add(entity);
+            return null;
+        });
+        return entities;
+    }
+
+    private static Map<EntityType, Integer> countByType(List<Entity> entities) {
+        Map<EntityType, Integer> counts = new EnumMap<>(EntityType.class);
+        entities.forEach(entity -> counts.merge(entity.getEntityType(), 1, Integer::sum));
+        return counts;
+    }
+
+    /**
+     * Returns a stream of the given entities, which fails once the given number of them have been read (unless
+     * it is negative).
+     */
+    private static EntityInputStream stream(List<Entity> entities, int failAfter) {
+        Iterator<Entity> iterator = entities.iterator();
+        return new EntityInputStream() {
+
+            private int read;
+
+            @Override
+            public Entity nextEntity() throws IOException {
+                if (read++ == failAfter) {
+                    throw new IOException("Truncated export");
+                }
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private void assertImported(Map<EntityType, Integer> expectedCounts) {
+        for (int i = 1; i <= ARTIFACTS; i++) {
+            String artifactId = "artifact-" + i;
+            Assertions.assertEquals(List.of("1", "2"), storage.getArtifactVersions(GROUP_ID, artifactId));
+            Assertions.assertEquals(content(artifactId, "2").content(),
+                    storage.getArtifactVersion(GROUP_ID, artifactId, "2").getContent().content());
+            ArtifactMetaDataDto artifact = storage.getArtifactMetaData(GROUP_ID, artifactId);
+            Assertions.assertEquals("2", artifact.getVersion());
+            // The artifact is created from its first version
+            Assertions.assertEquals(storage.getArtifactVersionMetaData(GROUP_ID, artifactId, "1").getCreatedOn(),
+                    artifact.getCreatedOn());
+            List<CommentDto> comments = storage.getArtifactVersionComments(GROUP_ID, artifactId, "2");
+            Assertions.assertEquals(1, comments.size());
+            Assertions.assertEquals("Comment " + i, comments.get(0).getValue());
+            Assertions.assertEquals("FULL", storage.getArtifactRule(GROUP_ID, artifactId, RuleType.VALIDITY).getConfiguration());
+        }
+        Assertions.assertEquals(expectedCounts, countByType(export()));
+    }
+
+    @Test
+    public void testImportOfAnExport() {
+        List<Entity> exported = createAndExport();
+        Map<EntityType, Integer> exportedCounts = countByType(exported);
+        storage.deleteAllUserData();
+
+        storage.importData(stream(exported, -1), true, true);
+
+        assertImported(exportedCounts);
+    }
+
+    @Test
+    public void testFailedImportIsRolledBackAndCanBeRetried() {
+        List<Entity> exported = createAndExport();
+        Map<EntityType, Integer> exportedCounts = countByType(exported);
+        storage.deleteAllUserData();
+
+        // Fails while reading the last entities, once all the content and versions have been written in batches
+        Assertions.assertThrows(RuntimeException.class,
+                () -> storage.importData(stream(exported, exported.size() - 2), true, true));
+
+        Assertions.assertEquals(0, storage.countArtifacts());
+        Assertions.assertTrue(storage.getArtifactIds(null).isEmpty());
+        Assertions.assertTrue(export().stream().allMatch(entity -> entity.getEntityType() == EntityType.Manifest));
+
+        storage.importData(stream(exported, -1), true, true);
+
+        assertImported(exportedCounts);
+    }
+}
@@ -0,0 +1,74 @@
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.storage.dto.SearchFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class VersionSearchIndexTest {
+
+    private static VersionSearchIndex index(int maxCandidates) {
+        VersionSearchIndex index = new VersionSearchIndex(maxCandidates);
+        index.rebuild(sink -> {
+            sink.accept(new VersionSearchIndex.Entry(1, "default", "orders", "Order Placed", "Emitted when an order is placed",
+                    List.of("Sales"), Map.of("Owner", "Team-A")));
+            sink.accept(new VersionSearchIndex.Entry(2, "default", "payments", null, null,
+                    null, Map.of("owner", "team-b")));
+            sink.accept(new VersionSearchIndex.Entry(3, "billing", "invoice", "Invoice", "An ORDER invoice",
+                    List.of("finance"), null));
+        });
+        return index;
+    }
+
+    @Test
+    void testTextFiltersAreCaseInsensitiveSubstrings() {
+        VersionSearchIndex index = index(100);
+
+        Assertions.assertArrayEquals(new long[] {1}, index.findCandidates(Set.of(SearchFilter.ofName("der pla"))));
+        Assertions.assertArrayEquals(new long[] {2}, index.findCandidates(Set.of(SearchFilter.ofName("paym"))));
+        Assertions.assertArrayEquals(new long[] {1, 3}, index.findCandidates(Set.of(SearchFilter.ofDescription("order"))));
+        Assertions.assertArrayEquals(new long[] {3}, index.findCandidates(Set.of(SearchFilter.ofEverything("billing"))));
+        // Shorter than a trigram
+        Assertions.assertArrayEquals(new long[] {1, 3}, index.findCandidates(Set.of(SearchFilter.ofDescription("or"))));
+        Assertions.assertArrayEquals(new long[0], index.findCandidates(Set.of(SearchFilter.ofName("shipment"))));
+    }
+
+    @Test
+    void testLabelAndPropertyFilters() {
+        VersionSearchIndex index = index(100);
+
+        Assertions.assertArrayEquals(new long[] {1}, index.findCandidates(Set.of(SearchFilter.ofLabel("sales"))));
+        Assertions.assertArrayEquals(new long[] {1, 2}, index.findCandidates(Set.of(SearchFilter.ofProperty("owner", null))));
+        Assertions.assertArrayEquals(new long[] {2}, index.findCandidates(Set.of(SearchFilter.ofProperty("owner", "team-b"))));
+        Assertions.assertArrayEquals(new long[] {3}, index.findCandidates(Set.of(SearchFilter.ofEverything("finance"))));
+        Assertions.assertArrayEquals(new long[] {1}, index.findCandidates(Set.of(SearchFilter.ofDescription("order"), SearchFilter.ofLabel("sales"))));
+    }
+
+    @Test
+    void testFiltersTheIndexCanNotNarrowDown() {
+        VersionSearchIndex index = index(1);
+
+        // LIKE wildcards, non indexed filters, and too many candidates
+        Assertions.assertNull(index.findCandidates(Set.of(SearchFilter.ofName("ord_r"))));
+        Assertions.assertNull(index.findCandidates(Set.of(SearchFilter.ofGroup("default"))));
+        Assertions.assertNull(index.findCandidates(Set.of(SearchFilter.ofDescription("order"))));
+        Assertions.assertArrayEquals(new long[] {3}, index.findCandidates(Set.of(SearchFilter.ofDescription("order"), SearchFilter.ofLabel("finance"))));
+        Assertions.assertNull(new VersionSearchIndex(100).findCandidates(Set.of(SearchFilter.ofName("order"))));
+    }
+
+    @Test
+    void testAddedEntriesSurviveARebuild() {
+        VersionSearchIndex index = index(100);
+        index.rebuild(sink -> {
+            // A version created while the index is being rebuilt
+            index.add(new VersionSearchIndex.Entry(4, "default", "shipments", "Shipment", null, null, null));
+        });
+
+        Assertions.assertArrayEquals(new long[] {4}, index.findCandidates(Set.of(SearchFilter.ofName("shipment"))));
+        Assertions.assertArrayEquals(new long[0], index.findCandidates(Set.of(SearchFilter.ofName("order"))));
+        Assertions.assertEquals(4, index.getMaxGlobalId());
+    }
+}
@@ -0,0 +1,13 @@
+package io.apicurio.registry.storage.util;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+public class ContentCacheTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of("registry.storage.content-cache.enabled", "true");
+    }
+}
@@ -0,0 +1,22 @@
+package io.apicurio.registry.storage.util;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+public class KafkasqlSnapshotTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        try {
+            return Map.of(
+                    "registry.kafkasql.snapshot.location", Files.createTempDirectory("kafkasql-snapshot").toString(),
+                    "registry.kafkasql.snapshot.period-seconds", "0");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.apicurio.registry.storage.util;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+public class SqlBulkImportTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        // Small batches, so that an import writes several of them
+        return Map.of("registry.sql.import.bulk.enabled", "true",
+                "registry.sql.import.bulk.batch-size", "2");
+    }
+}
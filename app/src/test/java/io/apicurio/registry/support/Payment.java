@@ -0,0 +1,37 @@
+package io.apicurio.registry.support;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+public class Payment {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    public Payment() {
+    }
+
+    public Payment(String id, BigDecimal amount) {
+        this.id = id;
+        this.amount = amount;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
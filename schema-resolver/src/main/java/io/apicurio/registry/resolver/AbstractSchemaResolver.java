@@ -82,6 +82,8 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         schemaCache.configureRetryCount(config.getRetryCount());
         schemaCache.configureCacheLatest(config.getCacheLatest());
         schemaCache.configureFaultTolerantRefresh(config.getFaultTolerantRefresh());
+        schemaCache.configureMaxEntries(config.getCacheMaxEntries());
+        schemaCache.configureRefreshAhead(config.getCacheRefreshAhead());
 
         schemaCache.configureGlobalIdKeyExtractor(SchemaLookupResult::getGlobalId);
         schemaCache.configureContentKeyExtractor(schema -> Optional.ofNullable(schema.getParsedSchema().getRawSchema()).map(IoUtil::toString).orElse(null));
@@ -242,6 +244,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
      */
     @Override
     public void close() throws IOException {
+        this.schemaCache.close();
     }
 
     private RegistryClient configureClientWithBearerAuthentication(DefaultSchemaResolverConfig config, String registryUrl, String authServerUrl, String tokenEndpoint) {
@@ -23,6 +23,8 @@ import java.util.Optional;
  */
 public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
 
+    private final SchemaIdentityCache<S> identityCache = new SchemaIdentityCache<>();
+
     private boolean autoCreateArtifact;
     private String autoCreateBehavior;
     private boolean findLatest;
@@ -34,6 +36,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
     @Override
     public void reset() {
         super.reset();
+        identityCache.clear();
     }
 
     /**
@@ -51,6 +54,8 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
         this.dereference = config.dereference();
         this.autoCreateBehavior = config.autoRegisterArtifactIfExists();
         this.findLatest = config.findLatest();
+
+        identityCache.configureLifetime(config.getCheckPeriod());
     }
 
     /**
@@ -64,6 +69,10 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
 
         ParsedSchema<S> parsedSchema;
         if (artifactResolverStrategy.loadSchema() && schemaParser.supportsExtractSchemaFromData()) {
+            Object schemaIdentity = schemaParser.getSchemaIdentity(data);
+            if (schemaIdentity != null) {
+                return resolveSchemaByIdentity(schemaIdentity, data);
+            }
             parsedSchema = schemaParser.getSchemaFromData(data, dereference);
         } else {
             parsedSchema = null;
@@ -75,6 +84,33 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
                 .orElseGet(() -> getSchemaFromRegistry(parsedSchema, data, artifactReference));
     }
 
+    /**
+     * Resolves the schema of a record bound to the given schema identity, reusing the schema extracted from (and the
+     * lookup results of) the previous records bound to it, see {@link SchemaIdentityCache}.
+     */
+    private SchemaLookupResult<S> resolveSchemaByIdentity(Object schemaIdentity, Record<T> data) {
+        SchemaIdentityCache<S>.Entry entry = identityCache.get(schemaIdentity, () -> schemaParser.getSchemaFromData(data, dereference));
+        final ParsedSchema<S> parsedSchema = entry.getParsedSchema();
+        final ArtifactReference artifactReference = resolveArtifactReference(data, parsedSchema, false, null);
+
+        if (artifactReference.getGlobalId() != null || artifactReference.getContentId() != null || artifactReference.getContentHash() != null) {
+            return getSchemaFromCache(artifactReference)
+                    .orElseGet(() -> getSchemaFromRegistry(parsedSchema, data, artifactReference));
+        }
+
+        ArtifactCoordinates coordinates = ArtifactCoordinates.fromArtifactReference(artifactReference);
+        SchemaLookupResult<S> result = entry.getResult(coordinates);
+        if (result == null) {
+            result = getSchemaFromCache(artifactReference)
+                    .orElseGet(() -> getSchemaFromRegistry(parsedSchema, data, artifactReference));
+            // Same as the ERCache, do not hold on to the latest version unless allowed to
+            if (schemaCache.isCacheLatest() || artifactReference.getVersion() != null) {
+                entry.putResult(coordinates, result);
+            }
+        }
+        return result;
+    }
+
     private Optional<SchemaLookupResult<S>> getSchemaFromCache(ArtifactReference artifactReference) {
         if (artifactReference.getGlobalId() != null && schemaCache.containsByGlobalId(artifactReference.getGlobalId())) {
             return Optional.of(resolveSchemaByGlobalId(artifactReference.getGlobalId()));
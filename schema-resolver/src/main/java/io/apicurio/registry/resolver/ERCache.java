@@ -4,16 +4,33 @@ import com.microsoft.kiota.ApiException;
 import io.apicurio.registry.resolver.strategy.ArtifactCoordinates;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
  * Expiration + Retry Cache
+ * <p>
+ * Lookups never block on each other.  Concurrent misses for the same key are collapsed into a single load
+ * (the other callers wait for its result), and with a refresh-ahead window configured, entries about to
+ * expire are reloaded in the background while the current value keeps being served.  Expiration uses
+ * {@link System#nanoTime()}, so it is not affected by wall clock adjustments.
+ * <p>
+ * When a maximum number of entries is configured, values are kept in access order and the least recently
+ * used ones are evicted as new values are loaded, in constant time per value.
  *
  * @type V SchemaLookupResult
  */
@@ -41,6 +58,21 @@ public class ERCache<V> {
     private long retries;
     private boolean cacheLatest;
     private boolean faultTolerantRefresh;
+    private long maxEntries;
+    private Duration refreshAhead = Duration.ZERO;
+    private Executor refreshExecutor;
+    /** The default refresh executor, created (and shut down) by the cache */
+    private ExecutorService ownRefreshExecutor;
+    private boolean closed;
+
+    private LongSupplier nanoClock = System::nanoTime;
+
+    /** Loads in progress, so that concurrent misses for the same key trigger a single load */
+    private final Map<LoadKey, CompletableFuture<Result<V, RuntimeException>>> loading = new ConcurrentHashMap<>();
+
+    /** All values held by the indexes in access order, only tracked when the cache is bounded */
+    private final LinkedHashMap<WrappedValue<V>, Boolean> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock entriesLock = new ReentrantLock();
 
     // === Configuration
 
@@ -76,6 +108,39 @@ public class ERCache<V> {
         this.faultTolerantRefresh = faultTolerantRefresh;
     }
 
+    /**
+     * Bounds the number of values held by the cache.  The least recently used values are evicted first.
+     * A value of {@code 0} (the default) means the cache is unbounded.
+     *
+     * @param maxEntries  The maximum number of cached values.
+     */
+    public void configureMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * If set to a positive duration, a lookup hitting an entry that expires within that duration triggers
+     * a background reload of the entry, while the current value is returned.  This keeps lookups from
+     * stalling on the registry when entries expire.
+     *
+     * @param refreshAhead  How long before expiration entries are reloaded in the background.
+     */
+    public void configureRefreshAhead(Duration refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Sets the executor running the background reloads, see {@link #configureRefreshAhead(Duration)}.
+     * By default a daemon thread is created on first use, and stopped by {@link #close()}.
+     */
+    public void configureRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    void configureClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
     public void configureGlobalIdKeyExtractor(Function<V, Long> keyExtractor) {
         this.keyExtractor1 = keyExtractor;
     }
@@ -120,6 +185,7 @@ public class ERCache<V> {
         boolean initialized = keyExtractor1 != null && keyExtractor2 != null &&
             keyExtractor3 != null && keyExtractor4 != null && keyExtractor5 != null;
         initialized = initialized && lifetime != null && backoff != null && retries >= 0;
+        initialized = initialized && maxEntries >= 0 && refreshAhead != null;
         if (!initialized)
             throw new IllegalStateException("Not properly initialized!");
     }
@@ -127,88 +193,203 @@ public class ERCache<V> {
 
     public boolean containsByGlobalId(Long key) {
         WrappedValue<V> value = this.index1.get(key);
-        return value != null && !value.isExpired();
+        return value != null && !isExpired(value);
     }
 
     public boolean containsByContentId(Long key) {
         WrappedValue<V> value = this.index3.get(key);
-        return value != null && !value.isExpired();
+        return value != null && !isExpired(value);
     }
 
     public boolean containsByArtifactCoordinates(ArtifactCoordinates key) {
         WrappedValue<V> value = this.index4.get(key);
-        return value != null && !value.isExpired();
+        return value != null && !isExpired(value);
     }
 
     public boolean containsByContentHash(String key) {
         WrappedValue<V> value = this.index5.get(key);
-        return value != null && !value.isExpired();
+        return value != null && !isExpired(value);
     }
 
     public V getByGlobalId(Long key, Function<Long, V> loaderFunction) {
         WrappedValue<V> value = this.index1.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(1, value, key, loaderFunction);
     }
 
     public V getByContent(String key, Function<String, V> loaderFunction) {
         WrappedValue<V> value = this.index2.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(2, value, key, loaderFunction);
     }
 
     public V getByContentId(Long key, Function<Long, V> loaderFunction) {
         WrappedValue<V> value = this.index3.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(3, value, key, loaderFunction);
     }
 
     public V getByArtifactCoordinates(ArtifactCoordinates key, Function<ArtifactCoordinates, V> loaderFunction) {
         WrappedValue<V> value = this.index4.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(4, value, key, loaderFunction);
     }
 
     public V getByContentHash(String key, Function<String, V> loaderFunction) {
         WrappedValue<V> value = this.index5.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(5, value, key, loaderFunction);
     }
 
     // === Generic
 
-    private <T> V getValue(WrappedValue<V> value, T key, Function<T, V> loaderFunction) {
-        V result = value != null ? value.value : null;
+    private <T> V getValue(int index, WrappedValue<V> value, T key, Function<T, V> loaderFunction) {
+        if (value != null) {
+            long age = nanoClock.getAsLong() - value.loadedAt;
+            if (age < lifetime.toNanos()) {
+                if (maxEntries > 0) {
+                    recordAccess(value);
+                }
+                if (!refreshAhead.isZero() && age >= lifetime.minus(refreshAhead).toNanos()) {
+                    refreshInBackground(index, key, loaderFunction);
+                }
+                return value.value;
+            }
+        }
+
+        Result<V, RuntimeException> newValue = load(index, key, loaderFunction).join();
+        if (newValue.isOk()) {
+            return newValue.ok;
+        }
+        if (faultTolerantRefresh && value != null) {
+            return value.value;
+        }
+        throw newValue.error;
+    }
 
-        if (value == null || value.isExpired()) {
+    /**
+     * Loads (with retry) and indexes the value for the given key, unless a load for the same key
+     * is already in progress, in which case its result is shared.
+     */
+    private <T> CompletableFuture<Result<V, RuntimeException>> load(int index, T key, Function<T, V> loaderFunction) {
+        LoadKey loadKey = new LoadKey(index, key);
+        CompletableFuture<Result<V, RuntimeException>> future = new CompletableFuture<>();
+        CompletableFuture<Result<V, RuntimeException>> inProgress = loading.putIfAbsent(loadKey, future);
+        if (inProgress != null) {
+            return inProgress;
+        }
+        try {
             // With retry
             Result<V, RuntimeException> newValue = retry(backoff, retries, () -> {
                 return loaderFunction.apply(key);
             });
             if (newValue.isOk()) {
                 // Index
-                reindex(new WrappedValue<>(lifetime, Instant.now(), newValue.ok), key);
-                // Return
-                result = newValue.ok;
-            } else {
-                if (faultTolerantRefresh && value != null) {
-                    return value.value;
-                }
-                throw newValue.error;
+                reindex(new WrappedValue<>(nanoClock.getAsLong(), newValue.ok), key);
             }
+            future.complete(newValue);
+        } catch (RuntimeException e) {
+            future.complete(Result.error(e));
+        } finally {
+            loading.remove(loadKey);
         }
+        return future;
+    }
 
-        return result;
+    private <T> void refreshInBackground(int index, T key, Function<T, V> loaderFunction) {
+        if (loading.containsKey(new LoadKey(index, key))) {
+            return;
+        }
+        Executor executor = getRefreshExecutor();
+        if (executor != null) {
+            try {
+                executor.execute(() -> load(index, key, loaderFunction));
+            } catch (RejectedExecutionException e) {
+                // Closed concurrently, the entry is reloaded once expired
+            }
+        }
+    }
+
+    private synchronized Executor getRefreshExecutor() {
+        if (closed) {
+            return null;
+        }
+        if (refreshExecutor == null) {
+            ownRefreshExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "apicurio-registry-cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refreshExecutor = ownRefreshExecutor;
+        }
+        return refreshExecutor;
+    }
+
+    private boolean isExpired(WrappedValue<V> value) {
+        return nanoClock.getAsLong() - value.loadedAt >= lifetime.toNanos();
     }
 
     private <T> void reindex(WrappedValue<V> newValue, T lookupKey) {
-        Optional.ofNullable(keyExtractor1.apply(newValue.value)).ifPresent(k -> index1.put(k, newValue));
-        Optional.ofNullable(keyExtractor2.apply(newValue.value)).ifPresent(k -> index2.put(k, newValue));
-        Optional.ofNullable(keyExtractor3.apply(newValue.value)).ifPresent(k -> index3.put(k, newValue));
+        // The value is only published once all of its index entries are known, so that its unindexers
+        // are complete (and visible) before another thread can evict it
+        List<Runnable> publishers = new ArrayList<>(6);
+        Optional.ofNullable(keyExtractor1.apply(newValue.value)).ifPresent(k -> publishers.add(index(index1, k, newValue)));
+        Optional.ofNullable(keyExtractor2.apply(newValue.value)).ifPresent(k -> publishers.add(index(index2, k, newValue)));
+        Optional.ofNullable(keyExtractor3.apply(newValue.value)).ifPresent(k -> publishers.add(index(index3, k, newValue)));
         Optional.ofNullable(keyExtractor4.apply(newValue.value)).ifPresent(k -> {
-            index4.put(k, newValue);
+            publishers.add(index(index4, k, newValue));
             // By storing the lookup key, we ensure that a null/latest lookup gets cached, as the key extractor will
             // automatically add the version to the new key
             if (this.cacheLatest && k.getClass().equals(lookupKey.getClass())) {
-                index4.put((ArtifactCoordinates) lookupKey, newValue);
+                publishers.add(index(index4, (ArtifactCoordinates) lookupKey, newValue));
             }
         });
-        Optional.ofNullable(keyExtractor5.apply(newValue.value)).ifPresent(k -> index5.put(k, newValue));
+        Optional.ofNullable(keyExtractor5.apply(newValue.value)).ifPresent(k -> publishers.add(index(index5, k, newValue)));
+
+        publishers.forEach(Runnable::run);
+        if (maxEntries > 0) {
+            addAndEvict(newValue);
+        }
+    }
+
+    /**
+     * Prepares the indexing of the value under the given key, returns the action publishing it.
+     */
+    private <K> Runnable index(Map<K, WrappedValue<V>> index, K key, WrappedValue<V> value) {
+        if (maxEntries > 0) {
+            value.unindexers.add(() -> index.remove(key, value));
+        }
+        return () -> index.put(key, value);
+    }
+
+    /**
+     * Moves the value to the most recently used end of the access order.  Hits do not wait for the lock:
+     * when another thread holds it the access is dropped, which only makes the order approximate.
+     */
+    private void recordAccess(WrappedValue<V> value) {
+        if (!entriesLock.tryLock()) {
+            return;
+        }
+        try {
+            entries.get(value);
+        } finally {
+            entriesLock.unlock();
+        }
+    }
+
+    /**
+     * Tracks the new value and evicts the least recently used values while the cache is over capacity.
+     * Values that were replaced by a reload are no longer accessed, so they are the first to go.
+     */
+    private void addAndEvict(WrappedValue<V> newValue) {
+        List<WrappedValue<V>> victims = new ArrayList<>(1);
+        entriesLock.lock();
+        try {
+            entries.put(newValue, Boolean.TRUE);
+            var eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                victims.add(eldest.next());
+                eldest.remove();
+            }
+        } finally {
+            entriesLock.unlock();
+        }
+        victims.forEach(victim -> victim.unindexers.forEach(Runnable::run));
     }
 
     public void clear() {
@@ -217,6 +398,23 @@ public class ERCache<V> {
         index3.clear();
         index4.clear();
         index5.clear();
+        entriesLock.lock();
+        try {
+            entries.clear();
+        } finally {
+            entriesLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the default refresh executor, if it was started.  An executor set with
+     * {@link #configureRefreshExecutor(Executor)} is left to its owner.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (ownRefreshExecutor != null) {
+            ownRefreshExecutor.shutdownNow();
+        }
     }
 
     // === Util & Other
@@ -257,22 +455,45 @@ public class ERCache<V> {
 
     private static class WrappedValue<V> {
 
-        private final Duration lifetime;
-        private final Instant lastUpdate;
+        private final long loadedAt;
         private final V value;
+        private final List<Runnable> unindexers = new ArrayList<>(5);
 
-        public WrappedValue(Duration lifetime, Instant lastUpdate, V value) {
-            this.lifetime = lifetime;
-            this.lastUpdate = lastUpdate;
+        public WrappedValue(long loadedAt, V value) {
+            this.loadedAt = loadedAt;
             this.value = value;
         }
 
         public V getValue() {
             return value;
         }
+    }
+
+    private static class LoadKey {
+
+        private final int index;
+        private final Object key;
+
+        LoadKey(int index, Object key) {
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LoadKey)) {
+                return false;
+            }
+            LoadKey other = (LoadKey) o;
+            return index == other.index && Objects.equals(key, other.key);
+        }
 
-        public boolean isExpired() {
-            return lastUpdate.plus(lifetime).isBefore(Instant.now());
+        @Override
+        public int hashCode() {
+            return 31 * index + Objects.hashCode(key);
         }
     }
 
@@ -0,0 +1,156 @@
+package io.apicurio.registry.resolver;
+
+import io.apicurio.registry.resolver.strategy.ArtifactCoordinates;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Front cache of {@link DefaultSchemaResolver#resolveSchema}, keyed by the identity of the schema object the records
+ * are bound to (see {@link SchemaParser#getSchemaIdentity}).
+ * <p>
+ * Producers typically reuse the same schema instance for all their records, so a single identity lookup spares
+ * extracting (and rendering) the schema of every record.  For each schema the cache holds the extracted schema,
+ * and the lookup results by artifact coordinates, which expire after the same lifetime as the entries of the
+ * {@link ERCache} they come from.
+ * <p>
+ * The keys are compared by identity and held weakly.  The entries are held softly, as they reference their key
+ * themselves (e.g. an Avro parsed schema is the schema of the records).  Should the records come with a new schema
+ * instance every time, the cache is simply cleared once it holds {@value #MAX_ENTRIES} schemas.
+ *
+ */
+class SchemaIdentityCache<S> {
+
+    static final int MAX_ENTRIES = 1_000;
+
+    private final Map<IdentityKey, SoftReference<Entry>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> staleKeys = new ReferenceQueue<>();
+
+    private Duration lifetime = Duration.ZERO;
+    private LongSupplier nanoClock = System::nanoTime;
+
+    void configureLifetime(Duration lifetime) {
+        this.lifetime = lifetime;
+    }
+
+    void configureClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the entry of the given schema identity, extracting the schema if there is none yet.
+     */
+    Entry get(Object identity, Supplier<ParsedSchema<S>> extractor) {
+        expungeStaleEntries();
+        SoftReference<Entry> reference = entries.get(new IdentityKey(identity, null));
+        Entry entry = reference == null ? null : reference.get();
+        if (entry == null) {
+            entry = new Entry(extractor.get());
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(new IdentityKey(identity, staleKeys), new SoftReference<>(entry));
+        }
+        return entry;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        expungeStaleEntries();
+        return entries.size();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<?> key;
+        while ((key = staleKeys.poll()) != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * The cached data of a schema.
+     */
+    class Entry {
+
+        private final ParsedSchema<S> parsedSchema;
+        private final Map<ArtifactCoordinates, LoadedResult<S>> results = new ConcurrentHashMap<>();
+
+        private Entry(ParsedSchema<S> parsedSchema) {
+            this.parsedSchema = parsedSchema;
+        }
+
+        ParsedSchema<S> getParsedSchema() {
+            return parsedSchema;
+        }
+
+        /**
+         * Returns the lookup result of the schema for the given coordinates, or {@code null} if there is none
+         * or it has expired.
+         */
+        SchemaLookupResult<S> getResult(ArtifactCoordinates coordinates) {
+            LoadedResult<S> result = results.get(coordinates);
+            if (result != null && nanoClock.getAsLong() - result.loadedAt < lifetime.toNanos()) {
+                return result.value;
+            }
+            return null;
+        }
+
+        void putResult(ArtifactCoordinates coordinates, SchemaLookupResult<S> result) {
+            if (!lifetime.isZero()) {
+                results.put(coordinates, new LoadedResult<>(nanoClock.getAsLong(), result));
+            }
+        }
+    }
+
+    private static class LoadedResult<T> {
+
+        private final long loadedAt;
+        private final SchemaLookupResult<T> value;
+
+        private LoadedResult(long loadedAt, SchemaLookupResult<T> value) {
+            this.loadedAt = loadedAt;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Weak reference to a schema identity, equal to the references to the same object.  Once cleared, it is only
+     * equal to itself, so that it can still be removed from the map.
+     */
+    private static class IdentityKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        private IdentityKey(Object identity, ReferenceQueue<Object> queue) {
+            super(identity, queue);
+            this.hash = System.identityHashCode(identity);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IdentityKey)) {
+                return false;
+            }
+            Object identity = get();
+            return identity != null && identity == ((IdentityKey) obj).get();
+        }
+    }
+}
@@ -31,6 +31,18 @@ public interface SchemaParser<S, U> {
      */
     ParsedSchema<S> getSchemaFromData(Record<U> data, boolean dereference);
 
+    /**
+     * Returns the object the schema of the given record is extracted from, such as the schema instance the record
+     * is bound to, so that the records returning the same (identical) object can share the extracted schema, see
+     * {@link #getSchemaFromData(Record, boolean)}.  This must be much cheaper than extracting the schema.
+     *
+     * @param data
+     * @return the schema identity, or {@code null} (the default) to extract the schema of every record.
+     */
+    default Object getSchemaIdentity(Record<U> data) {
+        return null;
+    }
+
     /**
      * In some artifact types, such as Json, we allow defining a local place for the schema.
      *
@@ -138,6 +138,21 @@ public class SchemaResolverConfig {
     public static final String CHECK_PERIOD_MS = "apicurio.registry.check-period-ms";
     public static final long CHECK_PERIOD_MS_DEFAULT = 30000;
 
+    /**
+     * Maximum number of schemas kept in the cache. When exceeded, the least recently used schemas are evicted.
+     * Valid values are non-negative integers, {@code 0} means the cache is unbounded.
+     */
+    public static final String CACHE_MAX_ENTRIES = "apicurio.registry.cache.max-entries";
+    public static final long CACHE_MAX_ENTRIES_DEFAULT = 0;
+
+    /**
+     * If a cached schema is used within this many milliseconds of its expiration (see {@link #CHECK_PERIOD_MS}),
+     * it is reloaded from the Registry in the background while the cached schema keeps being used.
+     * Valid values are non-negative integers, {@code 0} disables background refresh.
+     */
+    public static final String CACHE_REFRESH_AHEAD_MS = "apicurio.registry.cache.refresh-ahead-ms";
+    public static final long CACHE_REFRESH_AHEAD_MS_DEFAULT = 0;
+
     /**
      * If a schema can not be retrieved from the Registry, serdes may retry a number of times.
      * This configuration option controls the number of retries before failing.
@@ -19,6 +19,8 @@ public class DefaultSchemaResolverConfig {
             entry(FAULT_TOLERANT_REFRESH, FAULT_TOLERANT_REFRESH_DEFAULT),
             entry(FIND_LATEST_ARTIFACT, FIND_LATEST_ARTIFACT_DEFAULT),
             entry(CHECK_PERIOD_MS, CHECK_PERIOD_MS_DEFAULT),
+            entry(CACHE_MAX_ENTRIES, CACHE_MAX_ENTRIES_DEFAULT),
+            entry(CACHE_REFRESH_AHEAD_MS, CACHE_REFRESH_AHEAD_MS_DEFAULT),
             entry(RETRY_COUNT, RETRY_COUNT_DEFAULT),
             entry(RETRY_BACKOFF_MS, RETRY_BACKOFF_MS_DEFAULT),
             entry(DEREFERENCE_SCHEMA, DEREFERENCE_SCHEMA_DEFAULT)
@@ -96,6 +98,14 @@ public class DefaultSchemaResolverConfig {
         return getDurationNonNegativeMillis(CHECK_PERIOD_MS);
     }
 
+    public long getCacheMaxEntries() {
+        return getLongNonNegative(CACHE_MAX_ENTRIES);
+    }
+
+    public Duration getCacheRefreshAhead() {
+        return getDurationNonNegativeMillis(CACHE_REFRESH_AHEAD_MS);
+    }
+
     public long getRetryCount() {
         return getLongNonNegative(RETRY_COUNT);
     }
@@ -7,7 +7,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -170,6 +178,170 @@ public class ERCacheTest {
         assertEquals(2, loadCount.get());
     }
 
+    @Test
+    void testEvictsLeastRecentlyUsedWhenBounded() {
+        AtomicLong clock = new AtomicLong();
+        ERCache<String> cache = newKeyedCache();
+        cache.configureClock(clock::get);
+        cache.configureMaxEntries(10);
+        Function<String, String> identityLoader = (key) -> {return key;};
+
+        for (int i = 0; i < 10; i++) {
+            clock.incrementAndGet();
+            cache.getByContentHash("key-" + i, identityLoader);
+        }
+        // Touch the oldest entry so it is no longer the least recently used
+        clock.incrementAndGet();
+        cache.getByContentHash("key-0", identityLoader);
+
+        clock.incrementAndGet();
+        cache.getByContentHash("key-10", identityLoader);
+
+        assertTrue(cache.containsByContentHash("key-0"));
+        assertFalse(cache.containsByContentHash("key-1"));
+        assertTrue(cache.containsByContentHash("key-10"));
+        int cached = 0;
+        for (int i = 0; i <= 10; i++) {
+            if (cache.containsByContentHash("key-" + i)) {
+                cached++;
+            }
+        }
+        assertTrue(cached <= 10);
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        ERCache<String> cache = newKeyedCache();
+        AtomicInteger loadCount = new AtomicInteger(0);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, String> slowLoader = (key) -> {
+            loadCount.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return key;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.getByContentHash("key", slowLoader));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.getByContentHash("key", slowLoader));
+            Future<String> third = executor.submit(() -> cache.getByContentHash("key", slowLoader));
+            // Give the other lookups a chance to join the load in progress
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("key", first.get(10, TimeUnit.SECONDS));
+            assertEquals("key", second.get(10, TimeUnit.SECONDS));
+            assertEquals("key", third.get(10, TimeUnit.SECONDS));
+            assertEquals(1, loadCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRefreshesAheadOfExpiration() {
+        AtomicLong clock = new AtomicLong();
+        ERCache<String> cache = newCache("refresh key");
+        cache.configureClock(clock::get);
+        cache.configureLifetime(Duration.ofNanos(100));
+        cache.configureRefreshAhead(Duration.ofNanos(20));
+        cache.configureRefreshExecutor(Runnable::run);
+        AtomicInteger loadCount = new AtomicInteger(0);
+        Function<String, String> countingLoader = (key) -> {return "value " + loadCount.incrementAndGet();};
+
+        assertEquals("value 1", cache.getByContentHash("refresh key", countingLoader));
+        clock.set(50);
+        assertEquals("value 1", cache.getByContentHash("refresh key", countingLoader));
+        assertEquals(1, loadCount.get());
+
+        // Within the refresh window, the current value is served and reloaded in the background
+        clock.set(90);
+        assertEquals("value 1", cache.getByContentHash("refresh key", countingLoader));
+        assertEquals(2, loadCount.get());
+
+        // The reloaded value is fresh, past the original expiration
+        clock.set(120);
+        assertEquals("value 2", cache.getByContentHash("refresh key", countingLoader));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void testStaysBoundedUnderConcurrentLoads() throws Exception {
+        ERCache<String> cache = newKeyedCache();
+        cache.configureMaxEntries(50);
+        Function<String, String> identityLoader = (key) -> {return key;};
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> loads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                loads.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        cache.getByContentHash("key-" + thread + "-" + i, identityLoader);
+                    }
+                }));
+            }
+            for (Future<?> load : loads) {
+                load.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int cached = 0;
+        for (int t = 0; t < 8; t++) {
+            for (int i = 0; i < 500; i++) {
+                if (cache.containsByContentHash("key-" + t + "-" + i)) {
+                    cached++;
+                }
+            }
+        }
+        assertTrue(cached <= 50);
+        assertTrue(cached > 0);
+    }
+
+    @Test
+    void testNoRefreshAheadOnceClosed() {
+        AtomicLong clock = new AtomicLong();
+        ERCache<String> cache = newCache("refresh key");
+        cache.configureClock(clock::get);
+        cache.configureLifetime(Duration.ofNanos(100));
+        cache.configureRefreshAhead(Duration.ofNanos(20));
+        AtomicInteger loadCount = new AtomicInteger(0);
+        Function<String, String> countingLoader = (key) -> {return "value " + loadCount.incrementAndGet();};
+
+        assertEquals("value 1", cache.getByContentHash("refresh key", countingLoader));
+        cache.close();
+
+        // Within the refresh window, the current value is still served but no longer reloaded
+        clock.set(90);
+        assertEquals("value 1", cache.getByContentHash("refresh key", countingLoader));
+        assertEquals(1, loadCount.get());
+
+        // Expired entries are still loaded by the lookups themselves
+        clock.set(120);
+        assertEquals("value 2", cache.getByContentHash("refresh key", countingLoader));
+    }
+
+    private ERCache<String> newKeyedCache() {
+        ERCache<String> cache = new ERCache<>();
+        cache.configureLifetime(Duration.ofDays(30));
+        cache.configureGlobalIdKeyExtractor((o) -> {return null;});
+        cache.configureContentIdKeyExtractor((o) -> {return null;});
+        cache.configureContentHashKeyExtractor((o) -> {return o;});
+        cache.configureArtifactCoordinatesKeyExtractor((o) -> {return null;});
+        cache.configureContentKeyExtractor((o) -> {return null;});
+        return cache;
+    }
+
     private ERCache<String> newCache(String contentHashKey) {
         ERCache<String> cache = new ERCache<>();
         cache.configureLifetime(Duration.ofDays(30));
@@ -0,0 +1,91 @@
+package io.apicurio.registry.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.resolver.strategy.ArtifactCoordinates;
+
+public class SchemaIdentityCacheTest {
+
+    @Test
+    void testExtractsTheSchemaOncePerIdentity() {
+        SchemaIdentityCache<String> cache = new SchemaIdentityCache<>();
+        AtomicInteger extractions = new AtomicInteger();
+        Object identity = new Object();
+
+        SchemaIdentityCache<String>.Entry entry1 = cache.get(identity, () -> parsedSchema("schema " + extractions.incrementAndGet()));
+        SchemaIdentityCache<String>.Entry entry2 = cache.get(identity, () -> parsedSchema("schema " + extractions.incrementAndGet()));
+
+        assertSame(entry1, entry2);
+        assertEquals("schema 1", entry2.getParsedSchema().getParsedSchema());
+        assertEquals(1, extractions.get());
+    }
+
+    @Test
+    void testComparesIdentitiesByReference() {
+        SchemaIdentityCache<String> cache = new SchemaIdentityCache<>();
+        String identity1 = new String("same schema");
+        String identity2 = new String("same schema");
+
+        SchemaIdentityCache<String>.Entry entry1 = cache.get(identity1, () -> parsedSchema("schema 1"));
+        SchemaIdentityCache<String>.Entry entry2 = cache.get(identity2, () -> parsedSchema("schema 2"));
+
+        assertEquals("schema 1", entry1.getParsedSchema().getParsedSchema());
+        assertEquals("schema 2", entry2.getParsedSchema().getParsedSchema());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testResultsExpireWithTheLifetime() {
+        SchemaIdentityCache<String> cache = new SchemaIdentityCache<>();
+        AtomicLong clock = new AtomicLong();
+        cache.configureClock(clock::get);
+        cache.configureLifetime(Duration.ofSeconds(30));
+        ArtifactCoordinates topic1 = ArtifactCoordinates.builder().groupId("default").artifactId("topic1-value").build();
+        ArtifactCoordinates topic2 = ArtifactCoordinates.builder().groupId("default").artifactId("topic2-value").build();
+        SchemaLookupResult<String> result = SchemaLookupResult.<String>builder().globalId(1L).build();
+
+        SchemaIdentityCache<String>.Entry entry = cache.get(new Object(), () -> parsedSchema("schema"));
+        entry.putResult(topic1, result);
+
+        assertSame(result, entry.getResult(topic1));
+        assertNull(entry.getResult(topic2));
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertNull(entry.getResult(topic1));
+    }
+
+    @Test
+    void testDoesNotHoldResultsWithoutLifetime() {
+        SchemaIdentityCache<String> cache = new SchemaIdentityCache<>();
+        ArtifactCoordinates coordinates = ArtifactCoordinates.builder().groupId("default").artifactId("topic-value").build();
+
+        SchemaIdentityCache<String>.Entry entry = cache.get(new Object(), () -> parsedSchema("schema"));
+        entry.putResult(coordinates, SchemaLookupResult.<String>builder().globalId(1L).build());
+
+        assertNull(entry.getResult(coordinates));
+    }
+
+    @Test
+    void testIsClearedOnceFull() {
+        SchemaIdentityCache<String> cache = new SchemaIdentityCache<>();
+        Object[] identities = new Object[SchemaIdentityCache.MAX_ENTRIES + 1];
+        for (int i = 0; i < identities.length; i++) {
+            identities[i] = new Object();
+            cache.get(identities[i], () -> parsedSchema("schema"));
+        }
+
+        assertEquals(1, cache.size());
+    }
+
+    private static ParsedSchema<String> parsedSchema(String schema) {
+        return new ParsedSchemaImpl<String>().setParsedSchema(schema).setRawSchema(schema.getBytes());
+    }
+}
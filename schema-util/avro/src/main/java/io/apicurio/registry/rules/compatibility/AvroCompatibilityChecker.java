@@ -1,5 +1,7 @@
 package io.apicurio.registry.rules.compatibility;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rules.UnprocessableSchemaException;
@@ -7,6 +9,7 @@ import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaCompatibility;
 import org.apache.avro.SchemaCompatibility.Incompatibility;
+import org.apache.commons.codec.digest.DigestUtils;
 
 import java.util.Collections;
 import java.util.Map;
@@ -14,20 +17,22 @@ import java.util.Set;
 
 public class AvroCompatibilityChecker extends AbstractCompatibilityChecker<Incompatibility> {
 
+    private static final long MAX_CACHED_SCHEMAS = 2_000;
+
+    /**
+     * Parsed schemas by content and references hash.  A transitive check compares the proposed schema with every
+     * existing version, so it would otherwise be parsed once per version, and every version parsed on every check.
+     */
+    private final Cache<String, Schema> schemas = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SCHEMAS)
+            .build();
+
     @Override
     protected Set<Incompatibility> isBackwardsCompatibleWith(String existing, String proposed, Map<String, ContentHandle> resolvedReferences) {
         try {
-            Schema.Parser existingParser = new Schema.Parser();
-            for (ContentHandle schema : resolvedReferences.values()) {
-                existingParser.parse(schema.content());
-            }
-            final Schema existingSchema = existingParser.parse(existing);
-
-            Schema.Parser proposingParser = new Schema.Parser();
-            for (ContentHandle schema : resolvedReferences.values()) {
-                proposingParser.parse(schema.content());
-            }
-            final Schema proposedSchema = proposingParser.parse(proposed);
+            String referencesHash = referencesHash(resolvedReferences);
+            final Schema existingSchema = parse(existing, referencesHash, resolvedReferences);
+            final Schema proposedSchema = parse(proposed, referencesHash, resolvedReferences);
 
             var result = SchemaCompatibility.checkReaderWriterCompatibility(proposedSchema, existingSchema).getResult();
             switch (result.getCompatibility()) {
@@ -44,6 +49,20 @@ public class AvroCompatibilityChecker extends AbstractCompatibilityChecker<Incom
         }
     }
 
+    private Schema parse(String content, String referencesHash, Map<String, ContentHandle> resolvedReferences) {
+        String key = DigestUtils.sha256Hex(content) + referencesHash;
+        Schema schema = schemas.getIfPresent(key);
+        if (schema == null) {
+            Schema.Parser parser = new Schema.Parser();
+            for (ContentHandle reference : resolvedReferences.values()) {
+                parser.parse(reference.content());
+            }
+            schema = parser.parse(content);
+            schemas.put(key, schema);
+        }
+        return schema;
+    }
+
     @Override
     protected CompatibilityDifference transform(Incompatibility original) {
         return new SimpleCompatibilityDifference(original.getMessage(), original.getLocation());
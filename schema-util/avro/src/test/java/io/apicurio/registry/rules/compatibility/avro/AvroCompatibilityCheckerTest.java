@@ -0,0 +1,125 @@
+package io.apicurio.registry.rules.compatibility.avro;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.IdentifiedContentList;
+import io.apicurio.registry.rules.UnprocessableSchemaException;
+import io.apicurio.registry.rules.compatibility.AvroCompatibilityChecker;
+import io.apicurio.registry.rules.compatibility.CompatibilityExecutionResult;
+import io.apicurio.registry.rules.compatibility.CompatibilityLevel;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvroCompatibilityCheckerTest {
+
+    private static final String V1 = "{\"type\":\"record\",\"name\":\"myrecord\",\"fields\":[{\"type\":\"string\",\"name\":\"f1\"}]}";
+    // Adds a field with a default
+    private static final String V2 = "{\"type\":\"record\",\"name\":\"myrecord\",\"fields\":[{\"type\":\"string\",\"name\":\"f1\"},"
+            + "{\"type\":\"string\",\"name\":\"f2\",\"default\":\"foo\"}]}";
+    // Adds a field without a default
+    private static final String V3 = "{\"type\":\"record\",\"name\":\"myrecord\",\"fields\":[{\"type\":\"string\",\"name\":\"f1\"},"
+            + "{\"type\":\"string\",\"name\":\"f2\"}]}";
+
+    @Test
+    void testRepeatedTransitiveChecksAreConsistent() {
+        AvroCompatibilityChecker checker = new AvroCompatibilityChecker();
+        List<ContentHandle> existing = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            existing.add(ContentHandle.create(V1));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(checker.testCompatibility(CompatibilityLevel.BACKWARD_TRANSITIVE, existing,
+                    ContentHandle.create(V2), Collections.emptyMap()).isCompatible());
+            assertFalse(checker.testCompatibility(CompatibilityLevel.BACKWARD_TRANSITIVE, existing,
+                    ContentHandle.create(V3), Collections.emptyMap()).isCompatible());
+        }
+    }
+
+    @Test
+    void testCachedResultsDependOnDirection() {
+        AvroCompatibilityChecker checker = new AvroCompatibilityChecker();
+        List<ContentHandle> existing = List.of(ContentHandle.create(V1));
+
+        // V3 can not read V1 data (f2 has no default), but V1 can read V3 data
+        CompatibilityExecutionResult backward = checker.testCompatibility(CompatibilityLevel.BACKWARD, existing,
+                ContentHandle.create(V3), Collections.emptyMap());
+        CompatibilityExecutionResult forward = checker.testCompatibility(CompatibilityLevel.FORWARD, existing,
+                ContentHandle.create(V3), Collections.emptyMap());
+
+        assertFalse(backward.isCompatible());
+        assertTrue(forward.isCompatible());
+    }
+
+    @Test
+    void testCachedResultsDependOnReferences() {
+        AvroCompatibilityChecker checker = new AvroCompatibilityChecker();
+        String existing = "{\"type\":\"record\",\"name\":\"outer\",\"fields\":[{\"type\":\"string\",\"name\":\"id\"}]}";
+        // The default of the new field is only valid for the first version of the referenced type
+        String proposed = "{\"type\":\"record\",\"name\":\"outer\",\"fields\":[{\"type\":\"string\",\"name\":\"id\"},"
+                + "{\"type\":\"com.example.Inner\",\"name\":\"inner\",\"default\":{\"a\":\"x\"}}]}";
+        String innerV1 = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"type\":\"string\",\"name\":\"a\"}]}";
+        String innerV2 = "{\"type\":\"record\",\"name\":\"Inner\",\"namespace\":\"com.example\",\"fields\":[{\"type\":\"string\",\"name\":\"a\"},"
+                + "{\"type\":\"string\",\"name\":\"b\"}]}";
+
+        assertTrue(checker.testCompatibility(CompatibilityLevel.BACKWARD, List.of(ContentHandle.create(existing)),
+                ContentHandle.create(proposed), Map.of("com.example.Inner", ContentHandle.create(innerV1))).isCompatible());
+        assertThrows(UnprocessableSchemaException.class, () -> checker.testCompatibility(CompatibilityLevel.BACKWARD,
+                List.of(ContentHandle.create(existing)), ContentHandle.create(proposed),
+                Map.of("com.example.Inner", ContentHandle.create(innerV2))));
+    }
+
+    @Test
+    void testStoredContentIsOnlyLoadedWhenNotRemembered() {
+        AvroCompatibilityChecker checker = new AvroCompatibilityChecker();
+        StoredContentList existing = new StoredContentList(V1, V1, V2);
+
+        assertTrue(checker.testCompatibility(CompatibilityLevel.FULL_TRANSITIVE, existing,
+                ContentHandle.create(V2), Collections.emptyMap()).isCompatible());
+        // Each stored content is loaded once, although both directions are checked for each version
+        assertEquals(2, existing.loads);
+
+        assertTrue(checker.testCompatibility(CompatibilityLevel.FULL_TRANSITIVE, existing,
+                ContentHandle.create(V2), Collections.emptyMap()).isCompatible());
+        assertEquals(2, existing.loads);
+    }
+
+    /**
+     * Stored versions, whose content is counted every time it is loaded.
+     */
+    private static class StoredContentList extends AbstractList<ContentHandle> implements IdentifiedContentList {
+
+        private final List<String> contents;
+        private int loads;
+
+        StoredContentList(String... contents) {
+            this.contents = List.of(contents);
+        }
+
+        @Override
+        public ContentHandle get(int index) {
+            loads++;
+            return ContentHandle.create(contents.get(index));
+        }
+
+        @Override
+        public int size() {
+            return contents.size();
+        }
+
+        @Override
+        public String getContentHash(int index) {
+            return DigestUtils.sha256Hex(contents.get(index));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.apicurio.registry.content;
+
+import java.util.List;
+
+/**
+ * A list of stored contents (e.g. the existing versions of an artifact), which knows the hash of each content
+ * without having to load it.
+ */
+public interface IdentifiedContentList extends List<ContentHandle> {
+
+    /**
+     * @return the hash of the content at the given position, which identifies it (unlike its id, which can be
+     *         reused by a different content, e.g. after an import)
+     */
+    String getContentHash(int index);
+}
@@ -1,19 +1,42 @@
 package io.apicurio.registry.rules.compatibility;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.IdentifiedContentList;
+import org.apache.commons.codec.digest.DigestUtils;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Base class of the compatibility checkers comparing the proposed content with each existing version.
+ * <p>
+ * The differences found between two contents are remembered (keyed by the hashes of the two contents and the hash
+ * of the references), so that the transitive levels only need to compare the
+ * proposed content with each existing version once, and re-checking the same content (e.g. a producer
+ * re-registering its schema) is almost free.  When the existing versions are an {@link IdentifiedContentList},
+ * their content is only loaded for the comparisons that are not remembered.
+ */
 public abstract class AbstractCompatibilityChecker<D> implements CompatibilityChecker {
 
+    private static final long MAX_CACHED_RESULTS = 10_000;
+
+    private final Cache<ResultKey, Set<D>> results = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_RESULTS)
+            .build();
+
     @Override
     public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences) {
         requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
@@ -24,34 +47,39 @@ public abstract class AbstractCompatibilityChecker<D> implements CompatibilityCh
             return CompatibilityExecutionResult.compatible();
         }
 
-        final String proposedArtifactContent = proposedArtifact.content();
+        final CachedContent proposedArtifactContent = new CachedContent(proposedArtifact);
+        final String referencesHash = referencesHash(resolvedReferences);
+        final BiFunction<CachedContent, CachedContent, Set<D>> isBackwardsCompatibleWith =
+                (existing, proposed) -> isBackwardsCompatibleWith(existing, proposed, referencesHash, resolvedReferences);
 
+        // Built once per check, so that each existing version is loaded at most once
+        final List<CachedContent> existingContents = cachedContents(existingArtifacts);
         Set<D> incompatibleDiffs = new HashSet<>();
-        String lastExistingSchema = existingArtifacts.get(existingArtifacts.size() - 1).content();
+        CachedContent lastExistingSchema = existingContents.get(existingContents.size() - 1);
 
         switch (compatibilityLevel) {
             case BACKWARD:
-                incompatibleDiffs = isBackwardsCompatibleWith(lastExistingSchema, proposedArtifactContent, resolvedReferences);
+                incompatibleDiffs = isBackwardsCompatibleWith.apply(lastExistingSchema, proposedArtifactContent);
                 break;
             case BACKWARD_TRANSITIVE:
-                incompatibleDiffs = transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(existing, proposed, resolvedReferences));
+                incompatibleDiffs = transitively(existingContents, proposedArtifactContent, isBackwardsCompatibleWith);
                 break;
             case FORWARD:
-                incompatibleDiffs = isBackwardsCompatibleWith(proposedArtifactContent, lastExistingSchema, resolvedReferences);
+                incompatibleDiffs = isBackwardsCompatibleWith.apply(proposedArtifactContent, lastExistingSchema);
                 break;
             case FORWARD_TRANSITIVE:
-                incompatibleDiffs = transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(proposed, existing, resolvedReferences));
+                incompatibleDiffs = transitively(existingContents, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith.apply(proposed, existing));
                 break;
             case FULL:
                 incompatibleDiffs = ImmutableSet.<D>builder()
-                        .addAll(isBackwardsCompatibleWith(lastExistingSchema, proposedArtifactContent, resolvedReferences))
-                        .addAll(isBackwardsCompatibleWith(proposedArtifactContent, lastExistingSchema, resolvedReferences))
+                        .addAll(isBackwardsCompatibleWith.apply(lastExistingSchema, proposedArtifactContent))
+                        .addAll(isBackwardsCompatibleWith.apply(proposedArtifactContent, lastExistingSchema))
                         .build();
                 break;
             case FULL_TRANSITIVE:
                 incompatibleDiffs = ImmutableSet.<D>builder()
-                        .addAll(transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(existing, proposed, resolvedReferences))) // Backward
-                        .addAll(transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(proposed, existing, resolvedReferences))) // Backward
+                        .addAll(transitively(existingContents, proposedArtifactContent, isBackwardsCompatibleWith)) // Backward
+                        .addAll(transitively(existingContents, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith.apply(proposed, existing))) // Forward
                         .build();
                 break;
             case NONE:
@@ -71,17 +99,125 @@ public abstract class AbstractCompatibilityChecker<D> implements CompatibilityCh
      *
      * @return The collected set of differences.
      */
-    private Set<D> transitively(List<ContentHandle> existingSchemas, String proposedSchema,
-                                BiFunction<String, String, Set<D>> checkExistingProposed) {
+    private Set<D> transitively(List<CachedContent> existingSchemas, CachedContent proposedSchema,
+                                BiFunction<CachedContent, CachedContent, Set<D>> checkExistingProposed) {
         Set<D> result = new HashSet<>();
-        for (int i = existingSchemas.size() - 1; i >= 0; i--) { // TODO This may become too slow, more wide refactoring needed.
-            Set<D> current = checkExistingProposed.apply(existingSchemas.get(i).content(), proposedSchema);
+        for (int i = existingSchemas.size() - 1; i >= 0; i--) {
+            Set<D> current = checkExistingProposed.apply(existingSchemas.get(i), proposedSchema);
             result.addAll(current);
         }
         return result;
     }
 
+    /**
+     * Wraps the existing versions without loading them.  Stored contents are identified by their stored hash, the
+     * others by the hash of their text.
+     */
+    private static List<CachedContent> cachedContents(List<ContentHandle> existingArtifacts) {
+        List<CachedContent> contents = new ArrayList<>(existingArtifacts.size());
+        if (existingArtifacts instanceof IdentifiedContentList) {
+            IdentifiedContentList identified = (IdentifiedContentList) existingArtifacts;
+            for (int i = 0; i < identified.size(); i++) {
+                int index = i;
+                contents.add(new CachedContent("stored:" + identified.getContentHash(index), () -> identified.get(index)));
+            }
+        } else {
+            existingArtifacts.forEach(handle -> contents.add(new CachedContent(handle)));
+        }
+        return contents;
+    }
+
+    private Set<D> isBackwardsCompatibleWith(CachedContent existing, CachedContent proposed, String referencesHash,
+                                             Map<String, ContentHandle> resolvedReferences) {
+        ResultKey key = new ResultKey(existing.key(), proposed.key(), referencesHash);
+        Set<D> result = results.getIfPresent(key);
+        if (result == null) {
+            // Failures (e.g. invalid content) are not cached, they are raised again on the next check
+            result = isBackwardsCompatibleWith(existing.content(), proposed.content(), resolvedReferences);
+            results.put(key, result);
+        }
+        return result;
+    }
+
     protected abstract Set<D> isBackwardsCompatibleWith(String existing, String proposed, Map<String, ContentHandle> resolvedReferences);
 
+    /**
+     * Returns a hash identifying the given set of resolved references, by name and content.
+     */
+    protected static String referencesHash(Map<String, ContentHandle> resolvedReferences) {
+        if (resolvedReferences == null || resolvedReferences.isEmpty()) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        new TreeMap<>(resolvedReferences).forEach((name, content) -> builder.append(name).append('\0').append(content.getSha256Hash()).append('\0'));
+        return DigestUtils.sha256Hex(builder.toString());
+    }
+
     protected abstract CompatibilityDifference transform(D original);
+
+    /**
+     * Content whose text is only loaded once, and only if needed, as lazily loaded content (see LazyContentList) is
+     * fetched again on every access.  Identified by the hash of the stored content if known, by the hash of its text
+     * otherwise.
+     */
+    private static class CachedContent {
+
+        private final Supplier<ContentHandle> handle;
+        private String key;
+        private String content;
+
+        CachedContent(ContentHandle handle) {
+            this.handle = () -> handle;
+        }
+
+        CachedContent(String key, Supplier<ContentHandle> handle) {
+            this.key = key;
+            this.handle = handle;
+        }
+
+        String content() {
+            if (content == null) {
+                content = handle.get().content();
+            }
+            return content;
+        }
+
+        String key() {
+            if (key == null) {
+                key = "sha256:" + DigestUtils.sha256Hex(content());
+            }
+            return key;
+        }
+    }
+
+    private static class ResultKey {
+
+        private final String existingKey;
+        private final String proposedKey;
+        private final String referencesHash;
+
+        ResultKey(String existingKey, String proposedKey, String referencesHash) {
+            this.existingKey = existingKey;
+            this.proposedKey = proposedKey;
+            this.referencesHash = referencesHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey other = (ResultKey) o;
+            return existingKey.equals(other.existingKey) && proposedKey.equals(other.proposedKey)
+                    && referencesHash.equals(other.referencesHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(existingKey, proposedKey, referencesHash);
+        }
+    }
 }
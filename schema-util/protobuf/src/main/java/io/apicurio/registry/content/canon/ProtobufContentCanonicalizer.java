@@ -1,10 +1,9 @@
 package io.apicurio.registry.content.canon;
 
 import com.squareup.wire.schema.internal.parser.ProtoFileElement;
-import com.squareup.wire.schema.internal.parser.ProtoParser;
 
 import io.apicurio.registry.content.ContentHandle;
-import io.apicurio.registry.utils.protobuf.schema.FileDescriptorUtils;
+import io.apicurio.registry.utils.protobuf.schema.ProtobufSchemaCache;
 
 import java.util.Map;
 
@@ -20,7 +19,7 @@ public class ProtobufContentCanonicalizer implements ContentCanonicalizer {
     @Override
     public ContentHandle canonicalize(ContentHandle content, Map<String, ContentHandle> resolvedReferences) {
         try {
-            ProtoFileElement fileElem = ProtoParser.Companion.parse(FileDescriptorUtils.DEFAULT_LOCATION, content.content());
+            ProtoFileElement fileElem = ProtobufSchemaCache.parse(content.content());
 
             //TODO maybe use FileDescriptorUtils to convert to a FileDescriptor and then convert back to ProtoFileElement
 
@@ -9,6 +9,7 @@ import java.util.Objects;
 import java.util.function.Consumer;
 
 import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.kafka.common.header.Headers;
@@ -21,7 +22,14 @@ import io.apicurio.registry.serde.AbstractKafkaDeserializer;
 
 public class AvroKafkaDeserializer<U> extends AbstractKafkaDeserializer<Schema, U> {
 
+    private static final byte[] EMPTY = new byte[0];
+
     private final DecoderFactory decoderFactory = DecoderFactory.get();
+    /**
+     * Binary decoders are reused (per thread, as they are stateful) to avoid allocating their buffers for every record.
+     * They are pointed back at an empty array after each record, so that an idle thread does not keep the last record alive.
+     */
+    private final ThreadLocal<BinaryDecoder> binaryDecoders = new ThreadLocal<>();
     private AvroSchemaParser<U> parser;
     private AvroDatumProvider<U> avroDatumProvider;
     private AvroEncoding configEncoding;
@@ -93,7 +101,12 @@ public class AvroKafkaDeserializer<U> extends AbstractKafkaDeserializer<Schema,
                 System.arraycopy(buffer.array(), start, msgData, 0, length);
                 return reader.read(null, decoderFactory.jsonDecoder(schema.getParsedSchema(), new ByteArrayInputStream(msgData)));
             } else {
-                return reader.read(null, decoderFactory.binaryDecoder(buffer.array(), start, length, null));
+                BinaryDecoder decoder = decoderFactory.binaryDecoder(buffer.array(), start, length, binaryDecoders.get());
+                try {
+                    return reader.read(null, decoder);
+                } finally {
+                    binaryDecoders.set(decoderFactory.binaryDecoder(EMPTY, decoder));
+                }
             }
 
         } catch (IOException e) {
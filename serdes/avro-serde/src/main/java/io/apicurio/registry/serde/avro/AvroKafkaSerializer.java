@@ -7,6 +7,7 @@ import java.util.Objects;
 import java.util.function.Consumer;
 
 import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.Encoder;
 import org.apache.avro.io.EncoderFactory;
@@ -23,6 +24,8 @@ import io.apicurio.registry.serde.AbstractKafkaSerializer;
 public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
 
     private final EncoderFactory encoderFactory = EncoderFactory.get();
+    /** Binary encoders are reused (per thread, as they are stateful) instead of being allocated for every record */
+    private final ThreadLocal<BinaryEncoder> binaryEncoders = new ThreadLocal<>();
     private AvroSchemaParser<U> parser;
     private AvroDatumProvider<U> avroDatumProvider;
     private AvroEncoding encoding;
@@ -112,7 +115,9 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
         if(encoding == AvroEncoding.JSON) {
             return encoderFactory.jsonEncoder(schema, os);
         } else {
-            return encoderFactory.directBinaryEncoder(os, null);
+            BinaryEncoder encoder = encoderFactory.directBinaryEncoder(os, binaryEncoders.get());
+            binaryEncoders.set(encoder);
+            return encoder;
         }
     }
 }
@@ -69,6 +69,16 @@ public class AvroSchemaParser<U> implements SchemaParser<Schema, U> {
         }
     }
 
+    /**
+     * The records are bound to their Avro schema, which is usually the same instance for all of them.
+     *
+     * @see io.apicurio.registry.resolver.SchemaParser#getSchemaIdentity(Record)
+     */
+    @Override
+    public Object getSchemaIdentity(Record<U> data) {
+        return avroDatumProvider.toSchema(data.payload());
+    }
+
     private List<ParsedSchema<Schema>> handleReferences(Schema schema) {
         final List<ParsedSchema<Schema>> schemaReferences = new ArrayList<>();
         switch (schema.getType()) {
@@ -13,9 +13,17 @@ import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
 import org.apache.avro.specific.SpecificRecord;
 
+/**
+ * Readers and writers are cached per writer schema (the reader schema is derived from it), as building
+ * them, and the resolver used to decode data, is far more expensive than the actual (de)serialization.
+ * Avro readers and writers are thread safe.
+ */
 public class DefaultAvroDatumProvider<T> implements AvroDatumProvider<T> {
     private Boolean useSpecificAvroReader;
     private Map<String, Schema> schemas = new ConcurrentHashMap<>();
+    private final Map<Schema, DatumReader<T>> readers = new ConcurrentHashMap<>();
+    private final Map<Schema, DatumWriter<T>> specificWriters = new ConcurrentHashMap<>();
+    private final Map<Schema, DatumWriter<T>> genericWriters = new ConcurrentHashMap<>();
 
     public DefaultAvroDatumProvider() {
     }
@@ -26,6 +34,7 @@ public class DefaultAvroDatumProvider<T> implements AvroDatumProvider<T> {
 
     public DefaultAvroDatumProvider<T> setUseSpecificAvroReader(boolean useSpecificAvroReader) {
         this.useSpecificAvroReader = useSpecificAvroReader;
+        readers.clear();
         return this;
     }
 
@@ -33,6 +42,7 @@ public class DefaultAvroDatumProvider<T> implements AvroDatumProvider<T> {
     public void configure(AvroKafkaSerdeConfig config) {
         if (useSpecificAvroReader == null) {
             useSpecificAvroReader = config.useSpecificAvroReader();
+            readers.clear();
         }
     }
 
@@ -61,14 +71,18 @@ public class DefaultAvroDatumProvider<T> implements AvroDatumProvider<T> {
     @Override
     public DatumWriter<T> createDatumWriter(T data, Schema schema) {
         if (data instanceof SpecificRecord) {
-            return new SpecificDatumWriter<>(schema);
+            return specificWriters.computeIfAbsent(schema, SpecificDatumWriter::new);
         } else {
-            return new GenericDatumWriter<>(schema);
+            return genericWriters.computeIfAbsent(schema, GenericDatumWriter::new);
         }
     }
 
     @Override
     public DatumReader<T> createDatumReader(Schema schema) {
+        return readers.computeIfAbsent(schema, this::newDatumReader);
+    }
+
+    private DatumReader<T> newDatumReader(Schema schema) {
         // do not use SpecificDatumReader if schema is a primitive
         if (useSpecificAvroReader != null && useSpecificAvroReader) {
             if (AvroSchemaUtils.isPrimitive(schema) == false) {
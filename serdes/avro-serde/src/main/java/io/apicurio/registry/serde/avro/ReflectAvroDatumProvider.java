@@ -1,5 +1,8 @@
 package io.apicurio.registry.serde.avro;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.avro.Schema;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
@@ -7,10 +10,15 @@ import org.apache.avro.reflect.ReflectData;
 import org.apache.avro.reflect.ReflectDatumReader;
 import org.apache.avro.reflect.ReflectDatumWriter;
 
+/**
+ * Readers and writers are cached per writer schema, see {@link DefaultAvroDatumProvider}.
+ */
 public class ReflectAvroDatumProvider<T> implements AvroDatumProvider<T> {
 
     private Schema readerSchema;
     private final ReflectData reflectData;
+    private final Map<Schema, DatumReader<T>> readers = new ConcurrentHashMap<>();
+    private final Map<Schema, DatumWriter<T>> writers = new ConcurrentHashMap<>();
 
     public ReflectAvroDatumProvider() {
         this(ReflectData.get());
@@ -31,11 +39,15 @@ public class ReflectAvroDatumProvider<T> implements AvroDatumProvider<T> {
 
     @Override
     public DatumWriter<T> createDatumWriter(T data, Schema schema) {
-        return new ReflectDatumWriter<>(schema,reflectData);
+        return writers.computeIfAbsent(schema, s -> new ReflectDatumWriter<>(s, reflectData));
     }
 
     @Override
     public DatumReader<T> createDatumReader(Schema schema) {
+        return readers.computeIfAbsent(schema, this::newDatumReader);
+    }
+
+    private DatumReader<T> newDatumReader(Schema schema) {
         if (readerSchema == null) {
             return new ReflectDatumReader<>(schema,schema,reflectData);
         } else {
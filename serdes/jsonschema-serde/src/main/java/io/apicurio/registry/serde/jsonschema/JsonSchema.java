@@ -202,10 +202,8 @@ public class JsonSchema {
             this.rawSchema().validate(primitiveValue);
         } else {
             Object jsonObject;
-            if (value instanceof ArrayNode) {
-                jsonObject = objectMapper.treeToValue((ArrayNode) value, JSONArray.class);
-            } else if (value instanceof ObjectNode) {
-                jsonObject = new JSONObject(value.toString());
+            if (value instanceof ArrayNode || value instanceof ObjectNode) {
+                jsonObject = toJsonOrg((JsonNode) value);
             } else if (value instanceof JsonNode) {
                 jsonObject = objectMapper.treeToValue((JsonNode) value, JSONObject.class);
             } else if (value.getClass().isArray()) {
@@ -230,6 +228,29 @@ public class JsonSchema {
         }
     }
 
+    /**
+     * Converts a JSON tree to the org.json model the validator works on, without serializing and parsing it again.
+     */
+    private static Object toJsonOrg(JsonNode node) {
+        if (node.isObject()) {
+            JSONObject object = new JSONObject();
+            node.fields().forEachRemaining(field -> object.put(field.getKey(), toJsonOrg(field.getValue())));
+            return object;
+        } else if (node.isArray()) {
+            JSONArray array = new JSONArray();
+            node.forEach(element -> array.put(toJsonOrg(element)));
+            return array;
+        } else if (node.isNull() || node.isMissingNode()) {
+            return JSONObject.NULL;
+        } else if (node.isNumber()) {
+            return node.numberValue();
+        } else if (node.isBoolean()) {
+            return node.booleanValue();
+        } else {
+            return node.asText();
+        }
+    }
+
     private void validateComplexObject(JSONObject jsonObject, Map.Entry<String, Schema> schema) throws JsonProcessingException {
         if (isRequiredProperty(schema) || objectContainsSchemaKey(jsonObject, schema)) {
             resolvedReferences.get(((ReferenceSchema) schema.getValue()).getReferenceValue()).validate(jsonObject.get(schema.getKey()));
@@ -1,10 +1,11 @@
 package io.apicurio.registry.serde.jsonschema;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
 import io.apicurio.registry.resolver.ParsedSchema;
 import io.apicurio.registry.resolver.SchemaParser;
 import io.apicurio.registry.resolver.SchemaResolver;
@@ -20,6 +21,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<JsonSchema, T> implements Deserializer<T> {
 
@@ -33,6 +35,13 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
     private Class<T> specificReturnClass;
     private MessageTypeSerdeHeaders serdeHeaders;
 
+    /**
+     * The readers of the message types, by class name, created from the current mapper
+     */
+    private final Map<String, ObjectReader> readers = new ConcurrentHashMap<>();
+    private volatile ObjectReader specificReturnReader;
+    private volatile ObjectReader exactTreeReader;
+
     public JsonSchemaKafkaDeserializer() {
         super();
     }
@@ -69,6 +78,8 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
         }
 
         this.specificReturnClass = (Class<T>) config.getSpecificReturnClass();
+        this.specificReturnReader = null;
+        this.exactTreeReader = null;
 
         this.serdeHeaders = new MessageTypeSerdeHeaders(new HashMap<>(configs), isKey);
 
@@ -76,6 +87,7 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
             mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                     .setSerializationInclusion(JsonInclude.Include.NON_NULL);;
         }
+        this.readers.clear();
     }
 
     public boolean isValidationEnabled() {
@@ -84,6 +96,9 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
 
     public void setObjectMapper(ObjectMapper objectMapper) {
         this.mapper = objectMapper;
+        this.readers.clear();
+        this.specificReturnReader = null;
+        this.exactTreeReader = null;
     }
 
     /**
@@ -110,45 +125,71 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
         return internalReadData(headers, schema, buffer, start, length);
     }
 
+    @SuppressWarnings("unchecked")
     private T internalReadData(Headers headers, ParsedSchema<JsonSchema> schema, ByteBuffer buffer, int start, int length) {
-        byte[] data = new byte[length];
-        System.arraycopy(buffer.array(), start, data, 0, length);
-
         try {
-            JsonParser parser = mapper.getFactory().createParser(data);
+            ObjectReader reader = messageReader(headers, schema);
 
             if (isValidationEnabled()) {
-                JsonSchemaValidationUtil.validateDataWithSchema(schema, data, mapper);
-            }
-
-            Class<T> messageType = null;
-
-            if (this.specificReturnClass != null) {
-                messageType = this.specificReturnClass;
-            } else if (headers == null) {
-                JsonNode jsonSchema = mapper.readTree(schema.getRawSchema());
-
-                String javaType = null;
-                JsonNode javaTypeNode = jsonSchema.get("javaType");
-                if (javaTypeNode != null && !javaTypeNode.isNull()) {
-                    javaType = javaTypeNode.textValue();
+                if (reader == null) {
+                    JsonNode tree = mapper.readTree(buffer.array(), start, length);
+                    JsonSchemaValidationUtil.validateDataWithSchema(schema, tree);
+                    return (T) tree;
                 }
-                //TODO if javaType is null, maybe warn something like this?
-                //You can try configure the property \"apicurio.registry.serde.json-schema.java-type\" with the full class name to use for deserialization
-                messageType = javaType == null ? null : Utils.loadClass(javaType);
-            } else {
-                String javaType = serdeHeaders.getMessageType(headers);
-                messageType = javaType == null ? null : Utils.loadClass(javaType);
+                // Parse once, the same tree is validated and then bound, so its decimals must be as exact
+                // as the ones of the payload
+                JsonNode tree = exactTreeReader().readTree(buffer.array(), start, length);
+                JsonSchemaValidationUtil.validateDataWithSchema(schema, tree);
+                return reader.readValue(tree);
             }
 
-            if (messageType == null) {
+            if (reader == null) {
                 //TODO maybe warn there is no message type and the deserializer will return a JsonNode
-                return mapper.readTree(parser);
+                return (T) mapper.readTree(buffer.array(), start, length);
             } else {
-                return mapper.readValue(parser, messageType);
+                return reader.readValue(buffer.array(), start, length);
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
+
+    /**
+     * Returns a reader of trees that keeps the floating point numbers as exact decimals (instead of doubles).
+     */
+    private ObjectReader exactTreeReader() {
+        if (exactTreeReader == null) {
+            exactTreeReader = mapper.reader()
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .without(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES);
+        }
+        return exactTreeReader;
+    }
+
+    /**
+     * Returns the reader of the type of the message, or null if the message is to be returned as a {@link JsonNode}.
+     */
+    private ObjectReader messageReader(Headers headers, ParsedSchema<JsonSchema> schema) {
+        if (this.specificReturnClass != null) {
+            if (specificReturnReader == null) {
+                specificReturnReader = mapper.readerFor(specificReturnClass);
+            }
+            return specificReturnReader;
+        }
+
+        String javaType = null;
+        if (headers == null) {
+            // The schema is parsed once, when it is resolved
+            JsonNode javaTypeNode = schema.getParsedSchema().toJsonNode().get("javaType");
+            if (javaTypeNode != null && !javaTypeNode.isNull()) {
+                javaType = javaTypeNode.textValue();
+            }
+            //TODO if javaType is null, maybe warn something like this?
+            //You can try configure the property \"apicurio.registry.serde.json-schema.java-type\" with the full class name to use for deserialization
+        } else {
+            javaType = serdeHeaders.getMessageType(headers);
+        }
+
+        return javaType == null ? null : readers.computeIfAbsent(javaType, type -> mapper.readerFor(Utils.loadClass(type)));
+    }
 }
@@ -1,5 +1,6 @@
 package io.apicurio.registry.serde.jsonschema;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.apicurio.registry.resolver.ParsedSchema;
 
@@ -13,6 +14,15 @@ public class JsonSchemaValidationUtil {
      * @throws IOException In case of validation errors, a IO exception is thrown.
      */
     protected static void validateDataWithSchema(ParsedSchema<JsonSchema> schema, byte[] data, ObjectMapper mapper) throws IOException {
-        schema.getParsedSchema().validate(mapper.readTree(data));
+        validateDataWithSchema(schema, mapper.readTree(data));
+    }
+
+    /**
+     * @param schema the schema to test the data.
+     * @param data the data to test, already parsed.
+     * @throws IOException In case of validation errors, a IO exception is thrown.
+     */
+    protected static void validateDataWithSchema(ParsedSchema<JsonSchema> schema, JsonNode data) throws IOException {
+        schema.getParsedSchema().validate(data);
     }
 }
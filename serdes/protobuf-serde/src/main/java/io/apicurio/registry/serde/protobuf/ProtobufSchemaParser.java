@@ -6,7 +6,6 @@ import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.Message;
 import com.squareup.wire.schema.internal.parser.MessageElement;
 import com.squareup.wire.schema.internal.parser.ProtoFileElement;
-import com.squareup.wire.schema.internal.parser.ProtoParser;
 import io.apicurio.registry.resolver.ParsedSchema;
 import io.apicurio.registry.resolver.ParsedSchemaImpl;
 import io.apicurio.registry.resolver.SchemaParser;
@@ -15,6 +14,7 @@ import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.utils.IoUtil;
 import io.apicurio.registry.utils.protobuf.schema.FileDescriptorUtils;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
+import io.apicurio.registry.utils.protobuf.schema.ProtobufSchemaCache;
 import org.apache.kafka.common.errors.SerializationException;
 
 import java.util.ArrayList;
@@ -39,7 +39,7 @@ public class ProtobufSchemaParser<U extends Message> implements SchemaParser<Pro
     public ProtobufSchema parseSchema(byte[] rawSchema, Map<String, ParsedSchema<ProtobufSchema>> resolvedReferences) {
         try {
             //textual .proto file
-            ProtoFileElement fileElem = ProtoParser.Companion.parse(FileDescriptorUtils.DEFAULT_LOCATION, IoUtil.toString(rawSchema));
+            ProtoFileElement fileElem = ProtobufSchemaCache.parse(IoUtil.toString(rawSchema));
             Map<String, ProtoFileElement> dependencies = new HashMap<>();
             resolvedReferences.forEach((key, value) -> {
                 dependencies.put(key, value.getParsedSchema().getProtoFileElement());
@@ -103,6 +103,16 @@ public class ProtobufSchemaParser<U extends Message> implements SchemaParser<Pro
         return getSchemaFromData(data);
     }
 
+    /**
+     * The schema is extracted from the file of the message descriptor, shared by all the messages of a type.
+     *
+     * @see io.apicurio.registry.resolver.SchemaParser#getSchemaIdentity(Record)
+     */
+    @Override
+    public Object getSchemaIdentity(Record<U> data) {
+        return data.payload().getDescriptorForType().getFile();
+    }
+
     private List<ParsedSchema<ProtobufSchema>> handleDependencies(FileDescriptor fileDescriptor) {
         List<ParsedSchema<ProtobufSchema>> schemaReferences = new ArrayList<>();
         fileDescriptor.getDependencies().forEach(referenceFileDescriptor -> {
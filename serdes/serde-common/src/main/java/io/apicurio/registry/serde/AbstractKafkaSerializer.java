@@ -11,7 +11,6 @@ import org.apache.kafka.common.serialization.Serializer;
 import io.apicurio.registry.serde.config.BaseKafkaSerDeConfig;
 import io.apicurio.registry.serde.data.KafkaSerdeRecord;
 import io.apicurio.registry.serde.data.KafkaSerdeMetadata;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
@@ -19,6 +18,8 @@ import java.util.Map;
 
 public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T, U> implements Serializer<U> {
 
+    private final ThreadLocal<SerializationBuffer> buffers = ThreadLocal.withInitial(SerializationBuffer::new);
+
     public AbstractKafkaSerializer() {
         super();
     }
@@ -62,16 +63,24 @@ public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T
 
             SchemaLookupResult<T> schema = getSchemaResolver().resolveSchema(new KafkaSerdeRecord<>(resolverMetadata, data));
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            if (headersHandler != null && headers != null) {
-                headersHandler.writeHeaders(headers, schema.toArtifactReference());
-                serializeData(headers, schema.getParsedSchema(), data, out);
-            } else {
-                out.write(MAGIC_BYTE);
-                getIdHandler().writeId(schema.toArtifactReference(), out);
-                serializeData(schema.getParsedSchema(), data, out);
+            SerializationBuffer out = buffers.get();
+            if (!out.acquire()) {
+                // Nested serialization on the same thread
+                out = new SerializationBuffer();
+                out.acquire();
+            }
+            try {
+                if (headersHandler != null && headers != null) {
+                    headersHandler.writeHeaders(headers, schema.toArtifactReference());
+                    serializeData(headers, schema.getParsedSchema(), data, out);
+                } else {
+                    out.write(out.prefix(schema, getIdHandler()));
+                    serializeData(schema.getParsedSchema(), data, out);
+                }
+                return out.toByteArray();
+            } finally {
+                out.release();
             }
-            return out.toByteArray();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
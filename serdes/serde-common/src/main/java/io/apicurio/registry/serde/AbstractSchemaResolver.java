@@ -230,6 +230,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
 
     @Override
     public void close() throws IOException {
+        this.schemaCache.close();
     }
 
     private RegistryClient configureClientWithBearerAuthentication(DefaultSchemaResolverConfig config, String registryUrl, String authServerUrl, String tokenEndpoint) {
@@ -0,0 +1,96 @@
+package io.apicurio.registry.serde;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import io.apicurio.registry.resolver.SchemaLookupResult;
+
+/**
+ * Output buffer reused for all the records serialized by a thread, so that a record is written
+ * without allocating (and growing) a new buffer, and copied only once into the returned byte array.
+ * <p>
+ * The buffer keeps track of the average size of the serialized records, so that its backing array
+ * is released when an unusually large record made it grow far beyond what is typically needed.
+ * It also keeps the encoded magic byte and id of the last schema used, as consecutive records
+ * are usually serialized with the same schema.
+ */
+class SerializationBuffer extends OutputStream {
+
+    private static final int INITIAL_SIZE = 512;
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    private byte[] buf = new byte[INITIAL_SIZE];
+    private int count;
+    private double averageSize = INITIAL_SIZE;
+    private boolean inUse;
+
+    private SchemaLookupResult<?> prefixSchema;
+    private byte[] prefix;
+
+    /**
+     * Acquires the buffer, unless it is already being used by this thread (e.g. a serializer calling
+     * another serializer), in which case a new buffer must be used.
+     */
+    boolean acquire() {
+        if (inUse) {
+            return false;
+        }
+        inUse = true;
+        count = 0;
+        return true;
+    }
+
+    /**
+     * Returns the magic byte and id of the given schema, as written by the given id handler.
+     */
+    byte[] prefix(SchemaLookupResult<?> schema, IdHandler idHandler) throws IOException {
+        if (schema != prefixSchema) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1 + idHandler.idSize());
+            out.write(AbstractKafkaSerDe.MAGIC_BYTE);
+            idHandler.writeId(schema.toArtifactReference(), out);
+            prefix = out.toByteArray();
+            prefixSchema = schema;
+        }
+        return prefix;
+    }
+
+    /**
+     * Returns a copy of the serialized record.
+     */
+    byte[] toByteArray() {
+        averageSize = averageSize * 0.9 + count * 0.1;
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * Releases the buffer, shrinking it if it is much larger than the records typically serialized.
+     */
+    void release() {
+        if (buf.length > MAX_RETAINED_SIZE && buf.length > 4 * averageSize) {
+            buf = new byte[Math.max(INITIAL_SIZE, (int) (2 * averageSize))];
+        }
+        count = 0;
+        inUse = false;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.apicurio.registry.serde;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.resolver.SchemaLookupResult;
+
+public class SerializationBufferTest {
+
+    @Test
+    void testBufferIsReusedAcrossRecords() throws Exception {
+        SerializationBuffer buffer = new SerializationBuffer();
+
+        assertTrue(buffer.acquire());
+        buffer.write(new byte[] {1, 2, 3});
+        assertArrayEquals(new byte[] {1, 2, 3}, buffer.toByteArray());
+        buffer.release();
+
+        assertTrue(buffer.acquire());
+        byte[] large = new byte[10_000];
+        large[9_999] = 7;
+        buffer.write(4);
+        buffer.write(large);
+        byte[] record = buffer.toByteArray();
+        buffer.release();
+
+        assertArrayEquals(ByteBuffer.allocate(10_001).put((byte) 4).put(large).array(), record);
+    }
+
+    @Test
+    void testNestedAcquireIsRefused() {
+        SerializationBuffer buffer = new SerializationBuffer();
+
+        assertTrue(buffer.acquire());
+        assertFalse(buffer.acquire());
+        buffer.release();
+        assertTrue(buffer.acquire());
+    }
+
+    @Test
+    void testPrefixIsEncodedOncePerSchema() throws Exception {
+        SerializationBuffer buffer = new SerializationBuffer();
+        DefaultIdHandler idHandler = new DefaultIdHandler();
+        SchemaLookupResult<Object> schema = SchemaLookupResult.builder().globalId(42L).contentId(7L).build();
+
+        byte[] prefix = buffer.prefix(schema, idHandler);
+        assertArrayEquals(ByteBuffer.allocate(9).put(AbstractKafkaSerDe.MAGIC_BYTE).putLong(42L).array(), prefix);
+        assertSame(prefix, buffer.prefix(schema, idHandler));
+
+        SchemaLookupResult<Object> otherSchema = SchemaLookupResult.builder().globalId(43L).contentId(8L).build();
+        assertArrayEquals(ByteBuffer.allocate(9).put(AbstractKafkaSerDe.MAGIC_BYTE).putLong(43L).array(),
+                buffer.prefix(otherSchema, idHandler));
+    }
+}
@@ -27,6 +27,12 @@ public class ContentEntity extends Entity {
 
     public String serializedReferences;
 
+    /**
+     * Not exported, only set when the hash is already known at import time.
+     */
+    @JsonIgnore
+    public String dereferencedHash;
+
     /**
      * @see io.apicurio.registry.utils.impexp.Entity#getEntityType()
      */
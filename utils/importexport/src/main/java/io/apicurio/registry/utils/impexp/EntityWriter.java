@@ -1,6 +1,8 @@
 package io.apicurio.registry.utils.impexp;
 
 import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -18,13 +20,27 @@ public class EntityWriter {
     }
 
     private final transient ZipOutputStream zip;
+    private final boolean store;
 
     /**
      * Constructor.
      * @param zip
      */
     public EntityWriter(ZipOutputStream zip) {
+        this(zip, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructor.
+     * @param zip
+     * @param compressionLevel the deflate level (-1 to 9) of the zip entries, 0 writes the entries uncompressed (STORED)
+     */
+    public EntityWriter(ZipOutputStream zip, int compressionLevel) {
         this.zip = zip;
+        this.store = compressionLevel == Deflater.NO_COMPRESSION;
+        if (!store) {
+            zip.setLevel(compressionLevel);
+        }
     }
 
     /**
@@ -71,9 +87,7 @@ public class EntityWriter {
         write(mdEntry, entity, ContentEntity.class);
 
         // Write the content file.
-        zip.putNextEntry(dataEntry);
-        zip.write(entity.contentBytes);
-        zip.closeEntry();
+        write(dataEntry, entity.contentBytes);
     }
 
     private void writeEntity(ManifestEntity entity) throws IOException {
@@ -151,9 +165,28 @@ public class EntityWriter {
     }
 
     private void write(ZipEntry entry, Entity entity, Class<?> entityClass) throws IOException {
+        if (store) {
+            write(entry, mapper.writerFor(entityClass).writeValueAsBytes(entity));
+            return;
+        }
         zip.putNextEntry(entry);
         mapper.writerFor(entityClass).writeValue(zip, entity);
         zip.closeEntry();
     }
 
+    private void write(ZipEntry entry, byte[] bytes) throws IOException {
+        if (store) {
+            // Stored entries must declare their size and checksum up front
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(bytes.length);
+            entry.setCompressedSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
 }
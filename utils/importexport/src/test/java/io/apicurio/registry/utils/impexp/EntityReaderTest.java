@@ -1,8 +1,13 @@
 package io.apicurio.registry.utils.impexp;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import io.apicurio.registry.types.RuleType;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -46,6 +51,39 @@ class EntityReaderTest {
         }
     }
 
+    @Test
+    void testReadStoredEntities() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8)) {
+            EntityWriter writer = new EntityWriter(zip, 0);
+
+            ContentEntity content = new ContentEntity();
+            content.contentId = 1;
+            content.contentHash = "hash-1";
+            content.canonicalHash = "canonical-hash-1";
+            content.contentBytes = "{\"type\": \"string\"}".getBytes(StandardCharsets.UTF_8);
+            writer.writeEntity(content);
+
+            GlobalRuleEntity rule = new GlobalRuleEntity();
+            rule.ruleType = RuleType.VALIDITY;
+            rule.configuration = "FULL";
+            writer.writeEntity(rule);
+        }
+
+        ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8);
+        EntityReader reader = new EntityReader(zip);
+
+        ContentEntity content = (ContentEntity) reader.readEntity();
+        Assertions.assertEquals("hash-1", content.contentHash);
+        Assertions.assertEquals("{\"type\": \"string\"}", new String(content.contentBytes, StandardCharsets.UTF_8));
+
+        GlobalRuleEntity rule = (GlobalRuleEntity) reader.readEntity();
+        Assertions.assertEquals(RuleType.VALIDITY, rule.ruleType);
+        Assertions.assertEquals("FULL", rule.configuration);
+
+        Assertions.assertNull(reader.readEntity());
+    }
+
     /**
      * Loads a resource as an input stream.
      * @param resourceName the resource name
@@ -19,8 +19,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
@@ -36,7 +39,27 @@ public abstract class AbstractDirectoryParser<Schema> {
 
     public abstract ParsedDirectoryWrapper<Schema> parse(File rootSchema);
 
-    public abstract List<ArtifactReference> handleSchemaReferences(RegisterArtifact rootArtifact, Schema schema, Map<String, ContentHandle> fileContents) throws FileNotFoundException, ExecutionException, InterruptedException;
+    /**
+     * Returns the schemas referenced by the given schema, each with the schemas it references itself, without
+     * registering anything.
+     */
+    public abstract List<SchemaReference> collectSchemaReferences(RegisterArtifact rootArtifact, Schema schema, Map<String, ContentHandle> fileContents);
+
+    /**
+     * Registers the schemas referenced by the given schema, the nested ones first, and returns the references to them.
+     */
+    public List<ArtifactReference> handleSchemaReferences(RegisterArtifact rootArtifact, Schema schema, Map<String, ContentHandle> fileContents) throws FileNotFoundException, ExecutionException, InterruptedException {
+        return registerSchemaReferences(collectSchemaReferences(rootArtifact, schema, fileContents));
+    }
+
+    private List<ArtifactReference> registerSchemaReferences(List<SchemaReference> schemaReferences) throws FileNotFoundException, ExecutionException, InterruptedException {
+        Set<ArtifactReference> references = new HashSet<>();
+        for (SchemaReference schemaReference : schemaReferences) {
+            List<ArtifactReference> nestedArtifactReferences = registerSchemaReferences(schemaReference.getReferences());
+            references.add(registerNestedSchema(schemaReference.getName(), nestedArtifactReferences, schemaReference.getArtifact(), schemaReference.getContent()));
+        }
+        return new ArrayList<>(references);
+    }
 
     protected ContentHandle readSchemaContent(File schemaFile) {
         try {
@@ -3,23 +3,19 @@ package io.apicurio.registry.maven;
 
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rest.client.RegistryClient;
-import io.apicurio.registry.rest.client.models.ArtifactReference;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 public class AvroDirectoryParser extends AbstractDirectoryParser<Schema> {
@@ -37,26 +33,26 @@ public class AvroDirectoryParser extends AbstractDirectoryParser<Schema> {
     }
 
     @Override
-    public List<ArtifactReference> handleSchemaReferences(RegisterArtifact rootArtifact, Schema rootSchema, Map<String, ContentHandle> fileContents) throws FileNotFoundException, ExecutionException, InterruptedException {
+    public List<SchemaReference> collectSchemaReferences(RegisterArtifact rootArtifact, Schema rootSchema, Map<String, ContentHandle> fileContents) {
 
-        Set<ArtifactReference> references = new HashSet<>();
+        List<SchemaReference> references = new ArrayList<>();
 
         //Iterate through all the fields of the schema
         for (Schema.Field field : rootSchema.getFields()) {
-            List<ArtifactReference> nestedArtifactReferences = new ArrayList<>();
-            if (field.schema().getType() == Schema.Type.RECORD) { //If the field is a sub-schema, recursively check for nested sub-schemas and register all of them
+            List<SchemaReference> nestedReferences = new ArrayList<>();
+            if (field.schema().getType() == Schema.Type.RECORD) { //If the field is a sub-schema, recursively check for nested sub-schemas and collect all of them
 
                 RegisterArtifact nestedSchema = buildFromRoot(rootArtifact, field.schema().getFullName());
 
                 if (field.schema().hasFields()) {
-                    nestedArtifactReferences = handleSchemaReferences(nestedSchema, field.schema(), fileContents);
+                    nestedReferences = collectSchemaReferences(nestedSchema, field.schema(), fileContents);
                 }
 
-                references.add(registerNestedSchema(field.schema().getFullName(), nestedArtifactReferences, nestedSchema, fileContents.get(field.schema().getFullName()).content()));
-            } else if (field.schema().getType() == Schema.Type.ENUM) { //If the nested schema is an enum, just register
+                references.add(new SchemaReference(field.schema().getFullName(), nestedSchema, fileContents.get(field.schema().getFullName()).content(), nestedReferences));
+            } else if (field.schema().getType() == Schema.Type.ENUM) { //If the nested schema is an enum, just collect it
 
                 RegisterArtifact nestedSchema = buildFromRoot(rootArtifact, field.schema().getFullName());
-                references.add(registerNestedSchema(field.schema().getFullName(), nestedArtifactReferences, nestedSchema, fileContents.get(field.schema().getFullName()).content()));
+                references.add(new SchemaReference(field.schema().getFullName(), nestedSchema, fileContents.get(field.schema().getFullName()).content(), nestedReferences));
             } else if (isArrayWithSubschemaElement(field)) { //If the nested schema is an array and the element is a sub-schema, handle it
 
                 Schema elementSchema = field.schema().getElementType();
@@ -64,13 +60,13 @@ public class AvroDirectoryParser extends AbstractDirectoryParser<Schema> {
                 RegisterArtifact nestedSchema = buildFromRoot(rootArtifact, elementSchema.getFullName());
 
                 if (elementSchema.hasFields()) {
-                    nestedArtifactReferences = handleSchemaReferences(nestedSchema, elementSchema, fileContents);
+                    nestedReferences = collectSchemaReferences(nestedSchema, elementSchema, fileContents);
                 }
 
-                references.add(registerNestedSchema(elementSchema.getFullName(), nestedArtifactReferences, nestedSchema, fileContents.get(elementSchema.getFullName()).content()));
+                references.add(new SchemaReference(elementSchema.getFullName(), nestedSchema, fileContents.get(elementSchema.getFullName()).content(), nestedReferences));
             }
         }
-        return new ArrayList<>(references);
+        return references;
     }
 
     private ParsedDirectoryWrapper<Schema> parseDirectory(File directory, File rootSchema) {
@@ -3,7 +3,6 @@ package io.apicurio.registry.maven;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rest.client.RegistryClient;
-import io.apicurio.registry.rest.client.models.ArtifactReference;
 import io.apicurio.registry.rules.compatibility.jsonschema.JsonUtil;
 import org.everit.json.schema.ArraySchema;
 import org.everit.json.schema.ObjectSchema;
@@ -13,17 +12,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 public class JsonSchemaDirectoryParser extends AbstractDirectoryParser<Schema> {
@@ -41,18 +37,18 @@ public class JsonSchemaDirectoryParser extends AbstractDirectoryParser<Schema> {
     }
 
     @Override
-    public List<ArtifactReference> handleSchemaReferences(RegisterArtifact rootArtifact, org.everit.json.schema.Schema rootSchema, Map<String, ContentHandle> fileContents) throws FileNotFoundException, ExecutionException, InterruptedException {
+    public List<SchemaReference> collectSchemaReferences(RegisterArtifact rootArtifact, org.everit.json.schema.Schema rootSchema, Map<String, ContentHandle> fileContents) {
 
         if (rootSchema instanceof ObjectSchema) {
 
             ObjectSchema objectSchema = (ObjectSchema) rootSchema;
-            Set<ArtifactReference> references = new HashSet<>();
+            List<SchemaReference> references = new ArrayList<>();
 
             Map<String, org.everit.json.schema.Schema> rootSchemaPropertySchemas = objectSchema.getPropertySchemas();
 
             for (String schemaKey : rootSchemaPropertySchemas.keySet()) {
 
-                List<ArtifactReference> nestedArtifactReferences = new ArrayList<>();
+                List<SchemaReference> nestedReferences = new ArrayList<>();
 
                 if (rootSchemaPropertySchemas.get(schemaKey) instanceof ReferenceSchema) {
 
@@ -61,10 +57,10 @@ public class JsonSchemaDirectoryParser extends AbstractDirectoryParser<Schema> {
 
                     if (nestedSchema.getReferredSchema() instanceof ObjectSchema) {
                         ObjectSchema nestedObjectSchema = (ObjectSchema) nestedSchema.getReferredSchema();
-                        nestedArtifactReferences = handleSchemaReferences(nestedRegisterArtifact, nestedObjectSchema, fileContents);
+                        nestedReferences = collectSchemaReferences(nestedRegisterArtifact, nestedObjectSchema, fileContents);
                     }
 
-                    references.add(registerNestedSchema(nestedSchema.getSchemaLocation(), nestedArtifactReferences, nestedRegisterArtifact, fileContents.get(nestedSchema.getSchemaLocation()).content()));
+                    references.add(new SchemaReference(nestedSchema.getSchemaLocation(), nestedRegisterArtifact, fileContents.get(nestedSchema.getSchemaLocation()).content(), nestedReferences));
 
                 } else if (rootSchemaPropertySchemas.get(schemaKey) instanceof ArraySchema) {
 
@@ -76,13 +72,13 @@ public class JsonSchemaDirectoryParser extends AbstractDirectoryParser<Schema> {
 
                         if (arrayElementSchema.getReferredSchema() instanceof ObjectSchema) {
 
-                            nestedArtifactReferences = handleSchemaReferences(nestedRegisterArtifact, arrayElementSchema, fileContents);
+                            nestedReferences = collectSchemaReferences(nestedRegisterArtifact, arrayElementSchema, fileContents);
                         }
-                        references.add(registerNestedSchema(arrayElementSchema.getSchemaLocation(), nestedArtifactReferences, nestedRegisterArtifact, fileContents.get(arrayElementSchema.getSchemaLocation()).content()));
+                        references.add(new SchemaReference(arrayElementSchema.getSchemaLocation(), nestedRegisterArtifact, fileContents.get(arrayElementSchema.getSchemaLocation()).content(), nestedReferences));
                     }
                 }
             }
-            return new ArrayList<>(references);
+            return references;
         } else {
             return Collections.emptyList();
         }
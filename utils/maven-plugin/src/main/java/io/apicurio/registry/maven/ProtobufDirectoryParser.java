@@ -4,13 +4,11 @@ import com.google.protobuf.Descriptors;
 import com.squareup.wire.schema.internal.parser.ProtoFileElement;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rest.client.RegistryClient;
-import io.apicurio.registry.rest.client.models.ArtifactReference;
 import io.apicurio.registry.utils.protobuf.schema.FileDescriptorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -19,7 +17,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 public class ProtobufDirectoryParser extends AbstractDirectoryParser<Descriptors.FileDescriptor> {
@@ -80,28 +77,28 @@ public class ProtobufDirectoryParser extends AbstractDirectoryParser<Descriptors
     }
 
     @Override
-    public List<ArtifactReference> handleSchemaReferences(RegisterArtifact rootArtifact, Descriptors.FileDescriptor protoSchema, Map<String, ContentHandle> fileContents) throws FileNotFoundException, InterruptedException, ExecutionException {
-        Set<ArtifactReference> references = new HashSet<>();
+    public List<SchemaReference> collectSchemaReferences(RegisterArtifact rootArtifact, Descriptors.FileDescriptor protoSchema, Map<String, ContentHandle> fileContents) {
+        List<SchemaReference> references = new ArrayList<>();
         final Set<Descriptors.FileDescriptor> baseDeps = new HashSet<>(Arrays.asList(FileDescriptorUtils.baseDependencies()));
         final ProtoFileElement rootSchemaElement = FileDescriptorUtils.fileDescriptorToProtoFile(protoSchema.toProto());
 
         for (Descriptors.FileDescriptor dependency : protoSchema.getDependencies()) {
 
-            List<ArtifactReference> nestedArtifactReferences = new ArrayList<>();
+            List<SchemaReference> nestedReferences = new ArrayList<>();
             String dependencyFullName = dependency.getPackage() + "/" + dependency.getName(); //FIXME find a better wat to do this
             if (!baseDeps.contains(dependency) && rootSchemaElement.getImports().contains(dependencyFullName)) {
 
                 RegisterArtifact nestedArtifact = buildFromRoot(rootArtifact, dependencyFullName);
 
                 if (!dependency.getDependencies().isEmpty()) {
-                    nestedArtifactReferences = handleSchemaReferences(nestedArtifact, dependency, fileContents);
+                    nestedReferences = collectSchemaReferences(nestedArtifact, dependency, fileContents);
                 }
 
-                references.add(registerNestedSchema(dependencyFullName, nestedArtifactReferences, nestedArtifact, fileContents.get(dependency.getName()).content()));
+                references.add(new SchemaReference(dependencyFullName, nestedArtifact, fileContents.get(dependency.getName()).content(), nestedReferences));
             }
         }
 
-        return new ArrayList<>(references);
+        return references;
     }
 
     public static class DescriptorWrapper implements ParsedDirectoryWrapper<Descriptors.FileDescriptor> {
@@ -14,7 +14,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import io.apicurio.registry.rest.client.models.IfExists;
@@ -40,6 +44,7 @@ import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.ContentTypes;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
 import io.apicurio.registry.types.provider.DefaultArtifactTypeUtilProviderImpl;
+import io.apicurio.registry.utils.IoUtil;
 
 /**
  * Register artifacts against registry.
@@ -66,6 +71,20 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
     @Parameter(property = "skipRegister", defaultValue = "false")
     boolean skip;
 
+    /**
+     * Set this to 'true' to register the artifacts concurrently.  The artifacts and the artifacts they reference
+     * (configured, found by analyzing the directory or found automatically) are registered as soon as their own
+     * references are, and a schema referenced by several artifacts is only registered once.
+     */
+    @Parameter(property = "registerParallel", defaultValue = "false")
+    boolean parallel;
+
+    /**
+     * The maximum number of artifacts registered concurrently, when registering in parallel.
+     */
+    @Parameter(property = "registerParallelThreads", defaultValue = "4")
+    int parallelThreads;
+
     DefaultArtifactTypeUtilProviderImpl utilProviderFactory = new DefaultArtifactTypeUtilProviderImpl();
 
     /**
@@ -84,6 +103,10 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
 
         int idx = 0;
         int errorCount = 0;
+        if (parallel && parallelThreads < 1) {
+            getLog().error(String.format("The number of threads to register with must be at least 1, but is %d.", parallelThreads));
+            errorCount++;
+        }
         for (RegisterArtifact artifact : artifacts) {
             if (artifact.getGroupId() == null) {
                 getLog().error(String.format("GroupId is required when registering an artifact.  Missing from artifacts[%d].", idx));
@@ -111,37 +134,35 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
     }
 
     @Override
-    protected void executeInternal() throws MojoExecutionException {
+    protected void executeInternal() throws MojoExecutionException, InterruptedException {
         int errorCount = 0;
         if (validate()) {
-            for (RegisterArtifact artifact : artifacts) {
-                String groupId = artifact.getGroupId();
-                String artifactId = artifact.getArtifactId();
-                try {
-                    if (artifact.getAutoRefs() != null && artifact.getAutoRefs()) {
-                        // If we have references, then we'll need to create the local resource index and then process all refs.
-                        ReferenceIndex index = createIndex(artifact.getFile());
-                        addExistingReferencesToIndex(index, existingReferences);
-                        addExistingReferencesToIndex(index, artifact.getExistingReferences());
-                        Stack<RegisterArtifact> registrationStack = new Stack<>();
-
-                        registerWithAutoRefs(artifact, index, registrationStack);
-                    } else if (artifact.getAnalyzeDirectory() != null && artifact.getAnalyzeDirectory()) { //Auto register selected, we must figure out if the artifact has reference using the directory structure
-                        registerDirectory(artifact);
-                    } else {
-
-                        List<io.apicurio.registry.rest.client.models.ArtifactReference> references = new ArrayList<>();
-                        //First, we check if the artifact being processed has references defined
-                        if (hasReferences(artifact)) {
-                            references = registerArtifactReferences(artifact.getReferences());
+            if (parallel) {
+                errorCount = registerInParallel();
+            } else {
+                for (RegisterArtifact artifact : artifacts) {
+                    String groupId = artifact.getGroupId();
+                    String artifactId = artifact.getArtifactId();
+                    try {
+                        if (artifact.getAutoRefs() != null && artifact.getAutoRefs()) {
+                            registerWithAutoRefs(artifact);
+                        } else if (artifact.getAnalyzeDirectory() != null && artifact.getAnalyzeDirectory()) { //Auto register selected, we must figure out if the artifact has reference using the directory structure
+                            registerDirectory(artifact);
+                        } else {
+
+                            List<io.apicurio.registry.rest.client.models.ArtifactReference> references = new ArrayList<>();
+                            //First, we check if the artifact being processed has references defined
+                            if (hasReferences(artifact)) {
+                                references = registerArtifactReferences(artifact.getReferences());
+                            }
+                            registerArtifact(artifact, references);
                         }
-                        registerArtifact(artifact, references);
+                    } catch (Exception e) {
+                        errorCount++;
+                        getLog().error(String.format("Exception while registering artifact [%s] / [%s]", groupId, artifactId), e);
                     }
-                } catch (Exception e) {
-                    errorCount++;
-                    getLog().error(String.format("Exception while registering artifact [%s] / [%s]", groupId, artifactId), e);
-                }
 
+                }
             }
 
             if (errorCount > 0) {
@@ -150,6 +171,65 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
         }
     }
 
+    /**
+     * Registers the artifacts concurrently (see {@link #parallel}), returns the number of artifacts that could not
+     * be registered.
+     */
+    private int registerInParallel() throws InterruptedException {
+        int errorCount = 0;
+        // Create the client before it is shared by the worker threads
+        getClient();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelThreads);
+        try {
+            RegistrationGraph graph = new RegistrationGraph(this::registerContent, executor);
+            List<CompletableFuture<?>> registrations = new ArrayList<>(artifacts.size());
+            for (RegisterArtifact artifact : artifacts) {
+                try {
+                    registrations.add(scheduleRegistration(artifact, graph));
+                } catch (Exception e) {
+                    registrations.add(CompletableFuture.failedFuture(e));
+                }
+            }
+
+            for (int i = 0; i < artifacts.size(); i++) {
+                try {
+                    registrations.get(i).get();
+                } catch (ExecutionException e) {
+                    errorCount++;
+                    Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+                    getLog().error(String.format("Exception while registering artifact [%s] / [%s]", artifacts.get(i).getGroupId(), artifacts.get(i).getArtifactId()), cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return errorCount;
+    }
+
+    private CompletableFuture<?> scheduleRegistration(RegisterArtifact artifact, RegistrationGraph graph) throws ExecutionException, InterruptedException {
+        List<SchemaReference> references;
+        if (artifact.getAutoRefs() != null && artifact.getAutoRefs()) {
+            references = collectAutoReferences(artifact);
+        } else if (artifact.getAnalyzeDirectory() != null && artifact.getAnalyzeDirectory()) {
+            references = collectDirectoryReferences(artifact);
+        } else if (hasReferences(artifact)) {
+            references = toSchemaReferences(artifact.getReferences());
+        } else {
+            references = List.of();
+        }
+        return graph.register(artifact, readContent(artifact.getFile()).content(), references);
+    }
+
+    private void registerWithAutoRefs(RegisterArtifact artifact) throws IOException, ExecutionException, InterruptedException {
+        // If we have references, then we'll need to create the local resource index and then process all refs.
+        ReferenceIndex index = createIndex(artifact.getFile());
+        addExistingReferencesToIndex(index, existingReferences);
+        addExistingReferencesToIndex(index, artifact.getExistingReferences());
+        Stack<RegisterArtifact> registrationStack = new Stack<>();
+
+        registerWithAutoRefs(artifact, index, registrationStack);
+    }
+
     private ArtifactMetaData registerWithAutoRefs(RegisterArtifact artifact, ReferenceIndex index, Stack<RegisterArtifact> registrationStack) throws IOException, ExecutionException, InterruptedException {
         if (loopDetected(artifact, registrationStack)) {
             throw new RuntimeException("Artifact reference loop detected (not supported): " + printLoop(registrationStack));
@@ -175,14 +255,7 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
 
             // If the resource isn't already registered, then register it now.
             if (!iresource.isRegistered()) {
-                // TODO: determine the artifactId better (type-specific logic here?)
-                String artifactId = externalRef.getResource();
-                File localFile = getLocalFile(iresource.getPath());
-                RegisterArtifact refArtifact = buildFromRoot(artifact, artifactId);
-                refArtifact.setType(iresource.getType());
-                refArtifact.setVersion(null);
-                refArtifact.setFile(localFile);
-                refArtifact.setContentType(getContentTypeByExtension(localFile.getName()));
+                RegisterArtifact refArtifact = buildFromReference(artifact, externalRef, iresource);
                 try {
                     ArtifactMetaData amd = registerWithAutoRefs(refArtifact, index, registrationStack);
                     iresource.setRegistration(amd);
@@ -204,6 +277,50 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
         return registerArtifact(artifact, registeredReferences);
     }
 
+    /**
+     * Finds the schemas referenced by the given artifact, and the schemas they reference, as {@link #registerWithAutoRefs}
+     * does, but without registering them.
+     */
+    private List<SchemaReference> collectAutoReferences(RegisterArtifact artifact) throws ExecutionException, InterruptedException {
+        ReferenceIndex index = createIndex(artifact.getFile());
+        addExistingReferencesToIndex(index, existingReferences);
+        addExistingReferencesToIndex(index, artifact.getExistingReferences());
+        Stack<RegisterArtifact> registrationStack = new Stack<>();
+
+        return collectAutoReferences(artifact, readContent(artifact.getFile()), index, registrationStack);
+    }
+
+    private List<SchemaReference> collectAutoReferences(RegisterArtifact artifact, ContentHandle artifactContent, ReferenceIndex index, Stack<RegisterArtifact> registrationStack) {
+        if (loopDetected(artifact, registrationStack)) {
+            throw new RuntimeException("Artifact reference loop detected (not supported): " + printLoop(registrationStack));
+        }
+        registrationStack.push(artifact);
+
+        ArtifactTypeUtilProvider provider = this.utilProviderFactory.getArtifactTypeProvider(artifact.getType());
+        ReferenceFinder referenceFinder = provider.getReferenceFinder();
+        Set<ExternalReference> externalReferences = referenceFinder.findExternalReferences(artifactContent);
+
+        List<SchemaReference> references = externalReferences.stream().map(externalRef -> {
+            IndexedResource iresource = index.lookup(externalRef.getResource(), Paths.get(artifact.getFile().toURI()));
+
+            if (iresource == null) {
+                throw new RuntimeException("Reference could not be resolved.  From: " + artifact.getFile().getName() + "  To: " + externalRef.getFullReference());
+            }
+
+            if (iresource.isRegistered()) {
+                return new SchemaReference(externalRef.getFullReference(), buildReferenceFromMetadata(iresource.getRegistration(), externalRef.getFullReference()));
+            }
+
+            RegisterArtifact refArtifact = buildFromReference(artifact, externalRef, iresource);
+            ContentHandle refContent = readContent(refArtifact.getFile());
+            return new SchemaReference(externalRef.getFullReference(), refArtifact, refContent.content(),
+                    collectAutoReferences(refArtifact, refContent, index, registrationStack));
+        }).sorted((ref1, ref2) -> ref1.getName().compareTo(ref2.getName())).collect(Collectors.toList());
+
+        registrationStack.pop();
+        return references;
+    }
+
     private void registerDirectory(RegisterArtifact artifact) throws IOException, ExecutionException, InterruptedException {
         switch (artifact.getType()) {
             case ArtifactType.AVRO:
@@ -226,17 +343,52 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
         }
     }
 
+    private List<SchemaReference> collectDirectoryReferences(RegisterArtifact artifact) {
+        switch (artifact.getType()) {
+            case ArtifactType.AVRO:
+                final AvroDirectoryParser avroDirectoryParser = new AvroDirectoryParser(getClient());
+                final ParsedDirectoryWrapper<Schema> schema = avroDirectoryParser.parse(artifact.getFile());
+                return avroDirectoryParser.collectSchemaReferences(artifact, schema.getSchema(), schema.getSchemaContents());
+            case ArtifactType.PROTOBUF:
+                final ProtobufDirectoryParser protobufDirectoryParser = new ProtobufDirectoryParser(getClient());
+                final ParsedDirectoryWrapper<FileDescriptor> protoSchema = protobufDirectoryParser.parse(artifact.getFile());
+                return protobufDirectoryParser.collectSchemaReferences(artifact, protoSchema.getSchema(), protoSchema.getSchemaContents());
+            case ArtifactType.JSON:
+                final JsonSchemaDirectoryParser jsonSchemaDirectoryParser = new JsonSchemaDirectoryParser(getClient());
+                final ParsedDirectoryWrapper<org.everit.json.schema.Schema> jsonSchema = jsonSchemaDirectoryParser.parse(artifact.getFile());
+                return jsonSchemaDirectoryParser.collectSchemaReferences(artifact, jsonSchema.getSchema(), jsonSchema.getSchemaContents());
+            default:
+                throw new IllegalArgumentException(String.format("Artifact type not recognized for analyzing a directory structure %s", artifact.getType()));
+        }
+    }
+
+    private static List<SchemaReference> toSchemaReferences(List<RegisterArtifactReference> referencedArtifacts) {
+        return referencedArtifacts.stream()
+                .map(artifact -> new SchemaReference(artifact.getName(), artifact, readContent(artifact.getFile()).content(),
+                        hasReferences(artifact) ? toSchemaReferences(artifact.getReferences()) : List.of()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registers the given artifact with the given references, the registry decides what to do if it already exists
+     * (see {@link RegisterArtifact#getIfExists()}).
+     */
+    private ArtifactReference registerContent(RegisterArtifact artifact, String artifactContent, List<ArtifactReference> references)
+            throws ExecutionException, InterruptedException {
+        ArtifactContent content = createContent(artifact, IoUtil.toStream(artifactContent), references);
+        return buildReferenceFromMetadata(registerArtifact(artifact, content), null);
+    }
+
     private ArtifactMetaData registerArtifact(RegisterArtifact artifact, List<ArtifactReference> references) throws
             FileNotFoundException, ExecutionException, InterruptedException {
         return registerArtifact(artifact, new FileInputStream(artifact.getFile()), references);
     }
 
     private ArtifactMetaData registerArtifact(RegisterArtifact artifact, InputStream artifactContent, List<ArtifactReference> references) throws ExecutionException, InterruptedException {
-        String groupId = artifact.getGroupId();
-        String artifactId = artifact.getArtifactId();
-        String version = artifact.getVersion();
-        String type = artifact.getType();
-        Boolean canonicalize = artifact.getCanonicalize();
+        return registerArtifact(artifact, createContent(artifact, artifactContent, references));
+    }
+
+    private static ArtifactContent createContent(RegisterArtifact artifact, InputStream artifactContent, List<ArtifactReference> references) {
         String data = null;
         try {
             if (artifact.getMinify() != null && artifact.getMinify()) {
@@ -259,6 +411,15 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
             ref.setName(r.getName());
             return ref;
         }).collect(Collectors.toList()));
+        return content;
+    }
+
+    private ArtifactMetaData registerArtifact(RegisterArtifact artifact, ArtifactContent content) throws ExecutionException, InterruptedException {
+        String groupId = artifact.getGroupId();
+        String artifactId = artifact.getArtifactId();
+        String version = artifact.getVersion();
+        String type = artifact.getType();
+        Boolean canonicalize = artifact.getCanonicalize();
         ArtifactMetaData amd = getClient()
                 .groups()
                 .byGroupId(groupId)
@@ -312,6 +473,14 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
         this.skip = skip;
     }
 
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public void setParallelThreads(int parallelThreads) {
+        this.parallelThreads = parallelThreads;
+    }
+
     private static ArtifactReference buildReferenceFromMetadata(ArtifactMetaData amd, String referenceName) {
         ArtifactReference reference = new ArtifactReference();
         reference.setName(referenceName);
@@ -373,6 +542,18 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
         return nestedSchema;
     }
 
+    private RegisterArtifact buildFromReference(RegisterArtifact rootArtifact, ExternalReference externalRef, IndexedResource iresource) {
+        // TODO: determine the artifactId better (type-specific logic here?)
+        String artifactId = externalRef.getResource();
+        File localFile = getLocalFile(iresource.getPath());
+        RegisterArtifact refArtifact = buildFromRoot(rootArtifact, artifactId);
+        refArtifact.setType(iresource.getType());
+        refArtifact.setVersion(null);
+        refArtifact.setFile(localFile);
+        refArtifact.setContentType(getContentTypeByExtension(localFile.getName()));
+        return refArtifact;
+    }
+
     private static File getLocalFile(Path path) {
         return path.toFile();
     }
@@ -0,0 +1,115 @@
+package io.apicurio.registry.maven;
+
+import io.apicurio.registry.rest.client.models.ArtifactReference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Registers artifacts concurrently, each one as soon as the artifacts it references are registered.
+ * <p>
+ * The artifacts and their references form a DAG, in which a schema is a single node however many artifacts
+ * reference it (or whether it is also registered as an artifact itself), as long as it is registered with the same
+ * coordinates, content, options and references.
+ * Each node is registered once, by a task of the given executor (which bounds the number of concurrent
+ * registrations), started when the registrations of all its references have completed.  Should a registration
+ * fail, the registrations of everything referencing it fail as well.
+ * <p>
+ * The graph is built from a single thread.
+ *
+ */
+class RegistrationGraph {
+
+    /**
+     * Registers an artifact, returns its coordinates (the name of the returned reference is ignored).
+     */
+    @FunctionalInterface
+    interface Registrar {
+
+        ArtifactReference register(RegisterArtifact artifact, String content, List<ArtifactReference> references) throws Exception;
+    }
+
+    private final Registrar registrar;
+    private final Executor executor;
+    private final Map<List<Object>, CompletableFuture<ArtifactReference>> registrations = new HashMap<>();
+
+    RegistrationGraph(Registrar registrar, Executor executor) {
+        this.registrar = registrar;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules the registration of the given artifact, after the schemas it references, unless the same one has
+     * already been scheduled.
+     */
+    CompletableFuture<ArtifactReference> register(RegisterArtifact artifact, String content, List<SchemaReference> references) {
+        return registerReference(new SchemaReference(null, artifact, content, references));
+    }
+
+    private CompletableFuture<ArtifactReference> registerReference(SchemaReference reference) {
+        if (reference.getRegistered() != null) {
+            return CompletableFuture.completedFuture(reference.getRegistered());
+        }
+        List<Object> key = key(reference);
+        CompletableFuture<ArtifactReference> registration = registrations.get(key);
+        if (registration == null) {
+            registration = schedule(reference.getArtifact(), reference.getContent(), reference.getReferences());
+            registrations.put(key, registration);
+        }
+        return registration;
+    }
+
+    private CompletableFuture<ArtifactReference> schedule(RegisterArtifact artifact, String content, List<SchemaReference> references) {
+        List<CompletableFuture<ArtifactReference>> registeredReferences = new ArrayList<>(references.size());
+        for (SchemaReference reference : references) {
+            registeredReferences.add(registerReference(reference));
+        }
+
+        return CompletableFuture.allOf(registeredReferences.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(ignored -> {
+                    List<ArtifactReference> artifactReferences = new ArrayList<>(references.size());
+                    for (int i = 0; i < references.size(); i++) {
+                        artifactReferences.add(toReference(references.get(i).getName(), registeredReferences.get(i).join()));
+                    }
+                    try {
+                        return registrar.register(artifact, content, artifactReferences);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+    }
+
+    /**
+     * Returns the key identifying the registration of the given schema: everything the registered version
+     * depends on.
+     */
+    private static List<Object> key(SchemaReference reference) {
+        ArtifactReference registered = reference.getRegistered();
+        if (registered != null) {
+            return Arrays.asList(registered.getGroupId(), registered.getArtifactId(), registered.getVersion());
+        }
+        RegisterArtifact artifact = reference.getArtifact();
+        List<Object> key = new ArrayList<>(Arrays.asList(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                artifact.getType(), artifact.getIfExists(), artifact.getCanonicalize(), artifact.getMinify(), reference.getContent()));
+        for (SchemaReference nested : reference.getReferences()) {
+            key.add(nested.getName());
+            key.add(key(nested));
+        }
+        return key;
+    }
+
+    private static ArtifactReference toReference(String name, ArtifactReference registered) {
+        ArtifactReference reference = new ArtifactReference();
+        reference.setName(name);
+        reference.setGroupId(registered.getGroupId());
+        reference.setArtifactId(registered.getArtifactId());
+        reference.setVersion(registered.getVersion());
+        return reference;
+    }
+}
@@ -0,0 +1,71 @@
+package io.apicurio.registry.maven;
+
+import io.apicurio.registry.rest.client.models.ArtifactReference;
+
+import java.util.List;
+
+/**
+ * A schema referenced by another one, as found by a directory parser (see
+ * {@link AbstractDirectoryParser#collectSchemaReferences}), together with the schemas it references itself, or an
+ * already registered schema.
+ *
+ */
+public class SchemaReference {
+
+    private final String name;
+    private final RegisterArtifact artifact;
+    private final String content;
+    private final List<SchemaReference> references;
+    private final ArtifactReference registered;
+
+    public SchemaReference(String name, RegisterArtifact artifact, String content, List<SchemaReference> references) {
+        this.name = name;
+        this.artifact = artifact;
+        this.content = content;
+        this.references = references;
+        this.registered = null;
+    }
+
+    public SchemaReference(String name, ArtifactReference registered) {
+        this.name = name;
+        this.artifact = null;
+        this.content = null;
+        this.references = List.of();
+        this.registered = registered;
+    }
+
+    /**
+     * @return the name the schema is referenced by
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the artifact to register the schema as
+     */
+    public RegisterArtifact getArtifact() {
+        return artifact;
+    }
+
+    /**
+     * @return the original content of the schema
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * @return the schemas referenced by the schema
+     */
+    public List<SchemaReference> getReferences() {
+        return references;
+    }
+
+    /**
+     * @return the coordinates of the schema if it is already registered, {@code null} if it is to be registered
+     */
+    public ArtifactReference getRegistered() {
+        return registered;
+    }
+}
@@ -191,7 +191,9 @@ public class FileDescriptorUtils {
         Objects.requireNonNull(schemaDefinition);
         Objects.requireNonNull(protoFileName);
 
-        return FileDescriptor.buildFrom(toFileDescriptorProto(schemaDefinition, protoFileName, optionalPackageName, Collections.emptyMap()), baseDependencies());
+        // Built against all the well-known dependencies, unlike the descriptors resolved with their dependencies
+        return ProtobufSchemaCache.fileDescriptor(schemaDefinition, protoFileName, optionalPackageName, "base",
+                () -> FileDescriptor.buildFrom(toFileDescriptorProto(schemaDefinition, protoFileName, optionalPackageName, Collections.emptyMap()), baseDependencies()));
     }
 
     public static FileDescriptor protoFileToFileDescriptor(String schemaDefinition, String protoFileName, Optional<String> optionalPackageName, Map<String, String> schemaDefs, Map<String, Descriptors.FileDescriptor> dependencies)
@@ -276,7 +278,8 @@ public class FileDescriptorUtils {
             requiredSchemaDeps.clear();
         }
         return resolveFileDescriptor(mainProtoElement, schemaDefinition, mainProtoFile.getName(), schemaDeps,
-                resolvedDeps, requiredSchemaDeps, new HashSet<>(), cachedProtoFileDependencies);
+                ProtobufSchemaCache.dependenciesKey(schemaDeps), resolvedDeps, requiredSchemaDeps, new HashSet<>(),
+                cachedProtoFileDependencies);
     }
 
     private static void readAndParseSchemas(Collection<File> schemas, Map<String, String> schemaContents,
@@ -351,7 +354,7 @@ public class FileDescriptorUtils {
         for (ProtobufSchemaContent schema : schemas) {
             final ProtoFileElement protoFile;
             try {
-                protoFile = ProtoParser.Companion.parse(DEFAULT_LOCATION, schema.schemaDefinition());
+                protoFile = ProtobufSchemaCache.parse(schema.schemaDefinition());
             } catch (Throwable t) {
                 if (failFast) {
                     throw new ParseSchemaException(schema.fileName(), t);
@@ -400,18 +403,20 @@ public class FileDescriptorUtils {
         parseSchemas(dependencies, schemaDefinitions, protoFileElements, failFast);
         final ProtoFileElement mainProtoElement;
         try {
-            mainProtoElement = ProtoParser.Companion.parse(DEFAULT_LOCATION, mainProtoFile.schemaDefinition());
+            mainProtoElement = ProtobufSchemaCache.parse(mainProtoFile.schemaDefinition());
         } catch (Throwable t) {
             throw new ParseSchemaException(mainProtoFile.fileName(), t);
         }
         return resolveFileDescriptor(mainProtoElement, mainProtoFile.schemaDefinition(), mainProtoFile.fileName(),
-                schemaDefinitions, resolvedDependencies, requiredSchemaDeps, new HashSet<>(), protoFileElements);
+                schemaDefinitions, ProtobufSchemaCache.dependenciesKey(schemaDefinitions), resolvedDependencies,
+                requiredSchemaDeps, new HashSet<>(), protoFileElements);
     }
 
     private static FileDescriptor resolveFileDescriptor(ProtoFileElement mainProtoElement,
                                                         String schemaDefinition,
                                                         String protoFileName,
                                                         Map<String, String> schemaDefinitions,
+                                                        String schemaDefinitionsKey,
                                                         Map<String, FileDescriptor> resolvedDependencies,
                                                         Map<String, String> requiredDependentSchemas,
                                                         Set<String> unresolvedImportNames,
@@ -457,9 +462,9 @@ public class FileDescriptorUtils {
                         continue;
                     }
                 } else {
-                    protoFile = ProtoParser.Companion.parse(DEFAULT_LOCATION, schemaDep);
+                    protoFile = ProtobufSchemaCache.parse(schemaDep);
                 }
-                fdDep = resolveFileDescriptor(protoFile, schemaDep, fileName, schemaDefinitions, resolvedDependencies, requiredSubDependencies, unresolvedImportNames, cachedProtoFileDependencies);
+                fdDep = resolveFileDescriptor(protoFile, schemaDep, fileName, schemaDefinitions, schemaDefinitionsKey, resolvedDependencies, requiredSubDependencies, unresolvedImportNames, cachedProtoFileDependencies);
                 // no need to add anything
                 if (requiredDependentSchemas != requiredSubDependencies) {
                     requiredDependentSchemas.putAll(requiredSubDependencies);
@@ -477,8 +482,13 @@ public class FileDescriptorUtils {
         final boolean removed = unresolvedImportNames.remove(mainProtoImportName);
         assert removed : "unresolvedNames should contain depName";
         // TODO we risk to have few dependencies files to be re-written in a whole new in-memory fs
-        Descriptors.FileDescriptor mainProtoFd = FileDescriptor.buildFrom(toFileDescriptorProto(schemaDefinition, protoFileName,
-                Optional.ofNullable(mainProtoElement.getPackageName()), requiredDependentSchemas), directDependencyFds);
+        // The descriptor only depends on the schema and the dependencies that could be resolved, i.e. on the set of
+        // schema definitions it was resolved from (the well-known dependencies being always the same).
+        final Optional<String> optionalPackageName = Optional.ofNullable(mainProtoElement.getPackageName());
+        final Map<String, String> requiredSchemas = requiredDependentSchemas;
+        Descriptors.FileDescriptor mainProtoFd = ProtobufSchemaCache.fileDescriptor(schemaDefinition, protoFileName,
+                optionalPackageName, schemaDefinitionsKey, () -> FileDescriptor.buildFrom(toFileDescriptorProto(schemaDefinition,
+                        protoFileName, optionalPackageName, requiredSchemas), directDependencyFds));
         return mainProtoFd;
     }
 
@@ -1403,7 +1413,7 @@ public class FileDescriptorUtils {
 
 
     public static Descriptors.Descriptor toDescriptor(String name, ProtoFileElement protoFileElement, Map<String, ProtoFileElement> dependencies) {
-        return toDynamicSchema(name, protoFileElement, dependencies).getMessageDescriptor(name);
+        return toDynamicSchema(name, protoFileElement, dependencies, new HashMap<>()).getMessageDescriptor(name);
     }
 
     public static MessageElement firstMessage(ProtoFileElement fileElement) {
@@ -1420,8 +1430,14 @@ public class FileDescriptorUtils {
      * DynamicSchema is used as a temporary helper class and should not be exposed in the API.
      */
     private static DynamicSchema toDynamicSchema(
-            String name, ProtoFileElement rootElem, Map<String, ProtoFileElement> dependencies
+            String name, ProtoFileElement rootElem, Map<String, ProtoFileElement> dependencies,
+            Map<String, DynamicSchema> resolvedDependencies
     ) {
+        // A dependency shared by several imports (e.g. a diamond) is only built once
+        DynamicSchema resolved = resolvedDependencies.get(name);
+        if (resolved != null) {
+            return resolved;
+        }
 
         DynamicSchema.Builder schema = DynamicSchema.newBuilder();
         try {
@@ -1445,14 +1461,14 @@ public class FileDescriptorUtils {
                 ProtoFileElement dep = dependencies.get(ref);
                 if (dep != null) {
                     schema.addDependency(ref);
-                    schema.addSchema(toDynamicSchema(ref, dep, dependencies));
+                    schema.addSchema(toDynamicSchema(ref, dep, dependencies, resolvedDependencies));
                 }
             }
             for (String ref : rootElem.getPublicImports()) {
                 ProtoFileElement dep = dependencies.get(ref);
                 if (dep != null) {
                     schema.addPublicDependency(ref);
-                    schema.addSchema(toDynamicSchema(ref, dep, dependencies));
+                    schema.addSchema(toDynamicSchema(ref, dep, dependencies, resolvedDependencies));
                 }
             }
             String javaPackageName = findOption("java_package", rootElem.getOptions())
@@ -1471,7 +1487,9 @@ public class FileDescriptorUtils {
                 schema.setJavaMultipleFiles(javaMultipleFiles);
             }
             schema.setName(name);
-            return schema.build();
+            resolved = schema.build();
+            resolvedDependencies.put(name, resolved);
+            return resolved;
         } catch (Descriptors.DescriptorValidationException e) {
             throw new IllegalStateException(e);
         }
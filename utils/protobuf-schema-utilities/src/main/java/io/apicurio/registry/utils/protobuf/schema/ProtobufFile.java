@@ -5,14 +5,12 @@ import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.Range;
 import com.google.common.io.Files;
 import com.squareup.wire.Syntax;
-import com.squareup.wire.schema.Location;
 import com.squareup.wire.schema.internal.parser.EnumConstantElement;
 import com.squareup.wire.schema.internal.parser.EnumElement;
 import com.squareup.wire.schema.internal.parser.FieldElement;
 import com.squareup.wire.schema.internal.parser.MessageElement;
 import com.squareup.wire.schema.internal.parser.OneOfElement;
 import com.squareup.wire.schema.internal.parser.ProtoFileElement;
-import com.squareup.wire.schema.internal.parser.ProtoParser;
 import com.squareup.wire.schema.internal.parser.ReservedElement;
 import com.squareup.wire.schema.internal.parser.RpcElement;
 import com.squareup.wire.schema.internal.parser.ServiceElement;
@@ -72,8 +70,7 @@ public class ProtobufFile {
     }
 
     public static ProtoFileElement toProtoFileElement(String data) {
-        ProtoParser parser = new ProtoParser(Location.get(""), data.toCharArray());
-        return parser.readProtoFile();
+        return ProtobufSchemaCache.parse(data);
     }
 
     public String getPackageName() {
@@ -0,0 +1,92 @@
+package io.apicurio.registry.utils.protobuf.schema;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.squareup.wire.schema.internal.parser.ProtoFileElement;
+import com.squareup.wire.schema.internal.parser.ProtoParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Bounded caches of parsed .proto files and of the {@link FileDescriptor}s built from them, keyed by the SHA-256
+ * of the schema text, shared by everything in the JVM (server or serdes) going through {@link ProtobufFile} and
+ * {@link FileDescriptorUtils}.
+ * <p>
+ * Both {@link ProtoFileElement} and {@link FileDescriptor} are immutable, so the cached instances are handed out
+ * as they are.  Failures are not cached.
+ *
+ */
+public final class ProtobufSchemaCache {
+
+    private static final long MAX_CACHED_ENTRIES = 1_000;
+
+    private static final Cache<String, ProtoFileElement> protoFiles = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_ENTRIES)
+            .build();
+
+    private static final Cache<String, FileDescriptor> fileDescriptors = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_ENTRIES)
+            .build();
+
+    private ProtobufSchemaCache() {
+    }
+
+    /**
+     * Builds a {@link FileDescriptor}.
+     */
+    @FunctionalInterface
+    interface FileDescriptorBuilder {
+
+        FileDescriptor build() throws DescriptorValidationException;
+    }
+
+    /**
+     * Parses the given .proto file text, or returns the result of a previous parse of the same text.
+     */
+    public static ProtoFileElement parse(String schemaDefinition) {
+        String key = hash(schemaDefinition);
+        ProtoFileElement element = protoFiles.getIfPresent(key);
+        if (element == null) {
+            element = ProtoParser.Companion.parse(FileDescriptorUtils.DEFAULT_LOCATION, schemaDefinition);
+            protoFiles.put(key, element);
+        }
+        return element;
+    }
+
+    /**
+     * Returns the cached descriptor of the given .proto file, or builds (and caches) it.  The descriptor must be
+     * fully determined by the schema text, its file and package names, and the dependencies it can be built with,
+     * see {@link #dependenciesKey(Map)}.
+     */
+    static FileDescriptor fileDescriptor(String schemaDefinition, String protoFileName, Optional<String> optionalPackageName,
+                                         String dependenciesKey, FileDescriptorBuilder builder)
+            throws DescriptorValidationException {
+        String key = hash(schemaDefinition) + '|' + protoFileName + '|' + optionalPackageName.orElse("") + '|' + dependenciesKey;
+        FileDescriptor fileDescriptor = fileDescriptors.getIfPresent(key);
+        if (fileDescriptor == null) {
+            fileDescriptor = builder.build();
+            fileDescriptors.put(key, fileDescriptor);
+        }
+        return fileDescriptor;
+    }
+
+    /**
+     * Returns a key identifying the given set of dependencies (by name and hash of their schema text), computed
+     * once for all the descriptors resolved from the same set.
+     */
+    static String dependenciesKey(Map<String, String> dependencies) {
+        StringBuilder key = new StringBuilder();
+        new TreeMap<>(dependencies).forEach((name, definition) -> key.append(name).append('=').append(hash(definition)).append(';'));
+        return key.toString();
+    }
+
+    private static String hash(String value) {
+        return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+    }
+}
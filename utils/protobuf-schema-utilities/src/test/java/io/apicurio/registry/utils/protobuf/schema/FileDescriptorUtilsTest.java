@@ -37,6 +37,7 @@ import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -230,6 +231,40 @@ public class FileDescriptorUtilsTest {
         assertNotNull(builder.build());
     }
 
+    @Test
+    public void testParseProtoFileWithDependenciesReusesCachedDescriptors() throws Exception {
+        ClassLoader classLoader = FileDescriptorUtilsTest.class.getClassLoader();
+        File mainProtoFile = new File(Objects.requireNonNull(classLoader.getResource("parseWithDeps/producer.proto")).getFile());
+        File[] deps = Stream.of(
+                "mypackage0/producerId.proto",
+                "mypackage2/version.proto"
+        ).map(s -> new File(Objects.requireNonNull(classLoader.getResource("parseWithDeps/" + s)).getFile())).toArray(File[]::new);
+
+        final Map<String, String> firstSchemaDeps = new HashMap<>();
+        Descriptors.FileDescriptor first = FileDescriptorUtils.parseProtoFileWithDependencies(readSchemaContent(mainProtoFile),
+                readSchemaContents(deps), firstSchemaDeps, true);
+        final Map<String, String> secondSchemaDeps = new HashMap<>();
+        Descriptors.FileDescriptor second = FileDescriptorUtils.parseProtoFileWithDependencies(readSchemaContent(mainProtoFile),
+                readSchemaContents(deps), secondSchemaDeps, true);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(firstSchemaDeps, secondSchemaDeps);
+        Assertions.assertEquals(2, secondSchemaDeps.size());
+
+        // A different version of a dependency must not be served from the cache
+        final String changedVersion = readSchemaAsString(deps[1]).replace("string id = 1;", "string id = 1;\n  string label = 2;");
+        Assertions.assertNotEquals(readSchemaAsString(deps[1]), changedVersion);
+        Descriptors.FileDescriptor changed = FileDescriptorUtils.parseProtoFileWithDependencies(readSchemaContent(mainProtoFile),
+                List.of(readSchemaContent(deps[0]), FileDescriptorUtils.ProtobufSchemaContent.of("version.proto", changedVersion)),
+                null, true);
+        Assertions.assertNotSame(first, changed);
+        Assertions.assertNotNull(changed.findMessageTypeByName("Producer").findFieldByName("id").getMessageType()
+                .findFieldByName("id").getMessageType().findFieldByName("label"));
+
+        Assertions.assertSame(ProtobufFile.toProtoFileElement(readSchemaAsString(mainProtoFile)),
+                ProtobufFile.toProtoFileElement(readSchemaAsString(mainProtoFile)));
+    }
+
     private static Collection<FileDescriptorUtils.ProtobufSchemaContent> readSchemaContents(File[] files) {
         return Arrays.stream(files).map(FileDescriptorUtilsTest::readSchemaContent).collect(Collectors.toList());
     }